@@ -0,0 +1,77 @@
+package org.wordpress.android;
+
+import android.os.Looper;
+import android.test.InstrumentationTestCase;
+
+import org.wordpress.android.util.AppExecutors.Pool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AppStartupTest extends InstrumentationTestCase {
+    private final List<String> mEvents = Collections.synchronizedList(new ArrayList<String>());
+
+    public void testPhases() throws InterruptedException {
+        final CountDownLatch deferredLatch = new CountDownLatch(3);
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                AppStartup startup = new AppStartup();
+                startup.runDeferred("first", Pool.DB, new RecordingTask("deferred 1", false, deferredLatch));
+                startup.runWhenIdle("idle", new RecordingTask("idle 1", true, null));
+                startup.runDeferred("network", Pool.NETWORK, new RecordingTask("deferred network", false,
+                        deferredLatch));
+                startup.runDeferred("second", Pool.DB, new RecordingTask("deferred 2", false, deferredLatch));
+                startup.runWhenIdle("idle", new RecordingTask("idle 2", true, null));
+                startup.split("critical");
+                mEvents.add("critical");
+                startup.finishCriticalPhase();
+
+                try {
+                    startup.runDeferred("too late", Pool.DB, new RecordingTask("too late", false, null));
+                    fail("Tasks can't be added once the critical phase is finished");
+                } catch (IllegalStateException e) {
+                    // expected
+                }
+            }
+        });
+        // idle tasks run one per idle pass of the main thread
+        getInstrumentation().waitForIdleSync();
+        getInstrumentation().waitForIdleSync();
+        assertTrue(deferredLatch.await(5, TimeUnit.SECONDS));
+
+        assertEquals(6, mEvents.size());
+        assertEquals("critical", mEvents.get(0));
+        assertTrue(mEvents.contains("deferred 1"));
+        // tasks are only ordered within their pool
+        assertTrue(mEvents.indexOf("deferred 1") < mEvents.indexOf("deferred 2"));
+        assertTrue(mEvents.contains("deferred network"));
+        assertTrue(mEvents.contains("idle 1"));
+        assertTrue(mEvents.indexOf("idle 1") < mEvents.indexOf("idle 2"));
+    }
+
+    private class RecordingTask implements Runnable {
+        private final String mName;
+        private final boolean mOnMainThread;
+        private final CountDownLatch mLatch;
+
+        RecordingTask(String name, boolean onMainThread, CountDownLatch latch) {
+            mName = name;
+            mOnMainThread = onMainThread;
+            mLatch = latch;
+        }
+
+        @Override
+        public void run() {
+            boolean isOnMainThread = Looper.myLooper() == Looper.getMainLooper();
+            // recorded rather than asserted, a failure on the deferred thread wouldn't fail the test
+            mEvents.add(isOnMainThread == mOnMainThread ? mName : mName + " on the wrong thread");
+            if (mLatch != null) {
+                mLatch.countDown();
+            }
+        }
+    }
+}
@@ -58,7 +58,7 @@ public class PostUploadServiceTest extends ServiceTestCase<PostUploadService> {
     public void testUploadMalformedPostNullPostId() throws Exception {
         // init a test db containing a few blogs and posts
         SQLiteDatabase db = TestUtils.loadDBFromDump(targetContext, testContext, "taliwutt-blogs-sample.sql");
-        WordPressDB wpdb = WordPress.wpDB;
+        WordPressDB wpdb = WordPress.getWpDB();
 
         // callback should be called 3 times
         final CountDownLatch countDownLatch = new CountDownLatch(3);
@@ -32,13 +32,13 @@ public class TestUtils {
 
     public static SQLiteDatabase loadDBFromDump(Context targetContext, Context testContext, String filename) {
         targetContext.deleteDatabase(DATABASE_NAME);
-        WordPress.wpDB = new WordPressDB(targetContext);
+        WordPress.setWpDB(new WordPressDB(targetContext));
 
         Field dbField;
         try {
             dbField = WordPressDB.class.getDeclaredField("db");
             dbField.setAccessible(true);
-            SQLiteDatabase db = (SQLiteDatabase) dbField.get(WordPress.wpDB);
+            SQLiteDatabase db = (SQLiteDatabase) dbField.get(WordPress.getWpDB());
             assertNotNull(db);
 
             // Load file
@@ -7,8 +7,14 @@ import android.test.RenamingDelegatingContext;
 import org.wordpress.android.TestUtils;
 import org.wordpress.android.datasets.CommentTable;
 import org.wordpress.android.models.Comment;
+import org.wordpress.android.models.CommentList;
+import org.wordpress.android.models.CommentStatus;
+
+import java.util.Locale;
 
 public class CommentTableTest extends InstrumentationTestCase {
+    private static final int BLOG_ID = 1;
+
     protected Context mTargetContext;
     protected Context mTestContext;
 
@@ -37,6 +43,106 @@ public class CommentTableTest extends InstrumentationTestCase {
         createAndGetComment(1024 * 1024 * 2);
     }
 
+    public void testSyncCommentsKeepsOlderPages() {
+        TestUtils.loadDBFromDump(mTargetContext, mTestContext, "taliwutt-blogs-sample.sql");
+        CommentTable.deleteCommentsForBlog(BLOG_ID);
+        // two pages were loaded, then a refresh returns the newest page where comment 58 has been deleted
+        CommentTable.syncComments(BLOG_ID, CommentStatus.UNKNOWN, buildComments(60, 31, "first"), true, false);
+        CommentTable.syncComments(BLOG_ID, CommentStatus.UNKNOWN, buildComments(30, 1, "first"), false, true);
+        CommentList page = buildComments(61, 32, "second");
+        page.remove(3);
+        CommentTable.syncComments(BLOG_ID, CommentStatus.UNKNOWN, page, true, false);
+
+        assertEquals(60, CommentTable.getCommentsForBlog(BLOG_ID).size());
+        assertNull(CommentTable.getComment(BLOG_ID, 58));
+        assertEquals("second 61", CommentTable.getComment(BLOG_ID, 61).getCommentText());
+        assertEquals("first 31", CommentTable.getComment(BLOG_ID, 31).getCommentText());
+        assertEquals("first 1", CommentTable.getComment(BLOG_ID, 1).getCommentText());
+    }
+
+    public void testSyncCommentsOnlyRemovesFilteredStatus() {
+        TestUtils.loadDBFromDump(mTargetContext, mTestContext, "taliwutt-blogs-sample.sql");
+        CommentTable.deleteCommentsForBlog(BLOG_ID);
+        CommentTable.saveComments(BLOG_ID, buildComments(10, 1, "approved"));
+        Comment spam = buildComment(5000, "spam");
+        spam.setStatus(CommentStatus.toString(CommentStatus.SPAM));
+        CommentTable.addComment(BLOG_ID, spam);
+
+        // the last page of approved comments no longer includes comment 1
+        CommentTable.syncComments(BLOG_ID, CommentStatus.APPROVED, buildComments(10, 2, "approved"), true, true);
+
+        assertNull(CommentTable.getComment(BLOG_ID, 1));
+        assertNotNull(CommentTable.getComment(BLOG_ID, 5000));
+        assertEquals(9, CommentTable.getCommentsForBlogWithFilter(BLOG_ID, CommentStatus.APPROVED).size());
+    }
+
+    public void testSyncCommentsEmptyFirstPageRemovesFilteredStatus() {
+        TestUtils.loadDBFromDump(mTargetContext, mTestContext, "taliwutt-blogs-sample.sql");
+        CommentTable.deleteCommentsForBlog(BLOG_ID);
+        CommentTable.saveComments(BLOG_ID, buildComments(10, 1, "approved"));
+        Comment spam = buildComment(5000, "spam");
+        spam.setStatus(CommentStatus.toString(CommentStatus.SPAM));
+        CommentTable.addComment(BLOG_ID, spam);
+
+        // the server no longer has any approved comments
+        assertTrue(CommentTable.syncComments(BLOG_ID, CommentStatus.APPROVED, new CommentList(), true, true));
+
+        assertEquals(0, CommentTable.getCommentsForBlogWithFilter(BLOG_ID, CommentStatus.APPROVED).size());
+        assertNotNull(CommentTable.getComment(BLOG_ID, 5000));
+
+        // an empty page further down the list doesn't tell which comments are gone
+        assertFalse(CommentTable.syncComments(BLOG_ID, CommentStatus.SPAM, new CommentList(), false, true));
+        assertNotNull(CommentTable.getComment(BLOG_ID, 5000));
+    }
+
+    public void testSyncCommentsComparesMixedDateFormats() {
+        TestUtils.loadDBFromDump(mTargetContext, mTestContext, "taliwutt-blogs-sample.sql");
+        CommentTable.deleteCommentsForBlog(BLOG_ID);
+        // cached from a note and from the REST API, in other offset formats than wp.getComments uses
+        Comment beforePage = buildComment(1, "note");
+        beforePage.setPublished("2016-03-01T09:00:00+01:00");
+        Comment insidePage = buildComment(2, "rest");
+        insidePage.setPublished("2016-03-01T12:30:00Z");
+        CommentTable.addComment(BLOG_ID, beforePage);
+        CommentTable.addComment(BLOG_ID, insidePage);
+
+        // the page covers 10:00 to 14:00 UTC, and neither cached comment is part of it
+        CommentList page = new CommentList();
+        page.add(buildComment(14, "first"));
+        page.add(buildComment(10, "first"));
+        CommentTable.syncComments(BLOG_ID, CommentStatus.UNKNOWN, page, true, false);
+
+        // 09:00+01:00 is 08:00 UTC so it's older than the page and kept, even though it sorts after
+        // "2016-03-01T10:00:00+0000" as a string
+        assertNotNull(CommentTable.getComment(BLOG_ID, 1));
+        assertNull(CommentTable.getComment(BLOG_ID, 2));
+        assertEquals(3, CommentTable.getCommentsForBlog(BLOG_ID).size());
+    }
+
+    /*
+     * builds comments from newestId down to oldestId, newest first as returned by wp.getComments
+     */
+    private static CommentList buildComments(int newestId, int oldestId, String textPrefix) {
+        CommentList comments = new CommentList();
+        for (int id = newestId; id >= oldestId; id--) {
+            comments.add(buildComment(id, textPrefix));
+        }
+        return comments;
+    }
+
+    private static Comment buildComment(int id, String textPrefix) {
+        return new Comment(1,
+                id,
+                "author",
+                String.format(Locale.US, "2016-03-%02dT%02d:00:00+0000", 1 + id / 24, id % 24),
+                textPrefix + " " + id,
+                CommentStatus.toString(CommentStatus.APPROVED),
+                "post",
+                "http://example.com",
+                "author@example.com",
+                "");
+    }
+
     private void createAndGetComment(int commentLength) {
         // Load a sample DB and inject it into WordPress.wpdb
         TestUtils.loadDBFromDump(mTargetContext, mTestContext, "taliwutt-blogs-sample.sql");
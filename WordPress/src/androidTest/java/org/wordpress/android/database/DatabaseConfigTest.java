@@ -0,0 +1,195 @@
+package org.wordpress.android.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.SystemClock;
+import android.test.InstrumentationTestCase;
+import android.test.RenamingDelegatingContext;
+import android.test.suitebuilder.annotation.LargeTest;
+
+import org.wordpress.android.datasets.DatabaseConfig;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+import org.wordpress.android.util.SqlUtils;
+
+import java.util.Locale;
+
+public class DatabaseConfigTest extends InstrumentationTestCase {
+    private static final String DB_NAME = "contention.db";
+    private static final int NUM_BATCHES = 20;
+    private static final int POSTS_PER_BATCH = 200;
+    private static final int READ_PAGE_SIZE = 50;
+
+    protected Context targetContext;
+
+    @Override
+    protected void setUp() {
+        targetContext = new RenamingDelegatingContext(getInstrumentation().getTargetContext(), "test_");
+    }
+
+    @Override
+    protected void tearDown() {
+        targetContext.deleteDatabase(DB_NAME);
+    }
+
+    public void testConfigureEnablesWal() {
+        SQLiteDatabase db = openDatabase();
+        try {
+            assertEquals("wal", SqlUtils.stringForQuery(db, "PRAGMA journal_mode", null).toLowerCase(Locale.US));
+            assertEquals(1, SqlUtils.intForQuery(db, "PRAGMA synchronous", null)); // NORMAL
+        } finally {
+            db.close();
+        }
+    }
+
+    /*
+     * reads the posts list while a stream of posts is being written, each read should only see whole batches
+     */
+    public void testReadsDuringWrites() throws InterruptedException {
+        final SQLiteDatabase db = openDatabase();
+        try {
+            Thread writer = new Thread() {
+                @Override
+                public void run() {
+                    writePosts(db);
+                }
+            };
+
+            writer.start();
+            while (writer.isAlive()) {
+                int numPosts = readPosts(db);
+                assertTrue(numPosts == 0 || numPosts == READ_PAGE_SIZE);
+                assertEquals(0, SqlUtils.getRowCount(db, "tbl_posts") % POSTS_PER_BATCH);
+            }
+            writer.join();
+
+            assertEquals(NUM_BATCHES * POSTS_PER_BATCH, SqlUtils.getRowCount(db, "tbl_posts"));
+            assertEquals(READ_PAGE_SIZE, readPosts(db));
+        } finally {
+            db.close();
+        }
+    }
+
+    /*
+     * measures how long list reads take while a stream of posts is being written, with and
+     * without the shared config - results are logged. Only run with the large tests (-e size large)
+     */
+    @LargeTest
+    public void testBenchmarkReadsDuringWrites() throws InterruptedException {
+        String rollbackResult = runContentionBenchmark(false);
+        String walResult = runContentionBenchmark(true);
+        AppLog.i(T.DB, "database contention benchmark > " + NUM_BATCHES + " batches of "
+                + POSTS_PER_BATCH + " posts, before: " + rollbackResult + ", after: " + walResult);
+    }
+
+    private String runContentionBenchmark(boolean configure) throws InterruptedException {
+        final SQLiteDatabase db = openDatabase(configure);
+        try {
+            Thread writer = new Thread() {
+                @Override
+                public void run() {
+                    writePosts(db);
+                }
+            };
+
+            long totalReadMs = 0;
+            long maxReadMs = 0;
+            int numReads = 0;
+            long start = SystemClock.elapsedRealtime();
+            writer.start();
+            while (writer.isAlive()) {
+                long readStart = SystemClock.elapsedRealtime();
+                readPosts(db);
+                long readMs = SystemClock.elapsedRealtime() - readStart;
+                totalReadMs += readMs;
+                maxReadMs = Math.max(maxReadMs, readMs);
+                numReads++;
+            }
+            writer.join();
+            long totalMs = SystemClock.elapsedRealtime() - start;
+
+            assertEquals(NUM_BATCHES * POSTS_PER_BATCH, SqlUtils.getRowCount(db, "tbl_posts"));
+            long avgReadMs = (numReads > 0 ? totalReadMs / numReads : 0);
+            return numReads + " reads in " + totalMs + "ms, avg " + avgReadMs + "ms, max " + maxReadMs + "ms";
+        } finally {
+            db.close();
+        }
+    }
+
+    private SQLiteDatabase openDatabase() {
+        return openDatabase(true);
+    }
+
+    private SQLiteDatabase openDatabase(boolean configure) {
+        targetContext.deleteDatabase(DB_NAME);
+        SQLiteDatabase db = targetContext.openOrCreateDatabase(DB_NAME, 0, null);
+        if (configure) {
+            DatabaseConfig.configure(db);
+        }
+        db.execSQL("CREATE TABLE tbl_posts ("
+                + " blog_id         INTEGER DEFAULT 0,"
+                + " post_id         INTEGER DEFAULT 0,"
+                + " title           TEXT,"
+                + " text            TEXT,"
+                + " date_published  TEXT,"
+                + " PRIMARY KEY (blog_id, post_id)"
+                + ")");
+        db.execSQL("CREATE INDEX idx_posts_date_published ON tbl_posts(date_published)");
+        return db;
+    }
+
+    /*
+     * mimics ReaderPostTable.addOrUpdatePosts, which saves each page of a stream in a transaction
+     */
+    private static void writePosts(SQLiteDatabase db) {
+        SQLiteStatement stmt = db.compileStatement(
+                "INSERT OR REPLACE INTO tbl_posts (blog_id, post_id, title, text, date_published)"
+                + " VALUES (?1,?2,?3,?4,?5)");
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            text.append("<p>Lorem ipsum dolor sit amet, consectetur adipiscing elit.</p>");
+        }
+        try {
+            for (int batch = 0; batch < NUM_BATCHES; batch++) {
+                db.beginTransaction();
+                try {
+                    for (int i = 0; i < POSTS_PER_BATCH; i++) {
+                        int postId = batch * POSTS_PER_BATCH + i;
+                        stmt.bindLong(1, 1);
+                        stmt.bindLong(2, postId);
+                        stmt.bindString(3, "Post " + postId);
+                        stmt.bindString(4, text.toString());
+                        stmt.bindString(5, String.format(Locale.US, "2016-03-%02dT%02d:%02d:00+00:00", 1 + postId % 28,
+                                postId % 24, postId % 60));
+                        stmt.execute();
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+            }
+        } finally {
+            SqlUtils.closeStatement(stmt);
+        }
+    }
+
+    /*
+     * mimics the list query ReaderPostAdapter runs when loading posts - returns the number of posts read
+     */
+    private static int readPosts(SQLiteDatabase db) {
+        Cursor c = db.rawQuery("SELECT blog_id, post_id, title FROM tbl_posts ORDER BY date_published DESC LIMIT "
+                + READ_PAGE_SIZE, null);
+        try {
+            int numPosts = 0;
+            while (c.moveToNext()) {
+                assertNotNull(c.getString(2));
+                numPosts++;
+            }
+            return numPosts;
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
+    }
+}
@@ -1,10 +1,38 @@
 package org.wordpress.android.database;
 
 import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
 import android.test.InstrumentationTestCase;
 import android.test.RenamingDelegatingContext;
+import android.test.suitebuilder.annotation.LargeTest;
+import android.text.TextUtils;
+
+import org.wordpress.android.WordPressDB;
+import org.wordpress.android.models.Blog;
+import org.wordpress.android.models.MediaUploadState;
+import org.wordpress.android.models.PostsListPost;
+import org.wordpress.android.models.PostsListPostList;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+import org.wordpress.android.util.helpers.MediaFile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class WordPressDBTest extends InstrumentationTestCase {
+    private static final String BLOG_ID = "1";
+    private static final int BENCHMARK_MEDIA_COUNT = 10000;
+    // saving one file at a time is much slower, so it's only benchmarked on part of the library
+    private static final int BENCHMARK_SINGLE_SAVE_COUNT = 1000;
+
     protected Context testContext;
     protected Context targetContext;
 
@@ -14,4 +42,300 @@ public class WordPressDBTest extends InstrumentationTestCase {
         targetContext = new RenamingDelegatingContext(getInstrumentation().getTargetContext(), "test_");
         testContext = getInstrumentation().getContext();
     }
+
+    private WordPressDB newDatabase() {
+        targetContext.deleteDatabase("wordpress");
+        return new WordPressDB(targetContext);
+    }
+
+    public void testSaveMediaFilesUpdatesExistingRows() {
+        WordPressDB wpDB = newDatabase();
+        wpDB.saveMediaFiles(buildMediaLibrary(BLOG_ID, 50, "first"));
+        wpDB.saveMediaFiles(buildMediaLibrary(BLOG_ID, 100, "second"));
+        assertEquals(100, wpDB.getMediaCountAll(BLOG_ID));
+
+        Cursor cursor = wpDB.getMediaFile(BLOG_ID, "10");
+        try {
+            assertTrue(cursor.moveToFirst());
+            assertEquals("second 10", cursor.getString(cursor.getColumnIndex(WordPressDB.COLUMN_NAME_TITLE)));
+        } finally {
+            cursor.close();
+        }
+    }
+
+    public void testSaveMediaFilesSkipsFilesMarkedForDelete() {
+        WordPressDB wpDB = newDatabase();
+        wpDB.saveMediaFiles(buildMediaLibrary(BLOG_ID, 10, "first"));
+        Set<String> ids = new HashSet<>();
+        ids.add("5");
+        wpDB.setMediaFilesMarkedForDelete(BLOG_ID, ids);
+
+        // the same media ID in another blog doesn't prevent updates
+        wpDB.saveMediaFiles(buildMediaLibrary("2", 10, "other blog"));
+        wpDB.saveMediaFiles(buildMediaLibrary(BLOG_ID, 10, "second"));
+
+        Cursor cursor = wpDB.getMediaFile(BLOG_ID, "5");
+        try {
+            assertTrue(cursor.moveToFirst());
+            assertEquals(MediaUploadState.DELETE.toString(),
+                    cursor.getString(cursor.getColumnIndex(WordPressDB.COLUMN_NAME_UPLOAD_STATE)));
+            assertEquals("first 5", cursor.getString(cursor.getColumnIndex(WordPressDB.COLUMN_NAME_TITLE)));
+        } finally {
+            cursor.close();
+        }
+        assertEquals(10, wpDB.getMediaCountAll("2"));
+    }
+
+    public void testSaveMediaFilesMatchesSaveMediaFile() {
+        List<MediaFile> library = buildMediaLibrary(BLOG_ID, 200, "library");
+
+        WordPressDB wpDB = newDatabase();
+        for (MediaFile mediaFile : library) {
+            wpDB.saveMediaFile(mediaFile);
+        }
+        List<String> savedOneAtATime = getMediaTitles(wpDB, BLOG_ID);
+        assertEquals(200, savedOneAtATime.size());
+
+        wpDB = newDatabase();
+        wpDB.saveMediaFiles(library);
+        assertEquals(savedOneAtATime, getMediaTitles(wpDB, BLOG_ID));
+
+        // saving the library again updates every row in place
+        wpDB.saveMediaFiles(buildMediaLibrary(BLOG_ID, 200, "updated"));
+        List<String> updatedTitles = getMediaTitles(wpDB, BLOG_ID);
+        assertEquals(200, updatedTitles.size());
+        assertEquals("updated 199", updatedTitles.get(0));
+    }
+
+    /*
+     * compares saving a large media library one file at a time with saving it in bulk - results are
+     * logged. Only run with the large tests (-e size large)
+     */
+    @LargeTest
+    public void testBenchmarkSaveMediaFiles() {
+        WordPressDB wpDB = newDatabase();
+        List<MediaFile> library = buildMediaLibrary(BLOG_ID, BENCHMARK_SINGLE_SAVE_COUNT, "single");
+        long start = SystemClock.elapsedRealtime();
+        for (MediaFile mediaFile : library) {
+            wpDB.saveMediaFile(mediaFile);
+        }
+        long singleMs = SystemClock.elapsedRealtime() - start;
+
+        wpDB = newDatabase();
+        library = buildMediaLibrary(BLOG_ID, BENCHMARK_MEDIA_COUNT, "insert");
+        start = SystemClock.elapsedRealtime();
+        wpDB.saveMediaFiles(library);
+        long bulkInsertMs = SystemClock.elapsedRealtime() - start;
+
+        library = buildMediaLibrary(BLOG_ID, BENCHMARK_MEDIA_COUNT, "update");
+        start = SystemClock.elapsedRealtime();
+        wpDB.saveMediaFiles(library);
+        long bulkUpdateMs = SystemClock.elapsedRealtime() - start;
+
+        assertEquals(BENCHMARK_MEDIA_COUNT, wpDB.getMediaCountAll(BLOG_ID));
+        AppLog.i(T.DB, "media save benchmark > one at a time: " + BENCHMARK_SINGLE_SAVE_COUNT + " files in "
+                + singleMs + "ms, bulk insert: " + BENCHMARK_MEDIA_COUNT + " files in " + bulkInsertMs
+                + "ms, bulk update: " + BENCHMARK_MEDIA_COUNT + " files in " + bulkUpdateMs + "ms");
+    }
+
+    public void testBlogCache() {
+        WordPressDB wpDB = newDatabase();
+        Blog newBlog = new Blog("https://example.com/xmlrpc.php", "user", "secret");
+        newBlog.setRemoteBlogId(42);
+        assertTrue(wpDB.addBlog(newBlog));
+        int localId = wpDB.getAllBlogsIDs().get(0);
+
+        int misses = wpDB.getBlogCache().getMissCount();
+        Blog blog = wpDB.instantiateBlogByLocalId(localId);
+        assertEquals("secret", blog.getPassword());
+        assertEquals(misses + 1, wpDB.getBlogCache().getMissCount());
+
+        // callers get their own copy
+        int hits = wpDB.getBlogCache().getHitCount();
+        blog.setBlogName("not saved");
+        Blog cachedBlog = wpDB.instantiateBlogByLocalId(localId);
+        assertNotSame(blog, cachedBlog);
+        assertFalse("not saved".equals(cachedBlog.getBlogName()));
+        assertEquals("secret", cachedBlog.getPassword());
+        assertEquals(hits + 1, wpDB.getBlogCache().getHitCount());
+
+        // writes invalidate the cache
+        assertTrue(wpDB.isDotComBlogVisible(42));
+        cachedBlog.setPassword("changed");
+        cachedBlog.setHidden(true);
+        wpDB.saveBlog(cachedBlog);
+        assertEquals("changed", wpDB.instantiateBlogByLocalId(localId).getPassword());
+        assertFalse(wpDB.isDotComBlogVisible(42));
+
+        wpDB.dangerouslyDeleteAllContent();
+        assertNull(wpDB.instantiateBlogByLocalId(localId));
+    }
+
+    public void testPostsListPaging() {
+        WordPressDB wpDB = newDatabase();
+        // several posts share a date, so pages also have to break ties on the id
+        List<Map<String, Object>> posts = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Map<String, Object> post = new HashMap<>();
+            post.put("postid", String.valueOf(i));
+            post.put("title", "post " + i);
+            post.put("dateCreated", new Date(1458000000000L + (i / 3) * 1000L));
+            post.put("date_created_gmt", new Date(1458000000000L + (i / 3) * 1000L));
+            post.put("post_status", "publish");
+            posts.add(post);
+        }
+        wpDB.savePosts(posts, 1, false, false);
+
+        PostsListPostList allPosts = wpDB.getPostsListPosts(1, false, null, 100);
+        assertEquals(50, allPosts.size());
+
+        // reading seven posts at a time returns the same list, without repeating or skipping posts
+        List<Long> pagedIds = new ArrayList<>();
+        PostsListPost lastPost = null;
+        PostsListPostList page;
+        do {
+            page = wpDB.getPostsListPosts(1, false, lastPost, 7);
+            for (PostsListPost post : page) {
+                pagedIds.add(post.getPostId());
+            }
+            if (page.size() > 0) {
+                lastPost = page.get(page.size() - 1);
+            }
+        } while (page.size() == 7);
+
+        List<Long> allIds = new ArrayList<>();
+        for (PostsListPost post : allPosts) {
+            allIds.add(post.getPostId());
+        }
+        assertEquals(allIds, pagedIds);
+        assertEquals(0, wpDB.getPostsListPosts(1, true, null, 100).size());
+    }
+
+    public void testUpgradeFromVersion51() {
+        SQLiteDatabase db = newDatabase().getDatabase();
+        downgradeToVersion51(db);
+        String description = "<p>First paragraph of the post.</p>"
+                + "<img src=\"https://example.com/image.jpg\" width=\"600\" /><p>Second paragraph.</p>";
+        db.execSQL("INSERT INTO posts (id, blogID, postid, title, description, mt_excerpt, date_created_gmt)"
+                + " VALUES (1, '1', '10', 'without excerpt', ?, '', 1458000000000)", new Object[]{description});
+        db.execSQL("INSERT INTO posts (id, blogID, postid, title, description, mt_excerpt, date_created_gmt)"
+                + " VALUES (2, '1', '11', 'with excerpt', '<p>No image</p>', 'Custom excerpt', 1458000001000)");
+        db.close();
+
+        WordPressDB wpDB = new WordPressDB(targetContext);
+        db = wpDB.getDatabase();
+
+        // existing posts don't have a modification date yet, so the next refresh replaces them
+        assertEquals(0, getPostLong(db, 1, "date_modified_gmt"));
+        assertEquals(0, getPostLong(db, 2, "date_modified_gmt"));
+        assertEquals(0, wpDB.getLatestModifiedDateGmt(1, false));
+
+        // the posts list fields are computed from the post content
+        assertEquals(PostsListPost.makeExcerpt(description), getPostString(db, 1, "list_excerpt"));
+        assertEquals("https://example.com/image.jpg", getPostString(db, 1, "list_image_url"));
+        assertEquals("Custom excerpt", getPostString(db, 2, "list_excerpt"));
+        assertNull(getPostString(db, 2, "list_image_url"));
+        assertEquals(2, wpDB.getPostsListPosts(1, false, null, 100).size());
+
+        Set<String> indexes = getIndexNames(db);
+        assertTrue(indexes.contains("idx_posts_list"));
+        assertTrue(indexes.contains("idx_media_blog_id_media_id"));
+        assertTrue(indexes.contains("idx_media_post_id_file_path"));
+    }
+
+    /*
+     * puts the posts and media tables back the way they were in version 51: the posts table is
+     * recreated without the columns added since then, and the indexes added since then are dropped
+     */
+    private static void downgradeToVersion51(SQLiteDatabase db) {
+        List<String> newColumns = Arrays.asList("date_modified_gmt", "list_excerpt", "list_image_url");
+        List<String> columnDefs = new ArrayList<>();
+        Cursor cursor = db.rawQuery("PRAGMA table_info(posts)", null);
+        try {
+            while (cursor.moveToNext()) {
+                String name = cursor.getString(1);
+                if (newColumns.contains(name)) {
+                    continue;
+                }
+                String columnDef = name + " " + cursor.getString(2);
+                if (cursor.getInt(5) > 0) {
+                    columnDef += " primary key autoincrement";
+                }
+                if (!cursor.isNull(4)) {
+                    columnDef += " default " + cursor.getString(4);
+                }
+                columnDefs.add(columnDef);
+            }
+        } finally {
+            cursor.close();
+        }
+        db.execSQL("DROP TABLE posts");
+        db.execSQL("CREATE TABLE posts (" + TextUtils.join(", ", columnDefs) + ")");
+        db.execSQL("DROP INDEX IF EXISTS idx_media_blog_id_media_id");
+        db.execSQL("DROP INDEX IF EXISTS idx_media_post_id_file_path");
+        db.setVersion(51);
+    }
+
+    private static long getPostLong(SQLiteDatabase db, int id, String column) {
+        Cursor cursor = db.rawQuery("SELECT " + column + " FROM posts WHERE id=?", new String[]{String.valueOf(id)});
+        try {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getLong(0);
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static String getPostString(SQLiteDatabase db, int id, String column) {
+        Cursor cursor = db.rawQuery("SELECT " + column + " FROM posts WHERE id=?", new String[]{String.valueOf(id)});
+        try {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getString(0);
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static Set<String> getIndexNames(SQLiteDatabase db) {
+        Set<String> names = new HashSet<>();
+        Cursor cursor = db.rawQuery("SELECT name FROM sqlite_master WHERE type='index'", null);
+        try {
+            while (cursor.moveToNext()) {
+                names.add(cursor.getString(0));
+            }
+        } finally {
+            cursor.close();
+        }
+        return names;
+    }
+
+    // titles of the blog's media files, newest first
+    private static List<String> getMediaTitles(WordPressDB wpDB, String blogId) {
+        List<String> titles = new ArrayList<>();
+        Cursor cursor = wpDB.getMediaFilesForBlog(blogId);
+        try {
+            while (cursor.moveToNext()) {
+                titles.add(cursor.getString(cursor.getColumnIndex(WordPressDB.COLUMN_NAME_TITLE)));
+            }
+        } finally {
+            cursor.close();
+        }
+        return titles;
+    }
+
+    private static List<MediaFile> buildMediaLibrary(String blogId, int count, String titlePrefix) {
+        List<MediaFile> library = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MediaFile mediaFile = new MediaFile();
+            mediaFile.setBlogId(blogId);
+            mediaFile.setMediaId(String.valueOf(i));
+            mediaFile.setTitle(titlePrefix + " " + i);
+            mediaFile.setMimeType("image/jpeg");
+            mediaFile.setFileURL("https://example.files.wordpress.com/2016/03/photo-" + i + ".jpg");
+            mediaFile.setDateCreatedGMT(1458000000000L + i * 1000L);
+            mediaFile.setUploadState(MediaUploadState.UPLOADED.toString());
+            library.add(mediaFile);
+        }
+        return library;
+    }
 }
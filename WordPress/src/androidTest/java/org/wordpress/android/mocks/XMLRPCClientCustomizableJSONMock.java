@@ -6,15 +6,21 @@ import com.google.gson.reflect.TypeToken;
 import org.wordpress.android.TestUtils;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
+import org.xmlpull.v1.XmlPullParserException;
 import org.xmlrpc.android.LoggedInputStream;
+import org.xmlrpc.android.MethodCall;
 import org.xmlrpc.android.XMLRPCCallback;
 import org.xmlrpc.android.XMLRPCException;
+import org.xmlrpc.android.XMLRPCTreeBuilder;
+import org.xmlrpc.android.XMLRPCUtils;
+import org.xmlrpc.android.XMLRPCValueVisitor;
 
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.util.HashMap;
+import java.util.List;
 
 public class XMLRPCClientCustomizableJSONMock extends XMLRPCClientCustomizableMockAbstract {
     private LoggedInputStream mLoggedInputStream;
@@ -77,6 +83,18 @@ public class XMLRPCClientCustomizableJSONMock extends XMLRPCClientCustomizableMo
         return null;
     }
 
+    public Object[] callMulticall(List<MethodCall> calls) throws XMLRPCException, IOException, XmlPullParserException {
+        // mocks don't batch, serve each call from its own file
+        return XMLRPCUtils.callSerially(this, calls);
+    }
+
+    public void callStreaming(String method, Object[] params, XMLRPCValueVisitor visitor) throws XMLRPCException {
+        Object result = call(method, params);
+        if (result != null) {
+            XMLRPCTreeBuilder.replay(result, visitor);
+        }
+    }
+
     public long callAsync(XMLRPCCallback listener, String methodName, Object[] params) {
         return 0;
     }
@@ -85,6 +103,10 @@ public class XMLRPCClientCustomizableJSONMock extends XMLRPCClientCustomizableMo
         return 0;
     }
 
+    public boolean cancel(long callId) {
+        return false;
+    }
+
     public String getResponse() {
         if (mLoggedInputStream == null) {
             return "";
@@ -4,15 +4,20 @@ import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.xmlpull.v1.XmlPullParserException;
 import org.xmlrpc.android.LoggedInputStream;
+import org.xmlrpc.android.MethodCall;
 import org.xmlrpc.android.XMLRPCCallback;
 import org.xmlrpc.android.XMLRPCClient;
 import org.xmlrpc.android.XMLRPCException;
 import org.xmlrpc.android.XMLRPCFault;
+import org.xmlrpc.android.XMLRPCTreeBuilder;
+import org.xmlrpc.android.XMLRPCUtils;
+import org.xmlrpc.android.XMLRPCValueVisitor;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
+import java.util.List;
 
 public class XMLRPCClientCustomizableXMLMock extends XMLRPCClientCustomizableMockAbstract {
     XMLRPCClient mXmlRpcClient;
@@ -73,6 +78,19 @@ public class XMLRPCClientCustomizableXMLMock extends XMLRPCClientCustomizableMoc
         return null;
     }
 
+    public Object[] callMulticall(List<MethodCall> calls) throws XMLRPCException, IOException, XmlPullParserException {
+        // mocks don't batch, serve each call from its own file
+        return XMLRPCUtils.callSerially(this, calls);
+    }
+
+    public void callStreaming(String method, Object[] params, XMLRPCValueVisitor visitor)
+            throws XMLRPCException, IOException, XmlPullParserException {
+        Object result = call(method, params);
+        if (result != null) {
+            XMLRPCTreeBuilder.replay(result, visitor);
+        }
+    }
+
     public long callAsync(XMLRPCCallback listener, String methodName, Object[] params) {
         return 0;
     }
@@ -81,6 +99,10 @@ public class XMLRPCClientCustomizableXMLMock extends XMLRPCClientCustomizableMoc
         return 0;
     }
 
+    public boolean cancel(long callId) {
+        return false;
+    }
+
     public String getResponse() {
         if (mLoggedInputStream == null) {
             return "";
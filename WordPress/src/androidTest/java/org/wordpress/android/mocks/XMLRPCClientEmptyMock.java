@@ -1,11 +1,14 @@
 package org.wordpress.android.mocks;
 
+import org.xmlrpc.android.MethodCall;
 import org.xmlrpc.android.XMLRPCCallback;
 import org.xmlrpc.android.XMLRPCClientInterface;
 import org.xmlrpc.android.XMLRPCException;
+import org.xmlrpc.android.XMLRPCValueVisitor;
 
 import java.io.File;
 import java.net.URI;
+import java.util.List;
 
 public class XMLRPCClientEmptyMock implements XMLRPCClientInterface {
     public XMLRPCClientEmptyMock(URI uri, String httpUser, String httpPassword) {
@@ -29,6 +32,13 @@ public class XMLRPCClientEmptyMock implements XMLRPCClientInterface {
         return null;
     }
 
+    public Object[] callMulticall(List<MethodCall> calls) throws XMLRPCException {
+        return null;
+    }
+
+    public void callStreaming(String method, Object[] params, XMLRPCValueVisitor visitor) throws XMLRPCException {
+    }
+
     public long callAsync(XMLRPCCallback listener, String methodName, Object[] params) {
         return 0;
     }
@@ -37,6 +47,10 @@ public class XMLRPCClientEmptyMock implements XMLRPCClientInterface {
         return 0;
     }
 
+    public boolean cancel(long callId) {
+        return false;
+    }
+
     public String getResponse() {
         return null;
     }
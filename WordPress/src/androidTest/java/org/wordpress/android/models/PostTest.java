@@ -24,7 +24,7 @@ public class PostTest extends InstrumentationTestCase {
 
     public void testInvalidPostIdLoad() {
         SQLiteDatabase db = TestUtils.loadDBFromDump(mTargetContext, mTestContext, "taliwutt-blogs-sample.sql");
-        Post post = WordPress.wpDB.getPostForLocalTablePostId(-1);
+        Post post = WordPress.getWpDB().getPostForLocalTablePostId(-1);
 
         assertNull(post);
     }
@@ -33,9 +33,9 @@ public class PostTest extends InstrumentationTestCase {
         SQLiteDatabase db = TestUtils.loadDBFromDump(mTargetContext, mTestContext, "taliwutt-blogs-sample.sql");
         Post post = new Post(1, false);
         post.setTitle("test-post");
-        WordPress.wpDB.savePost(post);
+        WordPress.getWpDB().savePost(post);
 
-        Post loadedPost = WordPress.wpDB.getPostForLocalTablePostId(post.getLocalTablePostId());
+        Post loadedPost = WordPress.getWpDB().getPostForLocalTablePostId(post.getLocalTablePostId());
 
         assertNotNull(loadedPost);
         assertEquals(loadedPost.getTitle(), post.getTitle());
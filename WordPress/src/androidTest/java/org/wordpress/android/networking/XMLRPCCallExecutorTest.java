@@ -0,0 +1,157 @@
+package org.wordpress.android.networking;
+
+import android.test.InstrumentationTestCase;
+
+import org.xmlrpc.android.ApiHelper.Method;
+import org.xmlrpc.android.XMLRPCCallExecutor;
+import org.xmlrpc.android.XMLRPCCallback;
+import org.xmlrpc.android.XMLRPCClient;
+import org.xmlrpc.android.XMLRPCClientInterface;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class XMLRPCCallExecutorTest extends InstrumentationTestCase {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    public void testCancelQueuedCall() throws Exception {
+        XMLRPCCallExecutor executor = XMLRPCCallExecutor.getInstance();
+        String host = "queued.example.com";
+        int maxCalls = executor.getMaxCallsPerHost();
+        BlockingTask[] runningTasks = new BlockingTask[maxCalls];
+        for (int i = 0; i < maxCalls; i++) {
+            runningTasks[i] = new BlockingTask();
+            executor.submit(executor.newCallId(), host, runningTasks[i]);
+        }
+        for (BlockingTask task : runningTasks) {
+            assertTrue(task.mStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+
+        // the host already has as many calls as allowed in flight, so this one waits in the queue
+        BlockingTask queuedTask = new BlockingTask();
+        long queuedId = executor.newCallId();
+        executor.submit(queuedId, host, queuedTask);
+        assertTrue(executor.cancel(queuedId));
+        assertFalse(executor.cancel(queuedId));
+
+        for (BlockingTask task : runningTasks) {
+            task.mRelease.countDown();
+            assertTrue(task.mFinished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+        // the canceled call never runs, even once the host has a free slot
+        assertFalse(queuedTask.mStarted.await(1, TimeUnit.SECONDS));
+        assertEquals(0, queuedTask.mCancelCount.get());
+    }
+
+    public void testCancelRunningCall() throws Exception {
+        XMLRPCCallExecutor executor = XMLRPCCallExecutor.getInstance();
+        BlockingTask task = new BlockingTask();
+        long callId = executor.newCallId();
+        executor.submit(callId, "running.example.com", task);
+        assertTrue(task.mStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        assertTrue(executor.cancel(callId));
+        assertEquals(1, task.mCancelCount.get());
+
+        task.mRelease.countDown();
+        assertTrue(task.mFinished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertFalse(waitUntilFinished(executor, callId));
+    }
+
+    /*
+     * cancels a call through the client while it's waiting for a server which never answers - the request is
+     * aborted and the listener isn't notified
+     */
+    public void testClientCancelDuringCall() throws Exception {
+        final ServerSocket server = new ServerSocket(0);
+        final CountDownLatch requestReceived = new CountDownLatch(1);
+        Thread serverThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Socket socket = server.accept();
+                    requestReceived.countDown();
+                    // never answer, the client aborts the request
+                    while (socket.getInputStream().read() != -1) {
+                        // ignore the request
+                    }
+                    socket.close();
+                } catch (IOException e) {
+                    // the server socket was closed by the test
+                }
+            }
+        });
+        serverThread.start();
+
+        try {
+            URI uri = URI.create("http://127.0.0.1:" + server.getLocalPort() + "/xmlrpc.php");
+            XMLRPCClientInterface client = new XMLRPCClient(uri, "", "");
+            final AtomicBoolean notified = new AtomicBoolean();
+            long callId = client.callAsync(new XMLRPCCallback() {
+                @Override
+                public void onSuccess(long id, Object result) {
+                    notified.set(true);
+                }
+
+                @Override
+                public void onFailure(long id, Exception error) {
+                    notified.set(true);
+                }
+            }, Method.LIST_METHODS, null);
+            assertTrue(requestReceived.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+            assertTrue(client.cancel(callId));
+            assertFalse("the aborted call should finish", waitUntilFinished(XMLRPCCallExecutor.getInstance(),
+                    callId));
+            assertFalse(notified.get());
+            assertFalse(client.cancel(callId));
+        } finally {
+            server.close();
+            serverThread.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        }
+    }
+
+    /*
+     * returns false once the call is no longer known to the executor, true if it's still running after the timeout
+     */
+    private static boolean waitUntilFinished(XMLRPCCallExecutor executor, long callId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        while (System.currentTimeMillis() < deadline) {
+            // canceling a finished call is a no-op which returns false
+            if (!executor.cancel(callId)) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+
+    private static class BlockingTask implements XMLRPCCallExecutor.Task {
+        final CountDownLatch mStarted = new CountDownLatch(1);
+        final CountDownLatch mRelease = new CountDownLatch(1);
+        final CountDownLatch mFinished = new CountDownLatch(1);
+        final AtomicInteger mCancelCount = new AtomicInteger();
+
+        @Override
+        public void run() {
+            mStarted.countDown();
+            try {
+                mRelease.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            mFinished.countDown();
+        }
+
+        @Override
+        public void cancel() {
+            mCancelCount.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.wordpress.android.networking;
+
+import android.test.InstrumentationTestCase;
+
+import org.xmlpull.v1.XmlPullParserException;
+import org.xmlrpc.android.ApiHelper.Method;
+import org.xmlrpc.android.MethodCall;
+import org.xmlrpc.android.XMLRPCCallback;
+import org.xmlrpc.android.XMLRPCClient;
+import org.xmlrpc.android.XMLRPCClientInterface;
+import org.xmlrpc.android.XMLRPCException;
+import org.xmlrpc.android.XMLRPCFault;
+import org.xmlrpc.android.XMLRPCUtils;
+import org.xmlrpc.android.XMLRPCValueVisitor;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class XMLRPCMulticallTest extends InstrumentationTestCase {
+    private static final String MULTICALL_RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<methodResponse><params><param><value><array><data>"
+            + "<value><array><data><value><string>4.4</string></value></data></array></value>"
+            + "<value><struct><member><name>faultCode</name><value><int>-32601</int></value></member>"
+            + "<member><name>faultString</name><value><string>no such method</string></value></member>"
+            + "</struct></value>"
+            + "</data></array></value></param></params></methodResponse>";
+
+    public void testCallMulticallUnwrapsResults() throws Exception {
+        final List<String> methods = new ArrayList<>();
+        XMLRPCClient client = new XMLRPCClient("https://example.com/xmlrpc.php", "", "") {
+            @Override
+            public Object call(String method, Object[] params)
+                    throws XMLRPCException, IOException, XmlPullParserException {
+                methods.add(method);
+                return XMLRPCClient.parseXMLRPCResponse(
+                        new ByteArrayInputStream(MULTICALL_RESPONSE.getBytes("UTF-8")), null);
+            }
+        };
+
+        Object[] results = client.callMulticall(buildCalls());
+
+        // both calls are sent in a single request
+        assertEquals(1, methods.size());
+        assertEquals(Method.MULTICALL, methods.get(0));
+        assertEquals(2, results.length);
+        assertEquals("4.4", results[0]);
+        assertTrue(results[1] instanceof XMLRPCFault);
+        assertEquals(-32601, ((XMLRPCFault) results[1]).getFaultCode());
+    }
+
+    public void testCallBatchUsesMulticall() throws Exception {
+        BatchClient client = new BatchClient(null);
+        Object[] results = XMLRPCUtils.callBatch(client, "https://multicall.example.com/xmlrpc.php", buildCalls());
+
+        assertEquals(1, client.mNumMulticalls);
+        assertEquals(0, client.mSerialMethods.size());
+        assertEquals("multicall " + Method.GET_OPTIONS, results[0]);
+        assertEquals("multicall " + Method.GET_PROFILE, results[1]);
+    }
+
+    public void testCallBatchFallsBackWhenMulticallFails() throws Exception {
+        String url = "https://blocked-multicall.example.com/xmlrpc.php";
+        BatchClient client = new BatchClient(new XMLRPCException("HTTP status code: 405 was returned."));
+        Object[] results = XMLRPCUtils.callBatch(client, url, buildCalls());
+
+        // the calls are made one by one once the multicall request failed
+        assertEquals(1, client.mNumMulticalls);
+        assertEquals(2, client.mSerialMethods.size());
+        assertEquals("single " + Method.GET_OPTIONS, results[0]);
+        assertEquals("single " + Method.GET_PROFILE, results[1]);
+
+        // and multicall isn't tried again on that endpoint
+        XMLRPCUtils.callBatch(client, url, buildCalls());
+        assertEquals(1, client.mNumMulticalls);
+        assertEquals(4, client.mSerialMethods.size());
+    }
+
+    public void testCallBatchThrowsMulticallAuthFault() throws Exception {
+        BatchClient client = new BatchClient(new XMLRPCFault("Incorrect username or password.", 403));
+        try {
+            XMLRPCUtils.callBatch(client, "https://bad-credentials.example.com/xmlrpc.php", buildCalls());
+            fail("bad credentials should be thrown");
+        } catch (XMLRPCFault fault) {
+            assertEquals(403, fault.getFaultCode());
+        }
+        assertEquals(0, client.mSerialMethods.size());
+    }
+
+    private static List<MethodCall> buildCalls() {
+        List<MethodCall> calls = new ArrayList<>();
+        calls.add(new MethodCall(Method.GET_OPTIONS, new Object[]{1, "user", "password"}));
+        calls.add(new MethodCall(Method.GET_PROFILE, new Object[]{1, "user", "password"}));
+        return calls;
+    }
+
+    /*
+     * client which advertises system.multicall, and either answers multicall requests or fails them with the
+     * passed exception
+     */
+    private static class BatchClient implements XMLRPCClientInterface {
+        private final XMLRPCException mMulticallException;
+        private final List<String> mSerialMethods = new ArrayList<>();
+        private int mNumMulticalls;
+
+        BatchClient(XMLRPCException multicallException) {
+            mMulticallException = multicallException;
+        }
+
+        public Object call(String method, Object[] params) throws XMLRPCException {
+            if (Method.LIST_METHODS.equals(method)) {
+                return new Object[]{Method.MULTICALL, Method.GET_OPTIONS, Method.GET_PROFILE};
+            }
+            mSerialMethods.add(method);
+            return "single " + method;
+        }
+
+        public Object call(String method) throws XMLRPCException {
+            return call(method, null);
+        }
+
+        public Object call(String method, Object[] params, File tempFile) throws XMLRPCException {
+            return call(method, params);
+        }
+
+        public Object[] callMulticall(List<MethodCall> calls) throws XMLRPCException {
+            mNumMulticalls++;
+            if (mMulticallException != null) {
+                throw mMulticallException;
+            }
+            Object[] results = new Object[calls.size()];
+            for (int i = 0; i < calls.size(); i++) {
+                results[i] = "multicall " + calls.get(i).getMethodName();
+            }
+            return results;
+        }
+
+        public void addQuickPostHeader(String type) {
+        }
+
+        public void setAuthorizationHeader(String authToken) {
+        }
+
+        public void callStreaming(String method, Object[] params, XMLRPCValueVisitor visitor) {
+        }
+
+        public long callAsync(XMLRPCCallback listener, String methodName, Object[] params) {
+            return 0;
+        }
+
+        public long callAsync(XMLRPCCallback listener, String methodName, Object[] params, File tempFile) {
+            return 0;
+        }
+
+        public boolean cancel(long callId) {
+            return false;
+        }
+
+        public String getResponse() {
+            return null;
+        }
+    }
+}
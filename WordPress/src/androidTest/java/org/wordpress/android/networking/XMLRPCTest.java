@@ -3,10 +3,16 @@ package org.wordpress.android.networking;
 import org.wordpress.android.DefaultMocksInstrumentationTestCase;
 import org.wordpress.android.mocks.XMLRPCFactoryTest;
 import org.xmlrpc.android.ApiHelper.Method;
+import org.xmlrpc.android.XMLRPCArrayElementVisitor;
+import org.xmlrpc.android.XMLRPCClient;
 import org.xmlrpc.android.XMLRPCClientInterface;
 import org.xmlrpc.android.XMLRPCFactory;
 
+import java.io.ByteArrayInputStream;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 public class XMLRPCTest extends DefaultMocksInstrumentationTestCase {
     public void testNumberExceptionWithInvalidDouble() throws Exception {
@@ -32,4 +38,42 @@ public class XMLRPCTest extends DefaultMocksInstrumentationTestCase {
         }
         assertTrue("invalid double format should trigger a NumberException", false);
     }
+
+    private static final String POSTS_RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<methodResponse><params><param><value><array><data>"
+            + "<value><struct><member><name>postid</name><value><string>1</string></value></member>"
+            + "<member><name>tags</name><value><array><data><value><string>a</string></value></data></array>"
+            + "</value></member></struct></value>"
+            + "<value><struct><member><name>postid</name><value><string>2</string></value></member></struct></value>"
+            + "<value><struct><member><name>postid</name><value><string>3</string></value></member></struct></value>"
+            + "</data></array></value></param></params></methodResponse>";
+
+    public void testParseResponseWithLeadingJunk() throws Exception {
+        String document = "<br />\n<b>Warning</b>: <?php junk ?>\n" + POSTS_RESPONSE;
+        Object result = XMLRPCClient.parseXMLRPCResponse(new ByteArrayInputStream(document.getBytes("UTF-8")), null);
+        Object[] posts = (Object[]) result;
+        assertEquals(3, posts.length);
+        assertEquals("1", ((Map<?, ?>) posts[0]).get("postid"));
+        assertEquals("a", ((Object[]) ((Map<?, ?>) posts[0]).get("tags"))[0]);
+    }
+
+    public void testStreamArrayElements() throws Exception {
+        final List<Object> postIds = new ArrayList<>();
+        XMLRPCArrayElementVisitor visitor = new XMLRPCArrayElementVisitor() {
+            @Override
+            public boolean shouldMaterializeElement(int index) {
+                return index >= 1;
+            }
+
+            @Override
+            public void onElement(int index, Object element) {
+                postIds.add(((Map<?, ?>) element).get("postid"));
+            }
+        };
+        XMLRPCClient.parseXMLRPCResponse(new ByteArrayInputStream(POSTS_RESPONSE.getBytes("UTF-8")), null, visitor);
+        assertEquals(3, visitor.getElementCount());
+        assertEquals(2, postIds.size());
+        assertEquals("2", postIds.get(0));
+        assertEquals("3", postIds.get(1));
+    }
 }
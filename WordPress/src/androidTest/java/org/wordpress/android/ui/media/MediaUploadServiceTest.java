@@ -0,0 +1,56 @@
+package org.wordpress.android.ui.media;
+
+import android.content.SharedPreferences;
+import android.preference.PreferenceManager;
+import android.test.InstrumentationTestCase;
+
+import org.wordpress.android.ui.media.services.MediaUploadService;
+import org.wordpress.android.ui.prefs.AppPrefs;
+
+public class MediaUploadServiceTest extends InstrumentationTestCase {
+    private static final String PREF_KEY = AppPrefs.UndeletablePrefKey.MAX_MEDIA_UPLOADS_PER_BLOG.name();
+
+    private SharedPreferences mPrefs;
+    private String mSavedValue;
+
+    @Override
+    protected void setUp() {
+        mPrefs = PreferenceManager.getDefaultSharedPreferences(getInstrumentation().getTargetContext());
+        mSavedValue = mPrefs.getString(PREF_KEY, null);
+        mPrefs.edit().remove(PREF_KEY).commit();
+    }
+
+    @Override
+    protected void tearDown() {
+        if (mSavedValue != null) {
+            mPrefs.edit().putString(PREF_KEY, mSavedValue).commit();
+        } else {
+            mPrefs.edit().remove(PREF_KEY).commit();
+        }
+    }
+
+    public void testDefaultMaxUploadsPerBlog() {
+        assertEquals(MediaUploadService.DEFAULT_MAX_UPLOADS_PER_BLOG, MediaUploadService.getMaxUploadsPerBlog());
+    }
+
+    public void testSetMaxUploadsPerBlog() {
+        MediaUploadService.setMaxUploadsPerBlog(5);
+        assertEquals(5, MediaUploadService.getMaxUploadsPerBlog());
+        assertEquals(5, AppPrefs.getMaxMediaUploadsPerBlog());
+
+        // the limit is kept in the prefs, so it's still set the next time the service starts
+        assertEquals("5", mPrefs.getString(PREF_KEY, null));
+    }
+
+    public void testMaxUploadsPerBlogIsAtLeastOne() {
+        MediaUploadService.setMaxUploadsPerBlog(0);
+        assertEquals(1, MediaUploadService.getMaxUploadsPerBlog());
+        MediaUploadService.setMaxUploadsPerBlog(-3);
+        assertEquals(1, MediaUploadService.getMaxUploadsPerBlog());
+    }
+
+    public void testInvalidPrefUsesDefault() {
+        mPrefs.edit().putString(PREF_KEY, "not a number").commit();
+        assertEquals(MediaUploadService.DEFAULT_MAX_UPLOADS_PER_BLOG, MediaUploadService.getMaxUploadsPerBlog());
+    }
+}
@@ -0,0 +1,247 @@
+package org.wordpress.android.ui.posts.services;
+
+import android.test.AndroidTestCase;
+
+import org.wordpress.android.models.Blog;
+import org.xmlrpc.android.ApiHelper.Method;
+import org.xmlrpc.android.MethodCall;
+import org.xmlrpc.android.XMLRPCCallback;
+import org.xmlrpc.android.XMLRPCClientInterface;
+import org.xmlrpc.android.XMLRPCValueVisitor;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PostUpdateServiceTest extends AndroidTestCase {
+    private static final long HIGH_WATER_MARK = 1000000000000L;
+    private static final long OLDEST_DATE_CREATED = HIGH_WATER_MARK - 100000;
+
+    private final Blog mBlog = new Blog("https://example.com/xmlrpc.php", "user", "password");
+
+    public void testToLegacyPost() {
+        Map<String, Object> post = new HashMap<>();
+        post.put("post_id", "12");
+        post.put("post_title", "Title");
+        post.put("post_date", new Date(HIGH_WATER_MARK));
+        post.put("post_date_gmt", new Date(HIGH_WATER_MARK));
+        post.put("post_modified_gmt", new Date(HIGH_WATER_MARK + 1000));
+        post.put("post_content", "Intro<!--more Read on-->Rest");
+        post.put("post_excerpt", "Excerpt");
+        post.put("post_status", "publish");
+        post.put("comment_status", "open");
+        post.put("ping_status", "closed");
+        post.put("post_author", "3");
+        Map<String, Object> thumbnail = new HashMap<>();
+        thumbnail.put("attachment_id", "42");
+        post.put("post_thumbnail", thumbnail);
+        post.put("terms", new Object[]{newTerm("category", "News"), newTerm("post_tag", "a"),
+                newTerm("category", "Sports"), newTerm("post_tag", "b"), newTerm("post_format", "aside")});
+
+        Map<String, Object> legacyPost = PostUpdateService.toLegacyPost(post, false);
+
+        assertEquals("12", legacyPost.get("postid"));
+        assertEquals("Title", legacyPost.get("title"));
+        assertEquals(new Date(HIGH_WATER_MARK), legacyPost.get("date_created_gmt"));
+        assertEquals(new Date(HIGH_WATER_MARK + 1000), legacyPost.get("date_modified_gmt"));
+        // the content is split at the more tag
+        assertEquals("Intro", legacyPost.get("description"));
+        assertEquals("Rest", legacyPost.get("mt_text_more"));
+        assertEquals("Excerpt", legacyPost.get("mt_excerpt"));
+        assertEquals("publish", legacyPost.get("post_status"));
+        assertEquals(1, legacyPost.get("mt_allow_comments"));
+        assertEquals(0, legacyPost.get("mt_allow_pings"));
+        assertEquals("3", legacyPost.get("wp_author_id"));
+        assertEquals(42, legacyPost.get("wp_post_thumbnail"));
+        assertTrue(Arrays.equals(new Object[]{"News", "Sports"}, (Object[]) legacyPost.get("categories")));
+        assertEquals("a, b", legacyPost.get("mt_keywords"));
+    }
+
+    public void testToLegacyPage() {
+        Map<String, Object> page = new HashMap<>();
+        page.put("post_id", "7");
+        page.put("post_content", "No more tag");
+        page.put("post_status", "draft");
+        page.put("post_parent", "2");
+        // pages without a featured image have an empty array
+        page.put("post_thumbnail", new Object[]{});
+
+        Map<String, Object> legacyPage = PostUpdateService.toLegacyPost(page, true);
+
+        assertEquals("7", legacyPage.get("page_id"));
+        assertFalse(legacyPage.containsKey("postid"));
+        assertEquals("No more tag", legacyPage.get("description"));
+        assertEquals("", legacyPage.get("text_more"));
+        assertEquals("draft", legacyPage.get("page_status"));
+        assertEquals("2", legacyPage.get("wp_page_parent_id"));
+        // drafts don't have a GMT date
+        assertFalse(legacyPage.containsKey("date_created_gmt"));
+        assertFalse(legacyPage.containsKey("wp_post_thumbnail"));
+        assertFalse(legacyPage.containsKey("categories"));
+    }
+
+    public void testPostChangesStopAtHighWaterMark() throws Exception {
+        PostsClient client = new PostsClient();
+        client.mModifiedPosts.add(newPost("5", HIGH_WATER_MARK + 500, HIGH_WATER_MARK));
+        // a draft, without a GMT creation date
+        client.mModifiedPosts.add(newPost("4", HIGH_WATER_MARK + 400, 0));
+        // created before the oldest post we have, it'll be fetched by "load more"
+        client.mModifiedPosts.add(newPost("3", HIGH_WATER_MARK + 300, OLDEST_DATE_CREATED - 1));
+        client.mModifiedPosts.add(newPost("2", HIGH_WATER_MARK, HIGH_WATER_MARK));
+        client.mModifiedPosts.add(newPost("1", HIGH_WATER_MARK - 500, HIGH_WATER_MARK));
+
+        PostUpdateService.PostChanges changes = PostUpdateService.getPostChanges(client, mBlog, false,
+                HIGH_WATER_MARK, OLDEST_DATE_CREATED);
+
+        assertNotNull(changes);
+        assertEquals(2, changes.modifiedPosts.size());
+        assertEquals("5", changes.modifiedPosts.get(0).get("post_id"));
+        assertEquals("4", changes.modifiedPosts.get(1).get("post_id"));
+        assertEquals(0, changes.trashedPostIds.size());
+        // a single page of each
+        assertEquals(2, client.mRequests.size());
+    }
+
+    public void testPostChangesDetectTrashedPosts() throws Exception {
+        PostsClient client = new PostsClient();
+        client.mModifiedPosts.add(newPost("5", HIGH_WATER_MARK + 500, HIGH_WATER_MARK));
+        client.mTrashedPosts.add(newPost("4", HIGH_WATER_MARK + 400, HIGH_WATER_MARK));
+        client.mTrashedPosts.add(newPost("3", HIGH_WATER_MARK + 300, HIGH_WATER_MARK));
+        // trashed before the last sync, so it's already gone
+        client.mTrashedPosts.add(newPost("2", HIGH_WATER_MARK - 300, HIGH_WATER_MARK));
+
+        PostUpdateService.PostChanges changes = PostUpdateService.getPostChanges(client, mBlog, false,
+                HIGH_WATER_MARK, OLDEST_DATE_CREATED);
+
+        assertNotNull(changes);
+        assertEquals(1, changes.modifiedPosts.size());
+        assertEquals(Arrays.asList("4", "3"), changes.trashedPostIds);
+        Map<?, ?> trashRequest = client.mRequests.get(1);
+        assertEquals(PostUpdateService.POST_STATUS_TRASH, trashRequest.get("post_status"));
+        assertEquals("modified", trashRequest.get("orderby"));
+    }
+
+    public void testTooManyModifiedPosts() throws Exception {
+        PostsClient client = new PostsClient();
+        addPosts(client.mModifiedPosts, PostUpdateService.MAX_MODIFIED_PAGES_TO_REQUEST
+                * PostUpdateService.NUM_POSTS_TO_REQUEST + 1);
+
+        assertNull(PostUpdateService.getPostChanges(client, mBlog, false, HIGH_WATER_MARK, OLDEST_DATE_CREATED));
+        // stops requesting pages at the cutoff, and doesn't look for trashed posts
+        assertEquals(PostUpdateService.MAX_MODIFIED_PAGES_TO_REQUEST, client.mRequests.size());
+        for (Map<?, ?> request : client.mRequests) {
+            assertFalse(request.containsKey("post_status"));
+        }
+    }
+
+    public void testModifiedPostsUpToTheCutoff() throws Exception {
+        PostsClient client = new PostsClient();
+        int maxPosts = PostUpdateService.MAX_MODIFIED_PAGES_TO_REQUEST * PostUpdateService.NUM_POSTS_TO_REQUEST;
+        addPosts(client.mModifiedPosts, maxPosts - 1);
+
+        PostUpdateService.PostChanges changes = PostUpdateService.getPostChanges(client, mBlog, false,
+                HIGH_WATER_MARK, OLDEST_DATE_CREATED);
+
+        assertNotNull(changes);
+        assertEquals(maxPosts - 1, changes.modifiedPosts.size());
+    }
+
+    public void testTooManyTrashedPosts() throws Exception {
+        PostsClient client = new PostsClient();
+        addPosts(client.mTrashedPosts, PostUpdateService.MAX_MODIFIED_PAGES_TO_REQUEST
+                * PostUpdateService.NUM_POSTS_TO_REQUEST + 1);
+
+        assertNull(PostUpdateService.getPostChanges(client, mBlog, false, HIGH_WATER_MARK, OLDEST_DATE_CREATED));
+        assertEquals(1 + PostUpdateService.MAX_MODIFIED_PAGES_TO_REQUEST, client.mRequests.size());
+    }
+
+    private static Map<String, Object> newTerm(String taxonomy, String name) {
+        Map<String, Object> term = new HashMap<>();
+        term.put("taxonomy", taxonomy);
+        term.put("name", name);
+        return term;
+    }
+
+    private static Map<String, Object> newPost(String postId, long dateModified, long dateCreated) {
+        Map<String, Object> post = new HashMap<>();
+        post.put("post_id", postId);
+        post.put("post_modified_gmt", new Date(dateModified));
+        if (dateCreated > 0) {
+            post.put("post_date_gmt", new Date(dateCreated));
+        }
+        return post;
+    }
+
+    /*
+     * adds the passed number of posts, all modified since the high-water mark, most recent first
+     */
+    private static void addPosts(List<Map<?, ?>> posts, int count) {
+        for (int i = 0; i < count; i++) {
+            posts.add(newPost(Integer.toString(count - i), HIGH_WATER_MARK + count - i, HIGH_WATER_MARK));
+        }
+    }
+
+    /*
+     * client which answers wp.getPosts with a page of the modified or trashed posts, most recently
+     * modified first, and records the filter of each request
+     */
+    private static class PostsClient implements XMLRPCClientInterface {
+        private final List<Map<?, ?>> mModifiedPosts = new ArrayList<>();
+        private final List<Map<?, ?>> mTrashedPosts = new ArrayList<>();
+        private final List<Map<?, ?>> mRequests = new ArrayList<>();
+
+        public Object call(String method, Object[] params) {
+            assertEquals(Method.GET_POSTS, method);
+            Map<?, ?> filter = (Map<?, ?>) params[3];
+            mRequests.add(filter);
+            List<Map<?, ?>> posts = filter.containsKey("post_status") ? mTrashedPosts : mModifiedPosts;
+            int offset = (Integer) filter.get("offset");
+            int end = Math.min(posts.size(), offset + (Integer) filter.get("number"));
+            if (offset >= end) {
+                return new Object[]{};
+            }
+            return posts.subList(offset, end).toArray();
+        }
+
+        public Object call(String method) {
+            return call(method, null);
+        }
+
+        public Object call(String method, Object[] params, File tempFile) {
+            return call(method, params);
+        }
+
+        public Object[] callMulticall(List<MethodCall> calls) {
+            return null;
+        }
+
+        public void addQuickPostHeader(String type) {
+        }
+
+        public void setAuthorizationHeader(String authToken) {
+        }
+
+        public void callStreaming(String method, Object[] params, XMLRPCValueVisitor visitor) {
+        }
+
+        public long callAsync(XMLRPCCallback listener, String methodName, Object[] params) {
+            return 0;
+        }
+
+        public long callAsync(XMLRPCCallback listener, String methodName, Object[] params, File tempFile) {
+            return 0;
+        }
+
+        public boolean cancel(long callId) {
+            return false;
+        }
+
+        public String getResponse() {
+            return null;
+        }
+    }
+}
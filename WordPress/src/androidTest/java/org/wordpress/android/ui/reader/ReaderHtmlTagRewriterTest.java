@@ -0,0 +1,203 @@
+package org.wordpress.android.ui.reader;
+
+import android.os.Debug;
+import android.os.SystemClock;
+import android.test.InstrumentationTestCase;
+import android.test.suitebuilder.annotation.LargeTest;
+
+import org.wordpress.android.ui.reader.utils.ReaderHtmlTagRewriter;
+import org.wordpress.android.ui.reader.utils.ReaderHtmlUtils;
+import org.wordpress.android.ui.reader.utils.ReaderIframeScanner;
+import org.wordpress.android.ui.reader.utils.ReaderImageScanner;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+public class ReaderHtmlTagRewriterTest extends InstrumentationTestCase {
+    private static final int[] IMAGE_COUNTS = {20, 100, 250};
+    private static final int BENCHMARK_ITERATIONS = 10;
+
+    // mimics the tags ReaderPostRenderer generates
+    private final ReaderHtmlTagRewriter.TagListener mListener = new ReaderHtmlTagRewriter.TagListener() {
+        @Override
+        public String onImageTag(String tag, String src) {
+            if (src.contains("wpcom-smileys")) {
+                return null;
+            }
+            return "<img class='size-full' src='" + src + "' width='360' height='240' />";
+        }
+
+        @Override
+        public String onIframeTag(String tag, String src) {
+            return "<iframe src='" + src + "' frameborder='0' width='360' height='202' />";
+        }
+    };
+
+    public void testMatchesLegacyRenderer() {
+        for (int imageCount : IMAGE_COUNTS) {
+            String content = buildGalleryPost(imageCount);
+            assertEquals(legacyRewrite(content, true), new ReaderHtmlTagRewriter(mListener, true).rewrite(content));
+            assertEquals(legacyRewrite(content, false), new ReaderHtmlTagRewriter(mListener, false).rewrite(content));
+        }
+    }
+
+    public void testQuotedGreaterThanInAttribute() {
+        String content = "<p>before</p><img alt='a > b' src='http://example.com/a.jpg' />after";
+        String expected = "<p>before</p><img class='size-full' src='http://example.com/a.jpg' width='360' "
+                + "height='240' />after";
+        assertEquals(expected, new ReaderHtmlTagRewriter(mListener, true).rewrite(content));
+    }
+
+    public void testUnchangedContentIsNotCopied() {
+        String content = "<p>no images here, just a <a href='http://example.com'>link</a></p>"
+                + "<img src='https://s0.wp.com/wp-content/mu-plugins/wpcom-smileys/simple-smile.svg' />";
+        assertSame(content, new ReaderHtmlTagRewriter(mListener, true).rewrite(content));
+    }
+
+    public void testUnterminatedTag() {
+        String content = "<img src='http://example.com/a.jpg'/><img src='http://example.com/b.jpg";
+        String rewritten = new ReaderHtmlTagRewriter(mListener, true).rewrite(content);
+        assertTrue(rewritten.startsWith("<img class='size-full'"));
+        assertTrue(rewritten.endsWith("<img src='http://example.com/b.jpg"));
+    }
+
+    public void testUnbalancedQuoteInAttribute() {
+        String content = "<img alt=\"broken src='http://example.com/a.jpg' /><p>text</p>"
+                + "<img src='http://example.com/b.jpg' /><img alt=\"end src='http://example.com/c.jpg' />";
+        String expected = "<img class='size-full' src='http://example.com/a.jpg' width='360' height='240' />"
+                + "<p>text</p>"
+                + "<img class='size-full' src='http://example.com/b.jpg' width='360' height='240' />"
+                + "<img class='size-full' src='http://example.com/c.jpg' width='360' height='240' />";
+        assertEquals(expected, new ReaderHtmlTagRewriter(mListener, true).rewrite(content));
+    }
+
+    public void testRewritesEveryTagInLargePosts() {
+        for (int imageCount : IMAGE_COUNTS) {
+            String rewritten = new ReaderHtmlTagRewriter(mListener, true).rewrite(buildGalleryPost(imageCount));
+            // every image but the smiley, and a video every 25 images
+            assertEquals(imageCount, countOccurrences(rewritten, "<img class='size-full'"));
+            assertEquals(imageCount / 25, countOccurrences(rewritten, "frameborder='0'"));
+            assertEquals(1, countOccurrences(rewritten, "wpcom-smileys"));
+        }
+    }
+
+    /*
+     * compares render time and allocated bytes of the single pass rewriter with the previous
+     * scan + indexOf/replace approach, over image heavy tiled gallery posts - results are logged.
+     * Only run with the large tests (-e size large)
+     */
+    @LargeTest
+    @SuppressWarnings("deprecation")
+    public void testBenchmarkLargePosts() {
+        for (int imageCount : IMAGE_COUNTS) {
+            String content = buildGalleryPost(imageCount);
+
+            // warm up both code paths
+            legacyRewrite(content, true);
+            new ReaderHtmlTagRewriter(mListener, true).rewrite(content);
+
+            Debug.startAllocCounting();
+            Debug.resetThreadAllocSize();
+            long start = SystemClock.elapsedRealtime();
+            for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+                legacyRewrite(content, true);
+            }
+            long legacyMs = SystemClock.elapsedRealtime() - start;
+            long legacyBytes = Debug.getThreadAllocSize();
+
+            Debug.resetThreadAllocSize();
+            start = SystemClock.elapsedRealtime();
+            for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+                new ReaderHtmlTagRewriter(mListener, true).rewrite(content);
+            }
+            long singlePassMs = SystemClock.elapsedRealtime() - start;
+            long singlePassBytes = Debug.getThreadAllocSize();
+            Debug.stopAllocCounting();
+
+            AppLog.i(T.READER, "reader renderer benchmark > " + imageCount + " images, " + content.length()
+                    + " chars: before " + (legacyMs / BENCHMARK_ITERATIONS) + "ms / "
+                    + (legacyBytes / BENCHMARK_ITERATIONS) + " bytes, after "
+                    + (singlePassMs / BENCHMARK_ITERATIONS) + "ms / "
+                    + (singlePassBytes / BENCHMARK_ITERATIONS) + " bytes");
+        }
+    }
+
+    private static int countOccurrences(String text, String substring) {
+        int count = 0;
+        for (int i = text.indexOf(substring); i != -1; i = text.indexOf(substring, i + substring.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    /*
+     * the previous ReaderPostRenderer approach: scan a copy of the content for each tag type,
+     * then find and replace each tag in the builder
+     */
+    private String legacyRewrite(String content, boolean rewriteImages) {
+        final StringBuilder builder = new StringBuilder(content);
+        if (rewriteImages) {
+            new ReaderImageScanner(builder.toString(), false).beginScan(new ReaderHtmlUtils.HtmlScannerListener() {
+                @Override
+                public void onTagFound(String tag, String src) {
+                    replaceTag(builder, tag, mListener.onImageTag(tag, src));
+                }
+            });
+        }
+        new ReaderIframeScanner(builder.toString()).beginScan(new ReaderHtmlUtils.HtmlScannerListener() {
+            @Override
+            public void onTagFound(String tag, String src) {
+                replaceTag(builder, tag, mListener.onIframeTag(tag, src));
+            }
+        });
+        return builder.toString();
+    }
+
+    private static void replaceTag(StringBuilder builder, String tag, String newTag) {
+        int start = builder.indexOf(tag);
+        if (newTag != null && start != -1) {
+            builder.replace(start, start + tag.length(), newTag);
+        }
+    }
+
+    /*
+     * builds a photo blog post modeled on WordPress.com tiled gallery markup, with some text,
+     * smileys and video embeds between the gallery rows
+     */
+    private static String buildGalleryPost(int imageCount) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<p>Photos from the trip, more to come soon <img src='https://s0.wp.com/wp-content/mu-plugins/")
+          .append("wpcom-smileys/simple-smile.svg' alt=':)' class='wp-smiley' style='height: 1em;' /></p>");
+        sb.append("<div class=\"tiled-gallery type-rectangular tiled-gallery-unresized\" ")
+          .append("data-original-width=\"700\" data-carousel-extra='{\"blog_id\":1,\"permalink\":\"x\"}'>");
+        for (int i = 0; i < imageCount; i++) {
+            if (i % 3 == 0) {
+                if (i > 0) {
+                    sb.append("</div>");
+                }
+                sb.append("<div class=\"gallery-row\" style=\"width: 700px; height: 231px;\">");
+            }
+            String url = "https://example.files.wordpress.com/2016/03/photo-" + i + ".jpg";
+            sb.append("<div class=\"gallery-group images-1\" style=\"width: 231px; height: 231px;\">")
+              .append("<div class=\"tiled-gallery-item tiled-gallery-item-small\">")
+              .append("<a href=\"https://example.wordpress.com/2016/03/20/trip/photo-").append(i).append("/\">")
+              .append("<img data-attachment-id=\"").append(1000 + i).append("\" data-orig-file=\"").append(url)
+              .append("\" data-orig-size=\"4032,3024\" data-comments-opened=\"1\" data-image-meta=\"{&quot;")
+              .append("aperture&quot;:&quot;2.2&quot;,&quot;camera&quot;:&quot;iPhone 6s&quot;}\" ")
+              .append("data-image-title=\"photo-").append(i).append("\" data-image-description=\"\" ")
+              .append("data-medium-file=\"").append(url).append("?w=300\" data-large-file=\"").append(url)
+              .append("?w=700\" src=\"").append(url).append("?w=227&#038;h=170\" width=\"227\" height=\"170\" ")
+              .append("data-original-width=\"227\" data-original-height=\"170\" title=\"photo-").append(i)
+              .append("\" alt=\"photo-").append(i).append("\" style=\"width: 227px; height: 170px;\" />")
+              .append("</a></div></div>");
+            if (i % 25 == 24) {
+                sb.append("</div><p>Here's a short video from that day:</p>")
+                  .append("<iframe class='youtube-player' type='text/html' width='640' height='390' ")
+                  .append("src='https://www.youtube.com/embed/video").append(i)
+                  .append("?version=3&#038;rel=1' allowfullscreen='true' style='border:0;'></iframe>")
+                  .append("<div class=\"gallery-row\" style=\"width: 700px; height: 231px;\">");
+            }
+        }
+        sb.append("</div></div><p>Thanks for looking!</p>");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,121 @@
+package org.wordpress.android.ui.suggestion;
+
+import android.os.SystemClock;
+import android.test.InstrumentationTestCase;
+
+import org.wordpress.android.models.Suggestion;
+import org.wordpress.android.models.Tag;
+import org.wordpress.android.ui.suggestion.util.SuggestionIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class SuggestionIndexTest extends InstrumentationTestCase {
+    private static final int SITE_ID = 1;
+    private static final int LARGE_USER_COUNT = 5000;
+    private static final String[] QUERIES = {"", "a", "an", "ANN", "ann s", "smi", "user_12", "zz", " "};
+    private static final String[] FIRST_NAMES = {"Ann", "Anna", "Bob", "Carla", "Dave", "Eve", "Annette"};
+    private static final String[] LAST_NAMES = {"Smith", "Smithers", "Jones", "van der Berg", "Anderson"};
+
+    @Override
+    protected void setUp() {
+        SuggestionIndex.clearUsage();
+    }
+
+    public void testMatchesLegacyFilter() {
+        List<Suggestion> suggestions = buildSuggestions(500);
+        SuggestionIndex<Suggestion> index = new SuggestionIndex<>(suggestions, SuggestionIndex.SUGGESTION_INDEXER);
+        for (String query : QUERIES) {
+            assertEquals(query, legacyFilter(suggestions, query), index.find(query));
+        }
+    }
+
+    public void testMatchesWordsInTags() {
+        List<Tag> tags = new ArrayList<>();
+        tags.add(new Tag(SITE_ID, "Android"));
+        tags.add(new Tag(SITE_ID, "Open Source"));
+        tags.add(new Tag(SITE_ID, "source code"));
+        tags.add(new Tag(SITE_ID, "resources"));
+        SuggestionIndex<Tag> index = new SuggestionIndex<>(tags, SuggestionIndex.TAG_INDEXER);
+
+        List<Tag> results = index.find("sou");
+        assertEquals(2, results.size());
+        assertSame(tags.get(1), results.get(0));
+        assertSame(tags.get(2), results.get(1));
+        assertEquals(1, index.find("open s").size());
+        assertTrue(index.find("ces").isEmpty());
+    }
+
+    public void testRecentlyUsedRankFirst() {
+        List<Suggestion> suggestions = buildSuggestions(50);
+        SuggestionIndex<Suggestion> index = new SuggestionIndex<>(suggestions, SuggestionIndex.SUGGESTION_INDEXER);
+        Suggestion first = suggestions.get(30);
+        Suggestion second = suggestions.get(40);
+        index.markUsed(second);
+        SystemClock.sleep(5);
+        index.markUsed(first);
+
+        // usage survives the index being rebuilt after a refresh
+        index = new SuggestionIndex<>(suggestions, SuggestionIndex.SUGGESTION_INDEXER);
+        List<Suggestion> results = index.find("");
+        assertEquals(suggestions.size(), results.size());
+        assertSame(first, results.get(0));
+        assertSame(second, results.get(1));
+        assertSame(suggestions.get(0), results.get(2));
+
+        // used items which don't match aren't returned
+        results = index.find(first.getUserLogin());
+        assertSame(first, results.get(0));
+        assertFalse(results.contains(second));
+    }
+
+    public void testMatchCountsInLargeList() {
+        SuggestionIndex<Suggestion> index = new SuggestionIndex<>(buildSuggestions(LARGE_USER_COUNT),
+                SuggestionIndex.SUGGESTION_INDEXER);
+        assertEquals(LARGE_USER_COUNT, index.find("").size());
+        // Ann, Anna and Annette
+        assertEquals(2144, index.find("ANN").size());
+        // Ann Smith and Ann Smithers
+        assertEquals(286, index.find("ann s").size());
+        assertEquals(1000, index.find("smithers").size());
+        assertEquals(1000, index.find("van der").size());
+        assertEquals(0, index.find("zz").size());
+
+        List<Suggestion> results = index.find("user_0499");
+        assertEquals(10, results.size());
+        assertEquals("user_04990", results.get(0).getUserLogin());
+        assertEquals("user_04999", results.get(9).getUserLogin());
+    }
+
+    /*
+     * the previous SuggestionAdapter filter
+     */
+    private static List<Suggestion> legacyFilter(List<Suggestion> suggestions, String constraint) {
+        if (constraint.length() == 0) {
+            return suggestions;
+        }
+        List<Suggestion> results = new ArrayList<>();
+        for (Suggestion suggestion : suggestions) {
+            String lowerCaseConstraint = constraint.toLowerCase();
+            if (suggestion.getUserLogin().toLowerCase().startsWith(lowerCaseConstraint)
+                    || suggestion.getDisplayName().toLowerCase().startsWith(lowerCaseConstraint)
+                    || suggestion.getDisplayName().toLowerCase().contains(" " + lowerCaseConstraint))
+                results.add(suggestion);
+        }
+        return results;
+    }
+
+    /*
+     * builds suggestions sorted by user login, as they're loaded from SuggestionTable
+     */
+    private static List<Suggestion> buildSuggestions(int count) {
+        List<Suggestion> suggestions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String displayName = FIRST_NAMES[i % FIRST_NAMES.length] + " " + LAST_NAMES[i % LAST_NAMES.length];
+            suggestions.add(new Suggestion(SITE_ID, String.format(Locale.US, "user_%05d", i), displayName,
+                    "https://example.com/avatar.png", "mention"));
+        }
+        return suggestions;
+    }
+}
@@ -0,0 +1,95 @@
+package org.wordpress.android.util;
+
+import android.os.AsyncTask;
+import android.test.InstrumentationTestCase;
+
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class AppExecutorsTest extends InstrumentationTestCase {
+    private static final int NETWORK_THREADS = 6;
+
+    private final List<String> mEvents = Collections.synchronizedList(new ArrayList<String>());
+
+    public void testUserVisibleTasksRunFirst() throws InterruptedException {
+        // keep every thread of the pool busy, so the following tasks are queued
+        final CountDownLatch releaseFirst = new CountDownLatch(1);
+        final CountDownLatch releaseOthers = new CountDownLatch(1);
+        final CountDownLatch busy = new CountDownLatch(NETWORK_THREADS);
+        for (int i = 0; i < NETWORK_THREADS; i++) {
+            final CountDownLatch release = (i == 0 ? releaseFirst : releaseOthers);
+            AppExecutors.execute(Pool.NETWORK, new Runnable() {
+                @Override
+                public void run() {
+                    busy.countDown();
+                    awaitQuietly(release);
+                }
+            });
+        }
+        try {
+            assertTrue(busy.await(5, TimeUnit.SECONDS));
+
+            CountDownLatch done = new CountDownLatch(4);
+            AppExecutors.execute(Pool.NETWORK, new RecordingTask("background 1", done));
+            AppExecutors.execute(Pool.NETWORK, Priority.USER_VISIBLE, new RecordingTask("visible 1", done));
+            AppExecutors.execute(Pool.NETWORK, new RecordingTask("background 2", done));
+            AppExecutors.execute(Pool.NETWORK, Priority.USER_VISIBLE, new RecordingTask("visible 2", done));
+
+            // a single thread is freed, so the queued tasks run one after the other
+            releaseFirst.countDown();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        } finally {
+            releaseFirst.countDown();
+            releaseOthers.countDown();
+        }
+
+        // tasks start in priority order, then in the order they were added
+        List<String> expected = new ArrayList<>();
+        Collections.addAll(expected, "visible 1", "visible 2", "background 1", "background 2");
+        assertEquals(expected, mEvents);
+        assertTrue(AppExecutors.getStats().contains(Pool.NETWORK.name()));
+    }
+
+    public void testAsyncTaskRunsOnPool() throws InterruptedException, ExecutionException, TimeoutException {
+        AsyncTask<Void, Void, String> task = new AsyncTask<Void, Void, String>() {
+            @Override
+            protected String doInBackground(Void... params) {
+                return Thread.currentThread().getName();
+            }
+        };
+        task.executeOnExecutor(AppExecutors.getExecutor(Pool.DB, Priority.USER_VISIBLE));
+        assertTrue(task.get(5, TimeUnit.SECONDS).startsWith("WP-" + Pool.DB.name() + "-"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class RecordingTask implements Runnable {
+        private final String mName;
+        private final CountDownLatch mLatch;
+
+        RecordingTask(String name, CountDownLatch latch) {
+            mName = name;
+            mLatch = latch;
+        }
+
+        @Override
+        public void run() {
+            mEvents.add(mName);
+            mLatch.countDown();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.wordpress.android;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
+
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+import org.wordpress.android.util.ProfilingUtils;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits the work done when the process starts into three phases, so the activity, service or
+ * receiver which started it runs as soon as possible:
+ * - critical: done on the main thread before Application.onCreate returns, only what any entry
+ *   point may need right away
+ * - deferred: done once the critical phase is over on the AppExecutors pool each task is bound by,
+ *   in order within each pool
+ * - idle: done on the main thread when it has nothing else to do, one task at a time
+ * Each phase is traced by its own ProfilingUtils, which is dumped to the log when the phase ends.
+ */
+public class AppStartup {
+    private static final String TRACE_LABEL = "App Startup";
+
+    private static class Task {
+        private final String mLabel;
+        private final Runnable mRunnable;
+
+        private Task(String label, Runnable runnable) {
+            mLabel = label;
+            mRunnable = runnable;
+        }
+    }
+
+    private final Map<Pool, List<Task>> mDeferredTasks = new EnumMap<>(Pool.class);
+    private final List<Task> mIdleTasks = new ArrayList<>();
+    private final ProfilingUtils mCriticalTrace = new ProfilingUtils();
+    private final long mStartTime;
+    private boolean mIsCriticalPhaseFinished;
+
+    /*
+     * starts the critical phase, must be created on the main thread
+     */
+    public AppStartup() {
+        mStartTime = SystemClock.elapsedRealtime();
+        mCriticalTrace.reset(TRACE_LABEL + " (critical)");
+    }
+
+    /*
+     * marks the end of a step of the critical phase
+     */
+    public void split(String label) {
+        mCriticalTrace.addSplit(label);
+    }
+
+    /*
+     * returns how long the critical phase has been running
+     */
+    public long getElapsedTime() {
+        return SystemClock.elapsedRealtime() - mStartTime;
+    }
+
+    public void runDeferred(String label, Pool pool, Runnable task) {
+        checkCriticalPhaseRunning();
+        List<Task> tasks = mDeferredTasks.get(pool);
+        if (tasks == null) {
+            tasks = new ArrayList<>();
+            mDeferredTasks.put(pool, tasks);
+        }
+        tasks.add(new Task(label, task));
+    }
+
+    public void runWhenIdle(String label, Runnable task) {
+        checkCriticalPhaseRunning();
+        mIdleTasks.add(new Task(label, task));
+    }
+
+    private void checkCriticalPhaseRunning() {
+        if (mIsCriticalPhaseFinished) {
+            throw new IllegalStateException("Tasks must be added before the critical phase is finished");
+        }
+    }
+
+    /*
+     * ends the critical phase and starts the deferred and idle ones, must be called on the main thread
+     */
+    public void finishCriticalPhase() {
+        checkCriticalPhaseRunning();
+        mIsCriticalPhaseFinished = true;
+        mCriticalTrace.dumpToLog();
+        AppLog.i(T.UTILS, "app startup > critical phase took " + getElapsedTime() + " ms");
+
+        for (Map.Entry<Pool, List<Task>> entry : mDeferredTasks.entrySet()) {
+            startDeferredPhase(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        startIdlePhase(new ArrayList<>(mIdleTasks));
+        mDeferredTasks.clear();
+        mIdleTasks.clear();
+    }
+
+    private void startDeferredPhase(final Pool pool, final List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        AppExecutors.execute(pool, new Runnable() {
+            @Override
+            public void run() {
+                ProfilingUtils trace = new ProfilingUtils();
+                trace.reset(TRACE_LABEL + " (deferred, " + pool.name() + ")");
+                long start = SystemClock.elapsedRealtime();
+                for (Task task : tasks) {
+                    task.mRunnable.run();
+                    trace.addSplit(task.mLabel);
+                }
+                trace.dumpToLog();
+                AppLog.i(T.UTILS, "app startup > deferred phase took " + (SystemClock.elapsedRealtime() - start)
+                        + " ms in the " + pool.name() + " pool");
+            }
+        });
+    }
+
+    private void startIdlePhase(final List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        final ProfilingUtils trace = new ProfilingUtils();
+        trace.reset(TRACE_LABEL + " (idle)");
+        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+            private int mNextTask;
+            private long mBusyTime;
+
+            @Override
+            public boolean queueIdle() {
+                // the wait for the main thread to be idle gets its own split, so it isn't counted
+                // as part of the previous task
+                trace.addSplit("waiting for idle");
+                long start = SystemClock.elapsedRealtime();
+                Task task = tasks.get(mNextTask++);
+                task.mRunnable.run();
+                trace.addSplit(task.mLabel);
+                mBusyTime += SystemClock.elapsedRealtime() - start;
+
+                if (mNextTask < tasks.size()) {
+                    return true;
+                }
+                trace.dumpToLog();
+                AppLog.i(T.UTILS, "app startup > idle phase took " + mBusyTime + " ms");
+                return false;
+            }
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package org.wordpress.android;
+
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+
+import org.wordpress.android.models.Blog;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+/**
+ * In-memory cache of the blogs read by WordPressDB, keyed by local table id, so looking up a blog
+ * doesn't query the blogs table and decrypt its passwords each time. The cached blogs hold the
+ * decrypted credentials and are never handed out, callers get a copy they're free to modify.
+ * WordPressDB clears the cache whenever it writes to the blogs table.
+ */
+public class BlogCache {
+    private final SparseArray<Blog> mBlogs = new SparseArray<>();
+    // remote blog id -> whether a visible blog has this id
+    private final SparseBooleanArray mVisibleRemoteBlogIds = new SparseBooleanArray();
+
+    // incremented on each invalidation, so a blog read from the table before a write isn't cached after it
+    private int mGeneration;
+
+    private int mHitCount;
+    private int mMissCount;
+
+    synchronized int getGeneration() {
+        return mGeneration;
+    }
+
+    /*
+     * returns a copy of the cached blog, or null if it isn't cached
+     */
+    synchronized Blog get(int localTableBlogId) {
+        Blog blog = mBlogs.get(localTableBlogId);
+        if (blog == null) {
+            mMissCount++;
+            return null;
+        }
+        mHitCount++;
+        return new Blog(blog);
+    }
+
+    synchronized void put(Blog blog, int generation) {
+        if (generation == mGeneration) {
+            mBlogs.put(blog.getLocalTableBlogId(), new Blog(blog));
+        }
+    }
+
+    /*
+     * returns 1 if a visible blog has the passed remote id, 0 if none does, or -1 if it isn't cached
+     */
+    synchronized int getRemoteBlogIdVisibility(int remoteBlogId) {
+        int index = mVisibleRemoteBlogIds.indexOfKey(remoteBlogId);
+        if (index < 0) {
+            mMissCount++;
+            return -1;
+        }
+        mHitCount++;
+        return mVisibleRemoteBlogIds.valueAt(index) ? 1 : 0;
+    }
+
+    synchronized void putRemoteBlogIdVisibility(int remoteBlogId, boolean isVisible, int generation) {
+        if (generation == mGeneration) {
+            mVisibleRemoteBlogIds.put(remoteBlogId, isVisible);
+        }
+    }
+
+    synchronized void invalidate() {
+        if (mBlogs.size() > 0 || mVisibleRemoteBlogIds.size() > 0) {
+            AppLog.d(T.DB, "blog cache invalidated > " + getStats());
+        }
+        mGeneration++;
+        mBlogs.clear();
+        mVisibleRemoteBlogIds.clear();
+    }
+
+    public synchronized int getHitCount() {
+        return mHitCount;
+    }
+
+    public synchronized int getMissCount() {
+        return mMissCount;
+    }
+
+    public synchronized String getStats() {
+        int total = mHitCount + mMissCount;
+        int hitRate = (total > 0 ? mHitCount * 100 / total : 0);
+        return mHitCount + " hits, " + mMissCount + " misses (" + hitRate + "% hit rate)";
+    }
+}
@@ -8,11 +8,9 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.res.Configuration;
 import android.net.http.HttpResponseCache;
-import android.os.AsyncTask;
 import android.os.Build;
 import android.os.Bundle;
 import android.os.StrictMode;
-import android.os.SystemClock;
 import android.support.multidex.MultiDexApplication;
 import android.support.v7.app.AppCompatDelegate;
 import android.text.TextUtils;
@@ -38,6 +36,8 @@ import org.wordpress.android.analytics.AnalyticsTracker;
 import org.wordpress.android.analytics.AnalyticsTracker.Stat;
 import org.wordpress.android.analytics.AnalyticsTrackerMixpanel;
 import org.wordpress.android.analytics.AnalyticsTrackerNosara;
+import org.wordpress.android.analytics.LazyTracker;
+import org.wordpress.android.analytics.Tracker;
 import org.wordpress.android.datasets.NotificationsTable;
 import org.wordpress.android.datasets.ReaderDatabase;
 import org.wordpress.android.models.AccountHelper;
@@ -59,7 +59,12 @@ import org.wordpress.android.ui.prefs.AppPrefs;
 import org.wordpress.android.ui.stats.StatsWidgetProvider;
 import org.wordpress.android.ui.stats.datasets.StatsDatabaseHelper;
 import org.wordpress.android.ui.stats.datasets.StatsTable;
+import org.wordpress.android.ui.stats.datasets.StatsWidgetTable;
+import org.wordpress.android.ui.suggestion.util.SuggestionUtils;
 import org.wordpress.android.util.AnalyticsUtils;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.BitmapLruCache;
@@ -97,10 +102,13 @@ import io.fabric.sdk.android.Fabric;
 public class WordPress extends MultiDexApplication {
     public static String versionName;
     public static Blog currentBlog;
-    public static WordPressDB wpDB;
+    // opened the first time it's needed, use getWpDB()
+    private static volatile WordPressDB wpDB;
+    private static final Object sWpDbLock = new Object();
 
-    public static RequestQueue requestQueue;
-    public static ImageLoader imageLoader;
+    // created the first time they're needed, use getRequestQueue() and getImageLoader()
+    private static volatile RequestQueue requestQueue;
+    private static ImageLoader imageLoader;
 
     private static RestClientUtils mRestClientUtils;
     private static RestClientUtils mRestClientUtilsVersion1_1;
@@ -123,7 +131,7 @@ public class WordPress extends MultiDexApplication {
             Blog currentBlog = WordPress.getCurrentBlog();
             if (currentBlog != null) {
                 new ApiHelper.RefreshBlogContentTask(currentBlog, null).executeOnExecutor(
-                        AsyncTask.THREAD_POOL_EXECUTOR, false);
+                        AppExecutors.getExecutor(Pool.NETWORK, Priority.BACKGROUND), false);
                 return true;
             }
             return false;
@@ -137,7 +145,8 @@ public class WordPress extends MultiDexApplication {
     public static RateLimitedTask sUpdateWordPressComBlogList = new RateLimitedTask(SECONDS_BETWEEN_BLOGLIST_UPDATE) {
         protected boolean run() {
             if (AccountHelper.isSignedInWordPressDotCom()) {
-                new GenericUpdateBlogListTask(getContext()).executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+                new GenericUpdateBlogListTask(getContext()).executeOnExecutor(
+                        AppExecutors.getExecutor(Pool.NETWORK, Priority.BACKGROUND));
             }
             return true;
         }
@@ -148,14 +157,15 @@ public class WordPress extends MultiDexApplication {
      */
     public static RateLimitedTask sDeleteExpiredStats = new RateLimitedTask(SECONDS_BETWEEN_DELETE_STATS) {
         protected boolean run() {
-            // Offload to a separate thread. We don't want to slown down the app on startup/resume.
-            new Thread(new Runnable() {
+            // Offload to a background thread. We don't want to slown down the app on startup/resume.
+            AppExecutors.execute(Pool.DB, new Runnable() {
                 public void run() {
-                    // subtracts to the current time the cache TTL
-                    long timeToDelete = System.currentTimeMillis() - (StatsTable.CACHE_TTL_MINUTES * 60 * 1000);
+                    // subtracts to the current time the stale cache TTL, expired stats are still shown
+                    // while they're refreshed
+                    long timeToDelete = System.currentTimeMillis() - (StatsTable.STALE_CACHE_TTL_MINUTES * 60 * 1000L);
                     StatsTable.deleteOldStats(WordPress.getContext(), timeToDelete);
                 }
-            }).start();
+            });
             return true;
         }
     };
@@ -174,7 +184,7 @@ public class WordPress extends MultiDexApplication {
     @Override
     public void onCreate() {
         super.onCreate();
-        long startDate = SystemClock.elapsedRealtime();
+        AppStartup startup = new AppStartup();
 
         mContext = this;
 
@@ -186,10 +196,16 @@ public class WordPress extends MultiDexApplication {
         if (!PackageUtils.isDebugBuild()) {
             Fabric.with(this, new Crashlytics());
         }
+        startup.split("Crashlytics");
 
         versionName = PackageUtils.getVersionName(this);
-        initWpDb();
-        enableHttpResponseCache(mContext);
+        // The database is opened the first time it's needed, which is usually here unless an entry point needs it first
+        startup.runDeferred("WordPressDB", Pool.DB, new Runnable() {
+            @Override
+            public void run() {
+                getWpDB();
+            }
+        });
 
         // EventBus setup
         EventBus.TAG = "WordPress-EVENT";
@@ -200,10 +216,9 @@ public class WordPress extends MultiDexApplication {
                 .installDefaultEventBus();
         EventBus.getDefault().register(this);
 
+        // Reading the default user agent loads the WebView, which must be done on the main thread on Android < 4.2
         RestClientUtils.setUserAgent(getUserAgent());
-
-        // Volley networking setup
-        setupVolleyQueue();
+        startup.split("EventBus and user agent");
 
         // PasscodeLock setup
         if(!AppLockManager.getInstance().isAppLockFeatureEnabled()) {
@@ -216,13 +231,15 @@ public class WordPress extends MultiDexApplication {
                     new String[]{"org.wordpress.android.ui.ShareIntentReceiverActivity"});
         }
 
+        // Helpshift must be installed from Application.onCreate
         HelpshiftHelper.init(this);
+        startup.split("AppLock and Helpshift");
 
         ApplicationLifecycleMonitor applicationLifecycleMonitor = new ApplicationLifecycleMonitor();
         registerComponentCallbacks(applicationLifecycleMonitor);
         registerActivityLifecycleCallbacks(applicationLifecycleMonitor);
 
-        initAnalytics(SystemClock.elapsedRealtime() - startDate);
+        initAnalytics(startup);
 
         // If users uses a custom locale set it on start of application
         WPActivityUtils.applyLocale(getContext());
@@ -232,30 +249,69 @@ public class WordPress extends MultiDexApplication {
         // https://developer.android.com/reference/android/support/v7/app/AppCompatDelegate.html#setCompatVectorFromResourcesEnabled(boolean)
         // Note: if removed, this will cause crashes on Android < 21
         AppCompatDelegate.setCompatVectorFromResourcesEnabled(true);
+        startup.split("Locale");
+
+        startup.runDeferred("HttpResponseCache", Pool.NETWORK, new Runnable() {
+            @Override
+            public void run() {
+                enableHttpResponseCache(mContext);
+            }
+        });
+        // Volley networking setup, the queue is otherwise created the first time it's needed
+        startup.runWhenIdle("Volley", new Runnable() {
+            @Override
+            public void run() {
+                getImageLoader();
+            }
+        });
+        startup.finishCriticalPhase();
+        ProfilingUtils.split("WordPress.onCreate");
     }
 
-    private void initAnalytics(final long elapsedTimeOnCreate) {
-        AnalyticsTracker.registerTracker(new AnalyticsTrackerMixpanel(getContext(), BuildConfig.MIXPANEL_TOKEN));
-        AnalyticsTracker.registerTracker(new AnalyticsTrackerNosara(getContext()));
+    private void initAnalytics(AppStartup startup) {
+        // The trackers are created on the main thread the first time they're used, and hold the events tracked
+        // before the metadata is first refreshed below
+        AnalyticsTracker.registerTracker(new LazyTracker(getContext(), new LazyTracker.Factory() {
+            @Override
+            public Tracker create(Context context) {
+                return new AnalyticsTrackerMixpanel(context, BuildConfig.MIXPANEL_TOKEN);
+            }
+        }));
+        AnalyticsTracker.registerTracker(new LazyTracker(getContext(), new LazyTracker.Factory() {
+            @Override
+            public Tracker create(Context context) {
+                return new AnalyticsTrackerNosara(context);
+            }
+        }));
         AnalyticsTracker.init(getContext());
-        AnalyticsUtils.refreshMetadata();
 
         // Track app upgrade and install
-        int versionCode = PackageUtils.getVersionCode(getContext());
-
-        int oldVersionCode = AppPrefs.getLastAppVersionCode();
+        final int versionCode = PackageUtils.getVersionCode(getContext());
+        final int oldVersionCode = AppPrefs.getLastAppVersionCode();
         if (oldVersionCode == 0) {
-            // Track application installed if there isn't old version code
-            AnalyticsTracker.track(Stat.APPLICATION_INSTALLED);
             AppPrefs.setVisualEditorPromoRequired(false);
         }
-        if (oldVersionCode != 0 && oldVersionCode < versionCode) {
-            Map<String, Long> properties = new HashMap<String, Long>(1);
-            properties.put("elapsed_time_on_create", elapsedTimeOnCreate);
-            // app upgraded
-            AnalyticsTracker.track(AnalyticsTracker.Stat.APPLICATION_UPGRADED, properties);
-        }
         AppPrefs.setLastAppVersionCode(versionCode);
+        final long elapsedTimeOnCreate = startup.getElapsedTime();
+
+        // The metadata reads the database, so it's refreshed after the database is opened
+        startup.runDeferred("Analytics", Pool.DB, new Runnable() {
+            @Override
+            public void run() {
+                AnalyticsUtils.refreshMetadata();
+                if (oldVersionCode == 0) {
+                    // Track application installed if there isn't old version code
+                    AnalyticsTracker.track(Stat.APPLICATION_INSTALLED);
+                }
+                if (oldVersionCode != 0 && oldVersionCode < versionCode) {
+                    Map<String, Long> properties = new HashMap<String, Long>(1);
+                    properties.put("elapsed_time_on_create", elapsedTimeOnCreate);
+                    // app upgraded
+                    AnalyticsTracker.track(AnalyticsTracker.Stat.APPLICATION_UPGRADED, properties);
+                }
+            }
+        });
+        startup.split("Analytics");
     }
 
     /**
@@ -282,38 +338,85 @@ public class WordPress extends MultiDexApplication {
         }
     }
 
+    public static RequestQueue getRequestQueue() {
+        if (requestQueue == null) {
+            initVolleyQueue(false);
+        }
+        return requestQueue;
+    }
+
+    public static ImageLoader getImageLoader() {
+        if (requestQueue == null) {
+            initVolleyQueue(false);
+        }
+        return imageLoader;
+    }
+
     public static void setupVolleyQueue() {
-        requestQueue = Volley.newRequestQueue(mContext, VolleyUtils.getHTTPClientStack(mContext));
-        imageLoader = new ImageLoader(requestQueue, getBitmapCache());
+        initVolleyQueue(true);
+    }
+
+    private static synchronized void initVolleyQueue(boolean replaceExisting) {
+        if (requestQueue != null && !replaceExisting) {
+            return;
+        }
+        RequestQueue queue = Volley.newRequestQueue(mContext, VolleyUtils.getHTTPClientStack(mContext));
+        imageLoader = new ImageLoader(queue, getBitmapCache());
         VolleyLog.setTag(AppLog.TAG);
         // http://stackoverflow.com/a/17035814
         imageLoader.setBatchedResponseDelay(0);
+        // set last, so a thread which sees the queue also sees the image loader
+        requestQueue = queue;
     }
 
-    private void initWpDb() {
-        if (!createAndVerifyWpDb()) {
-            AppLog.e(T.DB, "Invalid database, sign out user and delete database");
-            currentBlog = null;
-            if (wpDB != null) {
-                wpDB.updateLastBlogId(-1);
+    /*
+     * returns the app's database, which is opened and upgraded the first time it's needed rather
+     * than in onCreate - the deferred startup phase opens it in the background, so the main thread
+     * usually doesn't have to wait for it
+     */
+    public static WordPressDB getWpDB() {
+        WordPressDB db = wpDB;
+        if (db == null) {
+            synchronized (sWpDbLock) {
+                db = wpDB;
+                if (db == null) {
+                    db = openWpDb(mContext);
+                    wpDB = db;
+                }
             }
-            // Force DB deletion
-            WordPressDB.deleteDatabase(this);
-            wpDB = new WordPressDB(this);
         }
+        return db;
+    }
+
+    /*
+     * replaces the app's database, only used by tests
+     */
+    static void setWpDB(WordPressDB db) {
+        wpDB = db;
     }
 
-    private boolean createAndVerifyWpDb() {
+    private static WordPressDB openWpDb(Context context) {
+        WordPressDB db = null;
         try {
-            wpDB = new WordPressDB(this);
+            db = new WordPressDB(context);
             // verify account data - query will return 1 if any blog names or urls are null
-            int result = SqlUtils.intForQuery(wpDB.getDatabase(),
+            int result = SqlUtils.intForQuery(db.getDatabase(),
                     "SELECT 1 FROM accounts WHERE blogName IS NULL OR url IS NULL LIMIT 1", null);
-            return result != 1;
+            if (result != 1) {
+                return db;
+            }
         } catch (RuntimeException e) {
             AppLog.e(T.DB, e);
-            return false;
         }
+
+        AppLog.e(T.DB, "Invalid database, sign out user and delete database");
+        currentBlog = null;
+        if (db != null) {
+            db.updateLastBlogId(-1);
+        }
+        // Force DB deletion
+        WordPressDB.deleteDatabase(context);
+        return new WordPressDB(context);
     }
 
     public static Context getContext() {
@@ -323,7 +426,7 @@ public class WordPress extends MultiDexApplication {
     public static RestClientUtils getRestClientUtils() {
         if (mRestClientUtils == null) {
             OAuthAuthenticator authenticator = OAuthAuthenticatorFactory.instantiate();
-            mRestClientUtils = new RestClientUtils(mContext, requestQueue, authenticator, mOnAuthFailedListener);
+            mRestClientUtils = new RestClientUtils(mContext, getRequestQueue(), authenticator, mOnAuthFailedListener);
         }
         return mRestClientUtils;
     }
@@ -340,7 +443,8 @@ public class WordPress extends MultiDexApplication {
     public static RestClientUtils getRestClientUtilsV1_1() {
         if (mRestClientUtilsVersion1_1 == null) {
             OAuthAuthenticator authenticator = OAuthAuthenticatorFactory.instantiate();
-            mRestClientUtilsVersion1_1 = new RestClientUtils(mContext, requestQueue, authenticator, mOnAuthFailedListener, RestClient.REST_CLIENT_VERSIONS.V1_1);
+            mRestClientUtilsVersion1_1 = new RestClientUtils(mContext, getRequestQueue(), authenticator,
+                    mOnAuthFailedListener, RestClient.REST_CLIENT_VERSIONS.V1_1);
         }
         return mRestClientUtilsVersion1_1;
     }
@@ -348,7 +452,8 @@ public class WordPress extends MultiDexApplication {
     public static RestClientUtils getRestClientUtilsV1_2() {
         if (mRestClientUtilsVersion1_2 == null) {
             OAuthAuthenticator authenticator = OAuthAuthenticatorFactory.instantiate();
-            mRestClientUtilsVersion1_2 = new RestClientUtils(mContext, requestQueue, authenticator, mOnAuthFailedListener, RestClient.REST_CLIENT_VERSIONS.V1_2);
+            mRestClientUtilsVersion1_2 = new RestClientUtils(mContext, getRequestQueue(), authenticator,
+                    mOnAuthFailedListener, RestClient.REST_CLIENT_VERSIONS.V1_2);
         }
         return mRestClientUtilsVersion1_2;
     }
@@ -356,7 +461,8 @@ public class WordPress extends MultiDexApplication {
     public static RestClientUtils getRestClientUtilsV1_3() {
         if (mRestClientUtilsVersion1_3 == null) {
             OAuthAuthenticator authenticator = OAuthAuthenticatorFactory.instantiate();
-            mRestClientUtilsVersion1_3 = new RestClientUtils(mContext, requestQueue, authenticator, mOnAuthFailedListener, RestClient.REST_CLIENT_VERSIONS.V1_3);
+            mRestClientUtilsVersion1_3 = new RestClientUtils(mContext, getRequestQueue(), authenticator,
+                    mOnAuthFailedListener, RestClient.REST_CLIENT_VERSIONS.V1_3);
         }
         return mRestClientUtilsVersion1_3;
     }
@@ -364,7 +470,8 @@ public class WordPress extends MultiDexApplication {
     public static RestClientUtils getRestClientUtilsV0() {
         if (mRestClientUtilsVersion0 == null) {
             OAuthAuthenticator authenticator = OAuthAuthenticatorFactory.instantiate();
-            mRestClientUtilsVersion0 = new RestClientUtils(mContext, requestQueue, authenticator, mOnAuthFailedListener, RestClient.REST_CLIENT_VERSIONS.V0);
+            mRestClientUtilsVersion0 = new RestClientUtils(mContext, getRequestQueue(), authenticator,
+                    mOnAuthFailedListener, RestClient.REST_CLIENT_VERSIONS.V0);
         }
         return mRestClientUtilsVersion0;
     }
@@ -430,7 +537,7 @@ public class WordPress extends MultiDexApplication {
      * hidden blog. If there are no blogs at all, return null.
      */
     public static Blog getCurrentBlog() {
-        if (currentBlog == null || !wpDB.isDotComBlogVisible(currentBlog.getRemoteBlogId())) {
+        if (currentBlog == null || !getWpDB().isDotComBlogVisible(currentBlog.getRemoteBlogId())) {
             attemptToRestoreLastActiveBlog();
         }
 
@@ -445,7 +552,7 @@ public class WordPress extends MultiDexApplication {
      */
     public static Blog getBlog(int id) {
         try {
-            return wpDB.instantiateBlogByLocalId(id);
+            return getWpDB().instantiateBlogByLocalId(id);
         } catch (Exception e) {
             return null;
         }
@@ -457,9 +564,9 @@ public class WordPress extends MultiDexApplication {
      * @return the current blog
      */
     public static Blog setCurrentBlogToLastActive() {
-        List<Map<String, Object>> accounts = WordPress.wpDB.getVisibleBlogs();
+        List<Map<String, Object>> accounts = WordPress.getWpDB().getVisibleBlogs();
 
-        int lastBlogId = WordPress.wpDB.getLastBlogId();
+        int lastBlogId = WordPress.getWpDB().getLastBlogId();
         if (lastBlogId != -1) {
             for (Map<String, Object> account : accounts) {
                 int id = Integer.valueOf(account.get("id").toString());
@@ -487,7 +594,7 @@ public class WordPress extends MultiDexApplication {
         setCurrentBlog(id);
 
         if (currentBlog != null && currentBlog.isHidden()) {
-            wpDB.setDotComBlogsVisibility(id, true);
+            getWpDB().setDotComBlogsVisibility(id, true);
             currentBlog.setHidden(false);
         }
     }
@@ -522,6 +629,13 @@ public class WordPress extends MultiDexApplication {
         }
     }
 
+    @SuppressWarnings("unused")
+    public void onEventMainThread(CoreEvents.BlogListChanged event) {
+        // blogs are normally written through WordPressDB which keeps the cache in sync, this makes sure
+        // changes made elsewhere are picked up
+        getWpDB().invalidateBlogCache();
+    }
+
     @SuppressWarnings("unused")
     public void onEventMainThread(UserSignedOutCompletely event) {
         try {
@@ -545,7 +659,7 @@ public class WordPress extends MultiDexApplication {
         }
 
         // dangerously delete all content!
-        wpDB.dangerouslyDeleteAllContent();
+        getWpDB().dangerouslyDeleteAllContent();
     }
 
 
@@ -565,7 +679,7 @@ public class WordPress extends MultiDexApplication {
         }
 
         // delete wpcom blogs
-        wpDB.deleteWordPressComBlogs(context);
+        getWpDB().deleteWordPressComBlogs(context);
 
         // reset default account
         AccountHelper.getDefaultAccount().signout();
@@ -574,12 +688,16 @@ public class WordPress extends MultiDexApplication {
         AppPrefs.reset();
         ReaderDatabase.reset();
 
-        // Reset Stats Data
+        // Reset Stats Data - the blog of each widget is kept so widgets work again after signing back in
         StatsDatabaseHelper.getDatabase(context).reset();
+        StatsWidgetTable.deleteAllData(context);
         StatsWidgetProvider.updateWidgetsOnLogout(context);
 
         // Reset Notifications Data
         NotificationsTable.reset();
+
+        // Reset suggestions indexes and recently used suggestions
+        SuggestionUtils.reset();
     }
 
     public static String getLoginUrl(Blog blog) {
@@ -683,13 +801,13 @@ public class WordPress extends MultiDexApplication {
 
     private static void attemptToRestoreLastActiveBlog() {
         if (setCurrentBlogToLastActive() == null) {
-            int blogId = WordPress.wpDB.getFirstVisibleBlogId();
+            int blogId = WordPress.getWpDB().getFirstVisibleBlogId();
             if (blogId == 0) {
-                blogId = WordPress.wpDB.getFirstHiddenBlogId();
+                blogId = WordPress.getWpDB().getFirstHiddenBlogId();
             }
 
             setCurrentBlogAndSetVisible(blogId);
-            wpDB.updateLastBlogId(blogId);
+            getWpDB().updateLastBlogId(blogId);
         }
     }
 
@@ -821,6 +939,7 @@ public class WordPress extends MultiDexApplication {
                     AnalyticsTracker.track(AnalyticsTracker.Stat.APPLICATION_CLOSED, properties);
                     AnalyticsTracker.endSession(false);
                     ConnectionChangeReceiver.setEnabled(WordPress.this, false);
+                    AppExecutors.logStats();
                 }
             };
 
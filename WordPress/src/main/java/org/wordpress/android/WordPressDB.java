@@ -7,7 +7,9 @@ import android.content.SharedPreferences;
 import android.database.Cursor;
 import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteDoneException;
 import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteStatement;
 import android.preference.PreferenceManager;
 import android.text.TextUtils;
 import android.util.Base64;
@@ -16,6 +18,7 @@ import org.apache.commons.lang.ArrayUtils;
 import org.json.JSONArray;
 import org.wordpress.android.datasets.AccountTable;
 import org.wordpress.android.datasets.CommentTable;
+import org.wordpress.android.datasets.DatabaseConfig;
 import org.wordpress.android.datasets.NotificationsTable;
 import org.wordpress.android.datasets.PeopleTable;
 import org.wordpress.android.datasets.SiteSettingsTable;
@@ -85,7 +88,7 @@ public class WordPressDB {
     public static final String COLUMN_NAME_VIDEO_PRESS_SHORTCODE = "videoPressShortcode";
     public static final String COLUMN_NAME_UPLOAD_STATE          = "uploadState";
 
-    private static final int DATABASE_VERSION = 51;
+    private static final int DATABASE_VERSION = 55;
 
     private static final String CREATE_TABLE_BLOGS = "create table if not exists accounts (id integer primary key autoincrement, "
             + "url text, blogName text, username text, password text, imagePlacement text, centerThumbnail boolean, fullSizeImage boolean, maxImageWidth text, maxImageWidthId integer);";
@@ -235,6 +238,21 @@ public class WordPressDB {
     // add field to store time of last time we notified the user there was a draft post pending publishing
     private static final String ADD_DRAFT_POST_LAST_NOTIFIED_DATE = "alter table posts add dateLastNotified date;";
 
+    // add field to store the server modification date of uploaded posts, used as the post sync high-water mark
+    private static final String ADD_POST_DATE_MODIFIED_GMT = "alter table posts add date_modified_gmt date default 0;";
+
+    // add fields to store the excerpt and content image shown in the posts list, so it doesn't need the post content
+    private static final String ADD_POST_LIST_EXCERPT = "alter table posts add list_excerpt text default '';";
+    private static final String ADD_POST_LIST_IMAGE_URL = "alter table posts add list_image_url text default '';";
+    private static final String ADD_POST_LIST_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_posts_list ON posts(blogID, isPage, localDraft, date_created_gmt);";
+
+    // add indexes for the lookups done when saving media files
+    private static final String ADD_MEDIA_BLOG_ID_MEDIA_ID_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_media_blog_id_media_id ON media(blogId, mediaId);";
+    private static final String ADD_MEDIA_POST_ID_FILE_PATH_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_media_post_id_file_path ON media(postID, filePath);";
+
     // used for migration
     private static final String DEPRECATED_WPCOM_USERNAME_PREFERENCE = "wp_pref_wpcom_username";
     private static final String DEPRECATED_ACCESS_TOKEN_PREFERENCE = "wp_pref_wpcom_access_token";
@@ -246,9 +264,13 @@ public class WordPressDB {
     protected static final String PASSWORD_SECRET = BuildConfig.DB_SECRET;
     private Context context;
 
+    // blogs read from the blogs table, cleared each time it's written to
+    private final BlogCache blogCache = new BlogCache();
+
     public WordPressDB(Context ctx) {
         this.context = ctx;
-        db = ctx.openOrCreateDatabase(DATABASE_NAME, 0, null);
+        db = ctx.openOrCreateDatabase(DATABASE_NAME, Context.MODE_ENABLE_WRITE_AHEAD_LOGGING, null);
+        DatabaseConfig.configure(db);
 
         // Create tables if they don't exist
         db.execSQL(CREATE_TABLE_BLOGS);
@@ -444,6 +466,23 @@ public class WordPressDB {
                 db.execSQL(ADD_DRAFT_POST_LAST_UPDATED_DATE);
                 db.execSQL(ADD_DRAFT_POST_LAST_NOTIFIED_DATE);
                 currentVersion++;
+            case 51:
+                // notifications are a cache of the server, recreate the table to add the note_hash column
+                NotificationsTable.reset(db);
+                currentVersion++;
+            case 52:
+                db.execSQL(ADD_POST_DATE_MODIFIED_GMT);
+                currentVersion++;
+            case 53:
+                db.execSQL(ADD_POST_LIST_EXCERPT);
+                db.execSQL(ADD_POST_LIST_IMAGE_URL);
+                db.execSQL(ADD_POST_LIST_INDEX);
+                migratePostListFields();
+                currentVersion++;
+            case 54:
+                db.execSQL(ADD_MEDIA_BLOG_ID_MEDIA_ID_INDEX);
+                db.execSQL(ADD_MEDIA_POST_ID_FILE_PATH_INDEX);
+                currentVersion++;
         }
         db.setVersion(DATABASE_VERSION);
     }
@@ -482,6 +521,25 @@ public class WordPressDB {
         }
     }
 
+    /*
+     * computes the posts list excerpt & content image of the existing posts
+     */
+    private void migratePostListFields() {
+        Cursor c = db.rawQuery("SELECT id, description, mt_excerpt FROM " + POSTS_TABLE, null);
+        db.beginTransaction();
+        try {
+            while (c.moveToNext()) {
+                ContentValues values = new ContentValues();
+                putPostListFields(values, c.getString(1), c.getString(2));
+                db.update(POSTS_TABLE, values, "id=?", new String[]{c.getString(0)});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            SqlUtils.closeCursor(c);
+        }
+    }
+
     private void resetThemeTable() {
         db.execSQL(DROP_TABLE_PREFIX + THEMES_TABLE);
         db.execSQL(CREATE_TABLE_THEMES);
@@ -555,7 +613,9 @@ public class WordPressDB {
         values.put("isAdmin", blog.isAdmin());
         values.put("isHidden", blog.isHidden());
         values.put("capabilities", blog.getCapabilities());
-        return db.insert(BLOGS_TABLE, null, values) > -1;
+        boolean isInserted = db.insert(BLOGS_TABLE, null, values) > -1;
+        blogCache.invalidate();
+        return isInserted;
     }
 
     public List<Integer> getAllBlogsIDs() {
@@ -696,19 +756,30 @@ public class WordPressDB {
     public int setAllDotComBlogsVisibility(boolean visible) {
         ContentValues values = new ContentValues();
         values.put("isHidden", !visible);
-        return db.update(BLOGS_TABLE, values, "dotcomFlag=1", null);
+        int rowsAffected = db.update(BLOGS_TABLE, values, "dotcomFlag=1", null);
+        blogCache.invalidate();
+        return rowsAffected;
     }
 
     public int setDotComBlogsVisibility(int id, boolean visible) {
         ContentValues values = new ContentValues();
         values.put("isHidden", !visible);
-        return db.update(BLOGS_TABLE, values, "dotcomFlag=1 AND id=" + id, null);
+        int rowsAffected = db.update(BLOGS_TABLE, values, "dotcomFlag=1 AND id=" + id, null);
+        blogCache.invalidate();
+        return rowsAffected;
     }
 
     public boolean isDotComBlogVisible(int blogId) {
+        int visibility = blogCache.getRemoteBlogIdVisibility(blogId);
+        if (visibility != -1) {
+            return visibility == 1;
+        }
+        int cacheGeneration = blogCache.getGeneration();
         String[] args = {Integer.toString(blogId)};
-        return SqlUtils.boolForQuery(db, "SELECT 1 FROM " + BLOGS_TABLE +
+        boolean isVisible = SqlUtils.boolForQuery(db, "SELECT 1 FROM " + BLOGS_TABLE +
                 " WHERE isHidden = 0 AND blogId=?", args);
+        blogCache.putRemoteBlogIdVisibility(blogId, isVisible, cacheGeneration);
+        return isVisible;
     }
 
     public boolean isBlogInDatabase(int blogId, String xmlRpcUrl) {
@@ -766,6 +837,7 @@ public class WordPressDB {
         if (blog.isDotcomFlag()) {
             returnValue = updateWPComCredentials(blog.getUsername(), blog.getPassword());
         }
+        blogCache.invalidate();
 
         updateCurrentBlog(blog);
 
@@ -777,12 +849,15 @@ public class WordPressDB {
         ContentValues userPass = new ContentValues();
         userPass.put("username", username);
         userPass.put("password", encryptPassword(password));
-        return db.update(BLOGS_TABLE, userPass, "username=\""
+        boolean isUpdated = db.update(BLOGS_TABLE, userPass, "username=\""
                 + username + "\" AND dotcomFlag=1", null) > 0;
+        blogCache.invalidate();
+        return isUpdated;
     }
 
     public boolean deleteBlog(Context ctx, int id) {
         int rowsAffected = db.delete(BLOGS_TABLE, "id=?", new String[]{Integer.toString(id)});
+        blogCache.invalidate();
         deleteQuickPressShortcutsForLocalTableBlogId(ctx, id);
         deleteAllPostsForLocalTableBlogId(id);
         PeopleTable.deletePeopleForLocalBlogId(id);
@@ -805,6 +880,7 @@ public class WordPressDB {
 
         // Delete blogs
         int rowsAffected = db.delete(BLOGS_TABLE, args, null);
+        blogCache.invalidate();
         return (rowsAffected > 0);
     }
 
@@ -813,6 +889,7 @@ public class WordPressDB {
      */
     public void dangerouslyDeleteAllContent() {
         db.delete(BLOGS_TABLE, null, null);
+        blogCache.invalidate();
         db.delete(POSTS_TABLE, null, null);
         db.delete(MEDIA_TABLE, null, null);
         db.delete(CATEGORIES_TABLE, null, null);
@@ -846,6 +923,12 @@ public class WordPressDB {
      * @return a new Blog instance or null if the localId was not found
      */
     public Blog instantiateBlogByLocalId(int localId) {
+        Blog cachedBlog = blogCache.get(localId);
+        if (cachedBlog != null) {
+            return cachedBlog;
+        }
+        int cacheGeneration = blogCache.getGeneration();
+
         String[] fields =
                 new String[]{"url", "blogName", "username", "password", "httpuser", "httppassword", "imagePlacement",
                              "centerThumbnail", "fullSizeImage", "maxImageWidth", "maxImageWidthId",
@@ -914,9 +997,23 @@ public class WordPressDB {
             }
         }
         c.close();
+        if (blog != null) {
+            blogCache.put(blog, cacheGeneration);
+        }
         return blog;
     }
 
+    /*
+     * drops the cached blogs, must be called after writing to the blogs table outside of this class
+     */
+    public void invalidateBlogCache() {
+        blogCache.invalidate();
+    }
+
+    public BlogCache getBlogCache() {
+        return blogCache;
+    }
+
     /*
      * returns true if the passed blog is wp.com or jetpack-enabled (ie: returns false for
      * self-hosted blogs that don't use jetpack)
@@ -1144,6 +1241,9 @@ public class WordPressDB {
                         values.put("date_created_gmt", dateCreatedGmt.getTime() + (dateCreatedGmt.getTimezoneOffset() * 60000));
                     }
 
+                    Date dateModifiedGmt = MapUtils.getMapDate(postMap, "date_modified_gmt");
+                    values.put("date_modified_gmt", dateModifiedGmt != null ? dateModifiedGmt.getTime() : 0);
+
                     values.put("description", MapUtils.getMapStr(postMap, "description"));
                     values.put("link", MapUtils.getMapStr(postMap, "link"));
                     values.put("permaLink", MapUtils.getMapStr(postMap, "permaLink"));
@@ -1177,6 +1277,7 @@ public class WordPressDB {
                     values.put("custom_fields", jsonCustomFieldsArray.toString());
 
                     values.put("mt_excerpt", MapUtils.getMapStr(postMap, (isPage) ? "excerpt" : "mt_excerpt"));
+                    putPostListFields(values, values.getAsString("description"), values.getAsString("mt_excerpt"));
                     values.put("mt_text_more", MapUtils.getMapStr(postMap, (isPage) ? "text_more" : "mt_text_more"));
                     values.put("mt_allow_comments", MapUtils.getMapInt(postMap, "mt_allow_comments", 0));
                     values.put("mt_allow_pings", MapUtils.getMapInt(postMap, "mt_allow_pings", 0));
@@ -1224,16 +1325,61 @@ public class WordPressDB {
     }
 
     /*
-     * returns list of posts for use in the post list fragment
+     * precomputes the plain-text excerpt and the content image shown in the posts list, so the
+     * list can be loaded without reading the post content
+     */
+    private static void putPostListFields(ContentValues values, String description, String excerpt) {
+        values.put("list_excerpt", TextUtils.isEmpty(excerpt) ? PostsListPost.makeExcerpt(description) : excerpt);
+        values.put("list_image_url", PostsListPost.findContentImageUrl(description));
+    }
+
+    // only the columns needed by the posts list - the post content is never read
+    private static final String[] POSTS_LIST_COLUMNS = {
+            "id", "blogID", "title", "list_excerpt", "list_image_url", "post_status",
+            "date_created_gmt", "wp_post_thumbnail", "localDraft", "isLocalChange"};
+
+    /*
+     * returns a page of posts for the post list fragment, starting after the passed post (or from
+     * the first post if it's null) - uses keyset paging on the list order rather than an offset so
+     * each page is a single index range scan, and the list loads the next page as it's scrolled
      */
-    public PostsListPostList getPostsListPosts(int localBlogId, boolean loadPages) {
+    public PostsListPostList getPostsListPosts(int localBlogId, boolean loadPages, PostsListPost afterPost,
+                                               int maxPosts) {
         PostsListPostList listPosts = new PostsListPostList();
 
-        String[] args = {Integer.toString(localBlogId), Integer.toString(loadPages ? 1 : 0)};
-        Cursor c = db.query(POSTS_TABLE, null, "blogID=? AND isPage=?", args, null, null, "localDraft DESC, date_created_gmt DESC");
+        String where = "blogID=? AND isPage=?";
+        List<String> args = new ArrayList<>();
+        args.add(Integer.toString(localBlogId));
+        args.add(Integer.toString(loadPages ? 1 : 0));
+        if (afterPost != null) {
+            String localDraft = Integer.toString(SqlUtils.boolToSql(afterPost.isLocalDraft()));
+            String dateCreated = Long.toString(afterPost.getDateCreatedGmt());
+            where += " AND (localDraft < ?"
+                    + " OR (localDraft = ? AND date_created_gmt < ?)"
+                    + " OR (localDraft = ? AND date_created_gmt = ? AND id < ?))";
+            args.add(localDraft);
+            args.add(localDraft);
+            args.add(dateCreated);
+            args.add(localDraft);
+            args.add(dateCreated);
+            args.add(Long.toString(afterPost.getPostId()));
+        }
+
+        Cursor c = db.query(POSTS_TABLE, POSTS_LIST_COLUMNS, where, args.toArray(new String[args.size()]),
+                null, null, "localDraft DESC, date_created_gmt DESC, id DESC", Integer.toString(maxPosts));
         try {
             while (c.moveToNext()) {
-                listPosts.add(new PostsListPost(getPostFromCursor(c)));
+                listPosts.add(new PostsListPost(
+                        c.getLong(0),
+                        c.getLong(1),
+                        c.getString(2),
+                        c.getString(3),
+                        c.getString(4),
+                        c.getString(5),
+                        c.getLong(6),
+                        c.getLong(7),
+                        SqlUtils.sqlToBool(c.getInt(8)),
+                        SqlUtils.sqlToBool(c.getInt(9))));
             }
             return listPosts;
         } finally {
@@ -1332,6 +1478,7 @@ public class WordPressDB {
             values.put("isLocalChange", post.isLocalChange());
             values.put("mt_excerpt", post.getPostExcerpt());
             values.put("wp_post_thumbnail", post.getFeaturedImageId());
+            putPostListFields(values, post.getDescription(), post.getPostExcerpt());
 
             result = db.insert(POSTS_TABLE, null, values);
 
@@ -1370,6 +1517,7 @@ public class WordPressDB {
             values.put("isLocalChange", post.isLocalChange());
             values.put("mt_excerpt", post.getPostExcerpt());
             values.put("wp_post_thumbnail", post.getFeaturedImageId());
+            putPostListFields(values, post.getDescription(), post.getPostExcerpt());
 
             putPostLocation(post, values);
 
@@ -1403,6 +1551,14 @@ public class WordPressDB {
         db.delete(POSTS_TABLE, "blogID=? AND isPage=? AND localDraft=0 AND isLocalChange=0", args);
     }
 
+    /*
+     * deletes the uploaded post/page with the passed remote id, unless it has local changes
+     */
+    public void deleteUploadedPost(int blogID, String remotePostId, boolean isPage) {
+        String[] args = {String.valueOf(blogID), remotePostId, isPage ? "1" : "0"};
+        db.delete(POSTS_TABLE, "blogID=? AND postid=? AND isPage=? AND localDraft=0 AND isLocalChange=0", args);
+    }
+
     public Post getPostForLocalTablePostId(long localTablePostId) {
         Cursor c = db.query(POSTS_TABLE, null, "id=?", new String[]{String.valueOf(localTablePostId)}, null, null, null);
         try {
@@ -1638,55 +1794,139 @@ public class WordPressDB {
     }
 
     public void saveMediaFile(MediaFile mf) {
-        ContentValues values = new ContentValues();
-        values.put(COLUMN_NAME_POST_ID, mf.getPostID());
-        values.put(COLUMN_NAME_FILE_PATH, mf.getFilePath());
-        values.put(COLUMN_NAME_FILE_NAME, mf.getFileName());
-        values.put(COLUMN_NAME_TITLE, mf.getTitle());
-        values.put(COLUMN_NAME_DESCRIPTION, mf.getDescription());
-        values.put(COLUMN_NAME_CAPTION, mf.getCaption());
-        values.put(COLUMN_NAME_HORIZONTAL_ALIGNMENT, mf.getHorizontalAlignment());
-        values.put(COLUMN_NAME_WIDTH, mf.getWidth());
-        values.put(COLUMN_NAME_HEIGHT, mf.getHeight());
-        values.put(COLUMN_NAME_MIME_TYPE, mf.getMimeType());
-        values.put(COLUMN_NAME_FEATURED, mf.isFeatured());
-        values.put(COLUMN_NAME_IS_VIDEO, mf.isVideo());
-        values.put(COLUMN_NAME_IS_FEATURED_IN_POST, mf.isFeaturedInPost());
-        values.put(COLUMN_NAME_FILE_URL, mf.getFileURL());
-        values.put(COLUMN_NAME_THUMBNAIL_URL, mf.getThumbnailURL());
-        values.put(COLUMN_NAME_MEDIA_ID, mf.getMediaId());
-        values.put(COLUMN_NAME_BLOG_ID, mf.getBlogId());
-        values.put(COLUMN_NAME_DATE_CREATED_GMT, mf.getDateCreatedGMT());
-        values.put(COLUMN_NAME_VIDEO_PRESS_SHORTCODE, mf.getVideoPressShortCode());
-        if (mf.getUploadState() != null)
-            values.put(COLUMN_NAME_UPLOAD_STATE, mf.getUploadState());
-        else
-            values.putNull(COLUMN_NAME_UPLOAD_STATE);
+        saveMediaFiles(Collections.singletonList(mf));
+    }
 
-        synchronized (this) {
-            int result = 0;
-            boolean isMarkedForDelete = false;
-            if (mf.getMediaId() != null) {
-                Cursor cursor = db.rawQuery("SELECT uploadState FROM " + MEDIA_TABLE + " WHERE mediaId=?",
-                        new String[]{StringUtils.notNullStr(mf.getMediaId())});
-                if (cursor != null && cursor.moveToFirst()) {
-                    isMarkedForDelete = "delete".equals(cursor.getString(0));
-                    cursor.close();
-                }
+    // columns written by saveMediaFiles(), in the order of their bind arguments
+    private static final String[] SAVE_MEDIA_COLUMNS = {
+            COLUMN_NAME_POST_ID, COLUMN_NAME_FILE_PATH, COLUMN_NAME_FILE_NAME, COLUMN_NAME_TITLE,
+            COLUMN_NAME_DESCRIPTION, COLUMN_NAME_CAPTION, COLUMN_NAME_HORIZONTAL_ALIGNMENT, COLUMN_NAME_WIDTH,
+            COLUMN_NAME_HEIGHT, COLUMN_NAME_MIME_TYPE, COLUMN_NAME_FEATURED, COLUMN_NAME_IS_VIDEO,
+            COLUMN_NAME_IS_FEATURED_IN_POST, COLUMN_NAME_FILE_URL, COLUMN_NAME_THUMBNAIL_URL, COLUMN_NAME_MEDIA_ID,
+            COLUMN_NAME_BLOG_ID, COLUMN_NAME_DATE_CREATED_GMT, COLUMN_NAME_VIDEO_PRESS_SHORTCODE,
+            COLUMN_NAME_UPLOAD_STATE};
 
-                if (!isMarkedForDelete)
-                    result = db.update(MEDIA_TABLE, values, "blogId=? AND mediaId=?",
-                            new String[]{StringUtils.notNullStr(mf.getBlogId()), StringUtils.notNullStr(mf.getMediaId())});
+    /*
+     * saves the passed media files in a single transaction - a file is matched with an existing row by
+     * its blog and media ID, then by its post and path, and is inserted if there's no match. Files
+     * marked for delete are left alone.
+     */
+    public void saveMediaFiles(List<MediaFile> mediaFiles) {
+        if (mediaFiles == null || mediaFiles.size() == 0) {
+            return;
+        }
+
+        int numColumns = SAVE_MEDIA_COLUMNS.length;
+        StringBuilder setColumns = new StringBuilder();
+        StringBuilder insertColumns = new StringBuilder();
+        StringBuilder insertArgs = new StringBuilder();
+        for (int i = 0; i < numColumns; i++) {
+            if (i > 0) {
+                setColumns.append(",");
+                insertColumns.append(",");
+                insertArgs.append(",");
             }
+            setColumns.append(SAVE_MEDIA_COLUMNS[i]).append("=?").append(i + 1);
+            insertColumns.append(SAVE_MEDIA_COLUMNS[i]);
+            insertArgs.append("?").append(i + 1);
+        }
+        String whereArgs = "=?" + (numColumns + 1) + " AND ";
+        String lastWhereArg = "=?" + (numColumns + 2);
 
-            if (result == 0 && !isMarkedForDelete) {
-                result = db.update(MEDIA_TABLE, values, "postID=? AND filePath=?",
-                        new String[]{String.valueOf(mf.getPostID()), StringUtils.notNullStr(mf.getFilePath())});
-                if (result == 0)
-                    db.insert(MEDIA_TABLE, null, values);
+        synchronized (this) {
+            SQLiteStatement stmtUploadState = null;
+            SQLiteStatement stmtUpdateByMediaId = null;
+            SQLiteStatement stmtUpdateByPath = null;
+            SQLiteStatement stmtInsert = null;
+            db.beginTransaction();
+            try {
+                stmtUploadState = db.compileStatement("SELECT " + COLUMN_NAME_UPLOAD_STATE + " FROM " + MEDIA_TABLE
+                        + " WHERE " + COLUMN_NAME_BLOG_ID + "=?1 AND " + COLUMN_NAME_MEDIA_ID + "=?2 LIMIT 1");
+                stmtUpdateByMediaId = db.compileStatement("UPDATE " + MEDIA_TABLE + " SET " + setColumns
+                        + " WHERE " + COLUMN_NAME_BLOG_ID + whereArgs + COLUMN_NAME_MEDIA_ID + lastWhereArg);
+                stmtUpdateByPath = db.compileStatement("UPDATE " + MEDIA_TABLE + " SET " + setColumns
+                        + " WHERE " + COLUMN_NAME_POST_ID + whereArgs + COLUMN_NAME_FILE_PATH + lastWhereArg);
+                stmtInsert = db.compileStatement("INSERT INTO " + MEDIA_TABLE + " (" + insertColumns + ")"
+                        + " VALUES (" + insertArgs + ")");
+
+                for (MediaFile mf : mediaFiles) {
+                    String blogId = StringUtils.notNullStr(mf.getBlogId());
+                    String mediaId = mf.getMediaId();
+
+                    int result = 0;
+                    if (mediaId != null) {
+                        stmtUploadState.bindString(1, blogId);
+                        stmtUploadState.bindString(2, mediaId);
+                        String uploadState;
+                        try {
+                            uploadState = stmtUploadState.simpleQueryForString();
+                        } catch (SQLiteDoneException e) {
+                            // no existing row
+                            uploadState = null;
+                        }
+                        if ("delete".equals(uploadState)) {
+                            continue;
+                        }
+
+                        bindMediaFile(stmtUpdateByMediaId, mf);
+                        stmtUpdateByMediaId.bindString(numColumns + 1, blogId);
+                        stmtUpdateByMediaId.bindString(numColumns + 2, mediaId);
+                        result = stmtUpdateByMediaId.executeUpdateDelete();
+                    }
+
+                    if (result == 0) {
+                        bindMediaFile(stmtUpdateByPath, mf);
+                        stmtUpdateByPath.bindString(numColumns + 1, String.valueOf(mf.getPostID()));
+                        stmtUpdateByPath.bindString(numColumns + 2, StringUtils.notNullStr(mf.getFilePath()));
+                        if (stmtUpdateByPath.executeUpdateDelete() == 0) {
+                            bindMediaFile(stmtInsert, mf);
+                            stmtInsert.executeInsert();
+                        }
+                    }
+                }
+
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+                SqlUtils.closeStatement(stmtUploadState);
+                SqlUtils.closeStatement(stmtUpdateByMediaId);
+                SqlUtils.closeStatement(stmtUpdateByPath);
+                SqlUtils.closeStatement(stmtInsert);
             }
         }
+    }
 
+    // binds the values of SAVE_MEDIA_COLUMNS
+    private static void bindMediaFile(SQLiteStatement stmt, MediaFile mf) {
+        stmt.clearBindings();
+        stmt.bindLong(1, mf.getPostID());
+        bindStringOrNull(stmt, 2, mf.getFilePath());
+        bindStringOrNull(stmt, 3, mf.getFileName());
+        bindStringOrNull(stmt, 4, mf.getTitle());
+        bindStringOrNull(stmt, 5, mf.getDescription());
+        bindStringOrNull(stmt, 6, mf.getCaption());
+        stmt.bindLong(7, mf.getHorizontalAlignment());
+        stmt.bindLong(8, mf.getWidth());
+        stmt.bindLong(9, mf.getHeight());
+        bindStringOrNull(stmt, 10, mf.getMimeType());
+        stmt.bindLong(11, SqlUtils.boolToSql(mf.isFeatured()));
+        stmt.bindLong(12, SqlUtils.boolToSql(mf.isVideo()));
+        stmt.bindLong(13, SqlUtils.boolToSql(mf.isFeaturedInPost()));
+        bindStringOrNull(stmt, 14, mf.getFileURL());
+        bindStringOrNull(stmt, 15, mf.getThumbnailURL());
+        bindStringOrNull(stmt, 16, mf.getMediaId());
+        bindStringOrNull(stmt, 17, mf.getBlogId());
+        stmt.bindLong(18, mf.getDateCreatedGMT());
+        bindStringOrNull(stmt, 19, mf.getVideoPressShortCode());
+        bindStringOrNull(stmt, 20, mf.getUploadState());
+    }
+
+    private static void bindStringOrNull(SQLiteStatement stmt, int index, String value) {
+        if (value != null) {
+            stmt.bindString(index, value);
+        } else {
+            stmt.bindNull(index);
+        }
     }
 
     /** For a given blogId, get the first media files **/
@@ -1846,6 +2086,42 @@ public class WordPressDB {
         return db.rawQuery("SELECT * FROM " + MEDIA_TABLE + " WHERE uploadState=? AND blogId=?", new String[] {"queued", blogId});
     }
 
+    /** Get the queued media files for upload in all blogs, oldest first **/
+    public Cursor getMediaUploadQueue() {
+        return db.rawQuery("SELECT " + COLUMN_NAME_BLOG_ID + ", " + COLUMN_NAME_MEDIA_ID + " FROM " + MEDIA_TABLE
+                + " WHERE uploadState=? ORDER BY id", new String[] {MediaUploadState.QUEUED.toString()});
+    }
+
+    /**
+     * Update the upload state of several media files of a blog in a single transaction. A MediaChanged
+     * event is posted for each file once the transaction is committed.
+     **/
+    public void updateMediaUploadStates(String blogId, Map<String, MediaUploadState> uploadStates) {
+        if (TextUtils.isEmpty(blogId) || uploadStates.size() == 0) {
+            return;
+        }
+
+        SQLiteStatement stmt = db.compileStatement("UPDATE " + MEDIA_TABLE + " SET uploadState=?1"
+                + " WHERE blogId=?2 AND mediaId=?3");
+        db.beginTransaction();
+        try {
+            for (Map.Entry<String, MediaUploadState> entry : uploadStates.entrySet()) {
+                stmt.bindString(1, entry.getValue().toString());
+                stmt.bindString(2, blogId);
+                stmt.bindString(3, entry.getKey());
+                stmt.execute();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            SqlUtils.closeStatement(stmt);
+        }
+
+        for (String mediaId : uploadStates.keySet()) {
+            EventBus.getDefault().post(new MediaChanged(blogId, mediaId));
+        }
+    }
+
     /** Update a media file to a new upload state **/
     public void updateMediaUploadState(String blogId, String mediaId, MediaUploadState uploadState) {
         if (blogId == null || blogId.equals("")) {
@@ -1915,6 +2191,13 @@ public class WordPressDB {
         db.update(MEDIA_TABLE, values, "blogId=? AND uploadState=?", new String[]{blogId, "uploading"});
     }
 
+    /** Same as setMediaUploadingToFailed(blogId), for all blogs **/
+    public void setMediaUploadingToFailed() {
+        ContentValues values = new ContentValues();
+        values.put("uploadState", "failed");
+        db.update(MEDIA_TABLE, values, "uploadState=?", new String[]{"uploading"});
+    }
+
     /** For a given blogId, clear the upload states in the upload queue **/
     public void clearMediaUploaded(String blogId) {
         if (blogId == null || blogId.equals(""))
@@ -2001,6 +2284,27 @@ public class WordPressDB {
         return SqlUtils.intForQuery(db, sql, args);
     }
 
+    /*
+     * returns the most recent server modification date (in millis) of the uploaded posts/pages in
+     * the passed blog, 0 if there are none or they were saved before this date was stored
+     */
+    public long getLatestModifiedDateGmt(int localBlogId, boolean isPage) {
+        String sql = "SELECT MAX(date_modified_gmt) FROM " + POSTS_TABLE
+                + " WHERE blogID=? AND isPage=? AND localDraft=0";
+        String[] args = {String.valueOf(localBlogId), isPage ? "1" : "0"};
+        return SqlUtils.longForQuery(db, sql, args);
+    }
+
+    /*
+     * returns the creation date (in millis) of the oldest uploaded post/page in the passed blog
+     */
+    public long getOldestUploadedDateCreatedGmt(int localBlogId, boolean isPage) {
+        String sql = "SELECT MIN(date_created_gmt) FROM " + POSTS_TABLE
+                + " WHERE blogID=? AND isPage=? AND localDraft=0";
+        String[] args = {String.valueOf(localBlogId), isPage ? "1" : "0"};
+        return SqlUtils.longForQuery(db, sql, args);
+    }
+
     public boolean saveTheme(Theme theme) {
         boolean returnValue = false;
 
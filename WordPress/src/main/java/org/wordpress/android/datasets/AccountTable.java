@@ -14,10 +14,10 @@ public class AccountTable {
     private static final String ACCOUNT_TABLE = "tbl_accounts";
 
     private static SQLiteDatabase getReadableDb() {
-        return WordPress.wpDB.getDatabase();
+        return WordPress.getWpDB().getDatabase();
     }
     private static SQLiteDatabase getWritableDb() {
-        return WordPress.wpDB.getDatabase();
+        return WordPress.getWpDB().getDatabase();
     }
 
     public static void createTables(SQLiteDatabase db) {
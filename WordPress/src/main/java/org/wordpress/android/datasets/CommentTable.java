@@ -12,6 +12,7 @@ import org.wordpress.android.models.Comment;
 import org.wordpress.android.models.CommentList;
 import org.wordpress.android.models.CommentStatus;
 import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.DateTimeUtils;
 import org.wordpress.android.util.SqlUtils;
 import org.wordpress.android.util.StringUtils;
 
@@ -37,6 +38,10 @@ public class CommentTable {
                  + "    profile_image_url   TEXT,"
                  + "    PRIMARY KEY (blog_id, post_id, comment_id)"
                  + " );");
+        // serves the status filtered lists, which are ordered by date - created here rather than in a
+        // migration since this is called each time the db is opened and reset() recreates the table
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_comments_blog_status_published ON " + COMMENTS_TABLE
+                 + "(blog_id, status, published)");
     }
 
     private static void dropTables(SQLiteDatabase db) {
@@ -50,10 +55,10 @@ public class CommentTable {
     }
 
     private static SQLiteDatabase getReadableDb() {
-        return WordPress.wpDB.getDatabase();
+        return WordPress.getWpDB().getDatabase();
     }
     private static SQLiteDatabase getWritableDb() {
-        return WordPress.wpDB.getDatabase();
+        return WordPress.getWpDB().getDatabase();
     }
 
     /*
@@ -157,27 +162,10 @@ public class CommentTable {
      */
     public static CommentList getCommentsForBlogWithFilter(int localBlogId, CommentStatus filter) {
         CommentList comments = new CommentList();
-        Cursor c;
-
-        //aggregating 'all' to include approved and unapproved comments
-        if (CommentStatus.UNKNOWN.equals(filter)){
-            //we need to get the filter values for both XMLrpc and REST api as in the case of a migration where existing
-            // data is present on a device, we still need to be able to filter both values
-            String[] args = {Integer.toString(localBlogId),
-                    CommentStatus.toString(CommentStatus.APPROVED),
-                    CommentStatus.toString(CommentStatus.UNAPPROVED),
-                    CommentStatus.toRESTString(CommentStatus.APPROVED),
-                    CommentStatus.toRESTString(CommentStatus.UNAPPROVED)};
-            c = getReadableDb().rawQuery(
-                    "SELECT * FROM " + COMMENTS_TABLE + " WHERE blog_id=? AND (status=? OR status=? OR status=? OR status=?)  ORDER BY published DESC", args);
-
-        } else {
-            //we need to get the filter values for both XMLrpc and REST api as in the case of a migration where existing
-            // data is present on a device, we still need to be able to filter both values
-            String[] args = {Integer.toString(localBlogId), CommentStatus.toString(filter), CommentStatus.toRESTString(filter)};
-            c = getReadableDb().rawQuery(
-                    "SELECT * FROM " + COMMENTS_TABLE + " WHERE blog_id=? AND (status=? OR status=?)  ORDER BY published DESC", args);
-        }
+        String[] statuses = getFilterStatuses(filter);
+        Cursor c = getReadableDb().rawQuery(
+                "SELECT * FROM " + COMMENTS_TABLE + " WHERE blog_id=? AND status IN ("
+                + getPlaceholders(statuses.length) + ") ORDER BY published DESC", getFilterArgs(localBlogId, statuses));
 
         try {
             while (c.moveToNext()) {
@@ -191,6 +179,37 @@ public class CommentTable {
         }
     }
 
+    /*
+     * returns the statuses matching the passed filter - we need to get the filter values for both
+     * XMLrpc and REST api as in the case of a migration where existing data is present on a device,
+     * we still need to be able to filter both values
+     */
+    private static String[] getFilterStatuses(CommentStatus filter) {
+        if (CommentStatus.UNKNOWN.equals(filter)) {
+            // aggregating 'all' to include approved and unapproved comments
+            return new String[]{CommentStatus.toString(CommentStatus.APPROVED),
+                    CommentStatus.toString(CommentStatus.UNAPPROVED),
+                    CommentStatus.toRESTString(CommentStatus.APPROVED),
+                    CommentStatus.toRESTString(CommentStatus.UNAPPROVED)};
+        }
+        return new String[]{CommentStatus.toString(filter), CommentStatus.toRESTString(filter)};
+    }
+
+    private static String[] getFilterArgs(int localBlogId, String[] statuses) {
+        String[] args = new String[statuses.length + 1];
+        args[0] = Integer.toString(localBlogId);
+        System.arraycopy(statuses, 0, args, 1, statuses.length);
+        return args;
+    }
+
+    private static String getPlaceholders(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ",?");
+        }
+        return sb.toString();
+    }
+
     /**
      * delete all comments for a blog
      * @param localBlogId - unique id in account table for this blog
@@ -207,24 +226,25 @@ public class CommentTable {
      * @return number of comments deleted
      */
     public static int deleteCommentsForBlogWithFilter(int localBlogId, CommentStatus filter) {
-        if (CommentStatus.UNKNOWN.equals(filter)){
-            //we need to get the filter values for both XMLrpc and REST api as in the case of a migration where existing
-            // data is present on a device, we still need to be able to filter both values
-            String[] args = {Integer.toString(localBlogId),
-                    CommentStatus.toString(CommentStatus.APPROVED),
-                    CommentStatus.toString(CommentStatus.UNAPPROVED),
-                    CommentStatus.toRESTString(CommentStatus.APPROVED),
-                    CommentStatus.toRESTString(CommentStatus.UNAPPROVED)};
-            return getWritableDb().delete(COMMENTS_TABLE, "blog_id=? AND (status=? OR status=? OR status=? OR status=?)", args);
-
-        } else {
-            //we need to get the filter values for both XMLrpc and REST api as in the case of a migration where existing
-            // data is present on a device, we still need to be able to filter both values
-            String[] args = {Integer.toString(localBlogId), CommentStatus.toString(filter), CommentStatus.toRESTString(filter)};
-            return getWritableDb().delete(COMMENTS_TABLE, "blog_id=? AND (status=? OR status=?)", args);
-        }
+        String[] statuses = getFilterStatuses(filter);
+        String where = "blog_id=? AND status IN (" + getPlaceholders(statuses.length) + ")";
+        return getWritableDb().delete(COMMENTS_TABLE, where, getFilterArgs(localBlogId, statuses));
     }
 
+    private static final String SAVE_COMMENT_SQL = " INSERT OR REPLACE INTO " + COMMENTS_TABLE + "("
+            + " blog_id,"          // 1
+            + " post_id,"          // 2
+            + " comment_id,"       // 3
+            + " comment,"          // 4
+            + " published,"        // 5
+            + " status,"           // 6
+            + " author_name,"      // 7
+            + " author_url,"       // 8
+            + " author_email,"     // 9
+            + " post_title,"       // 10
+            + " profile_image_url" // 11
+            + " ) VALUES (?1,?2,?3,?4,?5,?6,?7,?8,?9,?10,?11)";
+
     /**
      * saves comments for passed blog to local db, overwriting existing ones if necessary
      * @param localBlogId - unique id in account table for this blog
@@ -235,41 +255,113 @@ public class CommentTable {
         if (comments == null || comments.size() == 0)
             return false;
 
-        final String sql = " INSERT OR REPLACE INTO " + COMMENTS_TABLE + "("
-                         + " blog_id,"          // 1
-                         + " post_id,"          // 2
-                         + " comment_id,"       // 3
-                         + " comment,"          // 4
-                         + " published,"        // 5
-                         + " status,"           // 6
-                         + " author_name,"      // 7
-                         + " author_url,"       // 8
-                         + " author_email,"     // 9
-                         + " post_title,"       // 10
-                         + " profile_image_url" // 11
-                         + " ) VALUES (?1,?2,?3,?4,?5,?6,?7,?8,?9,?10,?11)";
+        SQLiteDatabase db = getWritableDb();
+        SQLiteStatement stmt = db.compileStatement(SAVE_COMMENT_SQL);
+        db.beginTransaction();
+        try {
+            try {
+                for (Comment comment: comments) {
+                    bindComment(stmt, localBlogId, comment);
+                    stmt.execute();
+                }
+
+                db.setTransactionSuccessful();
+                return true;
+            } catch (SQLiteException e) {
+                AppLog.e(AppLog.T.COMMENTS, e);
+                return false;
+            }
+        } finally {
+            db.endTransaction();
+            SqlUtils.closeStatement(stmt);
+        }
+    }
+
+    /**
+     * merges a page of comments returned by the server into the local db: fetched comments are
+     * inserted or updated in place, and local comments matching the filter which fall within the
+     * date range covered by the page but weren't returned are removed, since they've been deleted
+     * or moderated on the server. Comments outside the page's range are left alone, so older pages
+     * the user already loaded survive a refresh of the newest one. An empty first page means the
+     * server has no comments matching the filter, so all local ones are removed.
+     * @param localBlogId - unique id in account table for this blog
+     * @param filter - status filter the page was requested with, UNKNOWN for all
+     * @param comments - page of comments returned by the server, newest first
+     * @param isFirstPage - true if the page starts at the newest comment
+     * @param isLastPage - true if the server has no comments older than this page
+     * @return true if saved, false on failure
+     */
+    public static boolean syncComments(int localBlogId, CommentStatus filter, final CommentList comments,
+                                       boolean isFirstPage, boolean isLastPage) {
+        if (comments == null)
+            return false;
+        if (comments.size() == 0) {
+            if (!isFirstPage)
+                return false;
+            int numDeleted = deleteCommentsForBlogWithFilter(localBlogId, filter);
+            if (numDeleted > 0) {
+                AppLog.d(AppLog.T.COMMENTS, "removed " + numDeleted + " comments missing from the server");
+            }
+            return true;
+        }
+
+        // published dates are stored in whichever format the comment came in (XML-RPC, REST or a
+        // note), so the page's range is compared as timestamps rather than as strings
+        long newest = Long.MIN_VALUE;
+        long oldest = Long.MAX_VALUE;
+        StringBuilder fetchedIds = new StringBuilder();
+        for (Comment comment: comments) {
+            long published = getPublishedTimestamp(comment.getPublished());
+            newest = Math.max(newest, published);
+            oldest = Math.min(oldest, published);
+            if (fetchedIds.length() > 0) {
+                fetchedIds.append(",");
+            }
+            fetchedIds.append(comment.commentID);
+        }
 
         SQLiteDatabase db = getWritableDb();
-        SQLiteStatement stmt = db.compileStatement(sql);
+        SQLiteStatement stmt = db.compileStatement(SAVE_COMMENT_SQL);
         db.beginTransaction();
         try {
             try {
+                // find the missing comments before deleting them, rather than deleting while the
+                // cursor is still reading the table
+                String[] statuses = getFilterStatuses(filter);
+                String where = "blog_id=? AND status IN (" + getPlaceholders(statuses.length) + ")"
+                             + " AND comment_id NOT IN (" + fetchedIds + ")";
+                StringBuilder missingIds = new StringBuilder();
+                Cursor c = db.rawQuery("SELECT comment_id, published FROM " + COMMENTS_TABLE + " WHERE " + where,
+                        getFilterArgs(localBlogId, statuses));
+                try {
+                    while (c.moveToNext()) {
+                        long published = getPublishedTimestamp(c.getString(1));
+                        if ((isLastPage || published >= oldest) && (isFirstPage || published <= newest)) {
+                            if (missingIds.length() > 0) {
+                                missingIds.append(",");
+                            }
+                            missingIds.append(c.getLong(0));
+                        }
+                    }
+                } finally {
+                    SqlUtils.closeCursor(c);
+                }
+
+                int numDeleted = 0;
+                if (missingIds.length() > 0) {
+                    numDeleted = db.delete(COMMENTS_TABLE, "blog_id=? AND comment_id IN (" + missingIds + ")",
+                            new String[]{Integer.toString(localBlogId)});
+                }
+
                 for (Comment comment: comments) {
-                    stmt.bindLong  ( 1, localBlogId);
-                    stmt.bindLong  ( 2, comment.postID);
-                    stmt.bindLong  ( 3, comment.commentID);
-                    stmt.bindString( 4, SqlUtils.maxSQLiteText(comment.getCommentText()));
-                    stmt.bindString( 5, comment.getPublished());
-                    stmt.bindString( 6, comment.getStatus());
-                    stmt.bindString( 7, comment.getAuthorName());
-                    stmt.bindString( 8, comment.getAuthorUrl());
-                    stmt.bindString( 9, comment.getAuthorEmail());
-                    stmt.bindString(10, comment.getPostTitle());
-                    stmt.bindString(11, comment.getProfileImageUrl());
+                    bindComment(stmt, localBlogId, comment);
                     stmt.execute();
                 }
 
                 db.setTransactionSuccessful();
+                if (numDeleted > 0) {
+                    AppLog.d(AppLog.T.COMMENTS, "removed " + numDeleted + " comments missing from the server");
+                }
                 return true;
             } catch (SQLiteException e) {
                 AppLog.e(AppLog.T.COMMENTS, e);
@@ -281,6 +373,34 @@ public class CommentTable {
         }
     }
 
+    /*
+     * returns the timestamp of a published date in any of the ISO 8601 variants comments are stored
+     * with ("+0100", "+01:00" or "Z" offsets), 0 if it can't be parsed
+     */
+    private static long getPublishedTimestamp(String published) {
+        String iso8601 = StringUtils.notNullStr(published);
+        if (iso8601.endsWith("Z")) {
+            iso8601 = iso8601.substring(0, iso8601.length() - 1) + "+0000";
+        } else if (iso8601.matches(".*[+-]\\d\\d:\\d\\d$")) {
+            iso8601 = iso8601.substring(0, iso8601.length() - 3) + iso8601.substring(iso8601.length() - 2);
+        }
+        return DateTimeUtils.timestampFromIso8601Millis(iso8601);
+    }
+
+    private static void bindComment(SQLiteStatement stmt, int localBlogId, Comment comment) {
+        stmt.bindLong  ( 1, localBlogId);
+        stmt.bindLong  ( 2, comment.postID);
+        stmt.bindLong  ( 3, comment.commentID);
+        stmt.bindString( 4, SqlUtils.maxSQLiteText(comment.getCommentText()));
+        stmt.bindString( 5, comment.getPublished());
+        stmt.bindString( 6, comment.getStatus());
+        stmt.bindString( 7, comment.getAuthorName());
+        stmt.bindString( 8, comment.getAuthorUrl());
+        stmt.bindString( 9, comment.getAuthorEmail());
+        stmt.bindString(10, comment.getPostTitle());
+        stmt.bindString(11, comment.getProfileImageUrl());
+    }
+
     /**
      * updates the passed comment
      * @param localBlogId - unique id in account table for this blog
@@ -357,19 +477,24 @@ public class CommentTable {
      * delete a list of comments
      * @param localBlogId - unique id in account table for this blog
      * @param comments - list of comments to delete
+     * @return number of comments deleted
      */
-    public static void deleteComments(int localBlogId, final CommentList comments) {
+    public static int deleteComments(int localBlogId, final CommentList comments) {
         if (comments == null || comments.size() == 0)
-            return;
+            return 0;
+        int numDeleted = 0;
         getWritableDb().beginTransaction();
         try {
             for (Comment comment: comments) {
-                deleteComment(localBlogId, comment.commentID);
+                if (deleteComment(localBlogId, comment.commentID)) {
+                    numDeleted++;
+                }
             }
             getWritableDb().setTransactionSuccessful();
         } finally {
             getWritableDb().endTransaction();
         }
+        return numDeleted;
     }
 
     /**
@@ -0,0 +1,29 @@
+package org.wordpress.android.datasets;
+
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * Connection settings shared by the app's databases (WordPressDB, ReaderDatabase and
+ * StatsDatabaseHelper). Write-ahead logging lets reads run on their own connections while a
+ * transaction is being written, instead of waiting for it to finish - without it, saving a page
+ * of reader posts or stats blocks the lists reading from the same database.
+ */
+public class DatabaseConfig {
+    // page cache of the writing connection, in KiB
+    private static final int CACHE_SIZE_KB = 4096;
+
+    /*
+     * must be called outside of a transaction: from SQLiteOpenHelper.onConfigure(), or right after
+     * opening a database which isn't managed by a helper
+     */
+    public static void configure(SQLiteDatabase db) {
+        if (db.isReadOnly()) {
+            return;
+        }
+        db.enableWriteAheadLogging();
+        // with WAL, NORMAL is still safe from corruption, a crash can only lose the latest commits
+        db.execSQL("PRAGMA synchronous = NORMAL");
+        db.execSQL("PRAGMA cache_size = -" + CACHE_SIZE_KB);
+        db.execSQL("PRAGMA temp_store = MEMORY");
+    }
+}
@@ -14,13 +14,18 @@ import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.SqlUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class NotificationsTable {
     private static final String NOTIFICATIONS_TABLE = "tbl_notifications";
 
     private static SQLiteDatabase getDb() {
-        return WordPress.wpDB.getDatabase();
+        return WordPress.getWpDB().getDatabase();
     }
 
     public static int NOTES_TO_RETRIEVE = 200;
@@ -31,7 +36,8 @@ public class NotificationsTable {
                 + "note_id                  TEXT,"
                 + "type                     TEXT,"
                 + "raw_note_data            TEXT,"
-                + "timestamp                INTEGER," +
+                + "timestamp                INTEGER,"
+                + "note_hash                TEXT," +
                 " UNIQUE (note_id) ON CONFLICT REPLACE"
                 + ")");
     }
@@ -67,6 +73,7 @@ public class NotificationsTable {
         values.put("type", note.getType());
         values.put("timestamp", note.getTimestamp());
         values.put("raw_note_data", note.getJSON().toString());
+        values.put("note_hash", note.getNoteHash());
 
         long result;
         if(checkBeforeInsert && isNoteAvailable(note.getId())) {
@@ -119,6 +126,52 @@ public class NotificationsTable {
         return saved;
     }
 
+    /*
+     * returns a map of note_id -> note_hash for all the stored notes, used to find which notes
+     * have changed on the server without downloading them all
+     */
+    public static Map<String, String> getNoteHashes() {
+        Map<String, String> hashes = new HashMap<>();
+        Cursor cursor = getDb().rawQuery("SELECT note_id, note_hash FROM " + NOTIFICATIONS_TABLE, null);
+        try {
+            while (cursor.moveToNext()) {
+                hashes.put(cursor.getString(0), cursor.getString(1));
+            }
+        } finally {
+            SqlUtils.closeCursor(cursor);
+        }
+        return hashes;
+    }
+
+    /*
+     * deletes the stored notes whose ids aren't in the passed list - used to drop the notes which
+     * are no longer returned by the server (deleted, or pushed out of the latest notes)
+     */
+    public static int deleteNotesExcept(Collection<String> noteIds) {
+        Set<String> keepIds = new HashSet<>(noteIds);
+        List<String> deleteIds = new ArrayList<>();
+        for (String noteId : getNoteHashes().keySet()) {
+            if (!keepIds.contains(noteId)) {
+                deleteIds.add(noteId);
+            }
+        }
+        if (deleteIds.isEmpty()) {
+            return 0;
+        }
+
+        int numDeleted = 0;
+        getDb().beginTransaction();
+        try {
+            for (String noteId : deleteIds) {
+                numDeleted += getDb().delete(NOTIFICATIONS_TABLE, "note_id=?", new String[]{noteId});
+            }
+            getDb().setTransactionSuccessful();
+        } finally {
+            getDb().endTransaction();
+        }
+        return numDeleted;
+    }
+
     private static boolean isNoteAvailable(String noteID) {
         if (TextUtils.isEmpty(noteID)) {
             AppLog.e(AppLog.T.DB, "Asking for a note with null Id. Really?" + noteID);
@@ -183,11 +236,15 @@ public class NotificationsTable {
         SQLiteDatabase db = getDb();
         db.beginTransaction();
         try {
-            dropTables(db);
-            createTables(db);
+            reset(db);
             db.setTransactionSuccessful();
         } finally {
             db.endTransaction();
         }
     }
+
+    public static void reset(SQLiteDatabase db) {
+        dropTables(db);
+        createTables(db);
+    }
 }
@@ -5,6 +5,8 @@ import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
 
 import org.wordpress.android.WordPress;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 
@@ -19,7 +21,7 @@ import java.io.OutputStream;
  */
 public class ReaderDatabase extends SQLiteOpenHelper {
     protected static final String DB_NAME = "wpreader.db";
-    private static final int DB_VERSION = 133;
+    private static final int DB_VERSION = 136;
 
     /*
      * version history
@@ -85,6 +87,9 @@ public class ReaderDatabase extends SQLiteOpenHelper {
      *  131 - added tbl_posts.card_type
      *  132 - no schema changes, simply clearing to accommodate gallery card_type
      *  133 - no schema changes, simply clearing to accommodate video card_type
+     *  134 - added tbl_posts.thumbnail_strip_json
+     *  135 - moved tbl_posts.text to tbl_post_content (migrated rather than reset)
+     *  136 - added tbl_post_content.text_hash
      */
 
     /*
@@ -112,6 +117,12 @@ public class ReaderDatabase extends SQLiteOpenHelper {
         return getDatabase().getWritableDatabase();
     }
 
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        super.onConfigure(db);
+        DatabaseConfig.configure(db);
+    }
+
     @Override
     public void onOpen(SQLiteDatabase db) {
         super.onOpen(db);
@@ -140,10 +151,20 @@ public class ReaderDatabase extends SQLiteOpenHelper {
 
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        // for now just reset the db when upgrading, future versions may want to avoid this
-        // and modify table structures, etc., on upgrade while preserving data
+        // versions prior to 134 simply reset the db when upgrading, later versions modify table
+        // structures while preserving data - note that this is called inside a transaction
         AppLog.i(T.READER, "Upgrading database from version " + oldVersion + " to version " + newVersion);
-        reset(db);
+        if (oldVersion < 134) {
+            reset(db);
+            return;
+        }
+
+        if (oldVersion < 135) {
+            ReaderPostTable.migrateTextToContentTable(db);
+        }
+        if (oldVersion < 136) {
+            ReaderPostTable.addTextHashColumn(db);
+        }
     }
 
     @Override
@@ -227,12 +248,12 @@ public class ReaderDatabase extends SQLiteOpenHelper {
     }
 
     public static void purgeAsync() {
-        new Thread() {
+        AppExecutors.execute(Pool.DB, new Runnable() {
             @Override
             public void run() {
                 purge();
             }
-        }.start();
+        });
     }
 
     /*
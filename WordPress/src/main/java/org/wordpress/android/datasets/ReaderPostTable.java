@@ -6,6 +6,7 @@ import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteStatement;
 import android.text.TextUtils;
 
+import org.json.JSONArray;
 import org.wordpress.android.R;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.models.ReaderCardType;
@@ -18,15 +19,25 @@ import org.wordpress.android.ui.reader.ReaderConstants;
 import org.wordpress.android.ui.reader.actions.ReaderActions;
 import org.wordpress.android.ui.reader.models.ReaderBlogIdPostId;
 import org.wordpress.android.ui.reader.models.ReaderBlogIdPostIdList;
+import org.wordpress.android.ui.reader.models.ReaderImageList;
+import org.wordpress.android.ui.reader.utils.ReaderImageScanner;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.CrashlyticsUtils;
 import org.wordpress.android.util.SqlUtils;
+import org.wordpress.android.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * tbl_posts contains all reader posts - the primary key is pseudo_id + tag_name + tag_type,
  * which allows the same post to appear in multiple streams (ex: it can exist in followed
  * sites, liked posts, and tag streams). note that posts in a specific blog or feed are
  * stored here with an empty tag_name.
+ *
+ * the post's text is stored once per post in tbl_post_content (keyed by pseudo_id) rather
+ * than in each tbl_posts row, so a post in several streams doesn't store its text several
+ * times - content rows are purged once no tbl_posts row references them.
  */
 public class ReaderPostTable {
     private static final String COLUMN_NAMES =
@@ -39,41 +50,41 @@ public class ReaderPostTable {
           + "author_first_name,"    // 7
           + "author_id,"            // 8
           + "title,"                // 9
-          + "text,"                 // 10
-          + "excerpt,"              // 11
-          + "format,"               // 12
-          + "url,"                  // 13
-          + "short_url,"            // 14
-          + "blog_name,"            // 15
-          + "blog_url,"             // 16
-          + "blog_image_url,"       // 17
-          + "featured_image,"       // 18
-          + "featured_video,"       // 19
-          + "post_avatar,"          // 20
-          + "score,"                // 21
-          + "date_published,"       // 22
-          + "date_liked,"           // 23
-          + "date_tagged,"          // 24
-          + "num_replies,"          // 25
-          + "num_likes,"            // 26
-          + "is_liked,"             // 27
-          + "is_followed,"          // 28
-          + "is_comments_open,"     // 29
-          + "is_external,"          // 30
-          + "is_private,"           // 31
-          + "is_videopress,"        // 32
-          + "is_jetpack,"           // 33
-          + "primary_tag,"          // 34
-          + "secondary_tag,"        // 35
-          + "attachments_json,"     // 36
-          + "discover_json,"        // 37
-          + "xpost_post_id,"        // 38
-          + "xpost_blog_id,"        // 39
-          + "railcar_json,"         // 40
-          + "tag_name,"             // 41
-          + "tag_type,"             // 42
-          + "has_gap_marker,"       // 43
-          + "card_type";            // 44
+          + "excerpt,"              // 10
+          + "format,"               // 11
+          + "url,"                  // 12
+          + "short_url,"            // 13
+          + "blog_name,"            // 14
+          + "blog_url,"             // 15
+          + "blog_image_url,"       // 16
+          + "featured_image,"       // 17
+          + "featured_video,"       // 18
+          + "post_avatar,"          // 19
+          + "score,"                // 20
+          + "date_published,"       // 21
+          + "date_liked,"           // 22
+          + "date_tagged,"          // 23
+          + "num_replies,"          // 24
+          + "num_likes,"            // 25
+          + "is_liked,"             // 26
+          + "is_followed,"          // 27
+          + "is_comments_open,"     // 28
+          + "is_external,"          // 29
+          + "is_private,"           // 30
+          + "is_videopress,"        // 31
+          + "is_jetpack,"           // 32
+          + "primary_tag,"          // 33
+          + "secondary_tag,"        // 34
+          + "attachments_json,"     // 35
+          + "discover_json,"        // 36
+          + "xpost_post_id,"        // 37
+          + "xpost_blog_id,"        // 38
+          + "railcar_json,"         // 39
+          + "tag_name,"             // 40
+          + "tag_type,"             // 41
+          + "has_gap_marker,"       // 42
+          + "card_type,"            // 43
+          + "thumbnail_strip_json"; // 44
 
     // used when querying multiple rows and skipping text column
     private static final String COLUMN_NAMES_NO_TEXT =
@@ -119,9 +130,21 @@ public class ReaderPostTable {
           + "tag_name,"             // 40
           + "tag_type,"             // 41
           + "has_gap_marker,"       // 42
-          + "card_type";            // 43
+          + "card_type,"            // 43
+          + "thumbnail_strip_json"; // 44
 
     protected static void createTables(SQLiteDatabase db) {
+        createPostsTable(db);
+        createPostIndexes(db);
+
+        db.execSQL("CREATE TABLE tbl_post_content ("
+                + " pseudo_id   TEXT PRIMARY KEY,"
+                + " text        TEXT,"
+                + " text_hash   INTEGER"
+                + ")");
+    }
+
+    private static void createPostsTable(SQLiteDatabase db) {
         db.execSQL("CREATE TABLE tbl_posts ("
                 + "	post_id		        INTEGER DEFAULT 0,"
                 + " blog_id             INTEGER DEFAULT 0,"
@@ -132,7 +155,6 @@ public class ReaderPostTable {
                 + "	author_first_name	TEXT,"
                 + " author_id           INTEGER DEFAULT 0,"
                 + "	title	            TEXT,"
-                + "	text                TEXT,"
                 + "	excerpt             TEXT,"
                 + "	format              TEXT,"
                 + " url                 TEXT,"
@@ -167,9 +189,12 @@ public class ReaderPostTable {
                 + " tag_type            INTEGER DEFAULT 0,"
                 + " has_gap_marker      INTEGER DEFAULT 0,"
                 + " card_type           TEXT,"
+                + " thumbnail_strip_json TEXT,"
                 + " PRIMARY KEY (pseudo_id, tag_name, tag_type)"
                 + ")");
+    }
 
+    private static void createPostIndexes(SQLiteDatabase db) {
         db.execSQL("CREATE INDEX idx_posts_post_id_blog_id ON tbl_posts(post_id, blog_id)");
         db.execSQL("CREATE INDEX idx_posts_date_published ON tbl_posts(date_published)");
         db.execSQL("CREATE INDEX idx_posts_date_tagged ON tbl_posts(date_tagged)");
@@ -178,6 +203,35 @@ public class ReaderPostTable {
 
     protected static void dropTables(SQLiteDatabase db) {
         db.execSQL("DROP TABLE IF EXISTS tbl_posts");
+        db.execSQL("DROP TABLE IF EXISTS tbl_post_content");
+    }
+
+    /*
+     * moves the text column of tbl_posts to tbl_post_content - tbl_posts is recreated without
+     * the text column since SQLite can't drop columns. called from ReaderDatabase.onUpgrade(),
+     * which already creates a transaction
+     */
+    protected static void migrateTextToContentTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE tbl_post_content ("
+                + " pseudo_id   TEXT PRIMARY KEY,"
+                + " text        TEXT"
+                + ")");
+        db.execSQL("INSERT OR IGNORE INTO tbl_post_content (pseudo_id, text)"
+                + " SELECT pseudo_id, text FROM tbl_posts WHERE text IS NOT NULL");
+
+        db.execSQL("ALTER TABLE tbl_posts RENAME TO tbl_posts_old");
+        createPostsTable(db);
+        db.execSQL("INSERT INTO tbl_posts (" + COLUMN_NAMES + ") SELECT " + COLUMN_NAMES + " FROM tbl_posts_old");
+        db.execSQL("DROP TABLE tbl_posts_old");
+        createPostIndexes(db);
+    }
+
+    /*
+     * adds the hash of the text compared by comparePosts() - existing rows have no hash, so their
+     * posts are saved again the next time they're retrieved. called from ReaderDatabase.onUpgrade()
+     */
+    protected static void addTextHashColumn(SQLiteDatabase db) {
+        db.execSQL("ALTER TABLE tbl_post_content ADD COLUMN text_hash INTEGER");
     }
 
     protected static void reset(SQLiteDatabase db) {
@@ -187,7 +241,8 @@ public class ReaderPostTable {
 
     /*
      * purge table of unattached/older posts - no need to wrap this in a transaction since it's
-     * only called from ReaderDatabase.purge() which already creates a transaction
+     * only called from ReaderDatabase.purge() which already creates a transaction. note that
+     * the returned count doesn't include purged content rows
      */
     protected static int purge(SQLiteDatabase db) {
         // delete posts attached to tags that no longer exist
@@ -202,9 +257,33 @@ public class ReaderPostTable {
         // delete search results
         numDeleted += purgeSearchResults(db);
 
+        // delete text no longer used by any post - done regardless of whether posts were purged
+        // here since other deletions (unfollowing, gap markers, etc.) also leave unused text
+        int numContentDeleted = purgeUnreferencedContent(db);
+        if (numContentDeleted > 0) {
+            AppLog.d(AppLog.T.READER,
+                    String.format("reader post table > purged %d post content rows", numContentDeleted));
+        }
+
         return numDeleted;
     }
 
+    private static int purgeUnreferencedContent(SQLiteDatabase db) {
+        return db.delete("tbl_post_content", "pseudo_id NOT IN (SELECT DISTINCT pseudo_id FROM tbl_posts)", null);
+    }
+
+    /*
+     * returns the start of the query used to read posts, joining the post's text from
+     * tbl_post_content unless it's excluded
+     */
+    private static String getSelectPostsSql(boolean excludeTextColumn) {
+        if (excludeTextColumn) {
+            return "SELECT " + COLUMN_NAMES_NO_TEXT + " FROM tbl_posts";
+        }
+        return "SELECT tbl_posts.*, tbl_post_content.text FROM tbl_posts"
+                + " LEFT JOIN tbl_post_content ON tbl_post_content.pseudo_id = tbl_posts.pseudo_id";
+    }
+
     /*
      * purge excess posts in the passed tag
      */
@@ -284,8 +363,7 @@ public class ReaderPostTable {
     }
 
     private static ReaderPost getPost(String where, String[] args, boolean excludeTextColumn) {
-        String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
-        String sql = "SELECT " + columns + " FROM tbl_posts WHERE " + where + " LIMIT 1";
+        String sql = getSelectPostsSql(excludeTextColumn) + " WHERE " + where + " LIMIT 1";
 
         Cursor c = ReaderDatabase.getReadableDb().rawQuery(sql, args);
         try {
@@ -308,7 +386,8 @@ public class ReaderPostTable {
     public static String getPostText(long blogId, long postId) {
         String[] args = {Long.toString(blogId), Long.toString(postId)};
         return SqlUtils.stringForQuery(ReaderDatabase.getReadableDb(),
-                "SELECT text FROM tbl_posts WHERE blog_id=? AND post_id=?",
+                "SELECT text FROM tbl_post_content WHERE pseudo_id ="
+                + " (SELECT pseudo_id FROM tbl_posts WHERE blog_id=? AND post_id=? LIMIT 1)",
                 args);
     }
 
@@ -320,19 +399,118 @@ public class ReaderPostTable {
     }
 
     /*
-     * returns whether any of the passed posts are new or changed - used after posts are retrieved
+     * compact snapshot of the stored columns compared by ReaderPost.isSamePost(), used to tell
+     * whether posts retrieved from the server are new or changed without reading each post
+     */
+    private static class PostFingerprint {
+        long feedId;
+        long feedItemId;
+        int numLikes;
+        int numReplies;
+        boolean isFollowed;
+        boolean isLiked;
+        boolean isCommentsOpen;
+        int titleHash;
+        int excerptHash;
+        // null when the post's text hasn't been stored (or was stored before hashes were)
+        Integer textHash;
+
+        boolean matches(ReaderPost post) {
+            return post.feedId == feedId
+                    && post.feedItemId == feedItemId
+                    && post.numLikes == numLikes
+                    && post.numReplies == numReplies
+                    && post.isFollowedByCurrentUser == isFollowed
+                    && post.isLikedByCurrentUser == isLiked
+                    && post.isCommentsOpen == isCommentsOpen
+                    && post.getTitle().hashCode() == titleHash
+                    && post.getExcerpt().hashCode() == excerptHash
+                    && (!post.isTextLoaded() || textHash != null && maxText(post).hashCode() == textHash);
+        }
+    }
+
+    // keep well under SQLite's limit of 999 variables per query
+    private static final int MAX_IDS_PER_QUERY = 500;
+
+    private static String getFingerprintKey(long blogId, long postId) {
+        return blogId + ":" + postId;
+    }
+
+    /*
+     * returns the fingerprints of the passed posts which exist locally with the passed tag (or in
+     * a blog/feed when the tag is null), keyed by blogId:postId - a post stored under another tag
+     * has no fingerprint, since it still has to be saved with this one. a single query is used
+     * unless there are more than MAX_IDS_PER_QUERY posts
      */
-    public static ReaderActions.UpdateResult comparePosts(ReaderPostList posts) {
+    private static Map<String, PostFingerprint> getFingerprints(ReaderTag tag, ReaderPostList posts) {
+        Map<String, PostFingerprint> fingerprints = new HashMap<>();
+        if (posts == null || posts.size() == 0) {
+            return fingerprints;
+        }
+
+        String tagName = (tag != null ? tag.getTagSlug() : "");
+        int tagType = (tag != null ? tag.tagType.toInt() : 0);
+        for (int start = 0; start < posts.size(); start += MAX_IDS_PER_QUERY) {
+            int end = Math.min(start + MAX_IDS_PER_QUERY, posts.size());
+            String[] args = new String[end - start + 2];
+            args[0] = tagName;
+            args[1] = Integer.toString(tagType);
+            StringBuilder sql = new StringBuilder(
+                    "SELECT p.blog_id, p.post_id, p.feed_id, p.feed_item_id, p.num_likes, p.num_replies,"
+                    + " p.is_followed, p.is_liked, p.is_comments_open, p.title, p.excerpt, c.text_hash"
+                    + " FROM tbl_posts p LEFT JOIN tbl_post_content c ON c.pseudo_id = p.pseudo_id"
+                    + " WHERE p.tag_name=? AND p.tag_type=? AND p.post_id IN (");
+            for (int i = start; i < end; i++) {
+                sql.append(i > start ? ",?" : "?");
+                args[i - start + 2] = Long.toString(posts.get(i).postId);
+            }
+            sql.append(")");
+
+            // post ids are only unique within a blog, so rows for other blogs are skipped below
+            Cursor c = ReaderDatabase.getReadableDb().rawQuery(sql.toString(), args);
+            try {
+                while (c.moveToNext()) {
+                    String key = getFingerprintKey(c.getLong(0), c.getLong(1));
+                    if (fingerprints.containsKey(key)) {
+                        continue;
+                    }
+                    PostFingerprint fingerprint = new PostFingerprint();
+                    fingerprint.feedId = c.getLong(2);
+                    fingerprint.feedItemId = c.getLong(3);
+                    fingerprint.numLikes = c.getInt(4);
+                    fingerprint.numReplies = c.getInt(5);
+                    fingerprint.isFollowed = SqlUtils.sqlToBool(c.getInt(6));
+                    fingerprint.isLiked = SqlUtils.sqlToBool(c.getInt(7));
+                    fingerprint.isCommentsOpen = SqlUtils.sqlToBool(c.getInt(8));
+                    fingerprint.titleHash = StringUtils.notNullStr(c.getString(9)).hashCode();
+                    fingerprint.excerptHash = StringUtils.notNullStr(c.getString(10)).hashCode();
+                    fingerprint.textHash = c.isNull(11) ? null : c.getInt(11);
+                    fingerprints.put(key, fingerprint);
+                }
+            } finally {
+                SqlUtils.closeCursor(c);
+            }
+        }
+
+        return fingerprints;
+    }
+
+    /*
+     * returns whether any of the passed posts are new or changed in the passed tag (or in a
+     * blog/feed when the tag is null) - used after posts are retrieved
+     */
+    public static ReaderActions.UpdateResult comparePosts(ReaderTag tag, ReaderPostList posts) {
         if (posts == null || posts.size() == 0) {
             return ReaderActions.UpdateResult.UNCHANGED;
         }
 
+        Map<String, PostFingerprint> fingerprints = getFingerprints(tag, posts);
         boolean hasChanges = false;
         for (ReaderPost post: posts) {
-            ReaderPost existingPost = getBlogPost(post.blogId, post.postId, true);
-            if (existingPost == null) {
+            PostFingerprint fingerprint = fingerprints.get(getFingerprintKey(post.blogId, post.postId));
+            if (fingerprint == null) {
                 return ReaderActions.UpdateResult.HAS_NEW;
-            } else if (!hasChanges && !post.isSamePost(existingPost)) {
+            } else if (!hasChanges && !fingerprint.matches(post)) {
                 hasChanges = true;
             }
         }
@@ -341,11 +519,12 @@ public class ReaderPostTable {
     }
 
     /*
-     * returns true if any posts in the passed list exist in this list
+     * returns true if any posts in the passed list exist locally with the passed tag
      */
-    public static boolean hasOverlap(ReaderPostList posts) {
+    public static boolean hasOverlap(ReaderTag tag, ReaderPostList posts) {
+        Map<String, PostFingerprint> fingerprints = getFingerprints(tag, posts);
         for (ReaderPost post: posts) {
-            if (postExists(post.blogId, post.postId)) {
+            if (fingerprints.containsKey(getFingerprintKey(post.blogId, post.postId))) {
                 return true;
             }
         }
@@ -654,12 +833,39 @@ public class ReaderPostTable {
         }
     }
 
+    /*
+     * scans gallery posts for the images to show in their thumbnail strip, so the stream can show
+     * the strip without having to read and scan the post's text - posts read from the db already
+     * have this set
+     */
+    private static String getThumbnailStripJson(final ReaderPost post) {
+        if (post.getCardType() != ReaderCardType.GALLERY) {
+            return "";
+        }
+        if (post.hasThumbnailStripJson() || !post.hasText()) {
+            return post.getThumbnailStripJson();
+        }
+
+        ReaderImageList imageList = new ReaderImageScanner(post.getText(), post.isPrivate)
+                .getImageList(ReaderConstants.GALLERY_IMAGE_COUNT, ReaderConstants.MIN_GALLERY_IMAGE_WIDTH);
+        JSONArray jsonImages = new JSONArray();
+        for (String imageUrl : imageList) {
+            jsonImages.put(imageUrl);
+        }
+        return jsonImages.toString();
+    }
+
     public static void addOrUpdatePosts(final ReaderTag tag, ReaderPostList posts) {
         if (posts == null || posts.size() == 0) {
             return;
         }
 
         SQLiteDatabase db = ReaderDatabase.getWritableDb();
+        SQLiteStatement stmtInsertContent = db.compileStatement(
+                "INSERT OR IGNORE INTO tbl_post_content (pseudo_id, text, text_hash) VALUES (?1,?2,?3)");
+        SQLiteStatement stmtUpdateContent = db.compileStatement(
+                "UPDATE tbl_post_content SET text=?2, text_hash=?3 WHERE pseudo_id=?1"
+                + " AND (text IS NOT ?2 OR text_hash IS NOT ?3)");
         SQLiteStatement stmtPosts = db.compileStatement(
                 "INSERT OR REPLACE INTO tbl_posts ("
                         + COLUMN_NAMES
@@ -675,6 +881,20 @@ public class ReaderPostTable {
             boolean hasGapMarker = false;
 
             for (ReaderPost post: posts) {
+                // the text is only written when it's new or has changed (including when it becomes
+                // empty), and posts read without their text (excludeTextColumn) don't wipe it out
+                if (post.isTextLoaded()) {
+                    String text = maxText(post);
+                    stmtInsertContent.bindString(1, post.getPseudoId());
+                    stmtInsertContent.bindString(2, text);
+                    stmtInsertContent.bindLong  (3, text.hashCode());
+                    stmtInsertContent.execute();
+                    stmtUpdateContent.bindString(1, post.getPseudoId());
+                    stmtUpdateContent.bindString(2, text);
+                    stmtUpdateContent.bindLong  (3, text.hashCode());
+                    stmtUpdateContent.execute();
+                }
+
                 stmtPosts.bindLong  (1,  post.postId);
                 stmtPosts.bindLong  (2,  post.blogId);
                 stmtPosts.bindLong  (3,  post.feedId);
@@ -684,41 +904,41 @@ public class ReaderPostTable {
                 stmtPosts.bindString(7,  post.getAuthorFirstName());
                 stmtPosts.bindLong  (8,  post.authorId);
                 stmtPosts.bindString(9,  post.getTitle());
-                stmtPosts.bindString(10, maxText(post));
-                stmtPosts.bindString(11, post.getExcerpt());
-                stmtPosts.bindString(12, post.getFormat());
-                stmtPosts.bindString(13, post.getUrl());
-                stmtPosts.bindString(14, post.getShortUrl());
-                stmtPosts.bindString(15, post.getBlogName());
-                stmtPosts.bindString(16, post.getBlogUrl());
-                stmtPosts.bindString(17, post.getBlogImageUrl());
-                stmtPosts.bindString(18, post.getFeaturedImage());
-                stmtPosts.bindString(19, post.getFeaturedVideo());
-                stmtPosts.bindString(20, post.getPostAvatar());
-                stmtPosts.bindDouble(21, post.score);
-                stmtPosts.bindString(22, post.getDatePublished());
-                stmtPosts.bindString(23, post.getDateLiked());
-                stmtPosts.bindString(24, post.getDateTagged());
-                stmtPosts.bindLong  (25, post.numReplies);
-                stmtPosts.bindLong  (26, post.numLikes);
-                stmtPosts.bindLong  (27, SqlUtils.boolToSql(post.isLikedByCurrentUser));
-                stmtPosts.bindLong  (28, SqlUtils.boolToSql(post.isFollowedByCurrentUser));
-                stmtPosts.bindLong  (29, SqlUtils.boolToSql(post.isCommentsOpen));
-                stmtPosts.bindLong  (30, SqlUtils.boolToSql(post.isExternal));
-                stmtPosts.bindLong  (31, SqlUtils.boolToSql(post.isPrivate));
-                stmtPosts.bindLong  (32, SqlUtils.boolToSql(post.isVideoPress));
-                stmtPosts.bindLong  (33, SqlUtils.boolToSql(post.isJetpack));
-                stmtPosts.bindString(34, post.getPrimaryTag());
-                stmtPosts.bindString(35, post.getSecondaryTag());
-                stmtPosts.bindString(36, post.getAttachmentsJson());
-                stmtPosts.bindString(37, post.getDiscoverJson());
-                stmtPosts.bindLong  (38, post.xpostPostId);
-                stmtPosts.bindLong  (39, post.xpostBlogId);
-                stmtPosts.bindString(40, post.getRailcarJson());
-                stmtPosts.bindString(41, tagName);
-                stmtPosts.bindLong  (42, tagType);
-                stmtPosts.bindLong  (43, SqlUtils.boolToSql(hasGapMarker));
-                stmtPosts.bindString(44, ReaderCardType.toString(post.getCardType()));
+                stmtPosts.bindString(10, post.getExcerpt());
+                stmtPosts.bindString(11, post.getFormat());
+                stmtPosts.bindString(12, post.getUrl());
+                stmtPosts.bindString(13, post.getShortUrl());
+                stmtPosts.bindString(14, post.getBlogName());
+                stmtPosts.bindString(15, post.getBlogUrl());
+                stmtPosts.bindString(16, post.getBlogImageUrl());
+                stmtPosts.bindString(17, post.getFeaturedImage());
+                stmtPosts.bindString(18, post.getFeaturedVideo());
+                stmtPosts.bindString(19, post.getPostAvatar());
+                stmtPosts.bindDouble(20, post.score);
+                stmtPosts.bindString(21, post.getDatePublished());
+                stmtPosts.bindString(22, post.getDateLiked());
+                stmtPosts.bindString(23, post.getDateTagged());
+                stmtPosts.bindLong  (24, post.numReplies);
+                stmtPosts.bindLong  (25, post.numLikes);
+                stmtPosts.bindLong  (26, SqlUtils.boolToSql(post.isLikedByCurrentUser));
+                stmtPosts.bindLong  (27, SqlUtils.boolToSql(post.isFollowedByCurrentUser));
+                stmtPosts.bindLong  (28, SqlUtils.boolToSql(post.isCommentsOpen));
+                stmtPosts.bindLong  (29, SqlUtils.boolToSql(post.isExternal));
+                stmtPosts.bindLong  (30, SqlUtils.boolToSql(post.isPrivate));
+                stmtPosts.bindLong  (31, SqlUtils.boolToSql(post.isVideoPress));
+                stmtPosts.bindLong  (32, SqlUtils.boolToSql(post.isJetpack));
+                stmtPosts.bindString(33, post.getPrimaryTag());
+                stmtPosts.bindString(34, post.getSecondaryTag());
+                stmtPosts.bindString(35, post.getAttachmentsJson());
+                stmtPosts.bindString(36, post.getDiscoverJson());
+                stmtPosts.bindLong  (37, post.xpostPostId);
+                stmtPosts.bindLong  (38, post.xpostBlogId);
+                stmtPosts.bindString(39, post.getRailcarJson());
+                stmtPosts.bindString(40, tagName);
+                stmtPosts.bindLong  (41, tagType);
+                stmtPosts.bindLong  (42, SqlUtils.boolToSql(hasGapMarker));
+                stmtPosts.bindString(43, ReaderCardType.toString(post.getCardType()));
+                stmtPosts.bindString(44, getThumbnailStripJson(post));
                 stmtPosts.execute();
             }
 
@@ -727,6 +947,8 @@ public class ReaderPostTable {
         } finally {
             db.endTransaction();
             SqlUtils.closeStatement(stmtPosts);
+            SqlUtils.closeStatement(stmtInsertContent);
+            SqlUtils.closeStatement(stmtUpdateContent);
         }
     }
 
@@ -735,8 +957,7 @@ public class ReaderPostTable {
             return new ReaderPostList();
         }
 
-        String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
-        String sql = "SELECT " + columns + " FROM tbl_posts WHERE tag_name=? AND tag_type=?";
+        String sql = getSelectPostsSql(excludeTextColumn) + " WHERE tag_name=? AND tag_type=?";
 
         if (tag.tagType == ReaderTagType.DEFAULT) {
             // skip posts that are no longer liked if this is "Posts I Like", skip posts that are no
@@ -764,8 +985,8 @@ public class ReaderPostTable {
     }
 
     public static ReaderPostList getPostsInBlog(long blogId, int maxPosts, boolean excludeTextColumn) {
-        String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
-        String sql = "SELECT " + columns + " FROM tbl_posts WHERE blog_id=? AND tag_name='' ORDER BY date_published DESC";
+        String sql = getSelectPostsSql(excludeTextColumn)
+                + " WHERE blog_id=? AND tag_name='' ORDER BY date_published DESC";
 
         if (maxPosts > 0) {
             sql += " LIMIT " + Integer.toString(maxPosts);
@@ -780,8 +1001,8 @@ public class ReaderPostTable {
     }
 
     public static ReaderPostList getPostsInFeed(long feedId, int maxPosts, boolean excludeTextColumn) {
-        String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
-        String sql = "SELECT " + columns + " FROM tbl_posts WHERE feed_id=? AND tag_name='' ORDER BY date_published DESC";
+        String sql = getSelectPostsSql(excludeTextColumn)
+                + " WHERE feed_id=? AND tag_name='' ORDER BY date_published DESC";
 
         if (maxPosts > 0) {
             sql += " LIMIT " + Integer.toString(maxPosts);
@@ -921,6 +1142,7 @@ public class ReaderPostTable {
 
         post.setRailcarJson(c.getString(c.getColumnIndex("railcar_json")));
         post.setCardType(ReaderCardType.fromString(c.getString(c.getColumnIndex("card_type"))));
+        post.setThumbnailStripJson(c.getString(c.getColumnIndex("thumbnail_strip_json")));
 
         return post;
     }
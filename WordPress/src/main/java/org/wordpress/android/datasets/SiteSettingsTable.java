@@ -35,7 +35,7 @@ public final class SiteSettingsTable {
 
     public static Map<Integer, CategoryModel> getAllCategories() {
         String sqlCommand = sqlSelectAllCategories() + ";";
-        Cursor cursor = WordPress.wpDB.getDatabase().rawQuery(sqlCommand, null);
+        Cursor cursor = WordPress.getWpDB().getDatabase().rawQuery(sqlCommand, null);
 
         if (cursor == null || !cursor.moveToFirst() || cursor.getCount() == 0) return null;
 
@@ -54,21 +54,21 @@ public final class SiteSettingsTable {
         if (id < 0) return null;
 
         String sqlCommand = sqlSelectAllCategories() + sqlWhere(CategoryModel.ID_COLUMN_NAME, Long.toString(id)) + ";";
-        return WordPress.wpDB.getDatabase().rawQuery(sqlCommand, null);
+        return WordPress.getWpDB().getDatabase().rawQuery(sqlCommand, null);
     }
 
     public static Cursor getSettings(long id) {
         if (id < 0) return null;
 
         String sqlCommand = sqlSelectAllSettings() + sqlWhere(SiteSettingsModel.ID_COLUMN_NAME, Long.toString(id)) + ";";
-        return WordPress.wpDB.getDatabase().rawQuery(sqlCommand, null);
+        return WordPress.getWpDB().getDatabase().rawQuery(sqlCommand, null);
     }
 
     public static void saveCategory(CategoryModel category) {
         if (category == null) return;
 
         ContentValues values = category.serializeToDatabase();
-        category.isInLocalTable = WordPress.wpDB.getDatabase().insertWithOnConflict(
+        category.isInLocalTable = WordPress.getWpDB().getDatabase().insertWithOnConflict(
                 CATEGORIES_TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_REPLACE) != -1;
     }
 
@@ -84,7 +84,7 @@ public final class SiteSettingsTable {
         if (settings == null) return;
 
         ContentValues values = settings.serializeToDatabase();
-        settings.isInLocalTable = WordPress.wpDB.getDatabase().insertWithOnConflict(
+        settings.isInLocalTable = WordPress.getWpDB().getDatabase().insertWithOnConflict(
                 SiteSettingsModel.SETTINGS_TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_REPLACE) != -1;
 
         saveCategories(settings.categories);
@@ -45,10 +45,10 @@ public class SuggestionTable {
     }
 
     private static SQLiteDatabase getReadableDb() {
-        return WordPress.wpDB.getDatabase();
+        return WordPress.getWpDB().getDatabase();
     }
     private static SQLiteDatabase getWritableDb() {
-        return WordPress.wpDB.getDatabase();
+        return WordPress.getWpDB().getDatabase();
     }
 
     public static void insertSuggestionsForSite(final int siteId, final List<Suggestion> suggestions) {
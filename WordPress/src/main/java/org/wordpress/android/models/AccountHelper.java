@@ -29,7 +29,7 @@ public class AccountHelper {
     }
 
     public static boolean isSignedIn() {
-        return getDefaultAccount().hasAccessToken() || (WordPress.wpDB.getNumVisibleBlogs() != 0);
+        return getDefaultAccount().hasAccessToken() || (WordPress.getWpDB().getNumVisibleBlogs() != 0);
     }
 
     public static boolean isSignedInWordPressDotCom() {
@@ -37,7 +37,7 @@ public class AccountHelper {
     }
 
     public static boolean isJetPackUser() {
-        return WordPress.wpDB.hasAnyJetpackBlogs();
+        return WordPress.getWpDB().hasAnyJetpackBlogs();
     }
 
     public static String getCurrentUsernameForBlog(Blog blog) {
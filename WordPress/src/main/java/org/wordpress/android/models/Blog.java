@@ -84,6 +84,20 @@ public class Blog {
         this.isHidden = isHidden;
     }
 
+    /*
+     * copies the passed blog, used to hand out cached blogs without sharing the instance
+     */
+    public Blog(Blog blog) {
+        this(blog.localTableBlogId, blog.url, blog.homeURL, blog.blogName, blog.username, blog.password,
+                blog.imagePlacement, blog.featuredImageCapable, blog.fullSizeImage, blog.scaledImage,
+                blog.scaledImageWidth, blog.maxImageWidth, blog.maxImageWidthId, blog.remoteBlogId,
+                blog.dotcom_username, blog.dotcom_password, blog.api_key, blog.api_blogid, blog.dotcomFlag,
+                blog.wpVersion, blog.httpuser, blog.httppassword, blog.postFormats, blog.blogOptions,
+                blog.capabilities, blog.isAdmin, blog.isHidden);
+        this.planID = blog.planID;
+        this.planShortName = blog.planShortName;
+    }
+
     public Blog(String url, String username, String password) {
         this.url = url;
         this.username = username;
@@ -269,7 +283,7 @@ public class Blog {
                     String jetpackBlogId = jsonOptions.getJSONObject("jetpack_client_id").getString("value");
                     if (!TextUtils.isEmpty(jetpackBlogId)) {
                         this.setApi_blogid(jetpackBlogId);
-                        WordPress.wpDB.saveBlog(this);
+                        WordPress.getWpDB().saveBlog(this);
                     }
                 } catch (JSONException e) {
                     AppLog.e(T.UTILS, "Cannot load jetpack_client_id from options: " + jsonOptions, e);
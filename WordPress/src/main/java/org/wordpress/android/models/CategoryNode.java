@@ -61,17 +61,17 @@ public class CategoryNode {
 
     public static CategoryNode createCategoryTreeFromDB(int blogId) {
         CategoryNode rootCategory = new CategoryNode(-1, -1, "");
-        if (WordPress.wpDB == null) {
+        if (WordPress.getWpDB() == null) {
             return rootCategory;
         }
-        List<String> stringCategories = WordPress.wpDB.loadCategories(blogId);
+        List<String> stringCategories = WordPress.getWpDB().loadCategories(blogId);
 
         // First pass instantiate CategoryNode objects
         SparseArray<CategoryNode> categoryMap = new SparseArray<CategoryNode>();
         CategoryNode currentRootNode;
         for (String name : stringCategories) {
-            int categoryId = WordPress.wpDB.getCategoryId(blogId, name);
-            int parentId = WordPress.wpDB.getCategoryParentId(blogId, name);
+            int categoryId = WordPress.getWpDB().getCategoryId(blogId, name);
+            int parentId = WordPress.getWpDB().getCategoryParentId(blogId, name);
             CategoryNode node = new CategoryNode(categoryId, parentId, name);
             categoryMap.put(categoryId, node);
         }
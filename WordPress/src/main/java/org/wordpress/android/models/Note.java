@@ -88,6 +88,15 @@ public class Note {
         return mKey;
     }
 
+    /**
+     * Hash provided by the API which changes whenever the note changes, null if the note was
+     * requested without the note_hash field
+     */
+    public String getNoteHash() {
+        String hash = queryJSON("note_hash", "");
+        return TextUtils.isEmpty(hash) ? null : hash;
+    }
+
     public String getType() {
         return queryJSON("type", NOTE_UNKNOWN_TYPE);
     }
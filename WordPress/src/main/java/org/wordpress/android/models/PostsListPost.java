@@ -5,6 +5,7 @@ import android.text.format.DateUtils;
 
 import org.wordpress.android.WordPress;
 import org.wordpress.android.ui.posts.services.PostUploadService;
+import org.wordpress.android.ui.reader.utils.ReaderImageScanner;
 import org.wordpress.android.util.DateTimeUtils;
 import org.wordpress.android.util.HtmlUtils;
 import org.wordpress.android.util.StringUtils;
@@ -24,8 +25,8 @@ public class PostsListPost {
     private final long featuredImageId;
 
     private final String title;
-    private String excerpt;
-    private final String description;
+    private final String excerpt;
+    private final String contentImageUrl;
     private final String status;
 
     private final boolean isLocalDraft;
@@ -35,26 +36,34 @@ public class PostsListPost {
     // featuredImageUrl is generated by the adapter on the fly
     private transient String featuredImageUrl;
 
-    public PostsListPost(Post post) {
-        postId = post.getLocalTablePostId();
-        blogId = post.getLocalTableBlogId();
-        featuredImageId = post.getFeaturedImageId();
-
-        title = post.getTitle();
-        description = post.getDescription();
-        excerpt = post.getPostExcerpt();
-
-        status = post.getPostStatus();
-        isLocalDraft = post.isLocalDraft();
-        hasLocalChanges = post.isLocalChange();
-        isUploading = PostUploadService.isPostUploading(postId);
-
-        setDateCreatedGmt(post.getDate_created_gmt());
-
-        // if the post doesn't have an excerpt, generate one from the description
-        if (!hasExcerpt() && hasDescription()) {
-            excerpt = makeExcerpt(description);
-        }
+    /*
+     * the excerpt and content image url are precomputed when the post is saved - see
+     * makeExcerpt() and findContentImageUrl()
+     */
+    public PostsListPost(long postId,
+                         long blogId,
+                         String title,
+                         String excerpt,
+                         String contentImageUrl,
+                         String status,
+                         long dateCreatedGmt,
+                         long featuredImageId,
+                         boolean isLocalDraft,
+                         boolean hasLocalChanges) {
+        this.postId = postId;
+        this.blogId = blogId;
+        this.featuredImageId = featuredImageId;
+
+        this.title = title;
+        this.excerpt = excerpt;
+        this.contentImageUrl = contentImageUrl;
+
+        this.status = status;
+        this.isLocalDraft = isLocalDraft;
+        this.hasLocalChanges = hasLocalChanges;
+        this.isUploading = PostUploadService.isPostUploading(postId);
+
+        setDateCreatedGmt(dateCreatedGmt);
     }
 
     public long getPostId() {
@@ -72,11 +81,14 @@ public class PostsListPost {
         return !TextUtils.isEmpty(title);
     }
 
-    public String getDescription() {
-        return StringUtils.notNullStr(description);
+    /*
+     * the largest image in the post content, used when the post doesn't have a featured image
+     */
+    public String getContentImageUrl() {
+        return StringUtils.notNullStr(contentImageUrl);
     }
-    public boolean hasDescription() {
-        return !TextUtils.isEmpty(description);
+    public boolean hasContentImageUrl() {
+        return !TextUtils.isEmpty(contentImageUrl);
     }
 
     public String getExcerpt() {
@@ -95,7 +107,10 @@ public class PostsListPost {
         return s.replace(NBSP, " ").trim();
     }
 
-    private static String makeExcerpt(String description) {
+    /*
+     * generates the plain-text excerpt shown for posts without an excerpt
+     */
+    public static String makeExcerpt(String description) {
         if (TextUtils.isEmpty(description)) {
             return null;
         }
@@ -128,6 +143,13 @@ public class PostsListPost {
         return trimEx(result.toString()) + "...";
     }
 
+    public static String findContentImageUrl(String description) {
+        if (TextUtils.isEmpty(description)) {
+            return null;
+        }
+        return new ReaderImageScanner(description, false).getLargestImage();
+    }
+
     public long getFeaturedImageId() {
         return featuredImageId;
     }
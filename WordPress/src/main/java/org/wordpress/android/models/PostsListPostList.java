@@ -27,7 +27,9 @@ public class PostsListPostList extends ArrayList<PostsListPost> {
                 return false;
             if (newPost.hasLocalChanges() != currentPost.hasLocalChanges())
                 return false;
-            if (!newPost.getDescription().equals(currentPost.getDescription()))
+            if (!newPost.getExcerpt().equals(currentPost.getExcerpt()))
+                return false;
+            if (!newPost.getContentImageUrl().equals(currentPost.getContentImageUrl()))
                 return false;
         }
 
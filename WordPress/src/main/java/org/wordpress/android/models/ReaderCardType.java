@@ -4,7 +4,6 @@ import android.support.annotation.NonNull;
 
 import org.wordpress.android.ui.reader.ReaderConstants;
 import org.wordpress.android.ui.reader.utils.ReaderImageScanner;
-import org.wordpress.android.ui.reader.views.ReaderThumbnailStrip;
 import org.wordpress.android.util.HtmlUtils;
 
 /**
@@ -38,7 +37,8 @@ public enum ReaderCardType {
         // as a gallery
         if (post.hasImages()
                 && new ReaderImageScanner(post.getText(), post.isPrivate)
-                    .hasUsableImageCount(ReaderThumbnailStrip.IMAGE_COUNT, ReaderConstants.MIN_GALLERY_IMAGE_WIDTH)) {
+                    .hasUsableImageCount(ReaderConstants.GALLERY_IMAGE_COUNT,
+                            ReaderConstants.MIN_GALLERY_IMAGE_WIDTH)) {
             return GALLERY;
         }
 
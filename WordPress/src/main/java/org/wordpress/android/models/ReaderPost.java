@@ -7,10 +7,12 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import org.wordpress.android.ui.reader.ReaderConstants;
 import org.wordpress.android.ui.reader.models.ReaderBlogIdPostId;
+import org.wordpress.android.ui.reader.models.ReaderImageList;
 import org.wordpress.android.ui.reader.utils.ImageSizeMap;
 import org.wordpress.android.ui.reader.utils.ReaderIframeScanner;
 import org.wordpress.android.ui.reader.utils.ReaderImageScanner;
 import org.wordpress.android.ui.reader.utils.ReaderUtils;
+import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.DateTimeUtils;
 import org.wordpress.android.util.GravatarUtils;
 import org.wordpress.android.util.HtmlUtils;
@@ -71,6 +73,7 @@ public class ReaderPost {
 
     private String railcarJson;
     private ReaderCardType cardType = ReaderCardType.DEFAULT;
+    private String thumbnailStripJson;
 
     public static ReaderPost fromJson(JSONObject json) {
         if (json == null) {
@@ -565,6 +568,14 @@ public class ReaderPost {
         return !TextUtils.isEmpty(text);
     }
 
+    /*
+     * false only when the post was read from the db without its text column, in which case
+     * its text is unknown rather than empty
+     */
+    public boolean isTextLoaded() {
+        return text != null;
+    }
+
     public boolean hasUrl() {
         return !TextUtils.isEmpty(url);
     }
@@ -674,6 +685,39 @@ public class ReaderPost {
         this.cardType = cardType;
     }
 
+    /*
+     * images shown in the thumbnail strip of gallery posts, stored as a JSON array of urls when
+     * the post is saved so the stream doesn't have to scan the post's text when displaying it
+     */
+    public String getThumbnailStripJson() {
+        return StringUtils.notNullStr(thumbnailStripJson);
+    }
+    public void setThumbnailStripJson(String json) {
+        thumbnailStripJson = StringUtils.notNullStr(json);
+        thumbnailStripImages = null;
+    }
+    public boolean hasThumbnailStripJson() {
+        return !TextUtils.isEmpty(thumbnailStripJson);
+    }
+
+    private transient ReaderImageList thumbnailStripImages;
+    public ReaderImageList getThumbnailStripImages() {
+        if (thumbnailStripImages == null) {
+            thumbnailStripImages = new ReaderImageList(isPrivate);
+            if (hasThumbnailStripJson()) {
+                try {
+                    JSONArray jsonImages = new JSONArray(thumbnailStripJson);
+                    for (int i = 0; i < jsonImages.length(); i++) {
+                        thumbnailStripImages.addImageUrl(jsonImages.optString(i));
+                    }
+                } catch (JSONException e) {
+                    AppLog.e(AppLog.T.READER, e);
+                }
+            }
+        }
+        return thumbnailStripImages;
+    }
+
     /****
      * the following are transient variables - not stored in the db or returned in the json - whose
      * sole purpose is to cache commonly-used values for the post that speeds up using them inside
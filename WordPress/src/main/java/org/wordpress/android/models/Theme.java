@@ -178,6 +178,6 @@ public class Theme {
     }
 
     public void save() {
-        WordPress.wpDB.saveTheme(this);
+        WordPress.getWpDB().saveTheme(this);
     }
 }
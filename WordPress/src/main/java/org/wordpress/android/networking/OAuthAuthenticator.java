@@ -11,7 +11,7 @@ public class OAuthAuthenticator implements Authenticator {
 
         if (siteId != null) {
             // Get the token for a Jetpack site if needed
-            Blog blog = WordPress.wpDB.getBlogForDotComBlogId(siteId);
+            Blog blog = WordPress.getWpDB().getBlogForDotComBlogId(siteId);
 
             if (blog != null) {
                 String jetpackToken = blog.getApi_key();
@@ -20,6 +20,9 @@ import org.apache.http.message.BasicStatusLine;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.models.Blog;
 import org.wordpress.android.models.AccountHelper;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.UrlUtils;
@@ -63,8 +66,8 @@ public class WPDelayedHurlStack implements HttpStack {
         mCurrentBlog = currentBlog;
         mCtx = ctx;
 
-        // initializes SelfSignedSSLCertsManager in a separate thread.
-        Thread sslContextInitializer = new Thread() {
+        // initializes SelfSignedSSLCertsManager in a background thread.
+        AppExecutors.execute(Pool.CPU, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
                 try {
@@ -84,8 +87,7 @@ public class WPDelayedHurlStack implements HttpStack {
                     AppLog.e(T.API, e);
                 }
             }
-        };
-        sslContextInitializer.start();
+        });
     }
 
 
@@ -498,7 +498,7 @@ public class GCMMessageService extends GcmListenerService {
                 } else {
                     //else offer REPLY / LIKE actions
                     //LIKE can only be enabled for wp.com sites, so if this is a Jetpack site don't enable LIKEs
-                    Blog blog = WordPress.wpDB.instantiateBlogByRemoteId(note.getSiteId());
+                    Blog blog = WordPress.getWpDB().instantiateBlogByRemoteId(note.getSiteId());
                     boolean isJetPackSite = blog != null && blog.isJetpackPowered();
                     if (note.canLike() && !isJetPackSite) {
                         addCommentLikeActionForCommentNotification(context, builder, noteId);
@@ -28,6 +28,9 @@ import org.wordpress.android.ui.notifications.NotificationsListFragment;
 import org.wordpress.android.ui.notifications.utils.NotificationsActions;
 import org.wordpress.android.ui.notifications.utils.NotificationsUtils;
 import org.wordpress.android.ui.prefs.AppPrefs;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 
 import java.io.Serializable;
@@ -131,11 +134,11 @@ public class NotificationsProcessingService extends Service {
 
         // Offload to a separate thread.
         final QuickActionProcessor proc = new QuickActionProcessor(this, intent, startId);
-        new Thread(new Runnable() {
+        AppExecutors.execute(Pool.NETWORK, Priority.USER_VISIBLE, new Runnable() {
             public void run() {
                 proc.process();
             }
-        }).start();
+        });
 
         return START_NOT_STICKY;
     }
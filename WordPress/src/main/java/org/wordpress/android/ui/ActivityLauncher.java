@@ -161,7 +161,7 @@ public class ActivityLauncher {
         Post newPost = new Post(blog.getLocalTableBlogId(), isPage);
         newPost.setCategories("[" + SiteSettingsInterface.getDefaultCategory(context) +"]");
         newPost.setPostFormat(SiteSettingsInterface.getDefaultFormat(context));
-        WordPress.wpDB.savePost(newPost);
+        WordPress.getWpDB().savePost(newPost);
 
         Intent intent = new Intent(context, EditPostActivity.class);
         intent.putExtra(EditPostActivity.EXTRA_POSTID, newPost.getLocalTablePostId());
@@ -250,7 +250,7 @@ public class ActivityLauncher {
     public static void viewStatsSinglePostDetails(Context context, Post post, boolean isPage) {
         if (post == null) return;
 
-        int remoteBlogId = WordPress.wpDB.getRemoteBlogIdForLocalTableBlogId(post.getLocalTableBlogId());
+        int remoteBlogId = WordPress.getWpDB().getRemoteBlogIdForLocalTableBlogId(post.getLocalTableBlogId());
         PostModel postModel = new PostModel(
                 Integer.toString(remoteBlogId),
                 post.getRemotePostId(),
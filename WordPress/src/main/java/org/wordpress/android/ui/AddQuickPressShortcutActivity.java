@@ -56,7 +56,7 @@ public class AddQuickPressShortcutActivity extends ListActivity {
     }
 
     private void displayAccounts() {
-        accounts = WordPress.wpDB.getVisibleBlogs();
+        accounts = WordPress.getWpDB().getVisibleBlogs();
 
         ListView listView = (ListView) findViewById(android.R.id.list);
 
@@ -96,7 +96,7 @@ public class AddQuickPressShortcutActivity extends ListActivity {
             }
 
             if (validBlogCtr < accounts.size()){
-                accounts = WordPress.wpDB.getVisibleBlogs();
+                accounts = WordPress.getWpDB().getVisibleBlogs();
             }
 
             setListAdapter(new HomeListAdapter());
@@ -147,11 +147,11 @@ public class AddQuickPressShortcutActivity extends ListActivity {
                     addIntent.putExtra(Intent.EXTRA_SHORTCUT_ICON_RESOURCE, Intent.ShortcutIconResource.fromContext
                             (AddQuickPressShortcutActivity.this, R.mipmap.app_icon));
 
-                    WordPress.wpDB.addQuickPressShortcut(accountIDs[position], quickPressShortcutName.getText().toString());
+                    WordPress.getWpDB().addQuickPressShortcut(accountIDs[position], quickPressShortcutName.getText().toString());
 
                     if (WordPress.currentBlog == null) {
-                        WordPress.currentBlog = WordPress.wpDB.instantiateBlogByLocalId(accountIDs[position]);
-                        WordPress.wpDB.updateLastBlogId(accountIDs[position]);
+                        WordPress.currentBlog = WordPress.getWpDB().instantiateBlogByLocalId(accountIDs[position]);
+                        WordPress.getWpDB().updateLastBlogId(accountIDs[position]);
                     }
 
                     addIntent.setAction("com.android.launcher.action.INSTALL_SHORTCUT");
@@ -175,7 +175,7 @@ public class AddQuickPressShortcutActivity extends ListActivity {
         switch (requestCode) {
             case ADD_ACCOUNT_REQUEST:
                 if (resultCode == RESULT_OK) {
-                    accounts = WordPress.wpDB.getVisibleBlogs();
+                    accounts = WordPress.getWpDB().getVisibleBlogs();
                     if (accounts.size() > 0) {
                         displayAccounts();
                         break;
@@ -220,7 +220,7 @@ public class AddQuickPressShortcutActivity extends ListActivity {
             blogUsername.setText(
                     StringUtils.unescapeHTML(username));
             blavatar.setErrorImageResId(R.drawable.blavatar_placeholder);
-            blavatar.setImageUrl(blavatars[position], WordPress.imageLoader);
+            blavatar.setImageUrl(blavatars[position], WordPress.getImageLoader());
 
             return view;
 
@@ -148,7 +148,7 @@ public class ShareIntentReceiverActivity extends AppCompatActivity implements On
 
     private String[] getBlogNames() {
         String[] extraFields = {"homeURL"};
-        List<Map<String, Object>> accounts = WordPress.wpDB.getBlogsBy("isHidden = 0", extraFields);
+        List<Map<String, Object>> accounts = WordPress.getWpDB().getBlogsBy("isHidden = 0", extraFields);
         if (accounts.size() > 0) {
             final String blogNames[] = new String[accounts.size()];
             mAccountIDs = new int[accounts.size()];
@@ -157,7 +157,7 @@ public class ShareIntentReceiverActivity extends AppCompatActivity implements On
                 Map<String, Object> account = accounts.get(i);
                 blogNames[i] = BlogUtils.getBlogNameOrHomeURLFromAccountMap(account);
                 mAccountIDs[i] = (Integer) account.get("id");
-                blog = WordPress.wpDB.instantiateBlogByLocalId(mAccountIDs[i]);
+                blog = WordPress.getWpDB().instantiateBlogByLocalId(mAccountIDs[i]);
                 if (blog == null) {
                     ToastUtils.showToast(this, R.string.blog_not_found, ToastUtils.Duration.SHORT);
                     return null;
@@ -181,11 +181,11 @@ public class ShareIntentReceiverActivity extends AppCompatActivity implements On
     }
 
     private boolean selectBlog(int blogId) {
-        WordPress.currentBlog = WordPress.wpDB.instantiateBlogByLocalId(blogId);
+        WordPress.currentBlog = WordPress.getWpDB().instantiateBlogByLocalId(blogId);
         if (WordPress.currentBlog == null || WordPress.currentBlog.isHidden()) {
             return false;
         }
-        WordPress.wpDB.updateLastBlogId(WordPress.currentBlog.getLocalTableBlogId());
+        WordPress.getWpDB().updateLastBlogId(WordPress.currentBlog.getLocalTableBlogId());
         return true;
     }
 
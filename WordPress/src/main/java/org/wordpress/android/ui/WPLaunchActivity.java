@@ -24,7 +24,7 @@ public class WPLaunchActivity extends AppCompatActivity {
 
         ProfilingUtils.split("WPLaunchActivity.onCreate");
 
-        if (WordPress.wpDB == null) {
+        if (WordPress.getWpDB() == null) {
             ToastUtils.showToast(this, R.string.fatal_db_error, ToastUtils.Duration.LONG);
             finish();
             return;
@@ -39,14 +39,14 @@ public class BlogUtils {
         retValue = addBlogs(newBlogList, username);
 
         // Delete blogs if not in blogList
-        List<Map<String, Object>> allBlogs = WordPress.wpDB.getBlogsBy("dotcomFlag=1", null);
+        List<Map<String, Object>> allBlogs = WordPress.getWpDB().getBlogsBy("dotcomFlag=1", null);
         Set<String> newBlogURLs = new HashSet<String>();
         for (Map<String, Object> blog : newBlogList) {
             newBlogURLs.add(blog.get("xmlrpc").toString() + blog.get("blogid").toString());
         }
         for (Map<String, Object> blog : allBlogs) {
             if (!newBlogURLs.contains(blog.get("url").toString() + blog.get("blogId"))) {
-                WordPress.wpDB.deleteBlog(context, Integer.parseInt(blog.get("id").toString()));
+                WordPress.getWpDB().deleteBlog(context, Integer.parseInt(blog.get("id").toString()));
                 StatsTable.deleteStatsForBlog(context, Integer.parseInt(blog.get("id").toString())); // Remove stats data
                 retValue = true;
             }
@@ -112,7 +112,7 @@ public class BlogUtils {
                                           boolean isAdmin, boolean isVisible,
                                           long planID, String planShortName, String capabilities) {
         Blog blog;
-        if (!WordPress.wpDB.isBlogInDatabase(Integer.parseInt(blogId), xmlRpcUrl)) {
+        if (!WordPress.getWpDB().isBlogInDatabase(Integer.parseInt(blogId), xmlRpcUrl)) {
             // The blog isn't in the app, so let's create it
             blog = new Blog(xmlRpcUrl, username, password);
             blog.setHomeURL(homeUrl);
@@ -134,15 +134,15 @@ public class BlogUtils {
             blog.setPlanID(planID);
             blog.setPlanShortName(planShortName);
             blog.setCapabilities(capabilities);
-            WordPress.wpDB.saveBlog(blog);
+            WordPress.getWpDB().saveBlog(blog);
             return true;
         } else {
             // Update blog name and/or PlanID/PlanShortName
-            int localTableBlogId = WordPress.wpDB.getLocalTableBlogIdForRemoteBlogIdAndXmlRpcUrl(
+            int localTableBlogId = WordPress.getWpDB().getLocalTableBlogIdForRemoteBlogIdAndXmlRpcUrl(
                     Integer.parseInt(blogId), xmlRpcUrl);
             try {
                 boolean blogUpdated = false;
-                blog = WordPress.wpDB.instantiateBlogByLocalId(localTableBlogId);
+                blog = WordPress.getWpDB().instantiateBlogByLocalId(localTableBlogId);
                 if (!blogName.equals(blog.getBlogName())) {
                     blog.setBlogName(blogName);
                     blogUpdated = true;
@@ -160,7 +160,7 @@ public class BlogUtils {
                     blogUpdated = true;
                 }
                 if (blogUpdated) {
-                    WordPress.wpDB.saveBlog(blog);
+                    WordPress.getWpDB().saveBlog(blog);
                     return true;
                 }
             } catch (Exception e) {
@@ -194,7 +194,7 @@ public class BlogUtils {
     @NonNull
     public static Set<String> planTags() {
         String[] extraFields = {"plan_product_id"};
-        List<Map<String, Object>> blogs = WordPress.wpDB.getBlogsBy("dotcomFlag=1", extraFields);
+        List<Map<String, Object>> blogs = WordPress.getWpDB().getBlogsBy("dotcomFlag=1", extraFields);
         Set<String> tags = new HashSet<>();
 
         for (Map<String, Object> blog : blogs) {
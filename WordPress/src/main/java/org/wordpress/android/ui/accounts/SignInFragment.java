@@ -9,7 +9,6 @@ import android.content.Intent;
 import android.content.res.Configuration;
 import android.graphics.drawable.TransitionDrawable;
 import android.net.Uri;
-import android.os.AsyncTask;
 import android.os.Bundle;
 import android.os.Handler;
 import android.support.annotation.NonNull;
@@ -60,6 +59,9 @@ import org.wordpress.android.ui.reader.services.ReaderUpdateService;
 import org.wordpress.android.ui.reader.services.ReaderUpdateService.UpdateTask;
 import org.wordpress.android.ui.stats.StatsWidgetProvider;
 import org.wordpress.android.util.AnalyticsUtils;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.EditTextUtils;
@@ -711,14 +713,14 @@ public class SignInFragment extends AbstractFragment implements TextWatcher {
             boolean hideJetpackWithoutCredentials = true;
             // Look for a visible site that is not a "non active" Jetpack site with this id in the DB
             // TODO: when we support Jetpack sites by wpcom login, we should change that
-            List<Map<String, Object>> sites = WordPress.wpDB.getBlogsBy("isHidden = 0 AND blogId = " + primarySiteId,
+            List<Map<String, Object>> sites = WordPress.getWpDB().getBlogsBy("isHidden = 0 AND blogId = " + primarySiteId,
                     null, 1, hideJetpackWithoutCredentials);
             if (sites != null && !sites.isEmpty()) {
                 refreshAndSelectSite(sites.get(0));
             } else {
                 // Primary blog not found or hidden (can happen if it's a "non active" Jetpack site)
                 // Select the first visible site if it exists
-                sites = WordPress.wpDB.getBlogsBy("isHidden = 0", null, 1, hideJetpackWithoutCredentials);
+                sites = WordPress.getWpDB().getBlogsBy("isHidden = 0", null, 1, hideJetpackWithoutCredentials);
                 if (sites != null && !sites.isEmpty()) {
                     refreshAndSelectSite(sites.get(0));
                 }
@@ -1297,9 +1299,10 @@ public class SignInFragment extends AbstractFragment implements TextWatcher {
             AppLog.e(T.NUX, "Can't refresh blog content - invalid blogId: " + blogId);
             return;
         }
-        int blogLocalId = WordPress.wpDB.getLocalTableBlogIdForRemoteBlogIdAndXmlRpcUrl(intBlogId, xmlRpcUrl);
-        Blog firstBlog = WordPress.wpDB.instantiateBlogByLocalId(blogLocalId);
-        new ApiHelper.RefreshBlogContentTask(firstBlog, null).executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, false);
+        int blogLocalId = WordPress.getWpDB().getLocalTableBlogIdForRemoteBlogIdAndXmlRpcUrl(intBlogId, xmlRpcUrl);
+        Blog firstBlog = WordPress.getWpDB().instantiateBlogByLocalId(blogLocalId);
+        new ApiHelper.RefreshBlogContentTask(firstBlog, null).executeOnExecutor(
+                AppExecutors.getExecutor(Pool.NETWORK, Priority.BACKGROUND), false);
     }
 
     /**
@@ -1309,7 +1312,7 @@ public class SignInFragment extends AbstractFragment implements TextWatcher {
      * user selects it.
      */
     private void refreshFirstFiveBlogsContent() {
-        List<Map<String, Object>> visibleBlogs = WordPress.wpDB.getBlogsBy("isHidden = 0", null, 5, true);
+        List<Map<String, Object>> visibleBlogs = WordPress.getWpDB().getBlogsBy("isHidden = 0", null, 5, true);
         if (visibleBlogs != null && !visibleBlogs.isEmpty()) {
             int numberOfBlogsBeingRefreshed = Math.min(5, visibleBlogs.size());
             for (int i = 0; i < numberOfBlogsBeingRefreshed; i++) {
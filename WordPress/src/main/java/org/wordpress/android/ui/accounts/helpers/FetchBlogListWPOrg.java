@@ -2,6 +2,9 @@ package org.wordpress.android.ui.accounts.helpers;
 
 import org.wordpress.android.analytics.AnalyticsTracker;
 import org.wordpress.android.analytics.AnalyticsTracker.Stat;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 
 import org.xmlrpc.android.XMLRPCUtils;
 import org.xmlrpc.android.XMLRPCUtils.XMLRPCUtilsException;
@@ -29,7 +32,8 @@ public class FetchBlogListWPOrg extends FetchBlogListAbstract {
     }
 
     public void fetchBlogList(Callback callback) {
-        (new FetchBlogListTask(callback)).executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+        (new FetchBlogListTask(callback)).executeOnExecutor(
+                AppExecutors.getExecutor(Pool.NETWORK, Priority.USER_VISIBLE));
     }
 
     public class FetchBlogListTask extends AsyncTask<Void, Void, List<Map<String, Object>>> {
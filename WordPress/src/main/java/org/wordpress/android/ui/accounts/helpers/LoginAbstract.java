@@ -1,5 +1,9 @@
 package org.wordpress.android.ui.accounts.helpers;
 
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
+
 public abstract class LoginAbstract {
     protected String mUsername;
     protected String mPassword;
@@ -17,12 +21,12 @@ public abstract class LoginAbstract {
 
     public void execute(Callback callback) {
         mCallback = callback;
-        new Thread() {
+        AppExecutors.execute(Pool.NETWORK, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
                 login();
             }
-        }.start();
+        });
     }
 
     protected abstract void login();
@@ -69,7 +69,7 @@ public class LoginWPCom extends LoginAbstract {
 
     protected void login() {
         // Get OAuth token for the first time and check for errors
-        WordPress.requestQueue.add(makeOAuthRequest(mUsername, mPassword, new Oauth.Listener() {
+        WordPress.getRequestQueue().add(makeOAuthRequest(mUsername, mPassword, new Oauth.Listener() {
             @SuppressLint("CommitPrefEdits")
             @Override
             public void onResponse(final Oauth.Token token) {
@@ -90,7 +90,7 @@ public class LoginWPCom extends LoginAbstract {
             // Store token in blog object for Jetpack sites
             mJetpackBlog.setApi_key(token.toString());
             mJetpackBlog.setDotcom_username(mUsername);
-            WordPress.wpDB.saveBlog(mJetpackBlog);
+            WordPress.getWpDB().saveBlog(mJetpackBlog);
         }
 
         Account account = AccountHelper.getDefaultAccount();
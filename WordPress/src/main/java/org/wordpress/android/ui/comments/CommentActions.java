@@ -14,6 +14,9 @@ import org.wordpress.android.models.Comment;
 import org.wordpress.android.models.CommentList;
 import org.wordpress.android.models.CommentStatus;
 import org.wordpress.android.models.Note;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.VolleyUtils;
@@ -90,7 +93,7 @@ public class CommentActions {
 
         final Handler handler = new Handler();
 
-        new Thread() {
+        AppExecutors.execute(Pool.NETWORK, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
                 XMLRPCClientInterface client = XMLRPCFactory.instantiate(blog.getUri(), blog.getHttpuser(),
@@ -142,7 +145,7 @@ public class CommentActions {
                     });
                 }
             }
-        }.start();
+        });
     }
 
     /**
@@ -298,7 +301,7 @@ public class CommentActions {
 
         final Handler handler = new Handler();
 
-        new Thread() {
+        AppExecutors.execute(Pool.NETWORK, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
                 final boolean success = ApiHelper.editComment(blog, comment, newStatus);
@@ -317,7 +320,7 @@ public class CommentActions {
                     });
                 }
             }
-        }.start();
+        });
     }
 
     /**
@@ -347,7 +350,7 @@ public class CommentActions {
         final int localBlogId = blog.getLocalTableBlogId();
 
         final Handler handler = new Handler();
-        new Thread() {
+        AppExecutors.execute(Pool.NETWORK, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
                 for (Comment comment: comments) {
@@ -369,7 +372,7 @@ public class CommentActions {
                     });
                 }
             }
-        }.start();
+        });
     }
 
     /**
@@ -388,7 +391,7 @@ public class CommentActions {
 
         final Handler handler = new Handler();
 
-        new Thread() {
+        AppExecutors.execute(Pool.NETWORK, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
                 XMLRPCClientInterface client = XMLRPCFactory.instantiate(blog.getUri(), blog.getHttpuser(),
@@ -431,7 +434,7 @@ public class CommentActions {
                     });
                 }
             }
-        }.start();
+        });
     }
 
     /**
@@ -454,7 +457,7 @@ public class CommentActions {
         final int remoteBlogId = blog.getRemoteBlogId();
 
         final Handler handler = new Handler();
-        new Thread() {
+        AppExecutors.execute(Pool.NETWORK, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
                 XMLRPCClientInterface client = XMLRPCFactory.instantiate(blog.getUri(), blog.getHttpuser(),
@@ -498,6 +501,6 @@ public class CommentActions {
                     });
                 }
             }
-        }.start();
+        });
     }
 }
@@ -34,14 +34,12 @@ import org.wordpress.android.analytics.AnalyticsTracker.Stat;
 import org.wordpress.android.datasets.CommentTable;
 import org.wordpress.android.datasets.NotificationsTable;
 import org.wordpress.android.datasets.ReaderPostTable;
-import org.wordpress.android.datasets.SuggestionTable;
 import org.wordpress.android.models.AccountHelper;
 import org.wordpress.android.models.Blog;
 import org.wordpress.android.models.Comment;
 import org.wordpress.android.models.CommentStatus;
 import org.wordpress.android.models.Note;
 import org.wordpress.android.models.Note.EnabledActions;
-import org.wordpress.android.models.Suggestion;
 import org.wordpress.android.ui.ActivityId;
 import org.wordpress.android.ui.comments.CommentActions.ChangeType;
 import org.wordpress.android.ui.comments.CommentActions.OnCommentActionListener;
@@ -73,7 +71,6 @@ import org.wordpress.android.widgets.SuggestionAutoCompleteText;
 import org.wordpress.android.widgets.WPNetworkImageView;
 
 import java.util.EnumSet;
-import java.util.List;
 import java.util.Locale;
 
 import de.greenrobot.event.EventBus;
@@ -390,10 +387,10 @@ public class CommentDetailFragment extends Fragment implements NotificationFragm
 
         // is this comment on one of the user's blogs? it won't be if this was displayed from a
         // notification about a reply to a comment this user posted on someone else's blog
-        mIsUsersBlog = (comment != null && WordPress.wpDB.isLocalBlogIdInDatabase(mLocalBlogId));
+        mIsUsersBlog = (comment != null && WordPress.getWpDB().isLocalBlogIdInDatabase(mLocalBlogId));
 
         if (mIsUsersBlog) {
-            mRemoteBlogId = WordPress.wpDB.getRemoteBlogIdForLocalTableBlogId(mLocalBlogId);
+            mRemoteBlogId = WordPress.getWpDB().getRemoteBlogIdForLocalTableBlogId(mLocalBlogId);
         }
 
         if (isAdded()) {
@@ -493,8 +490,7 @@ public class CommentDetailFragment extends Fragment implements NotificationFragm
     public void onEventMainThread(SuggestionEvents.SuggestionNameListUpdated event) {
         // check if the updated suggestions are for the current blog and update the suggestions
         if (event.mRemoteBlogId != 0 && event.mRemoteBlogId == mRemoteBlogId && mSuggestionAdapter != null) {
-            List<Suggestion> suggestions = SuggestionTable.getSuggestionsForSite(event.mRemoteBlogId);
-            mSuggestionAdapter.setSuggestionList(suggestions);
+            mSuggestionAdapter.setSuggestionIndex(SuggestionUtils.getSuggestionIndex(event.mRemoteBlogId));
         }
     }
 
@@ -583,7 +579,7 @@ public class CommentDetailFragment extends Fragment implements NotificationFragm
             if (mNote != null && mShouldRequestCommentFromNote) {
                 // If a remote comment was requested, check if we have the comment for display.
                 // Otherwise request the comment via the REST API
-                int localTableBlogId = WordPress.wpDB.getLocalTableBlogIdForRemoteBlogId(mNote.getSiteId());
+                int localTableBlogId = WordPress.getWpDB().getLocalTableBlogIdForRemoteBlogId(mNote.getSiteId());
                 if (localTableBlogId > 0) {
                     Comment comment = CommentTable.getComment(localTableBlogId, mNote.getParentCommentId());
                     if (comment != null) {
@@ -704,7 +700,7 @@ public class CommentDetailFragment extends Fragment implements NotificationFragm
 
         // the post this comment is on can only be requested if this is a .com blog or a
         // jetpack-enabled self-hosted blog, and we have valid .com credentials
-        boolean isDotComOrJetpack = WordPress.wpDB.isRemoteBlogIdDotComOrJetpack(mRemoteBlogId);
+        boolean isDotComOrJetpack = WordPress.getWpDB().isRemoteBlogIdDotComOrJetpack(mRemoteBlogId);
         boolean canRequestPost = isDotComOrJetpack && AccountHelper.isSignedInWordPressDotCom();
 
         final String title;
@@ -1072,7 +1068,7 @@ public class CommentDetailFragment extends Fragment implements NotificationFragm
         }
 
         // note that the local blog id won't be found if the comment is from someone else's blog
-        int localBlogId = WordPress.wpDB.getLocalTableBlogIdForJetpackOrWpComRemoteSiteId(mRemoteBlogId);
+        int localBlogId = WordPress.getWpDB().getLocalTableBlogIdForJetpackOrWpComRemoteSiteId(mRemoteBlogId);
 
         /*
          * determine which actions to enable for this comment - if the comment is from this user's
@@ -1083,7 +1079,7 @@ public class CommentDetailFragment extends Fragment implements NotificationFragm
 
         //adjust enabledActions if this is a Jetpack site
         if (canLike()) {
-            Blog blog = WordPress.wpDB.instantiateBlogByLocalId(localBlogId);
+            Blog blog = WordPress.getWpDB().instantiateBlogByLocalId(localBlogId);
             if (blog != null && blog.isJetpackPowered()) {
                 //delete LIKE action from enabledActions for Jetpack sites
                 mEnabledActions.remove(EnabledActions.ACTION_LIKE);
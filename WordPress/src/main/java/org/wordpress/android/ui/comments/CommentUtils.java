@@ -52,8 +52,8 @@ public class CommentUtils {
                     R.drawable.legacy_dashicon_format_image_big_grey);
             Drawable failed = ContextCompat.getDrawable(textView.getContext(),
                     R.drawable.noticon_warning_big_grey);
-            html = HtmlUtils.fromHtml(content, new WPImageGetter(textView, maxImageSize, WordPress.imageLoader, loading,
-                    failed));
+            html = HtmlUtils.fromHtml(content, new WPImageGetter(textView, maxImageSize, WordPress.getImageLoader(),
+                    loading, failed));
         } else {
             html = HtmlUtils.fromHtml(content);
         }
@@ -27,6 +27,9 @@ import org.wordpress.android.models.FilterCriteria;
 import org.wordpress.android.ui.EmptyViewMessageType;
 import org.wordpress.android.ui.FilteredRecyclerView;
 import org.wordpress.android.ui.prefs.AppPrefs;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.NetworkUtils;
 import org.wordpress.android.util.ToastUtils;
@@ -373,7 +376,7 @@ public class CommentsListFragment extends Fragment implements CommentAdapter.OnD
         mFilteredCommentsView.updateEmptyView(EmptyViewMessageType.LOADING);
 
         mUpdateCommentsTask = new UpdateCommentsTask(loadMore, mCommentStatusFilter);
-        mUpdateCommentsTask.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+        mUpdateCommentsTask.executeOnExecutor(AppExecutors.getExecutor(Pool.NETWORK, Priority.USER_VISIBLE));
     }
 
     public void setCommentIsModerating(long commentId, boolean isModerating) {
@@ -456,12 +459,10 @@ public class CommentsListFragment extends Fragment implements CommentAdapter.OnD
                 return ApiHelper.refreshComments(blog, params, new ApiHelper.DatabasePersistCallback() {
                     @Override
                     public void onDataReadyToSave(List list) {
-                        int localBlogId = blog.getLocalTableBlogId();
-
-                        if (!mIsLoadingMore) { //existing comments should be deleted only if we are not "loading more"
-                            CommentTable.deleteCommentsForBlogWithFilter(localBlogId, mStatusFilter);
-                        }
-                        CommentTable.saveComments(localBlogId, (CommentList) list);
+                        // merge the page into the existing comments, so a refresh doesn't drop the older
+                        // pages that were already loaded
+                        CommentTable.syncComments(blog.getLocalTableBlogId(), mStatusFilter, (CommentList) list,
+                                !mIsLoadingMore, list.size() < COMMENTS_PER_PAGE);
                     }
                 });
             } catch (XMLRPCFault xmlrpcFault) {
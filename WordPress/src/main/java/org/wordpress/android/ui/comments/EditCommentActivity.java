@@ -287,7 +287,7 @@ public class EditCommentActivity extends AppCompatActivity {
         @Override
         protected Boolean doInBackground(Void... params) {
             final Blog blog;
-            blog = WordPress.wpDB.instantiateBlogByLocalId(mLocalBlogId);
+            blog = WordPress.getWpDB().instantiateBlogByLocalId(mLocalBlogId);
             if (blog == null) {
                 AppLog.e(AppLog.T.COMMENTS, "Invalid local blog id:" + mLocalBlogId);
                 return false;
@@ -49,6 +49,9 @@ import org.wordpress.android.ui.RequestCodes;
 import org.wordpress.android.ui.media.WordPressMediaUtils;
 import org.wordpress.android.ui.prefs.AppPrefs;
 import org.wordpress.android.ui.prefs.PrefsEvents;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.GravatarUtils;
 import org.wordpress.android.util.HelpshiftHelper.Tag;
@@ -426,7 +429,8 @@ public class MeFragment extends Fragment {
     private void signOutWordPressCom() {
         // note that signing out sends a CoreEvents.UserSignedOutWordPressCom EventBus event,
         // which will cause the main activity to recreate this fragment
-        (new SignOutWordPressComAsync(getActivity())).executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+        (new SignOutWordPressComAsync(getActivity())).executeOnExecutor(
+                AppExecutors.getExecutor(Pool.DB, Priority.USER_VISIBLE));
     }
 
     private void showDisconnectDialog(Context context) {
@@ -543,7 +547,8 @@ public class MeFragment extends Fragment {
     private void fetchMedia(Uri mediaUri) {
         if (!MediaUtils.isInMediaStore(mediaUri)) {
             // Create an AsyncTask to download the file
-            new DownloadMediaTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, mediaUri);
+            new DownloadMediaTask().executeOnExecutor(
+                    AppExecutors.getExecutor(Pool.NETWORK, Priority.USER_VISIBLE), mediaUri);
         } else {
             // It is a regular local media file
             startGravatarUpload(getRealPathFromURI(mediaUri));
@@ -708,7 +713,7 @@ public class MeFragment extends Fragment {
         entry.responseHeaders.put("X-Android-Selected-Protocol", "http/1.1");
         entry.responseHeaders.put("X-Android-Sent-Millis", String.valueOf(currentTimeMs));
 
-        WordPress.requestQueue.getCache().put(Request.Method.GET + ":" + avatarUrl, entry);
+        WordPress.getRequestQueue().getCache().put(Request.Method.GET + ":" + avatarUrl, entry);
     }
 
     private class SignOutWordPressComAsync extends AsyncTask<Void, Void, Void> {
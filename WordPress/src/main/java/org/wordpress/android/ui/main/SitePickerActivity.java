@@ -8,7 +8,6 @@ import android.content.Context;
 import android.content.DialogInterface;
 import android.content.Intent;
 import android.content.res.Configuration;
-import android.os.AsyncTask;
 import android.os.Bundle;
 import android.support.annotation.NonNull;
 import android.support.v4.view.MenuItemCompat;
@@ -34,6 +33,9 @@ import org.wordpress.android.ui.main.SitePickerAdapter.SiteList;
 import org.wordpress.android.ui.main.SitePickerAdapter.SiteRecord;
 import org.wordpress.android.ui.prefs.AppPrefs;
 import org.wordpress.android.ui.stats.datasets.StatsTable;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.CoreEvents;
 import org.wordpress.android.util.ToastUtils;
 import org.wordpress.android.util.WPActivityUtils;
@@ -121,12 +123,12 @@ public class SitePickerActivity extends AppCompatActivity
             mMenuAdd.setVisible(false);
         } else {
             // don't allow editing visibility unless there are multiple wp.com blogs
-            mMenuEdit.setVisible(WordPress.wpDB.getNumDotComBlogs() > 1);
+            mMenuEdit.setVisible(WordPress.getWpDB().getNumDotComBlogs() > 1);
             mMenuAdd.setVisible(true);
         }
 
         // no point showing search if there aren't multiple blogs
-        mMenuSearch.setVisible(WordPress.wpDB.getNumBlogs() > 1);
+        mMenuSearch.setVisible(WordPress.getWpDB().getNumBlogs() > 1);
     }
 
     @Override
@@ -251,10 +253,10 @@ public class SitePickerActivity extends AppCompatActivity
     }
 
     private void saveHiddenSites() {
-        WordPress.wpDB.getDatabase().beginTransaction();
+        WordPress.getWpDB().getDatabase().beginTransaction();
         try {
             // make all sites visible...
-            WordPress.wpDB.setAllDotComBlogsVisibility(true);
+            WordPress.getWpDB().setAllDotComBlogsVisibility(true);
 
             // ...then update ones marked hidden in the adapter, but don't hide the current site
             boolean skippedCurrentSite = false;
@@ -265,7 +267,7 @@ public class SitePickerActivity extends AppCompatActivity
                     skippedCurrentSite = true;
                     currentSiteName = site.getBlogNameOrHomeURL();
                 } else {
-                    WordPress.wpDB.setDotComBlogsVisibility(site.localId, false);
+                    WordPress.getWpDB().setDotComBlogsVisibility(site.localId, false);
                     StatsTable.deleteStatsForBlog(this, site.localId); // Remove stats data for hidden sites
                 }
             }
@@ -278,9 +280,9 @@ public class SitePickerActivity extends AppCompatActivity
                         ToastUtils.Duration.LONG);
             }
 
-            WordPress.wpDB.getDatabase().setTransactionSuccessful();
+            WordPress.getWpDB().getDatabase().setTransactionSuccessful();
         } finally {
-            WordPress.wpDB.getDatabase().endTransaction();
+            WordPress.getWpDB().getDatabase().endTransaction();
         }
     }
 
@@ -364,12 +366,12 @@ public class SitePickerActivity extends AppCompatActivity
         if (mActionMode == null) {
             hideSoftKeyboard();
             WordPress.setCurrentBlogAndSetVisible(site.localId);
-            WordPress.wpDB.updateLastBlogId(site.localId);
+            WordPress.getWpDB().updateLastBlogId(site.localId);
             AppPrefs.addRecentlyPickedSiteId(site.localId);
             setResult(RESULT_OK);
             mDidUserSelectSite = true;
             new ApiHelper.RefreshBlogContentTask(WordPress.getCurrentBlog(), null).executeOnExecutor(
-                    AsyncTask.THREAD_POOL_EXECUTOR, false);
+                    AppExecutors.getExecutor(Pool.NETWORK, Priority.BACKGROUND), false);
 
             finish();
         }
@@ -16,6 +16,9 @@ import org.wordpress.android.R;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.models.AccountHelper;
 import org.wordpress.android.ui.prefs.AppPrefs;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.BlogUtils;
 import org.wordpress.android.util.GravatarUtils;
@@ -348,7 +351,7 @@ class SitePickerAdapter extends RecyclerView.Adapter<SitePickerAdapter.SiteViewH
         if (mIsTaskRunning) {
             AppLog.w(AppLog.T.UTILS, "site picker > already loading sites");
         } else {
-            new LoadSitesTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+            new LoadSitesTask().executeOnExecutor(AppExecutors.getExecutor(Pool.DB, Priority.USER_VISIBLE));
         }
     }
 
@@ -403,7 +406,7 @@ class SitePickerAdapter extends RecyclerView.Adapter<SitePickerAdapter.SiteViewH
             String[] extraFields = {"isHidden", "homeURL"};
 
             if (mIsInSearchMode) {
-                blogs = WordPress.wpDB.getBlogsBy(null, extraFields);
+                blogs = WordPress.getWpDB().getBlogsBy(null, extraFields);
             } else {
                 blogs = getBlogsForCurrentView(extraFields);
             }
@@ -461,18 +464,18 @@ class SitePickerAdapter extends RecyclerView.Adapter<SitePickerAdapter.SiteViewH
             if (mShowHiddenSites) {
                 if (mShowSelfHostedSites) {
                     // all self-hosted blogs and all wp.com blogs
-                    return WordPress.wpDB.getBlogsBy(null, extraFields);
+                    return WordPress.getWpDB().getBlogsBy(null, extraFields);
                 } else {
                     // only wp.com blogs
-                    return WordPress.wpDB.getBlogsBy("dotcomFlag=1", extraFields);
+                    return WordPress.getWpDB().getBlogsBy("dotcomFlag=1", extraFields);
                 }
             } else {
                 if (mShowSelfHostedSites) {
                     // all self-hosted blogs plus visible wp.com blogs
-                    return WordPress.wpDB.getBlogsBy("dotcomFlag=0 OR (isHidden=0 AND dotcomFlag=1) ", extraFields);
+                    return WordPress.getWpDB().getBlogsBy("dotcomFlag=0 OR (isHidden=0 AND dotcomFlag=1) ", extraFields);
                 } else {
                     // only visible wp.com blogs
-                    return WordPress.wpDB.getBlogsBy("isHidden=0 AND dotcomFlag=1", extraFields);
+                    return WordPress.getWpDB().getBlogsBy("isHidden=0 AND dotcomFlag=1", extraFields);
                 }
             }
         }
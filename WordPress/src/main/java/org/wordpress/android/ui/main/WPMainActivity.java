@@ -57,6 +57,9 @@ import org.wordpress.android.ui.reader.ReaderPostListFragment;
 import org.wordpress.android.ui.reader.ReaderPostPagerActivity;
 import org.wordpress.android.util.AnalyticsUtils;
 import org.wordpress.android.util.AniUtils;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.AuthenticationDialogUtils;
@@ -394,7 +397,7 @@ public class WPMainActivity extends AppCompatActivity {
     protected void onResume() {
         super.onResume();
 
-        new CheckUnseenNotesTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+        new CheckUnseenNotesTask().executeOnExecutor(AppExecutors.getExecutor(Pool.NETWORK, Priority.BACKGROUND));
 
         // ensure the deep linking activity is enabled. We might be returning from the external-browser viewing of a post
         WPActivityUtils.enableComponent(this, ReaderPostPagerActivity.class);
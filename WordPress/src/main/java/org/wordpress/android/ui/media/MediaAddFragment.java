@@ -29,6 +29,9 @@ import org.wordpress.android.ui.RequestCodes;
 import org.wordpress.android.ui.media.WordPressMediaUtils.LaunchCameraCallback;
 import org.wordpress.android.ui.media.services.MediaEvents.MediaChanged;
 import org.wordpress.android.ui.media.services.MediaUploadService;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.MediaUtils;
 import org.wordpress.android.util.NetworkUtils;
 import org.wordpress.android.util.helpers.MediaFile;
@@ -128,7 +131,8 @@ public class MediaAddFragment extends Fragment implements LaunchCameraCallback {
     private void fetchMedia(Uri mediaUri) {
         if (!MediaUtils.isInMediaStore(mediaUri)) {
             // Create an AsyncTask to download the file
-            new DownloadMediaTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, mediaUri);
+            new DownloadMediaTask().executeOnExecutor(
+                    AppExecutors.getExecutor(Pool.NETWORK, Priority.USER_VISIBLE), mediaUri);
         } else {
             // It is a regular local media file
             String path = getRealPathFromURI(mediaUri);
@@ -211,9 +215,9 @@ public class MediaAddFragment extends Fragment implements LaunchCameraCallback {
         if (!TextUtils.isEmpty(mimeType)) {
             mediaFile.setMimeType(mimeType);
         }
-        WordPress.wpDB.saveMediaFile(mediaFile);
+        WordPress.getWpDB().saveMediaFile(mediaFile);
         EventBus.getDefault().post(new MediaChanged(String.valueOf(blog.getLocalTableBlogId()), mediaFile.getMediaId()));
-        startMediaUploadService();
+        startMediaUploadService(mediaFile.getBlogId(), mediaFile.getMediaId());
     }
 
     private void startMediaUploadService() {
@@ -222,6 +226,12 @@ public class MediaAddFragment extends Fragment implements LaunchCameraCallback {
         }
     }
 
+    private void startMediaUploadService(String blogId, String mediaId) {
+        if (NetworkUtils.isNetworkAvailable(getActivity())) {
+            getActivity().startService(MediaUploadService.getUploadIntent(getActivity(), blogId, mediaId));
+        }
+    }
+
     private void resumeMediaUploadService() {
         startMediaUploadService();
     }
@@ -249,8 +259,8 @@ public class MediaAddFragment extends Fragment implements LaunchCameraCallback {
 
     public void addToQueue(String mediaId) {
         String blogId = String.valueOf(WordPress.getCurrentBlog().getLocalTableBlogId());
-        WordPress.wpDB.updateMediaUploadState(blogId, mediaId, MediaUploadState.QUEUED);
-        startMediaUploadService();
+        WordPress.getWpDB().updateMediaUploadState(blogId, mediaId, MediaUploadState.QUEUED);
+        startMediaUploadService(blogId, mediaId);
     }
 
     public void uploadList(List<Uri> uriList) {
@@ -88,7 +88,7 @@ public class MediaBrowserActivity extends AppCompatActivity implements MediaGrid
             if (ConnectivityManager.CONNECTIVITY_ACTION.equals(intent.getAction())) {
                 // Coming from zero connection. Continue what's pending for delete
                 int blogId = WordPress.getCurrentLocalTableBlogId();
-                if (blogId != -1 && WordPress.wpDB.hasMediaDeleteQueueItems(blogId)) {
+                if (blogId != -1 && WordPress.getWpDB().hasMediaDeleteQueueItems(blogId)) {
                     startMediaDeleteService();
                 }
             }
@@ -547,7 +547,7 @@ public class MediaBrowserActivity extends AppCompatActivity implements MediaGrid
 
         // If the media was deleted, remove it from multi select (if it was selected) and hide it from the the detail
         // view (if it was the one displayed)
-        if (!WordPress.wpDB.mediaFileExists(blogId, mediaId)) {
+        if (!WordPress.getWpDB().mediaFileExists(blogId, mediaId)) {
             mMediaGridFragment.removeFromMultiSelect(mediaId);
             if (mMediaEditFragment != null && mMediaEditFragment.isVisible()
                     && mediaId.equals(mMediaEditFragment.getMediaId())) {
@@ -596,7 +596,7 @@ public class MediaBrowserActivity extends AppCompatActivity implements MediaGrid
 
         // mark items for delete without actually deleting items yet,
         // and then refresh the grid
-        WordPress.wpDB.setMediaFilesMarkedForDelete(blogId, sanitizedIds);
+        WordPress.getWpDB().setMediaFilesMarkedForDelete(blogId, sanitizedIds);
         startMediaDeleteService();
         if (mMediaGridFragment != null) {
             mMediaGridFragment.clearSelectedItems();
@@ -182,7 +182,7 @@ public class MediaEditFragment extends Fragment {
             String blogId = String.valueOf(blog.getLocalTableBlogId());
 
             if (mMediaId != null) {
-                Cursor cursor = WordPress.wpDB.getMediaFile(blogId, mMediaId);
+                Cursor cursor = WordPress.getWpDB().getMediaFile(blogId, mMediaId);
                 refreshViews(cursor);
                 cursor.close();
             } else {
@@ -204,7 +204,7 @@ public class MediaEditFragment extends Fragment {
                     @Override
                     public void onSuccess() {
                         String blogId = String.valueOf(currentBlog.getLocalTableBlogId());
-                        WordPress.wpDB.updateMediaFile(blogId, mediaId, title, description, caption);
+                        WordPress.getWpDB().updateMediaFile(blogId, mediaId, title, description, caption);
                         if (getActivity() != null) {
                             Toast.makeText(getActivity(), R.string.media_edit_success, Toast.LENGTH_LONG).show();
                         }
@@ -48,7 +48,7 @@ public class MediaGalleryActivity extends AppCompatActivity implements MediaGall
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
-        if (WordPress.wpDB == null) {
+        if (WordPress.getWpDB() == null) {
             Toast.makeText(this, R.string.fatal_db_error, Toast.LENGTH_LONG).show();
             finish();
             return;
@@ -68,7 +68,7 @@ public class MediaGalleryEditFragment extends Fragment implements DropListener,
         }
 
         String blogId = String.valueOf(WordPress.getCurrentBlog().getLocalTableBlogId());
-        Cursor cursor = WordPress.wpDB.getMediaFiles(blogId, mIds);
+        Cursor cursor = WordPress.getWpDB().getMediaFiles(blogId, mIds);
         if (cursor == null) {
             mGridAdapter.changeCursor(null);
             return;
@@ -110,7 +110,7 @@ public class MediaGalleryPickerActivity extends AppCompatActivity
         if (WordPress.getCurrentBlog() == null)
             return;
         final String blogId = String.valueOf(WordPress.getCurrentBlog().getLocalTableBlogId());
-        Cursor cursor = WordPress.wpDB.getMediaImagesForBlog(blogId, mFilteredItems);
+        Cursor cursor = WordPress.getWpDB().getMediaImagesForBlog(blogId, mFilteredItems);
         if (cursor.getCount() == 0) {
             refreshMediaFromServer(0);
         } else {
@@ -220,7 +220,7 @@ public class MediaGalleryPickerActivity extends AppCompatActivity
                     mHasRetrievedAllMedia = (count == 0);
                     adapter.setHasRetrievedAll(mHasRetrievedAllMedia);
                     String blogId = String.valueOf(WordPress.getCurrentBlog().getLocalTableBlogId());
-                    if (WordPress.wpDB.getMediaCountAll(blogId) == 0 && count == 0) {
+                    if (WordPress.getWpDB().getMediaCountAll(blogId) == 0 && count == 0) {
                         // There is no media at all
                         noMediaFinish();
                     }
@@ -234,7 +234,7 @@ public class MediaGalleryPickerActivity extends AppCompatActivity
                                 //mListener.onMediaItemListDownloaded();
                                 mGridAdapter.setRefreshing(false);
                                 String blogId = String.valueOf(WordPress.getCurrentBlog().getLocalTableBlogId());
-                                Cursor cursor = WordPress.wpDB.getMediaImagesForBlog(blogId, mFilteredItems);
+                                Cursor cursor = WordPress.getWpDB().getMediaImagesForBlog(blogId, mFilteredItems);
                                 mGridAdapter.swapCursor(cursor);
 
                             }
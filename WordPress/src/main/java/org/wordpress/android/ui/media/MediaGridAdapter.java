@@ -85,7 +85,7 @@ public class MediaGridAdapter extends CursorAdapter {
         if (imageLoader != null) {
             mImageLoader = imageLoader;
         } else {
-            mImageLoader = WordPress.imageLoader;
+            mImageLoader = WordPress.getImageLoader();
         }
     }
 
@@ -287,9 +287,9 @@ public class MediaGridFragment extends Fragment
 
         String blogId = String.valueOf(WordPress.getCurrentBlog().getLocalTableBlogId());
 
-        int countAll = WordPress.wpDB.getMediaCountAll(blogId);
-        int countImages = WordPress.wpDB.getMediaCountImages(blogId);
-        int countUnattached = WordPress.wpDB.getMediaCountUnattached(blogId);
+        int countAll = WordPress.getWpDB().getMediaCountAll(blogId);
+        int countImages = WordPress.getWpDB().getMediaCountImages(blogId);
+        int countUnattached = WordPress.getWpDB().getMediaCountUnattached(blogId);
 
         setFiltersText(countAll, countImages, countUnattached);
     }
@@ -452,7 +452,7 @@ public class MediaGridFragment extends Fragment
         Blog blog = WordPress.getCurrentBlog();
         if (blog != null) {
             String blogId = String.valueOf(blog.getLocalTableBlogId());
-            Cursor cursor = WordPress.wpDB.getMediaFilesForBlog(blogId, searchTerm);
+            Cursor cursor = WordPress.getWpDB().getMediaFilesForBlog(blogId, searchTerm);
             mGridAdapter.changeCursor(cursor);
         }
     }
@@ -554,7 +554,7 @@ public class MediaGridFragment extends Fragment
         GregorianCalendar endDate = new GregorianCalendar(mEndYear, mEndMonth, mEndDay);
 
         long one_day = 24 * 60 * 60 * 1000;
-        Cursor cursor = WordPress.wpDB.getMediaFilesForBlog(blogId, startDate.getTimeInMillis(), endDate.getTimeInMillis() + one_day);
+        Cursor cursor = WordPress.getWpDB().getMediaFilesForBlog(blogId, startDate.getTimeInMillis(), endDate.getTimeInMillis() + one_day);
         mGridAdapter.swapCursor(cursor);
 
         if (cursor != null && cursor.moveToFirst()) {
@@ -586,11 +586,11 @@ public class MediaGridFragment extends Fragment
 
         switch (filter) {
             case ALL:
-                return WordPress.wpDB.getMediaFilesForBlog(blogId);
+                return WordPress.getWpDB().getMediaFilesForBlog(blogId);
             case IMAGES:
-                return WordPress.wpDB.getMediaImagesForBlog(blogId);
+                return WordPress.getWpDB().getMediaImagesForBlog(blogId);
             case UNATTACHED:
-                return WordPress.wpDB.getMediaUnattachedForBlog(blogId);
+                return WordPress.getWpDB().getMediaUnattachedForBlog(blogId);
             case CUSTOM_DATE:
                 // show date picker only when the user clicks on the spinner, not when we are doing syncing
                 if (mIsDateFilterSet) {
@@ -654,7 +654,7 @@ public class MediaGridFragment extends Fragment
             String tag = (String) imageView.getTag();
             if (tag != null && tag.startsWith("http")) {
                 // need a listener to cancel request, even if the listener does nothing
-                ImageContainer container = WordPress.imageLoader.get(tag, new ImageListener() {
+                ImageContainer container = WordPress.getImageLoader().get(tag, new ImageListener() {
                     @Override
                     public void onErrorResponse(VolleyError error) { }
 
@@ -36,7 +36,7 @@ class MediaImageLoader {
         } else {
             // use default ImageLoader for all others
             AppLog.d(AppLog.T.MEDIA, "using default imageLoader");
-            return WordPress.imageLoader;
+            return WordPress.getImageLoader();
         }
     }
 }
@@ -146,9 +146,9 @@ public class MediaItemFragment extends Fragment {
             try {
                 // if the id is null, get the first media item in the database
                 if (mediaId == null) {
-                    cursor = WordPress.wpDB.getFirstMediaFileForBlog(blogId);
+                    cursor = WordPress.getWpDB().getFirstMediaFileForBlog(blogId);
                 } else {
-                    cursor = WordPress.wpDB.getMediaFile(blogId, mediaId);
+                    cursor = WordPress.getWpDB().getMediaFile(blogId, mediaId);
                 }
                 refreshViews(cursor);
             } finally {
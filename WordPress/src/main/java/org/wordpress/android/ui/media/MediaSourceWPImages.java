@@ -19,6 +19,9 @@ import org.wordpress.android.R;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.WordPressDB;
 import org.wordpress.android.models.Blog;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.mediapicker.MediaItem;
 import org.wordpress.mediapicker.source.MediaSource;
 import org.wordpress.mediapicker.MediaUtils.LimitedBackgroundOperation;
@@ -231,7 +234,8 @@ public class MediaSourceWPImages implements MediaSource {
                     if (!(params instanceof MediaItem)) {
                         throw new IllegalArgumentException("Params must be of type MediaItem");
                     }
-                    executeOnExecutor(THREAD_POOL_EXECUTOR, (MediaItem) params);
+                    executeOnExecutor(
+                            AppExecutors.getExecutor(Pool.NETWORK, Priority.USER_VISIBLE), (MediaItem) params);
                 }
             };
             backgroundCheck.executeWithLimit(mediaItem);
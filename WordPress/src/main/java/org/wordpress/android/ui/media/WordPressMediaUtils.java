@@ -251,7 +251,7 @@ public class WordPressMediaUtils {
     }
 
     public static boolean canDeleteMedia(String blogId, String mediaID) {
-        Cursor cursor = WordPress.wpDB.getMediaFile(blogId, mediaID);
+        Cursor cursor = WordPress.getWpDB().getMediaFile(blogId, mediaID);
         if (!cursor.moveToFirst()) {
             cursor.close();
             return false;
@@ -301,11 +301,11 @@ public class WordPressMediaUtils {
     }
 
     public static Cursor getWordPressMediaImages(String blogId) {
-        return WordPress.wpDB.getMediaImagesForBlog(blogId);
+        return WordPress.getWpDB().getMediaImagesForBlog(blogId);
     }
 
     public static Cursor getWordPressMediaVideos(String blogId) {
-        return WordPress.wpDB.getMediaFilesForBlog(blogId);
+        return WordPress.getWpDB().getMediaFilesForBlog(blogId);
     }
 
     /**
@@ -332,7 +332,7 @@ public class WordPressMediaUtils {
      * Loads the given network image URL into the {@link NetworkImageView}, using the default {@link ImageLoader}.
      */
     public static void loadNetworkImage(String imageUrl, NetworkImageView imageView) {
-        loadNetworkImage(imageUrl, imageView, WordPress.imageLoader);
+        loadNetworkImage(imageUrl, imageView, WordPress.getImageLoader());
     }
 
     /**
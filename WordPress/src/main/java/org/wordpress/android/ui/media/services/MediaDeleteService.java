@@ -72,7 +72,7 @@ public class MediaDeleteService extends Service {
             return null;
 
         String blogId = String.valueOf(WordPress.getCurrentBlog().getLocalTableBlogId());
-        return WordPress.wpDB.getMediaDeleteQueueItem(blogId);
+        return WordPress.getWpDB().getMediaDeleteQueueItem(blogId);
     }
 
     private void deleteMediaFile(Cursor cursor) {
@@ -90,7 +90,7 @@ public class MediaDeleteService extends Service {
             public void onSuccess() {
                 // only delete them once we get an ok from the server
                 if (WordPress.getCurrentBlog() != null && mediaId != null) {
-                    WordPress.wpDB.deleteMediaFile(blogId, mediaId);
+                    WordPress.getWpDB().deleteMediaFile(blogId, mediaId);
                 }
 
                 mDeleteInProgress = false;
@@ -105,7 +105,7 @@ public class MediaDeleteService extends Service {
                 // Instead we'll just set them as "deleted" so they don't show up in the delete queue.
                 // Otherwise the service will continuously try to delete an item they can't delete.
 
-                WordPress.wpDB.updateMediaUploadState(blogId, mediaId, MediaUploadState.DELETED);
+                WordPress.getWpDB().updateMediaUploadState(blogId, mediaId, MediaUploadState.DELETED);
 
                 mDeleteInProgress = false;
                 mHandler.post(mFetchQueueTask);
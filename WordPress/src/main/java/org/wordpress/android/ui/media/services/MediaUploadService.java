@@ -6,41 +6,66 @@ import android.content.Intent;
 import android.database.Cursor;
 import android.os.Handler;
 import android.os.IBinder;
+import android.text.TextUtils;
 
 import org.wordpress.android.R;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.WordPressDB;
+import org.wordpress.android.models.Blog;
 import org.wordpress.android.models.MediaUploadState;
-import org.wordpress.android.ui.media.services.MediaEvents.MediaChanged;
+import org.wordpress.android.ui.prefs.AppPrefs;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
+import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.CrashlyticsUtils;
 import org.wordpress.android.util.CrashlyticsUtils.ExceptionType;
+import org.wordpress.android.util.SqlUtils;
 import org.wordpress.android.util.helpers.MediaFile;
 import org.xmlrpc.android.ApiHelper;
 import org.xmlrpc.android.ApiHelper.ErrorType;
 import org.xmlrpc.android.ApiHelper.GetMediaItemTask;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 import de.greenrobot.event.EventBus;
 
 /**
  * A service for uploading media files from the media browser.
- * Only one file is uploaded at a time.
+ *
+ * The queue is kept in memory: it's loaded from the DB when the service is created, then files are
+ * added by the intents which start the service (see getUploadIntent()) and removed when they're
+ * canceled. Up to getMaxUploadsPerBlog() files are uploaded at the same time for each blog, and the
+ * upload state changes are written to the DB in batches.
  */
 public class MediaUploadService extends Service {
-    // time to wait before trying to upload the next file
-    private static final int UPLOAD_WAIT_TIME = 1000;
+    public static final String ARG_BLOG_ID = "blog_id";
+    public static final String ARG_MEDIA_ID = "media_id";
+
+    public static final int DEFAULT_MAX_UPLOADS_PER_BLOG = 2;
+
+    // time to wait before writing upload state changes, so changes happening together share a transaction
+    private static final int STATE_FLUSH_DELAY = 250;
 
     private static MediaUploadService mInstance;
 
     private Context mContext;
-    private Handler mHandler = new Handler();
+    private final Handler mHandler = new Handler();
 
-    private boolean mUploadInProgress;
-    private ApiHelper.UploadMediaTask mCurrentUploadMediaTask;
-    private String mCurrentUploadMediaId;
+    // blog id -> ids of its queued media files, in upload order
+    private final Map<String, LinkedHashSet<String>> mQueue = new LinkedHashMap<>();
+    // blog id -> media id -> running upload
+    private final Map<String, Map<String, ApiHelper.UploadMediaTask>> mUploads = new HashMap<>();
+    // blog id -> media id -> upload state which hasn't been written to the DB yet
+    private final Map<String, Map<String, MediaUploadState>> mPendingStates = new HashMap<>();
+    private boolean mIsStateFlushScheduled;
 
     @Override
     public IBinder onBind(Intent intent) {
@@ -54,137 +79,242 @@ public class MediaUploadService extends Service {
         mInstance = this;
 
         mContext = this.getApplicationContext();
-        mUploadInProgress = false;
 
         cancelOldUploads();
+        loadQueue();
     }
 
     @Override
     public void onStart(Intent intent, int startId) {
-        mHandler.post(mFetchQueueTask);
+        if (intent != null) {
+            String blogId = intent.getStringExtra(ARG_BLOG_ID);
+            String mediaId = intent.getStringExtra(ARG_MEDIA_ID);
+            if (!TextUtils.isEmpty(blogId) && !TextUtils.isEmpty(mediaId)) {
+                addToQueue(blogId, mediaId);
+            }
+        }
+        startUploads();
+    }
+
+    @Override
+    public void onDestroy() {
+        flushUploadStates();
+        if (mInstance == this) {
+            mInstance = null;
+        }
+        super.onDestroy();
     }
 
     public static MediaUploadService getInstance() {
         return mInstance;
     }
 
-    public void processQueue() {
-        mHandler.post(mFetchQueueTask);
+    /**
+     * Returns an intent which starts the service and adds the passed media file, whose upload state
+     * must already be 'queued' in the DB, to the upload queue
+     */
+    public static Intent getUploadIntent(Context context, String blogId, String mediaId) {
+        Intent intent = new Intent(context, MediaUploadService.class);
+        intent.putExtra(ARG_BLOG_ID, blogId);
+        intent.putExtra(ARG_MEDIA_ID, mediaId);
+        return intent;
+    }
+
+    /**
+     * Returns the number of media files uploaded at the same time for each blog, which is kept in
+     * the app prefs
+     */
+    public static int getMaxUploadsPerBlog() {
+        return AppPrefs.getMaxMediaUploadsPerBlog();
+    }
+
+    /**
+     * Sets the number of media files uploaded at the same time for each blog (at least 1), a running
+     * service starts more uploads right away if the limit is raised. Must be called on the main thread.
+     */
+    public static void setMaxUploadsPerBlog(int maxUploadsPerBlog) {
+        AppPrefs.setMaxMediaUploadsPerBlog(maxUploadsPerBlog);
+        if (mInstance != null) {
+            mInstance.startUploads();
+        }
     }
 
     /**
      * Returns whether the service has any media uploads in progress or queued.
      */
     public boolean hasUploads() {
-        if (mUploadInProgress) {
-            return true;
-        } else {
-            Cursor queueCursor = getQueue();
-            return (queueCursor == null || queueCursor.getCount() > 0);
-        }
+        return !mUploads.isEmpty() || !mQueue.isEmpty();
     }
 
     /**
      * Cancel the upload with the given id, whether it's currently uploading or queued.
+     * @param blogId the local id of the blog the media item is uploaded to
      * @param mediaId the id of the media item
      * @param delete whether to delete the item from the queue or mark it as failed so it can be retried later
      */
-    public void cancelUpload(String mediaId, boolean delete) {
-        if (mediaId.equals(mCurrentUploadMediaId)) {
+    public void cancelUpload(String blogId, String mediaId, boolean delete) {
+        if (TextUtils.isEmpty(blogId)) {
+            return;
+        }
+
+        ApiHelper.UploadMediaTask task = removeUpload(blogId, mediaId);
+        if (task != null) {
             // The media item is currently uploading - abort the upload process
-            mCurrentUploadMediaTask.cancel(true);
-            mUploadInProgress = false;
+            task.cancel(true);
         } else {
             // Remove the media item from the upload queue
-            if (WordPress.getCurrentBlog() != null) {
-                String blogId = String.valueOf(WordPress.getCurrentBlog().getLocalTableBlogId());
-                if (delete) {
-                    WordPress.wpDB.deleteMediaFile(blogId, mediaId);
-                } else {
-                    WordPress.wpDB.updateMediaUploadState(blogId, mediaId, MediaUploadState.FAILED);
-                }
-            }
+            removeFromQueue(blogId, mediaId);
         }
+
+        if (delete) {
+            removePendingUploadState(blogId, mediaId);
+            WordPress.getWpDB().deleteMediaFile(blogId, mediaId);
+        } else {
+            setUploadState(blogId, mediaId, MediaUploadState.FAILED);
+        }
+        startUploads();
     }
 
-    private Runnable mFetchQueueTask = new Runnable() {
-        @Override
-        public void run() {
-            Cursor cursor = getQueue();
-            try {
-                if ((cursor == null || cursor.getCount() == 0 || mContext == null) && !mUploadInProgress) {
-                    MediaUploadService.this.stopSelf();
-                    return;
-                } else {
-                    if (mUploadInProgress) {
-                        mHandler.postDelayed(this, UPLOAD_WAIT_TIME);
-                    } else {
-                        uploadMediaFile(cursor);
-                    }
-                }
-            } finally {
-                if (cursor != null)
-                    cursor.close();
-            }
+    private void addToQueue(String blogId, String mediaId) {
+        if (isUploading(blogId, mediaId)) {
+            return;
+        }
+        // the file has been queued again in the DB, drop any state change not written yet
+        removePendingUploadState(blogId, mediaId);
+        LinkedHashSet<String> blogQueue = mQueue.get(blogId);
+        if (blogQueue == null) {
+            blogQueue = new LinkedHashSet<>();
+            mQueue.put(blogId, blogQueue);
+        }
+        blogQueue.add(mediaId);
+    }
 
+    private void removeFromQueue(String blogId, String mediaId) {
+        LinkedHashSet<String> blogQueue = mQueue.get(blogId);
+        if (blogQueue != null && blogQueue.remove(mediaId) && blogQueue.isEmpty()) {
+            mQueue.remove(blogId);
         }
-    };
+    }
 
-    private void cancelOldUploads() {
-        // There should be no media files with an upload state of 'uploading' at the start of this service.
-        // Since we won't be able to receive notifications for these, set them to 'failed'.
+    private boolean isUploading(String blogId, String mediaId) {
+        Map<String, ApiHelper.UploadMediaTask> blogUploads = mUploads.get(blogId);
+        return blogUploads != null && blogUploads.containsKey(mediaId);
+    }
 
-        if (WordPress.getCurrentBlog() != null) {
-            String blogId = String.valueOf(WordPress.getCurrentBlog().getLocalTableBlogId());
-            WordPress.wpDB.setMediaUploadingToFailed(blogId);
+    private ApiHelper.UploadMediaTask removeUpload(String blogId, String mediaId) {
+        Map<String, ApiHelper.UploadMediaTask> blogUploads = mUploads.get(blogId);
+        if (blogUploads == null) {
+            return null;
+        }
+        ApiHelper.UploadMediaTask task = blogUploads.remove(mediaId);
+        if (blogUploads.isEmpty()) {
+            mUploads.remove(blogId);
         }
+        return task;
     }
 
-    private Cursor getQueue() {
-        if (WordPress.getCurrentBlog() == null)
-            return null;
+    private void cancelOldUploads() {
+        // There should be no media files with an upload state of 'uploading' at the start of this service.
+        // Since we won't be able to receive notifications for these, set them to 'failed'.
+        WordPress.getWpDB().setMediaUploadingToFailed();
+    }
 
-        String blogId = String.valueOf(WordPress.getCurrentBlog().getLocalTableBlogId());
-        return WordPress.wpDB.getMediaUploadQueue(blogId);
+    private void loadQueue() {
+        Cursor cursor = WordPress.getWpDB().getMediaUploadQueue();
+        try {
+            while (cursor.moveToNext()) {
+                addToQueue(cursor.getString(0), cursor.getString(1));
+            }
+        } finally {
+            SqlUtils.closeCursor(cursor);
+        }
     }
 
-    private void uploadMediaFile(Cursor cursor) {
-        if (!cursor.moveToFirst())
+    /*
+     * starts uploading queued files of each blog until its number of uploads reaches the limit,
+     * stops the service if there's nothing left to upload
+     */
+    private void startUploads() {
+        if (mContext == null || (mQueue.isEmpty() && mUploads.isEmpty())) {
+            flushUploadStates();
+            stopSelf();
             return;
+        }
 
-        mUploadInProgress = true;
+        int maxUploadsPerBlog = getMaxUploadsPerBlog();
+        Iterator<Map.Entry<String, LinkedHashSet<String>>> blogQueues = mQueue.entrySet().iterator();
+        while (blogQueues.hasNext()) {
+            Map.Entry<String, LinkedHashSet<String>> blogQueue = blogQueues.next();
+            String blogId = blogQueue.getKey();
+            Iterator<String> mediaIds = blogQueue.getValue().iterator();
+            while (mediaIds.hasNext() && getUploadCount(blogId) < maxUploadsPerBlog) {
+                String mediaId = mediaIds.next();
+                mediaIds.remove();
+                uploadMediaFile(blogId, mediaId);
+            }
+            if (blogQueue.getValue().isEmpty()) {
+                blogQueues.remove();
+            }
+        }
+    }
 
-        final String blogIdStr = cursor.getString((cursor.getColumnIndex(WordPressDB.COLUMN_NAME_BLOG_ID)));
-        final String mediaId = cursor.getString(cursor.getColumnIndex(WordPressDB.COLUMN_NAME_MEDIA_ID));
-        String fileName = cursor.getString(cursor.getColumnIndex(WordPressDB.COLUMN_NAME_FILE_NAME));
-        String filePath = cursor.getString(cursor.getColumnIndex(WordPressDB.COLUMN_NAME_FILE_PATH));
-        String mimeType = cursor.getString(cursor.getColumnIndex(WordPressDB.COLUMN_NAME_MIME_TYPE));
+    private int getUploadCount(String blogId) {
+        Map<String, ApiHelper.UploadMediaTask> blogUploads = mUploads.get(blogId);
+        return blogUploads != null ? blogUploads.size() : 0;
+    }
 
-        MediaFile mediaFile = new MediaFile();
-        mediaFile.setBlogId(blogIdStr);
-        mediaFile.setFileName(fileName);
-        mediaFile.setFilePath(filePath);
-        mediaFile.setMimeType(mimeType);
+    private void uploadMediaFile(final String blogIdStr, final String mediaId) {
+        Blog blog = WordPress.getBlog(Integer.parseInt(blogIdStr));
+        Cursor cursor = WordPress.getWpDB().getMediaFile(blogIdStr, mediaId);
+        try {
+            if (blog == null || !cursor.moveToFirst()) {
+                AppLog.w(T.MEDIA, "Can't upload media " + mediaId + ", the blog or the media file doesn't exist");
+                setUploadState(blogIdStr, mediaId, MediaUploadState.FAILED);
+                return;
+            }
+            if (!MediaUploadState.QUEUED.toString().equals(
+                    cursor.getString(cursor.getColumnIndex(WordPressDB.COLUMN_NAME_UPLOAD_STATE)))) {
+                // the file has been removed from the queue in the meantime
+                return;
+            }
 
-        mCurrentUploadMediaId = mediaId;
+            MediaFile mediaFile = new MediaFile();
+            mediaFile.setBlogId(blogIdStr);
+            mediaFile.setFileName(cursor.getString(cursor.getColumnIndex(WordPressDB.COLUMN_NAME_FILE_NAME)));
+            mediaFile.setFilePath(cursor.getString(cursor.getColumnIndex(WordPressDB.COLUMN_NAME_FILE_PATH)));
+            mediaFile.setMimeType(cursor.getString(cursor.getColumnIndex(WordPressDB.COLUMN_NAME_MIME_TYPE)));
+            startUploadTask(blog, mediaFile, mediaId);
+        } finally {
+            SqlUtils.closeCursor(cursor);
+        }
+    }
 
-        mCurrentUploadMediaTask = new ApiHelper.UploadMediaTask(mContext, mediaFile,
+    private void startUploadTask(final Blog blog, MediaFile mediaFile, final String mediaId) {
+        final String blogIdStr = mediaFile.getBlogId();
+        final ApiHelper.UploadMediaTask uploadMediaTask = new ApiHelper.UploadMediaTask(mContext, mediaFile,
                 new ApiHelper.UploadMediaTask.Callback() {
             @Override
             public void onSuccess(String remoteId, String remoteUrl, String secondaryId) {
+                if (!isUploading(blogIdStr, mediaId)) {
+                    // canceled
+                    return;
+                }
                 // once the file has been uploaded, update the local database entry (swap the id with the remote id)
                 // and download the new one
-                WordPress.wpDB.updateMediaLocalToRemoteId(blogIdStr, mediaId, remoteId);
+                flushUploadStates();
+                WordPress.getWpDB().updateMediaLocalToRemoteId(blogIdStr, mediaId, remoteId);
                 EventBus.getDefault().post(new MediaEvents.MediaUploadSucceeded(blogIdStr, mediaId,
                         remoteId, remoteUrl, secondaryId));
-                fetchMediaFile(remoteId);
+                fetchMediaFile(blog, mediaId, remoteId);
             }
 
             @Override
             public void onFailure(ApiHelper.ErrorType errorType, String errorMessage, Throwable throwable) {
-                WordPress.wpDB.updateMediaUploadState(blogIdStr, mediaId, MediaUploadState.FAILED);
-                mUploadInProgress = false;
-                mCurrentUploadMediaId = "";
+                if (removeUpload(blogIdStr, mediaId) == null) {
+                    // canceled
+                    return;
+                }
+                setUploadState(blogIdStr, mediaId, MediaUploadState.FAILED);
 
                 MediaEvents.MediaUploadFailed event;
                 if (errorMessage == null) {
@@ -194,7 +324,7 @@ public class MediaUploadService extends Service {
                 }
 
                 EventBus.getDefault().post(event);
-                mHandler.post(mFetchQueueTask);
+                startUploads();
 
                 // Only log the error if it's not caused by the network (internal inconsistency)
                 if (errorType != ErrorType.NETWORK_XMLRPC) {
@@ -208,40 +338,87 @@ public class MediaUploadService extends Service {
             }
         });
 
-        WordPress.wpDB.updateMediaUploadState(blogIdStr, mediaId, MediaUploadState.UPLOADING);
+        Map<String, ApiHelper.UploadMediaTask> blogUploads = mUploads.get(blogIdStr);
+        if (blogUploads == null) {
+            blogUploads = new HashMap<>();
+            mUploads.put(blogIdStr, blogUploads);
+        }
+        blogUploads.put(mediaId, uploadMediaTask);
+
+        setUploadState(blogIdStr, mediaId, MediaUploadState.UPLOADING);
         List<Object> apiArgs = new ArrayList<Object>();
-        apiArgs.add(WordPress.getCurrentBlog());
-        mCurrentUploadMediaTask.execute(apiArgs);
-        mHandler.post(mFetchQueueTask);
+        apiArgs.add(blog);
+        // the serial executor would upload a single file at a time for all the blogs
+        uploadMediaTask.executeOnExecutor(AppExecutors.getExecutor(Pool.NETWORK, Priority.BACKGROUND), apiArgs);
     }
 
-    private void fetchMediaFile(final String id) {
+    private void fetchMediaFile(Blog blog, final String localMediaId, final String id) {
+        final String blogIdStr = String.valueOf(blog.getLocalTableBlogId());
         List<Object> apiArgs = new ArrayList<Object>();
-        apiArgs.add(WordPress.getCurrentBlog());
+        apiArgs.add(blog);
         GetMediaItemTask task = new GetMediaItemTask(Integer.valueOf(id),
                 new ApiHelper.GetMediaItemTask.Callback() {
             @Override
             public void onSuccess(MediaFile mediaFile) {
                 String blogId = mediaFile.getBlogId();
                 String mediaId = mediaFile.getMediaId();
-                WordPress.wpDB.updateMediaUploadState(blogId, mediaId, MediaUploadState.UPLOADED);
-                mUploadInProgress = false;
-                mCurrentUploadMediaId = "";
-                mHandler.post(mFetchQueueTask);
-                EventBus.getDefault().post(new MediaChanged(blogId, mediaId));
+                removeUpload(blogIdStr, localMediaId);
+                setUploadState(blogId, mediaId, MediaUploadState.UPLOADED);
+                startUploads();
             }
 
             @Override
             public void onFailure(ApiHelper.ErrorType errorType, String errorMessage, Throwable throwable) {
-                mUploadInProgress = false;
-                mCurrentUploadMediaId = "";
-                mHandler.post(mFetchQueueTask);
+                // the file itself has been uploaded
+                removeUpload(blogIdStr, localMediaId);
+                setUploadState(blogIdStr, id, MediaUploadState.UPLOADED);
+                startUploads();
                 // Only log the error if it's not caused by the network (internal inconsistency)
                 if (errorType != ErrorType.NETWORK_XMLRPC) {
                     CrashlyticsUtils.logException(throwable, ExceptionType.SPECIFIC, T.MEDIA, errorMessage);
                 }
             }
         });
-        task.execute(apiArgs);
+        task.executeOnExecutor(AppExecutors.getExecutor(Pool.NETWORK, Priority.BACKGROUND), apiArgs);
+    }
+
+    /*
+     * upload state changes are kept in memory and written to the DB together shortly after
+     */
+    private void setUploadState(String blogId, String mediaId, MediaUploadState uploadState) {
+        Map<String, MediaUploadState> blogStates = mPendingStates.get(blogId);
+        if (blogStates == null) {
+            blogStates = new LinkedHashMap<>();
+            mPendingStates.put(blogId, blogStates);
+        }
+        blogStates.put(mediaId, uploadState);
+
+        if (!mIsStateFlushScheduled) {
+            mIsStateFlushScheduled = true;
+            mHandler.postDelayed(mFlushStatesTask, STATE_FLUSH_DELAY);
+        }
     }
+
+    private void removePendingUploadState(String blogId, String mediaId) {
+        Map<String, MediaUploadState> blogStates = mPendingStates.get(blogId);
+        if (blogStates != null) {
+            blogStates.remove(mediaId);
+        }
+    }
+
+    private void flushUploadStates() {
+        mHandler.removeCallbacks(mFlushStatesTask);
+        mIsStateFlushScheduled = false;
+        for (Map.Entry<String, Map<String, MediaUploadState>> blogStates : mPendingStates.entrySet()) {
+            WordPress.getWpDB().updateMediaUploadStates(blogStates.getKey(), blogStates.getValue());
+        }
+        mPendingStates.clear();
+    }
+
+    private final Runnable mFlushStatesTask = new Runnable() {
+        @Override
+        public void run() {
+            flushUploadStates();
+        }
+    };
 }
@@ -37,6 +37,9 @@ import org.wordpress.android.ui.reader.ReaderActivityLauncher;
 import org.wordpress.android.ui.reader.actions.ReaderPostActions;
 import org.wordpress.android.ui.reader.services.ReaderCommentService;
 import org.wordpress.android.ui.reader.utils.ReaderUtils;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.JSONUtils;
 import org.wordpress.android.util.ToastUtils;
@@ -181,7 +184,7 @@ public class NotificationsDetailListFragment extends ListFragment implements Not
     }
 
     private void reloadNoteBlocks() {
-        new LoadNoteBlocksTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+        new LoadNoteBlocksTask().executeOnExecutor(AppExecutors.getExecutor(Pool.CPU, Priority.USER_VISIBLE));
     }
 
     public void setFooterView(ViewGroup footerView) {
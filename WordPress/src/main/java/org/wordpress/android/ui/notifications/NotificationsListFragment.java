@@ -35,6 +35,8 @@ import org.wordpress.android.ui.notifications.adapters.NotesAdapter;
 import org.wordpress.android.ui.notifications.services.NotificationsUpdateService;
 import org.wordpress.android.ui.notifications.utils.NotificationsActions;
 import org.wordpress.android.util.AniUtils;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
 import org.wordpress.android.util.NetworkUtils;
 import org.wordpress.android.util.ToastUtils;
 import org.wordpress.android.util.ToastUtils.Duration;
@@ -137,11 +139,11 @@ public class NotificationsListFragment extends Fragment
         NotificationsActions.updateNotesSeenTimestamp();
 
         // Removes app notifications from the system bar
-        new Thread(new Runnable() {
+        AppExecutors.execute(Pool.CPU, new Runnable() {
             public void run() {
                 GCMMessageService.removeAllNotifications(getActivity());
             }
-        }).start();
+        });
     }
 
     @Override
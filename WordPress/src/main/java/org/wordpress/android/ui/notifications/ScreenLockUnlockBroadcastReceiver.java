@@ -5,6 +5,8 @@ import android.content.Context;
 import android.content.Intent;
 
 import org.wordpress.android.push.GCMMessageService;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
 
 /*
  * Re-builds notifications when the user locks/unlocks the screen
@@ -17,12 +19,12 @@ public class ScreenLockUnlockBroadcastReceiver extends BroadcastReceiver {
             // only rebuild notifications if Pin lock is enabled, as notifications don't need be updated
             // if quick actions are to remain the same
             if (GCMMessageService.isWPPinLockEnabled(context)) {
-                new Thread(new Runnable() {
+                AppExecutors.execute(Pool.CPU, new Runnable() {
                     @Override
                     public void run() {
                         GCMMessageService.rebuildAndUpdateNotifsOnSystemBarForRemainingNote(context);
                     }
-                }).start();
+                });
             }
         }
     }
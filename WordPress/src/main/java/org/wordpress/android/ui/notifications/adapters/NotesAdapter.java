@@ -15,6 +15,9 @@ import org.wordpress.android.models.CommentStatus;
 import org.wordpress.android.models.Note;
 import org.wordpress.android.ui.comments.CommentUtils;
 import org.wordpress.android.ui.notifications.NotificationsListFragment;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.GravatarUtils;
 import org.wordpress.android.widgets.NoticonTextView;
 import org.wordpress.android.widgets.WPNetworkImageView;
@@ -330,7 +333,7 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
     }
 
     public void reloadNotesFromDBAsync() {
-        new ReloadNotesFromDBTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+        new ReloadNotesFromDBTask().executeOnExecutor(AppExecutors.getExecutor(Pool.DB, Priority.USER_VISIBLE));
     }
 
     private class ReloadNotesFromDBTask extends AsyncTask<Void, Void, ArrayList<Note>> {
@@ -17,6 +17,8 @@ import org.wordpress.android.push.NativeNotificationsUtils;
 import org.wordpress.android.push.NotificationsProcessingService;
 import org.wordpress.android.ui.main.WPMainActivity;
 import org.wordpress.android.ui.prefs.AppPrefs;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
 import org.wordpress.android.util.AppLog;
 
 import java.util.ArrayList;
@@ -91,7 +93,7 @@ public class NotificationsPendingDraftsService extends Service {
         more than 30 days)
         MORE: “You drafted %d posts but never published them. Tap to check.”
         * */
-        new Thread(new Runnable() {
+        AppExecutors.execute(Pool.DB, new Runnable() {
             @Override
             public void run() {
                 if (WordPress.getCurrentBlog() == null) {
@@ -100,7 +102,7 @@ public class NotificationsPendingDraftsService extends Service {
                     return;
                 }
 
-                ArrayList<Post> draftPosts =  WordPress.wpDB.getDraftPostList(WordPress.getCurrentBlog().getLocalTableBlogId());
+                ArrayList<Post> draftPosts =  WordPress.getWpDB().getDraftPostList(WordPress.getCurrentBlog().getLocalTableBlogId());
                 if (draftPosts != null && draftPosts.size() > 0) {
                     ArrayList<Post> draftPostsNotInIgnoreList;
                     // now check those that have been sitting there for more than 3 days now.
@@ -139,7 +141,7 @@ public class NotificationsPendingDraftsService extends Service {
                                     // is zero) then just show a generic message
                                     buildSinglePendingDraftNotificationGeneric(post.getTitle(), postId, isPage);
                                 }
-                                WordPress.wpDB.updatePost(post);
+                                WordPress.getWpDB().updatePost(post);
                             }
                         } else if (draftPostsOlderThan3Days.size() > 1) {
                             long longestLivingDraft = 0;
@@ -155,7 +157,7 @@ public class NotificationsPendingDraftsService extends Service {
                                         }
                                     }
                                     post.setDateLastNotified(now);
-                                    WordPress.wpDB.updatePost(post);
+                                    WordPress.getWpDB().updatePost(post);
                                 }
                             }
 
@@ -170,7 +172,7 @@ public class NotificationsPendingDraftsService extends Service {
                 }
                 completed();
             }
-        }).start();
+        });
     }
 
     private String getPostTitle(String postTitle) {
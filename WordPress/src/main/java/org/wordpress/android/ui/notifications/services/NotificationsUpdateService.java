@@ -10,6 +10,7 @@ import com.android.volley.NetworkResponse;
 import com.android.volley.VolleyError;
 import com.wordpress.rest.RestRequest;
 
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.wordpress.android.WordPress;
@@ -26,6 +27,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import de.greenrobot.event.EventBus;
 
@@ -34,7 +37,15 @@ public class NotificationsUpdateService extends Service {
 
     public static final String IS_TAPPED_ON_NOTIFICATION = "is-tapped-on-notification";
 
-    private boolean running = false;
+    // fields requested when checking which notes have changed since the last sync
+    private static final String HASH_FIELDS = "id,note_hash";
+    private static final String NUM_NOTE_ITEMS = "20";
+    private static final int MAX_CHANGED_NOTES_FOR_DELTA_SYNC = NotificationsTable.NOTES_TO_RETRIEVE / 2;
+
+    // notes are parsed and saved off the main thread, one refresh step at a time
+    private static final ExecutorService sSyncExecutor = Executors.newSingleThreadExecutor();
+
+    private volatile boolean running = false;
     private String mNoteId;
     private boolean isStartedByTappingOnNotification = false;
 
@@ -88,58 +99,195 @@ public class NotificationsUpdateService extends Service {
             return;
         }
         running = true;
+        sSyncExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Map<String, String> localHashes = NotificationsTable.getNoteHashes();
+                if (localHashes.isEmpty()) {
+                    requestAllNotes();
+                } else {
+                    requestNoteHashes(localHashes);
+                }
+            }
+        });
+    }
+
+    /*
+     * downloads the latest notes and replaces the stored ones with them - used when there are no
+     * stored notes, or when too many of them have changed for a delta sync to be worth it
+     */
+    private void requestAllNotes() {
         Map<String, String> params = new HashMap<>();
-        params.put("number", "200");
-        params.put("num_note_items", "20");
+        params.put("number", String.valueOf(NotificationsTable.NOTES_TO_RETRIEVE));
+        params.put("num_note_items", NUM_NOTE_ITEMS);
         params.put("fields", RestClientUtils.NOTIFICATION_FIELDS);
-        RestListener listener = new RestListener();
+        NotesListener listener = new NotesListener(true);
         WordPress.getRestClientUtilsV1_1().getNotifications(params, listener, listener);
     }
 
-    private class RestListener implements RestRequest.Listener, RestRequest.ErrorListener {
+    /*
+     * delta sync: requests only the ids and hashes of the latest notes, then downloads just the
+     * notes which are new or whose hash differs from the stored one
+     */
+    private void requestNoteHashes(final Map<String, String> localHashes) {
+        Map<String, String> params = new HashMap<>();
+        params.put("number", String.valueOf(NotificationsTable.NOTES_TO_RETRIEVE));
+        params.put("fields", HASH_FIELDS);
+        RestRequest.Listener listener = new RestRequest.Listener() {
+            @Override
+            public void onResponse(final JSONObject response) {
+                sSyncExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        handleNoteHashes(response, localHashes);
+                    }
+                });
+            }
+        };
+        RestRequest.ErrorListener errorListener = new RestRequest.ErrorListener() {
+            @Override
+            public void onErrorResponse(VolleyError volleyError) {
+                onRefreshError(volleyError);
+            }
+        };
+        WordPress.getRestClientUtilsV1_1().getNotifications(params, listener, errorListener);
+    }
+
+    private void handleNoteHashes(JSONObject response, Map<String, String> localHashes) {
+        JSONArray jsonNotes = response != null ? response.optJSONArray("notes") : null;
+        if (jsonNotes == null) {
+            AppLog.w(AppLog.T.NOTIFS, "Success, but can't parse the note hashes");
+            EventBus.getDefault().post(new NotificationEvents.NotificationsRefreshError());
+            completed();
+            return;
+        }
+
+        List<String> remoteIds = new ArrayList<>(jsonNotes.length());
+        List<String> changedIds = new ArrayList<>();
+        for (int i = 0; i < jsonNotes.length(); i++) {
+            JSONObject jsonNote = jsonNotes.optJSONObject(i);
+            if (jsonNote == null) {
+                continue;
+            }
+            String noteId = jsonNote.optString("id");
+            if (TextUtils.isEmpty(noteId)) {
+                continue;
+            }
+            remoteIds.add(noteId);
+            String localHash = localHashes.get(noteId);
+            if (localHash == null || !localHash.equals(jsonNote.optString("note_hash"))) {
+                changedIds.add(noteId);
+            }
+        }
+
+        // too many changes (ie: first sync after this column was added), download everything
+        if (changedIds.size() > MAX_CHANGED_NOTES_FOR_DELTA_SYNC) {
+            requestAllNotes();
+            return;
+        }
+
+        int numDeleted = NotificationsTable.deleteNotesExcept(remoteIds);
+        AppLog.d(AppLog.T.NOTIFS, "notifications delta sync > " + changedIds.size() + " changed, "
+                + numDeleted + " deleted");
+
+        if (changedIds.isEmpty()) {
+            onRefreshCompleted();
+            return;
+        }
+
+        Map<String, String> params = new HashMap<>();
+        params.put("ids", TextUtils.join(",", changedIds));
+        params.put("number", String.valueOf(changedIds.size()));
+        params.put("num_note_items", NUM_NOTE_ITEMS);
+        params.put("fields", RestClientUtils.NOTIFICATION_FIELDS);
+        NotesListener listener = new NotesListener(false);
+        WordPress.getRestClientUtilsV1_1().getNotifications(params, listener, listener);
+    }
+
+    private class NotesListener implements RestRequest.Listener, RestRequest.ErrorListener {
+        private final boolean mReplaceAll;
+
+        NotesListener(boolean replaceAll) {
+            mReplaceAll = replaceAll;
+        }
+
         @Override
         public void onResponse(final JSONObject response) {
-            List<Note> notes;
-            if (response == null) {
-                //Not sure this could ever happen, but make sure we're catching all response types
-                AppLog.w(AppLog.T.NOTIFS, "Success, but did not receive any notes");
+            // parsing and saving hundreds of notes is too slow for the main thread
+            sSyncExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    handleNotes(response, mReplaceAll);
+                }
+            });
+        }
+
+        @Override
+        public void onErrorResponse(final VolleyError volleyError) {
+            onRefreshError(volleyError);
+        }
+    }
+
+    private void handleNotes(JSONObject response, boolean replaceAll) {
+        if (response == null) {
+            //Not sure this could ever happen, but make sure we're catching all response types
+            AppLog.w(AppLog.T.NOTIFS, "Success, but did not receive any notes");
+            if (replaceAll) {
                 EventBus.getDefault().post(
                         new NotificationEvents.NotificationsRefreshCompleted(
                                 new ArrayList<Note>(0)
                         )
                 );
+                completed();
             } else {
-                try {
-                    notes = NotificationsActions.parseNotes(response);
-                    // if we have a note id, we were started from NotificationsDetailActivity.
-                    // That means we need to re-set the *read* flag on this note.
-                    if (isStartedByTappingOnNotification && mNoteId != null) {
-                        setNoteRead(mNoteId, notes);
-                    }
-                    NotificationsTable.saveNotes(notes, true);
-                    EventBus.getDefault().post(
-                            new NotificationEvents.NotificationsRefreshCompleted(notes)
-                    );
-                } catch (JSONException e) {
-                    AppLog.e(AppLog.T.NOTIFS, "Success, but can't parse the response", e);
-                    EventBus.getDefault().post(
-                            new NotificationEvents.NotificationsRefreshError()
-                    );
-                }
+                onRefreshCompleted();
             }
-            completed();
+            return;
         }
 
-        @Override
-        public void onErrorResponse(final VolleyError volleyError) {
-            logVolleyErrorDetails(volleyError);
+        try {
+            List<Note> notes = NotificationsActions.parseNotes(response);
+            // if we have a note id, we were started from NotificationsDetailActivity.
+            // That means we need to re-set the *read* flag on this note.
+            if (isStartedByTappingOnNotification && mNoteId != null) {
+                setNoteRead(mNoteId, notes);
+            }
+            NotificationsTable.saveNotes(notes, replaceAll);
+            if (replaceAll) {
+                EventBus.getDefault().post(
+                        new NotificationEvents.NotificationsRefreshCompleted(notes)
+                );
+                completed();
+            } else {
+                onRefreshCompleted();
+            }
+        } catch (JSONException e) {
+            AppLog.e(AppLog.T.NOTIFS, "Success, but can't parse the response", e);
             EventBus.getDefault().post(
-                    new NotificationEvents.NotificationsRefreshError(volleyError)
+                    new NotificationEvents.NotificationsRefreshError()
             );
             completed();
         }
     }
 
+    /*
+     * the stored notes are now up to date, pass them on to the list
+     */
+    private void onRefreshCompleted() {
+        EventBus.getDefault().post(
+                new NotificationEvents.NotificationsRefreshCompleted(NotificationsTable.getLatestNotes())
+        );
+        completed();
+    }
+
+    private void onRefreshError(VolleyError volleyError) {
+        logVolleyErrorDetails(volleyError);
+        EventBus.getDefault().post(
+                new NotificationEvents.NotificationsRefreshError(volleyError)
+        );
+        completed();
+    }
+
     private void setNoteRead(String noteId, List<Note> notes) {
         int notePos = NotificationsUtils.findNoteInNoteArray(notes, noteId);
         if (notePos != -1) {
@@ -278,7 +278,7 @@ public class NotificationsUtils {
         WPImageGetter imageGetter = new WPImageGetter(
                 textView,
                 context.getResources().getDimensionPixelSize(R.dimen.notifications_max_image_size),
-                WordPress.imageLoader,
+                WordPress.getImageLoader(),
                 loading,
                 failed
         );
@@ -378,7 +378,7 @@ public class NotificationsUtils {
                 // selects the site in the sites picker. So adding it to the app doesn't always populate options.
 
                // Do not load Jetpack shadow sites here. They've empty options and Stats can't be loaded for them.
-                Blog blog = WordPress.wpDB.getBlogForDotComBlogId(
+                Blog blog = WordPress.getWpDB().getBlogForDotComBlogId(
                         String.valueOf(clickedSpan.getSiteId())
                 );
                 // Make sure blog is not null, and it's either JP or dotcom. Better safe than sorry.
@@ -653,7 +653,7 @@ public class PeopleInviteFragment extends Fragment implements
 
     private boolean isPrivateSite() {
         String dotComBlogId = getArguments().getString(ARG_BLOGID);
-        Blog blog = WordPress.wpDB.getBlogForDotComBlogId(dotComBlogId);
+        Blog blog = WordPress.getWpDB().getBlogForDotComBlogId(dotComBlogId);
         return blog != null && blog.isPrivate();
     }
 
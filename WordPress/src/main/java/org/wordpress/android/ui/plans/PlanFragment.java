@@ -84,7 +84,7 @@ public class PlanFragment extends Fragment {
         NetworkImageView imgPlan = (NetworkImageView) getView().findViewById(R.id.image_plan_icon);
         String iconUrl = PlansUtils.getIconUrlForPlan(mPlanDetails, iconSize);
         if (!TextUtils.isEmpty(iconUrl)) {
-            imgPlan.setImageUrl(iconUrl, WordPress.imageLoader);
+            imgPlan.setImageUrl(iconUrl, WordPress.getImageLoader());
             imgPlan.setVisibility(View.VISIBLE);
         } else {
             imgPlan.setVisibility(View.GONE);
@@ -156,7 +156,7 @@ public class PlanFragment extends Fragment {
         NetworkImageView imgIcon = (NetworkImageView) view.findViewById(R.id.image_icon);
         String iconUrl = feature.getIconForPlan(mPlanDetails.getProductID());
         if (!TextUtils.isEmpty(iconUrl)) {
-            imgIcon.setImageUrl(iconUrl, WordPress.imageLoader);
+            imgIcon.setImageUrl(iconUrl, WordPress.getImageLoader());
         } else {
             imgIcon.setDefaultImageResId(R.drawable.noticon_publish);
         }
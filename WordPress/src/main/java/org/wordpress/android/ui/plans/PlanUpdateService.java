@@ -122,7 +122,7 @@ public class PlanUpdateService extends Service {
      * download plans for the specific site
      */
     private void downloadAvailablePlansForSite() {
-        int remoteBlogId = WordPress.wpDB.getRemoteBlogIdForLocalTableBlogId(mLocalBlogId);
+        int remoteBlogId = WordPress.getWpDB().getRemoteBlogIdForLocalTableBlogId(mLocalBlogId);
         WordPress.getRestClientUtilsV1_2().get("sites/" + remoteBlogId + "/plans", RestClientUtils.getRestLocaleParams(PlanUpdateService.this), null, new RestRequest.Listener() {
             @Override
             public void onResponse(JSONObject response) {
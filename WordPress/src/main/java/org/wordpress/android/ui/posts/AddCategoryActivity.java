@@ -48,7 +48,7 @@ public class AddCategoryActivity extends AppCompatActivity {
                     parent_category = ((CategoryNode) sCategories.getSelectedItem()).getName().trim();
                 int parent_id = 0;
                 if (sCategories.getSelectedItemPosition() != 0) {
-                    parent_id = WordPress.wpDB.getCategoryId(id, parent_category);
+                    parent_id = WordPress.getWpDB().getCategoryId(id, parent_category);
                 }
 
                 if (category_name.replaceAll(" ", "").equals("")) {
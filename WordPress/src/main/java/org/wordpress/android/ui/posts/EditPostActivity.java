@@ -86,6 +86,9 @@ import org.wordpress.android.ui.posts.services.PostUploadService;
 import org.wordpress.android.ui.prefs.AppPrefs;
 import org.wordpress.android.ui.prefs.SiteSettingsInterface;
 import org.wordpress.android.util.AnalyticsUtils;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.AutolinkUtils;
@@ -242,7 +245,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
                 if (getIntent().hasExtra(EXTRA_QUICKPRESS_BLOG_ID)) {
                     // QuickPress might want to use a different blog than the current blog
                     int blogId = getIntent().getIntExtra(EXTRA_QUICKPRESS_BLOG_ID, -1);
-                    Blog quickPressBlog = WordPress.wpDB.instantiateBlogByLocalId(blogId);
+                    Blog quickPressBlog = WordPress.getWpDB().instantiateBlogByLocalId(blogId);
                     if (quickPressBlog == null) {
                         showErrorAndFinish(R.string.blog_not_found);
                         return;
@@ -258,15 +261,15 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
                 mPost = new Post(WordPress.getCurrentLocalTableBlogId(), false);
                 mPost.setCategories("[" + SiteSettingsInterface.getDefaultCategory(this) + "]");
                 mPost.setPostFormat(SiteSettingsInterface.getDefaultFormat(this));
-                WordPress.wpDB.savePost(mPost);
+                WordPress.getWpDB().savePost(mPost);
                 mIsNewPost = true;
             } else if (extras != null) {
                 // Load post from the postId passed in extras
                 long localTablePostId = extras.getLong(EXTRA_POSTID, -1);
                 mIsPage = extras.getBoolean(EXTRA_IS_PAGE);
                 mIsNewPost = extras.getBoolean(EXTRA_IS_NEW_POST);
-                mPost = WordPress.wpDB.getPostForLocalTablePostId(localTablePostId);
-                mOriginalPost = WordPress.wpDB.getPostForLocalTablePostId(localTablePostId);
+                mPost = WordPress.getWpDB().getPostForLocalTablePostId(localTablePostId);
+                mOriginalPost = WordPress.getWpDB().getPostForLocalTablePostId(localTablePostId);
             } else {
                 // A postId extra must be passed to this activity
                 showErrorAndFinish(R.string.post_not_found);
@@ -291,7 +294,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
         }
 
         if (mHasSetPostContent = mEditorFragment != null) {
-            mEditorFragment.setImageLoader(WordPress.imageLoader);
+            mEditorFragment.setImageLoader(WordPress.getImageLoader());
         }
 
         // Ensure we have a valid blog
@@ -358,7 +361,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
     private Runnable mAutoSave = new Runnable() {
         @Override
         public void run() {
-            new Thread(new Runnable() {
+            AppExecutors.execute(Pool.DB, new Runnable() {
                 @Override
                 public void run() {
                     try {
@@ -372,7 +375,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
                         mHandler.postDelayed(mAutoSave, AUTOSAVE_INTERVAL_MILLIS);
                     }
                 }
-            }).start();
+            });
         }
     };
 
@@ -639,7 +642,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
         // Update post, save to db and publish in its own Thread, because 1. update can be pretty slow with a lot of
         // text 2. better not to call `updatePostObject()` from the UI thread due to weird thread blocking behavior
         // on API 16 with the visual editor.
-        new Thread(new Runnable() {
+        AppExecutors.execute(Pool.DB, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
                 try {
@@ -669,7 +672,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
                 setResult(RESULT_OK);
                 finish();
             }
-        }).start();
+        });
         return true;
     }
 
@@ -806,7 +809,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
     }
 
     private void savePostAsync(final AfterSavePostListener listener) {
-        new Thread(new Runnable() {
+        AppExecutors.execute(Pool.DB, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
                 try {
@@ -820,7 +823,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
                     listener.onPostSave();
                 }
             }
-        }).start();
+        });
     }
 
     private interface AfterSavePostListener {
@@ -828,7 +831,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
     }
 
     private synchronized void savePostToDb() {
-        WordPress.wpDB.updatePost(mPost);
+        WordPress.getWpDB().updatePost(mPost);
     }
 
     @Override
@@ -873,12 +876,12 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
             if (mEditorFragment != null && mPost.hasEmptyContentFields()) {
                 // new and empty post? delete it
                 if (mIsNewPost) {
-                    WordPress.wpDB.deletePost(mPost);
+                    WordPress.getWpDB().deletePost(mPost);
                     return false;
                 }
             } else if (mOriginalPost != null && !mPost.hasChanges(mOriginalPost)) {
                 // if no changes have been made to the post, set it back to the original don't save it
-                WordPress.wpDB.updatePost(mOriginalPost);
+                WordPress.getWpDB().updatePost(mOriginalPost);
                 return false;
             } else {
                 // changes have been made, save the post and ask for the post list to refresh.
@@ -915,7 +918,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
     }
 
     private void saveAndFinish() {
-        new SaveAndFinishTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+        new SaveAndFinishTask().executeOnExecutor(AppExecutors.getExecutor(Pool.DB, Priority.USER_VISIBLE));
     }
 
     /**
@@ -1014,7 +1017,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
     }
 
     private MediaFile createMediaFile(String blogId, final String mediaId) {
-        Cursor cursor = WordPress.wpDB.getMediaFile(blogId, mediaId);
+        Cursor cursor = WordPress.getWpDB().getMediaFile(blogId, mediaId);
 
         if (cursor == null || !cursor.moveToFirst()) {
             if (cursor != null) {
@@ -1065,7 +1068,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
         }
         mediaFile.setThumbnailURL(thumbnailUrl);
 
-        WordPress.wpDB.saveMediaFile(mediaFile);
+        WordPress.getWpDB().saveMediaFile(mediaFile);
         cursor.close();
         return mediaFile;
     }
@@ -1080,7 +1083,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
             return;
         }
         trackAddMediaEvents(mediaFile.isVideo(), true);
-        mEditorFragment.appendMediaFile(mediaFile, getMediaUrl(mediaFile), WordPress.imageLoader);
+        mEditorFragment.appendMediaFile(mediaFile, getMediaUrl(mediaFile), WordPress.getImageLoader());
     }
 
     /**
@@ -1214,7 +1217,8 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
                 if (post.isLocalDraft() && !mShowNewEditor) {
                     // TODO: Unnecessary for new editor, as all images are uploaded right away, even for local drafts
                     // Load local post content in the background, as it may take time to generate images
-                    new LoadPostContentTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR,
+                    new LoadPostContentTask().executeOnExecutor(
+                            AppExecutors.getExecutor(Pool.CPU, Priority.USER_VISIBLE),
                             post.getContent().replaceAll("\uFFFC", ""));
                 } else {
                     // TODO: Might be able to drop .replaceAll() when legacy editor is removed
@@ -1397,7 +1401,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
                     } else {
                         mediaFile.setFileName(wpIS.getImageSource().toString());
                         mediaFile.setFilePath(wpIS.getImageSource().toString());
-                        WordPress.wpDB.saveMediaFile(mediaFile);
+                        WordPress.getWpDB().saveMediaFile(mediaFile);
                     }
 
                     int tagStart = postContent.getSpanStart(wpIS);
@@ -1508,7 +1512,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
                             return;
                         }
                         String localBlogTableIndex = String.valueOf(WordPress.getCurrentBlog().getLocalTableBlogId());
-                        WordPress.wpDB.updateMediaFile(localBlogTableIndex, mediaId, title, description, caption);
+                        WordPress.getWpDB().updateMediaFile(localBlogTableIndex, mediaId, title, description, caption);
                     }
 
                     @Override
@@ -1586,7 +1590,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
 
         MediaFile mediaFile = queueFileForUpload(path, new ArrayList<String>());
         if (mediaFile != null) {
-            mEditorFragment.appendMediaFile(mediaFile, path, WordPress.imageLoader);
+            mEditorFragment.appendMediaFile(mediaFile, path, WordPress.getImageLoader());
         }
 
         return true;
@@ -1607,8 +1611,8 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
         if (mediaUri.getEncodedPath() != null) {
             mediaFile.setVideo(isVideo);
         }
-        WordPress.wpDB.saveMediaFile(mediaFile);
-        mEditorFragment.appendMediaFile(mediaFile, mediaFile.getFilePath(), WordPress.imageLoader);
+        WordPress.getWpDB().saveMediaFile(mediaFile);
+        mEditorFragment.appendMediaFile(mediaFile, mediaFile.getFilePath(), WordPress.getImageLoader());
         return true;
     }
 
@@ -1964,7 +1968,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
                                 // them again and notify the editor
                                 String blogId = String.valueOf(WordPress.currentBlog.getLocalTableBlogId());
                                 for (String videoId : mPendingVideoPressInfoRequests) {
-                                    String videoUrl = WordPress.wpDB.getMediaUrlByVideoPressId(blogId, videoId);
+                                    String videoUrl = WordPress.getWpDB().getMediaUrlByVideoPressId(blogId, videoId);
                                     String posterUrl = WordPressMediaUtils.getVideoPressVideoPosterFromURL(videoUrl);
 
                                     mEditorFragment.setUrlForVideoPressId(videoId, videoUrl, posterUrl);
@@ -2001,6 +2005,14 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
         }
     }
 
+    /**
+     * Starts the upload service if needed, and adds the passed queued media file to its queue.
+     */
+    private void startMediaUploadService(String blogId, String mediaId) {
+        startService(MediaUploadService.getUploadIntent(this, blogId, mediaId));
+        mMediaUploadServiceStarted = true;
+    }
+
     /**
      * Stops the upload service.
      */
@@ -2070,7 +2082,11 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
         }
 
         saveMediaFile(mediaFile);
-        startMediaUploadService();
+        if (MediaUploadState.QUEUED.toString().equals(startingState)) {
+            startMediaUploadService(mediaFile.getBlogId(), mediaFile.getMediaId());
+        } else {
+            startMediaUploadService();
+        }
 
         return mediaFile;
     }
@@ -2113,14 +2129,8 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
     @Override
     public void onMediaRetryClicked(String mediaId) {
         String blogId = String.valueOf(WordPress.getCurrentBlog().getLocalTableBlogId());
-        WordPress.wpDB.updateMediaUploadState(blogId, mediaId, MediaUploadState.QUEUED);
-
-        MediaUploadService mediaUploadService = MediaUploadService.getInstance();
-        if (mediaUploadService == null) {
-            startMediaUploadService();
-        } else {
-            mediaUploadService.processQueue();
-        }
+        WordPress.getWpDB().updateMediaUploadState(blogId, mediaId, MediaUploadState.QUEUED);
+        startMediaUploadService(blogId, mediaId);
         AnalyticsTracker.track(Stat.EDITOR_UPLOAD_MEDIA_RETRIED);
     }
 
@@ -2128,7 +2138,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
     public void onMediaUploadCancelClicked(String mediaId, boolean delete) {
         MediaUploadService mediaUploadService = MediaUploadService.getInstance();
         if (mediaUploadService != null) {
-            mediaUploadService.cancelUpload(mediaId, delete);
+            mediaUploadService.cancelUpload(String.valueOf(mPost.getLocalTableBlogId()), mediaId, delete);
         }
     }
 
@@ -2141,7 +2151,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
     @Override
     public void onVideoPressInfoRequested(final String videoId) {
         String blogId = String.valueOf(WordPress.currentBlog.getLocalTableBlogId());
-        String videoUrl = WordPress.wpDB.getMediaUrlByVideoPressId(blogId, videoId);
+        String videoUrl = WordPress.getWpDB().getMediaUrlByVideoPressId(blogId, videoId);
 
         if (videoUrl.isEmpty()) {
             if (PermissionUtils.checkAndRequestCameraAndStoragePermissions(this, MEDIA_PERMISSION_REQUEST_CODE)) {
@@ -2202,7 +2212,7 @@ public class EditPostActivity extends AppCompatActivity implements EditorFragmen
 
     @Override
     public void saveMediaFile(MediaFile mediaFile) {
-        WordPress.wpDB.saveMediaFile(mediaFile);
+        WordPress.getWpDB().saveMediaFile(mediaFile);
     }
 
     @Override
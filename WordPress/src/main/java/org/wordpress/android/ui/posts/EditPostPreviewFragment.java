@@ -14,6 +14,9 @@ import android.widget.TextView;
 
 import org.wordpress.android.R;
 import org.wordpress.android.models.Post;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.StringUtils;
 import org.wordpress.android.util.WPHtml;
 
@@ -68,7 +71,7 @@ public class EditPostPreviewFragment extends Fragment {
     public void loadPost() {
         if (mLoadTask == null) {
             mLoadTask = new LoadPostPreviewTask();
-            mLoadTask.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+            mLoadTask.executeOnExecutor(AppExecutors.getExecutor(Pool.CPU, Priority.USER_VISIBLE));
         }
     }
 
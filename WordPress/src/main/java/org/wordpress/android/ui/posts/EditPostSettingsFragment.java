@@ -384,7 +384,7 @@ public class EditPostSettingsFragment extends Fragment
             mFeaturedImageId = id;
             if (mFeaturedImageId > 0) {
                 int blogId = WordPress.getCurrentBlog().getLocalTableBlogId();
-                Cursor cursor = WordPress.wpDB.getMediaFile(String.valueOf(blogId), String.valueOf(mFeaturedImageId));
+                Cursor cursor = WordPress.getWpDB().getMediaFile(String.valueOf(blogId), String.valueOf(mFeaturedImageId));
                 if (cursor != null && cursor.moveToFirst()) {
                     mFeaturedImageView.setVisibility(View.VISIBLE);
                     mFeaturedImageButton.setVisibility(View.GONE);
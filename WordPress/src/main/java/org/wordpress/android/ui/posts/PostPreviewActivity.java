@@ -28,6 +28,9 @@ import org.wordpress.android.ui.posts.services.PostEvents;
 import org.wordpress.android.ui.posts.services.PostUploadService;
 import org.wordpress.android.util.AnalyticsUtils;
 import org.wordpress.android.util.AniUtils;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.NetworkUtils;
 import org.xmlrpc.android.ApiHelper;
@@ -78,7 +81,7 @@ public class PostPreviewActivity extends AppCompatActivity {
         super.onResume();
         EventBus.getDefault().register(this);
 
-        mPost = WordPress.wpDB.getPostForLocalTablePostId(mLocalPostId);
+        mPost = WordPress.getWpDB().getPostForLocalTablePostId(mLocalPostId);
         if (hasPreviewFragment()) {
             refreshPreview();
         } else {
@@ -245,7 +248,7 @@ public class PostPreviewActivity extends AppCompatActivity {
         if (mIsUpdatingPost) {
             AppLog.d(AppLog.T.POSTS, "post preview > already updating post");
         } else {
-            new UpdatePostTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+            new UpdatePostTask().executeOnExecutor(AppExecutors.getExecutor(Pool.DB, Priority.USER_VISIBLE));
         }
     }
 
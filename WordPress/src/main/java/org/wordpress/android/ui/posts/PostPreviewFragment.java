@@ -12,6 +12,9 @@ import android.webkit.WebView;
 import org.wordpress.android.R;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.models.Post;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.StringUtils;
 import org.wordpress.android.util.ToastUtils;
 import org.wordpress.android.util.WPWebViewClient;
@@ -59,7 +62,7 @@ public class PostPreviewFragment extends Fragment {
         View view = inflater.inflate(R.layout.post_preview_fragment, container, false);
 
         mWebView = (WebView) view.findViewById(R.id.webView);
-        WPWebViewClient client = new WPWebViewClient(WordPress.wpDB.instantiateBlogByLocalId(mLocalBlogId));
+        WPWebViewClient client = new WPWebViewClient(WordPress.getWpDB().instantiateBlogByLocalId(mLocalBlogId));
         mWebView.setWebViewClient(client);
 
         return view;
@@ -74,10 +77,10 @@ public class PostPreviewFragment extends Fragment {
     void refreshPreview() {
         if (!isAdded()) return;
 
-        new Thread() {
+        AppExecutors.execute(Pool.DB, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
-                Post post = WordPress.wpDB.getPostForLocalTablePostId(mLocalPostId);
+                Post post = WordPress.getWpDB().getPostForLocalTablePostId(mLocalPostId);
                 final String htmlContent = formatPostContentForWebView(getActivity(), post);
 
                 getActivity().runOnUiThread(new Runnable() {
@@ -98,7 +101,7 @@ public class PostPreviewFragment extends Fragment {
                     }
                 });
             }
-        }.start();
+        });
     }
 
     private String formatPostContentForWebView(Context context, Post post) {
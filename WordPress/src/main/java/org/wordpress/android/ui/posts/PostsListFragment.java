@@ -414,7 +414,7 @@ public class PostsListFragment extends Fragment
     public void onPostButtonClicked(int buttonType, PostsListPost post) {
         if (!isAdded()) return;
 
-        Post fullPost = WordPress.wpDB.getPostForLocalTablePostId(post.getPostId());
+        Post fullPost = WordPress.getWpDB().getPostForLocalTablePostId(post.getPostId());
         if (fullPost == null) {
             ToastUtils.showToast(getActivity(), R.string.post_not_found);
             return;
@@ -481,7 +481,7 @@ public class PostsListFragment extends Fragment
             return;
         }
 
-        final Post fullPost = WordPress.wpDB.getPostForLocalTablePostId(post.getPostId());
+        final Post fullPost = WordPress.getWpDB().getPostForLocalTablePostId(post.getPostId());
         if (fullPost == null) {
             ToastUtils.showToast(getActivity(), R.string.post_not_found);
             return;
@@ -534,7 +534,7 @@ public class PostsListFragment extends Fragment
                 // https://code.google.com/p/android/issues/detail?id=190529
                 mTrashedPosts.remove(post);
 
-                WordPress.wpDB.deletePost(fullPost);
+                WordPress.getWpDB().deletePost(fullPost);
 
                 if (!post.isLocalDraft()) {
                     new ApiHelper.DeleteSinglePostTask().execute(WordPress.getCurrentBlog(),
@@ -18,6 +18,9 @@ import org.wordpress.android.R;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.models.Blog;
 import org.wordpress.android.models.CategoryNode;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.NetworkUtils;
 import org.wordpress.android.util.StringUtils;
@@ -79,7 +82,7 @@ public class SelectCategoriesActivity extends AppCompatActivity {
         Bundle extras = getIntent().getExtras();
         if (extras != null) {
             int blogId = extras.getInt("id");
-            blog = WordPress.wpDB.instantiateBlogByLocalId(blogId);
+            blog = WordPress.getWpDB().instantiateBlogByLocalId(blogId);
             if (blog == null) {
                 Toast.makeText(this, getResources().getText(R.string.blog_not_found), Toast.LENGTH_SHORT).show();
                 finish();
@@ -189,7 +192,7 @@ public class SelectCategoriesActivity extends AppCompatActivity {
 
         if (success) {
             // wipe out the categories table
-            WordPress.wpDB.clearCategories(blog.getLocalTableBlogId());
+            WordPress.getWpDB().clearCategories(blog.getLocalTableBlogId());
 
             for (Object aResult : result) {
                 Map<?, ?> curHash = (Map<?, ?>) aResult;
@@ -198,7 +201,7 @@ public class SelectCategoriesActivity extends AppCompatActivity {
                 String categoryParentID = curHash.get("parentId").toString();
                 int convertedCategoryID = Integer.parseInt(categoryID);
                 int convertedCategoryParentID = Integer.parseInt(categoryParentID);
-                WordPress.wpDB.insertCategory(blog.getLocalTableBlogId(), convertedCategoryID, convertedCategoryParentID, categoryName);
+                WordPress.getWpDB().insertCategory(blog.getLocalTableBlogId(), convertedCategoryID, convertedCategoryParentID, categoryName);
             }
             returnMessage = "gotCategories";
         } else {
@@ -259,7 +262,7 @@ public class SelectCategoriesActivity extends AppCompatActivity {
             }
 
             // Insert the new category into database
-            WordPress.wpDB.insertCategory(blog.getLocalTableBlogId(), category_id, parent_id, new_category_name);
+            WordPress.getWpDB().insertCategory(blog.getLocalTableBlogId(), category_id, parent_id, new_category_name);
             returnString = "addCategory_success";
             // auto select new category
             mSelectedCategories.add(new_category_name);
@@ -287,13 +290,12 @@ public class SelectCategoriesActivity extends AppCompatActivity {
                     // Check if the category name already exists
                     if (!mCategoryNames.keySet().contains(category_name)) {
                         mSwipeToRefreshHelper.setRefreshing(true);
-                        Thread th = new Thread() {
+                        AppExecutors.execute(Pool.NETWORK, Priority.USER_VISIBLE, new Runnable() {
                             public void run() {
                                 finalResult = addCategory(category_name, category_slug, category_desc, parent_id);
                                 mHandler.post(mUpdateResults);
                             }
-                        };
-                        th.start();
+                        });
                     }
                     break;
                 }
@@ -356,13 +358,12 @@ public class SelectCategoriesActivity extends AppCompatActivity {
         mSwipeToRefreshHelper.setRefreshing(true);
         mListScrollPositionManager.saveScrollOffset();
         updateSelectedCategoryList();
-        Thread th = new Thread() {
+        AppExecutors.execute(Pool.NETWORK, Priority.USER_VISIBLE, new Runnable() {
             public void run() {
                 finalResult = fetchCategories();
                 mHandler.post(mUpdateResults);
             }
-        };
-        th.start();
+        });
     }
 
     @Override
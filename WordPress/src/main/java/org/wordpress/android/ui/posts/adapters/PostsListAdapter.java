@@ -30,8 +30,10 @@ import org.wordpress.android.models.PostsListPostList;
 import org.wordpress.android.ui.posts.PostUtils;
 import org.wordpress.android.ui.posts.PostsListFragment;
 import org.wordpress.android.ui.posts.services.PostMediaService;
-import org.wordpress.android.ui.reader.utils.ReaderImageScanner;
 import org.wordpress.android.ui.reader.utils.ReaderUtils;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.DateTimeUtils;
 import org.wordpress.android.util.DisplayUtils;
@@ -69,6 +71,13 @@ public class PostsListAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
 
     private boolean mIsLoadingPosts;
 
+    // the posts are read from the db a page at a time as the list is scrolled - these track the
+    // last post read, which is where the next page starts, and the number of posts read so far
+    private static final int POSTS_PER_DB_PAGE = 100;
+    private PostsListPost mLastDbPost;
+    private int mNumDbPosts;
+    private boolean mHasMoreDbPosts;
+
     private final PostsListPostList mPosts = new PostsListPostList();
     private final LayoutInflater mLayoutInflater;
 
@@ -263,10 +272,13 @@ public class PostsListAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
             }
         }
 
-        // load more posts when we near the end
-        if (mOnLoadMoreListener != null && position >= mPosts.size() - 1
-                && position >= PostsListFragment.POSTS_REQUEST_COUNT - 1) {
-            mOnLoadMoreListener.onLoadMore();
+        // load more posts when we near the end - from the db if it has more, from the server otherwise
+        if (position >= mPosts.size() - 1) {
+            if (mHasMoreDbPosts) {
+                loadMorePosts();
+            } else if (mOnLoadMoreListener != null && position >= PostsListFragment.POSTS_REQUEST_COUNT - 1) {
+                mOnLoadMoreListener.onLoadMore();
+            }
         }
 
         holder.itemView.setOnClickListener(new View.OnClickListener() {
@@ -498,11 +510,23 @@ public class PostsListAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
         animOut.start();
     }
 
+    /*
+     * reloads the posts from the start of the list, keeping as many as have been read so far
+     */
     public void loadPosts() {
         if (mIsLoadingPosts) {
             AppLog.d(AppLog.T.POSTS, "post adapter > already loading posts");
         } else {
-            new LoadPostsTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+            new LoadPostsTask(false).executeOnExecutor(AppExecutors.getExecutor(Pool.DB, Priority.USER_VISIBLE));
+        }
+    }
+
+    /*
+     * reads the next page of posts from the db and adds it to the end of the list
+     */
+    private void loadMorePosts() {
+        if (!mIsLoadingPosts) {
+            new LoadPostsTask(true).executeOnExecutor(AppExecutors.getExecutor(Pool.DB, Priority.USER_VISIBLE));
         }
     }
 
@@ -634,9 +658,27 @@ public class PostsListAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
     }
 
     private class LoadPostsTask extends AsyncTask<Void, Void, Boolean> {
+        private final boolean mIsLoadingMore;
+        private final PostsListPost mAfterPost;
+        private final int mMaxPosts;
         private PostsListPostList tmpPosts;
+        private PostsListPost mLastPost;
+        private int mNumRead;
+        private boolean mHasMore;
         private final ArrayList<Long> mediaIdsToUpdate = new ArrayList<>();
 
+        LoadPostsTask(boolean loadMore) {
+            mIsLoadingMore = loadMore;
+            if (loadMore) {
+                mAfterPost = mLastDbPost;
+                mMaxPosts = POSTS_PER_DB_PAGE;
+            } else {
+                // a reload keeps the posts read so far, plus room for the ones a server request just added
+                mAfterPost = null;
+                mMaxPosts = Math.max(POSTS_PER_DB_PAGE, mNumDbPosts + PostsListFragment.POSTS_REQUEST_COUNT);
+            }
+        }
+
         @Override
         protected void onPreExecute() {
             super.onPreExecute();
@@ -651,7 +693,10 @@ public class PostsListAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
 
         @Override
         protected Boolean doInBackground(Void... nada) {
-            tmpPosts = WordPress.wpDB.getPostsListPosts(mLocalTableBlogId, mIsPage);
+            tmpPosts = WordPress.getWpDB().getPostsListPosts(mLocalTableBlogId, mIsPage, mAfterPost, mMaxPosts);
+            mNumRead = tmpPosts.size();
+            mHasMore = mNumRead == mMaxPosts;
+            mLastPost = tmpPosts.size() > 0 ? tmpPosts.get(tmpPosts.size() - 1) : mAfterPost;
 
             // make sure we don't return any hidden posts
             for (PostsListPost hiddenPost : mHiddenPosts) {
@@ -659,7 +704,7 @@ public class PostsListAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
             }
 
             // go no further if existing post list is the same
-            if (mPosts.isSameList(tmpPosts)) {
+            if (mIsLoadingMore ? tmpPosts.size() == 0 : mPosts.isSameList(tmpPosts)) {
                 return false;
             }
 
@@ -669,15 +714,14 @@ public class PostsListAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
                 if (post.isLocalDraft()) {
                     imageUrl = null;
                 } else if (post.getFeaturedImageId() != 0) {
-                    imageUrl = WordPress.wpDB.getMediaThumbnailUrl(mLocalTableBlogId, post.getFeaturedImageId());
+                    imageUrl = WordPress.getWpDB().getMediaThumbnailUrl(mLocalTableBlogId, post.getFeaturedImageId());
                     // if the imageUrl isn't found it means the featured image info hasn't been added to
                     // the local media library yet, so add to the list of media IDs to request info for
                     if (TextUtils.isEmpty(imageUrl)) {
                         mediaIdsToUpdate.add(post.getFeaturedImageId());
                     }
-                } else if (post.hasDescription()) {
-                    ReaderImageScanner scanner = new ReaderImageScanner(post.getDescription(), mIsPrivateBlog);
-                    imageUrl = scanner.getLargestImage();
+                } else if (post.hasContentImageUrl()) {
+                    imageUrl = post.getContentImageUrl();
                 } else {
                     imageUrl = null;
                 }
@@ -697,10 +741,21 @@ public class PostsListAdapter extends RecyclerView.Adapter<RecyclerView.ViewHold
 
         @Override
         protected void onPostExecute(Boolean result) {
+            mLastDbPost = mLastPost;
+            mHasMoreDbPosts = mHasMore;
+            mNumDbPosts = (mIsLoadingMore ? mNumDbPosts : 0) + mNumRead;
+
             if (result) {
-                mPosts.clear();
-                mPosts.addAll(tmpPosts);
-                notifyDataSetChanged();
+                if (mIsLoadingMore) {
+                    // the endlist indicator moves down along with the new posts
+                    int position = mPosts.size();
+                    mPosts.addAll(tmpPosts);
+                    notifyItemRangeInserted(position, tmpPosts.size());
+                } else {
+                    mPosts.clear();
+                    mPosts.addAll(tmpPosts);
+                    notifyDataSetChanged();
+                }
 
                 if (mediaIdsToUpdate.size() > 0) {
                     PostMediaService.startService(WordPress.getContext(), mLocalTableBlogId, mediaIdsToUpdate);
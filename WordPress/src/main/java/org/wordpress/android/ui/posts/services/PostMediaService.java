@@ -8,6 +8,8 @@ import android.support.annotation.Nullable;
 
 import org.wordpress.android.WordPress;
 import org.wordpress.android.models.Blog;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.helpers.MediaFile;
 import org.xmlpull.v1.XmlPullParserException;
@@ -85,7 +87,7 @@ public class PostMediaService extends Service {
         }
 
         if (mMediaIdQueue.size() > 0 && mBlog != null) {
-            new Thread() {
+            AppExecutors.execute(Pool.NETWORK, new Runnable() {
                 @Override
                 public void run() {
                     while (!mMediaIdQueue.isEmpty()) {
@@ -93,7 +95,7 @@ public class PostMediaService extends Service {
                         downloadMediaItem(mediaId);
                     }
                 }
-            }.start();
+            });
         }
 
         return START_NOT_STICKY;
@@ -116,7 +118,7 @@ public class PostMediaService extends Service {
             if (results != null) {
                 String strBlogId = Integer.toString(mBlog.getLocalTableBlogId());
                 MediaFile mediaFile = new MediaFile(strBlogId, results, mBlog.isDotcomFlag());
-                WordPress.wpDB.saveMediaFile(mediaFile);
+                WordPress.getWpDB().saveMediaFile(mediaFile);
                 AppLog.d(AppLog.T.POSTS, "PostMediaService > downloaded " + mediaFile.getFileURL());
                 EventBus.getDefault().post(new PostEvents.PostMediaInfoUpdated(mediaId, mediaFile.getFileURL()));
             }
@@ -5,13 +5,18 @@ import android.content.Context;
 import android.content.Intent;
 import android.os.IBinder;
 import android.support.annotation.Nullable;
+import android.text.TextUtils;
 
 import org.wordpress.android.WordPress;
 import org.wordpress.android.models.Blog;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
 import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.MapUtils;
 import org.xmlpull.v1.XmlPullParserException;
 import org.xmlrpc.android.ApiHelper;
 import org.xmlrpc.android.ApiHelper.Method;
+import org.xmlrpc.android.XMLRPCArrayElementVisitor;
 import org.xmlrpc.android.XMLRPCClientInterface;
 import org.xmlrpc.android.XMLRPCException;
 import org.xmlrpc.android.XMLRPCFactory;
@@ -19,8 +24,14 @@ import org.xmlrpc.android.XMLRPCFault;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import de.greenrobot.event.EventBus;
 
@@ -34,7 +45,22 @@ public class PostUpdateService extends Service {
     private static final String ARG_LOAD_MORE = "load_more";
     private static final String ARG_IS_PAGE = "is_page";
 
-    private static final int NUM_POSTS_TO_REQUEST = 20;
+    static final int NUM_POSTS_TO_REQUEST = 20;
+
+    // a refresh with more modified posts than this falls back to replacing the posts with the first page
+    static final int MAX_MODIFIED_PAGES_TO_REQUEST = 5;
+
+    // number of posts the legacy sync saves at a time while the response is streamed
+    private static final int LEGACY_POSTS_PER_SAVE = 10;
+
+    static final String POST_STATUS_TRASH = "trash";
+    private static final Pattern MORE_TAG_PATTERN = Pattern.compile("<!--more(.*?)?-->");
+
+    // XML-RPC "requested method does not exist" fault, returned by servers older than WordPress 3.4
+    private static final int FAULT_METHOD_NOT_FOUND = -32601;
+
+    // local ids of the blogs which don't support wp.getPosts, and use the legacy sync
+    private static final Set<Integer> BLOGS_WITHOUT_GET_POSTS = new HashSet<>();
 
     /*
      * fetch posts/pages in a specific blog
@@ -69,7 +95,7 @@ public class PostUpdateService extends Service {
     public int onStartCommand(final Intent intent, int flags, int startId) {
         if (intent == null) return START_NOT_STICKY;
 
-        new Thread() {
+        AppExecutors.execute(Pool.NETWORK, new Runnable() {
             @Override
             public void run() {
                 int blogId = intent.getIntExtra(ARG_BLOG_ID, 0);
@@ -77,7 +103,7 @@ public class PostUpdateService extends Service {
                 boolean loadMore = intent.getBooleanExtra(ARG_LOAD_MORE, false);
                 fetchPostsInBlog(blogId, isPage, loadMore);
             }
-        }.start();
+        });
 
         return START_NOT_STICKY;
     }
@@ -93,49 +119,22 @@ public class PostUpdateService extends Service {
                 blog.getHttpuser(),
                 blog.getHttppassword());
 
-        int numPostsToRequest;
-        if (loadMore) {
-            int numExisting = WordPress.wpDB.getUploadedCountInBlog(blogId, isPage);
-            numPostsToRequest = numExisting + NUM_POSTS_TO_REQUEST;
-        } else {
-            numPostsToRequest = NUM_POSTS_TO_REQUEST;
-        }
-
-        Object[] result;
-        Object[] xmlrpcParams = {
-                blog.getRemoteBlogId(),
-                blog.getUsername(),
-                blog.getPassword(),
-                numPostsToRequest};
-
         PostEvents.RequestPosts event = new PostEvents.RequestPosts(blogId, isPage);
         try {
             boolean canLoadMore;
-
-            result = (Object[]) client.call(isPage ? Method.GET_PAGES : "metaWeblog.getRecentPosts", xmlrpcParams);
-            if (result != null && result.length > 0) {
-                canLoadMore = true;
-
-                // If we're loading more posts, only save the posts at the end of the array.
-                // NOTE: Switching to wp.getPosts wouldn't require janky solutions like this
-                // since it allows for an offset parameter.
-                int startPosition = 0;
-                if (loadMore && result.length > NUM_POSTS_TO_REQUEST) {
-                    startPosition = result.length - NUM_POSTS_TO_REQUEST;
-                }
-
-                List<Map<?, ?>> postsList = new ArrayList<>();
-                for (int ctr = startPosition; ctr < result.length; ctr++) {
-                    Map<?, ?> postMap = (Map<?, ?>) result[ctr];
-                    postsList.add(postMap);
-                }
-
-                if (!loadMore) {
-                    WordPress.wpDB.deleteUploadedPosts(blogId, isPage);
+            if (supportsGetPosts(blogId)) {
+                try {
+                    canLoadMore = syncPosts(client, blog, isPage, loadMore);
+                } catch (XMLRPCFault fault) {
+                    if (fault.getFaultCode() != FAULT_METHOD_NOT_FOUND) {
+                        throw fault;
+                    }
+                    AppLog.w(AppLog.T.POSTS, "wp.getPosts isn't available, falling back to the legacy post sync");
+                    setSupportsGetPosts(blogId, false);
+                    canLoadMore = fetchPostsLegacy(client, blog, isPage, loadMore);
                 }
-                WordPress.wpDB.savePosts(postsList, blogId, isPage, false);
             } else {
-                canLoadMore = false;
+                canLoadMore = fetchPostsLegacy(client, blog, isPage, loadMore);
             }
 
             event.setCanLoadMore(canLoadMore);
@@ -158,4 +157,347 @@ public class PostUpdateService extends Service {
 
         EventBus.getDefault().post(event);
     }
+
+    private static boolean supportsGetPosts(int blogId) {
+        synchronized (BLOGS_WITHOUT_GET_POSTS) {
+            return !BLOGS_WITHOUT_GET_POSTS.contains(blogId);
+        }
+    }
+
+    private static void setSupportsGetPosts(int blogId, boolean supportsGetPosts) {
+        synchronized (BLOGS_WITHOUT_GET_POSTS) {
+            if (supportsGetPosts) {
+                BLOGS_WITHOUT_GET_POSTS.remove(blogId);
+            } else {
+                BLOGS_WITHOUT_GET_POSTS.add(blogId);
+            }
+        }
+    }
+
+    /*
+     * wp.getPosts sync: "load more" requests exactly one page at the offset of the posts we
+     * already have, and a refresh only requests the posts modified since the most recent
+     * post_modified_gmt we've stored (the high-water mark) - returns whether more posts can
+     * be loaded
+     */
+    private boolean syncPosts(XMLRPCClientInterface client, Blog blog, boolean isPage, boolean loadMore)
+            throws XMLRPCException, IOException, XmlPullParserException {
+        int blogId = blog.getLocalTableBlogId();
+
+        if (loadMore) {
+            int offset = WordPress.getWpDB().getUploadedCountInBlog(blogId, isPage);
+            List<Map<?, ?>> posts = getPosts(client, blog, isPage, offset, NUM_POSTS_TO_REQUEST, null, null);
+            WordPress.getWpDB().savePosts(toLegacyPosts(posts, isPage), blogId, isPage, false);
+            return posts.size() >= NUM_POSTS_TO_REQUEST;
+        }
+
+        long highWaterMark = WordPress.getWpDB().getLatestModifiedDateGmt(blogId, isPage);
+        if (highWaterMark > 0 && syncModifiedPosts(client, blog, isPage, highWaterMark)) {
+            // the posts we have are up to date, more can be loaded if there's a post older than the oldest one
+            int offset = WordPress.getWpDB().getUploadedCountInBlog(blogId, isPage);
+            return getPosts(client, blog, isPage, offset, 1, null, null).size() > 0;
+        }
+
+        // nothing to sync from (or too many changes), replace the uploaded posts with the first page
+        List<Map<?, ?>> posts = getPosts(client, blog, isPage, 0, NUM_POSTS_TO_REQUEST, null, null);
+        WordPress.getWpDB().deleteUploadedPosts(blogId, isPage);
+        WordPress.getWpDB().savePosts(toLegacyPosts(posts, isPage), blogId, isPage, false);
+        return posts.size() >= NUM_POSTS_TO_REQUEST;
+    }
+
+    /*
+     * saves the posts modified since the passed high-water mark and deletes the ones trashed since
+     * then - returns false if there were too many changes to sync this way
+     */
+    private boolean syncModifiedPosts(XMLRPCClientInterface client, Blog blog, boolean isPage, long highWaterMark)
+            throws XMLRPCException, IOException, XmlPullParserException {
+        int blogId = blog.getLocalTableBlogId();
+
+        // modified posts older than the ones we have are skipped, they'll be fetched by "load more"
+        // - this keeps the local posts a contiguous range, so the count can be used as an offset
+        long oldestDateCreated = WordPress.getWpDB().getOldestUploadedDateCreatedGmt(blogId, isPage);
+
+        PostChanges changes = getPostChanges(client, blog, isPage, highWaterMark, oldestDateCreated);
+        if (changes == null) {
+            return false;
+        }
+
+        for (String postId : changes.trashedPostIds) {
+            WordPress.getWpDB().deleteUploadedPost(blogId, postId, isPage);
+        }
+        WordPress.getWpDB().savePosts(toLegacyPosts(changes.modifiedPosts, isPage), blogId, isPage, false);
+        AppLog.d(AppLog.T.POSTS, "PostUpdateService > synced " + changes.modifiedPosts.size() + " modified posts");
+        return true;
+    }
+
+    /*
+     * posts modified and ids of the posts trashed since a high-water mark
+     */
+    static class PostChanges {
+        final List<Map<?, ?>> modifiedPosts = new ArrayList<>();
+        final List<String> trashedPostIds = new ArrayList<>();
+    }
+
+    /*
+     * requests the posts ordered by modification date, a page at a time, until one of them hasn't
+     * been modified since the passed high-water mark, then does the same for the trashed posts -
+     * returns null if there were more changes than MAX_MODIFIED_PAGES_TO_REQUEST pages
+     */
+    static PostChanges getPostChanges(XMLRPCClientInterface client, Blog blog, boolean isPage, long highWaterMark,
+                                      long oldestDateCreated)
+            throws XMLRPCException, IOException, XmlPullParserException {
+        PostChanges changes = new PostChanges();
+        boolean reachedHighWaterMark = false;
+        for (int page = 0; page < MAX_MODIFIED_PAGES_TO_REQUEST && !reachedHighWaterMark; page++) {
+            List<Map<?, ?>> posts = getPosts(client, blog, isPage, page * NUM_POSTS_TO_REQUEST,
+                    NUM_POSTS_TO_REQUEST, "modified", null);
+            for (Map<?, ?> post : posts) {
+                if (getDateMillis(post, "post_modified_gmt") <= highWaterMark) {
+                    reachedHighWaterMark = true;
+                    break;
+                }
+                // drafts don't have a GMT creation date yet, they're always kept
+                long dateCreated = getDateMillis(post, "post_date_gmt");
+                if (dateCreated <= 0 || dateCreated >= oldestDateCreated) {
+                    changes.modifiedPosts.add(post);
+                }
+            }
+            if (posts.size() < NUM_POSTS_TO_REQUEST) {
+                reachedHighWaterMark = true;
+            }
+        }
+        if (!reachedHighWaterMark) {
+            return null;
+        }
+
+        // trashing a post updates its modification date, but trashed posts aren't returned above
+        reachedHighWaterMark = false;
+        for (int page = 0; page < MAX_MODIFIED_PAGES_TO_REQUEST && !reachedHighWaterMark; page++) {
+            List<Map<?, ?>> posts = getPosts(client, blog, isPage, page * NUM_POSTS_TO_REQUEST,
+                    NUM_POSTS_TO_REQUEST, "modified", POST_STATUS_TRASH);
+            for (Map<?, ?> post : posts) {
+                if (getDateMillis(post, "post_modified_gmt") <= highWaterMark) {
+                    reachedHighWaterMark = true;
+                    break;
+                }
+                changes.trashedPostIds.add(MapUtils.getMapStr(post, "post_id"));
+            }
+            if (posts.size() < NUM_POSTS_TO_REQUEST) {
+                reachedHighWaterMark = true;
+            }
+        }
+        if (!reachedHighWaterMark) {
+            return null;
+        }
+        return changes;
+    }
+
+    /*
+     * requests a single page of posts with wp.getPosts - orderBy and postStatus are optional
+     */
+    private static List<Map<?, ?>> getPosts(XMLRPCClientInterface client, Blog blog, boolean isPage, int offset,
+                                            int number, String orderBy, String postStatus)
+            throws XMLRPCException, IOException, XmlPullParserException {
+        Map<String, Object> filter = new HashMap<>();
+        filter.put("post_type", isPage ? "page" : "post");
+        filter.put("number", number);
+        filter.put("offset", offset);
+        if (orderBy != null) {
+            filter.put("orderby", orderBy);
+            filter.put("order", "DESC");
+        }
+        if (postStatus != null) {
+            filter.put("post_status", postStatus);
+        }
+
+        Object[] xmlrpcParams = {
+                blog.getRemoteBlogId(),
+                blog.getUsername(),
+                blog.getPassword(),
+                filter};
+
+        Object result = client.call(Method.GET_POSTS, xmlrpcParams);
+        List<Map<?, ?>> posts = new ArrayList<>();
+        if (result instanceof Object[]) {
+            for (Object post : (Object[]) result) {
+                if (post instanceof Map) {
+                    posts.add((Map<?, ?>) post);
+                }
+            }
+        }
+        return posts;
+    }
+
+    private static long getDateMillis(Map<?, ?> map, String key) {
+        Date date = MapUtils.getMapDate(map, key);
+        return date != null ? date.getTime() : 0;
+    }
+
+    /*
+     * converts wp.getPosts structs to the metaWeblog.getRecentPosts/wp.getPages structs
+     * expected by WordPressDB.savePosts()
+     */
+    private static List<Map<?, ?>> toLegacyPosts(List<Map<?, ?>> posts, boolean isPage) {
+        List<Map<?, ?>> legacyPosts = new ArrayList<>(posts.size());
+        for (Map<?, ?> post : posts) {
+            legacyPosts.add(toLegacyPost(post, isPage));
+        }
+        return legacyPosts;
+    }
+
+    static Map<String, Object> toLegacyPost(Map<?, ?> post, boolean isPage) {
+        Map<String, Object> legacyPost = new HashMap<>();
+        legacyPost.put(isPage ? "page_id" : "postid", MapUtils.getMapStr(post, "post_id"));
+        legacyPost.put("title", MapUtils.getMapStr(post, "post_title"));
+        putIfNotNull(legacyPost, "dateCreated", MapUtils.getMapDate(post, "post_date"));
+        putIfNotNull(legacyPost, "date_created_gmt", MapUtils.getMapDate(post, "post_date_gmt"));
+        putIfNotNull(legacyPost, "date_modified_gmt", MapUtils.getMapDate(post, "post_modified_gmt"));
+
+        // metaWeblog splits the content at the more tag
+        String content = MapUtils.getMapStr(post, "post_content");
+        Matcher moreMatcher = MORE_TAG_PATTERN.matcher(content);
+        if (moreMatcher.find()) {
+            legacyPost.put("description", content.substring(0, moreMatcher.start()));
+            legacyPost.put(isPage ? "text_more" : "mt_text_more", content.substring(moreMatcher.end()));
+        } else {
+            legacyPost.put("description", content);
+            legacyPost.put(isPage ? "text_more" : "mt_text_more", "");
+        }
+
+        legacyPost.put("link", MapUtils.getMapStr(post, "link"));
+        legacyPost.put("permaLink", MapUtils.getMapStr(post, "link"));
+        legacyPost.put(isPage ? "excerpt" : "mt_excerpt", MapUtils.getMapStr(post, "post_excerpt"));
+        legacyPost.put("mt_allow_comments", "open".equals(MapUtils.getMapStr(post, "comment_status")) ? 1 : 0);
+        legacyPost.put("mt_allow_pings", "open".equals(MapUtils.getMapStr(post, "ping_status")) ? 1 : 0);
+        legacyPost.put("wp_slug", MapUtils.getMapStr(post, "post_name"));
+        legacyPost.put("wp_password", MapUtils.getMapStr(post, "post_password"));
+        legacyPost.put("wp_author_id", MapUtils.getMapStr(post, "post_author"));
+        legacyPost.put("userid", MapUtils.getMapStr(post, "post_author"));
+        legacyPost.put(isPage ? "page_status" : "post_status", MapUtils.getMapStr(post, "post_status"));
+
+        // post_thumbnail is an empty array when the post doesn't have a featured image
+        Object thumbnail = post.get("post_thumbnail");
+        if (thumbnail instanceof Map) {
+            legacyPost.put("wp_post_thumbnail", MapUtils.getMapInt((Map<?, ?>) thumbnail, "attachment_id"));
+        }
+
+        Object customFields = post.get("custom_fields");
+        if (customFields instanceof Object[]) {
+            legacyPost.put("custom_fields", customFields);
+        }
+
+        if (isPage) {
+            legacyPost.put("wp_page_parent_id", MapUtils.getMapStr(post, "post_parent"));
+        } else {
+            List<String> categories = new ArrayList<>();
+            List<String> tags = new ArrayList<>();
+            Object terms = post.get("terms");
+            if (terms instanceof Object[]) {
+                for (Object term : (Object[]) terms) {
+                    if (!(term instanceof Map)) {
+                        continue;
+                    }
+                    String taxonomy = MapUtils.getMapStr((Map<?, ?>) term, "taxonomy");
+                    String name = MapUtils.getMapStr((Map<?, ?>) term, "name");
+                    if ("category".equals(taxonomy)) {
+                        categories.add(name);
+                    } else if ("post_tag".equals(taxonomy)) {
+                        tags.add(name);
+                    }
+                }
+            }
+            legacyPost.put("categories", categories.toArray());
+            legacyPost.put("mt_keywords", TextUtils.join(", ", tags));
+            legacyPost.put("wp_post_format", MapUtils.getMapStr(post, "post_format"));
+        }
+
+        return legacyPost;
+    }
+
+    private static void putIfNotNull(Map<String, Object> map, String key, Object value) {
+        if (value != null) {
+            map.put(key, value);
+        }
+    }
+
+    /*
+     * legacy sync for servers without wp.getPosts: metaWeblog.getRecentPosts/wp.getPages have
+     * no offset, so "load more" requests all the posts we have plus a page, and skips the
+     * posts we already have while streaming the response
+     */
+    private boolean fetchPostsLegacy(XMLRPCClientInterface client, Blog blog, boolean isPage, boolean loadMore)
+            throws XMLRPCException, IOException, XmlPullParserException {
+        int blogId = blog.getLocalTableBlogId();
+
+        final int numExisting;
+        int numPostsToRequest;
+        if (loadMore) {
+            numExisting = WordPress.getWpDB().getUploadedCountInBlog(blogId, isPage);
+            numPostsToRequest = numExisting + NUM_POSTS_TO_REQUEST;
+        } else {
+            numExisting = 0;
+            numPostsToRequest = NUM_POSTS_TO_REQUEST;
+        }
+
+        Object[] xmlrpcParams = {
+                blog.getRemoteBlogId(),
+                blog.getUsername(),
+                blog.getPassword(),
+                numPostsToRequest};
+
+        // posts are saved in small batches as they're parsed, rather than once the whole response
+        // (which holds every post we already have when loading more) has been read
+        LegacyPostsVisitor postsVisitor = new LegacyPostsVisitor(blogId, isPage, !loadMore, numExisting);
+        client.callStreaming(isPage ? Method.GET_PAGES : "metaWeblog.getRecentPosts", xmlrpcParams, postsVisitor);
+        postsVisitor.savePendingPosts();
+
+        return postsVisitor.getElementCount() > 0;
+    }
+
+    /*
+     * saves the posts of a metaWeblog.getRecentPosts/wp.getPages response while it's streamed, skipping
+     * the first numExisting ones - when replacing the posts, the uploaded ones are only deleted once
+     * the first batch is ready, so an empty or failed response leaves them in place
+     */
+    private static class LegacyPostsVisitor extends XMLRPCArrayElementVisitor {
+        private final int mBlogId;
+        private final boolean mIsPage;
+        private final int mNumExisting;
+        private final List<Map<?, ?>> mPendingPosts = new ArrayList<>();
+        private boolean mDeleteUploadedPosts;
+
+        LegacyPostsVisitor(int blogId, boolean isPage, boolean replaceUploadedPosts, int numExisting) {
+            mBlogId = blogId;
+            mIsPage = isPage;
+            mDeleteUploadedPosts = replaceUploadedPosts;
+            mNumExisting = numExisting;
+        }
+
+        @Override
+        public boolean shouldMaterializeElement(int index) {
+            return index >= mNumExisting;
+        }
+
+        @Override
+        public void onElement(int index, Object element) {
+            if (element instanceof Map) {
+                mPendingPosts.add((Map<?, ?>) element);
+                if (mPendingPosts.size() >= LEGACY_POSTS_PER_SAVE) {
+                    savePendingPosts();
+                }
+            }
+        }
+
+        void savePendingPosts() {
+            if (mPendingPosts.size() == 0) {
+                return;
+            }
+            if (mDeleteUploadedPosts) {
+                WordPress.getWpDB().deleteUploadedPosts(mBlogId, mIsPage);
+                mDeleteUploadedPosts = false;
+            }
+            WordPress.getWpDB().savePosts(mPendingPosts, mBlogId, mIsPage, false);
+            mPendingPosts.clear();
+        }
+    }
 }
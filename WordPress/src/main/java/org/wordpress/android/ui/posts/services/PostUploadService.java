@@ -55,7 +55,6 @@ import org.xmlrpc.android.XMLRPCException;
 import org.xmlrpc.android.XMLRPCFactory;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -64,6 +63,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -76,6 +84,12 @@ public class PostUploadService extends Service {
     private static boolean mUseLegacyMode;
     private UploadPostTask mCurrentTask = null;
 
+    // Posts are uploaded one at a time, so this is also the number of parallel uploads to a single blog
+    public static final int DEFAULT_MAX_CONCURRENT_MEDIA_UPLOADS = 2;
+    private static int sMaxConcurrentMediaUploads = DEFAULT_MAX_CONCURRENT_MEDIA_UPLOADS;
+    private static ThreadPoolExecutor sMediaPrepareExecutor;
+    private static ThreadPoolExecutor sMediaUploadExecutor;
+
     public static void addPostToUpload(Post currentPost) {
         synchronized (mPostsList) {
             mPostsList.add(currentPost);
@@ -86,6 +100,50 @@ public class PostUploadService extends Service {
         mUseLegacyMode = enabled;
     }
 
+    public static synchronized void setMaxConcurrentMediaUploads(int maxUploads) {
+        sMaxConcurrentMediaUploads = Math.max(1, maxUploads);
+        if (sMediaUploadExecutor != null) {
+            // the core size can't exceed the maximum size, so they're changed in that order
+            if (sMaxConcurrentMediaUploads > sMediaUploadExecutor.getMaximumPoolSize()) {
+                sMediaUploadExecutor.setMaximumPoolSize(sMaxConcurrentMediaUploads);
+                sMediaUploadExecutor.setCorePoolSize(sMaxConcurrentMediaUploads);
+            } else {
+                sMediaUploadExecutor.setCorePoolSize(sMaxConcurrentMediaUploads);
+                sMediaUploadExecutor.setMaximumPoolSize(sMaxConcurrentMediaUploads);
+            }
+        }
+    }
+
+    private static synchronized int getMaxConcurrentMediaUploads() {
+        return sMaxConcurrentMediaUploads;
+    }
+
+    /*
+     * CPU pool used to decode thumbnails and resize pictures ahead of their upload
+     */
+    private static synchronized ExecutorService getMediaPrepareExecutor() {
+        if (sMediaPrepareExecutor == null) {
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+            sMediaPrepareExecutor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new NamedThreadFactory("PostUploadService-Prepare-"));
+            sMediaPrepareExecutor.allowCoreThreadTimeOut(true);
+        }
+        return sMediaPrepareExecutor;
+    }
+
+    /*
+     * pool used to send media files to the blog, shared by the posts since they're uploaded one at a time
+     */
+    private static synchronized ExecutorService getMediaUploadExecutor() {
+        if (sMediaUploadExecutor == null) {
+            sMediaUploadExecutor = new ThreadPoolExecutor(sMaxConcurrentMediaUploads, sMaxConcurrentMediaUploads,
+                    30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new NamedThreadFactory("PostUploadService-Upload-"));
+            sMediaUploadExecutor.allowCoreThreadTimeOut(true);
+        }
+        return sMediaUploadExecutor;
+    }
+
     /*
      * returns true if the passed post is either uploading or waiting to be uploaded
      */
@@ -165,6 +223,53 @@ public class PostUploadService extends Service {
         uploadNextPost();
     }
 
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String mPrefix;
+        private final AtomicInteger mCount = new AtomicInteger(1);
+
+        NamedThreadFactory(String prefix) {
+            mPrefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, mPrefix + mCount.getAndIncrement());
+        }
+    }
+
+    /*
+     * state of a single media item going through the upload pipeline, each job is only touched by one thread
+     * at a time (prepare thread, then upload thread, then the task once all uploads are done)
+     */
+    private static class MediaUploadJob {
+        final int index;
+        final String tag;
+        final String uri;
+        final MediaFile mediaFile;
+        Bitmap icon;
+
+        // set by prepareImage()
+        boolean prepared;
+        String fileName;
+        String mimeType;
+        boolean shouldUploadResizedVersion;
+        boolean shouldAddImageWidthCSS;
+        MediaFile resizedMediaFile;
+        File resizedImageFile;
+
+        // set by the upload
+        String output;
+        String errorMessage;
+        int featuredImageId = -1;
+
+        MediaUploadJob(int index, String tag, String uri, MediaFile mediaFile) {
+            this.index = index;
+            this.tag = tag;
+            this.uri = uri;
+            this.mediaFile = mediaFile;
+        }
+    }
+
     private class UploadPostTask extends AsyncTask<Post, Boolean, Boolean> {
         private Post mPost;
         private Blog mBlog;
@@ -187,7 +292,7 @@ public class PostUploadService extends Service {
         @Override
         protected void onPostExecute(Boolean postUploadedSuccessfully) {
             if (postUploadedSuccessfully) {
-                WordPress.wpDB.deleteMediaFilesForPost(mPost);
+                WordPress.getWpDB().deleteMediaFilesForPost(mPost);
                 mPostUploadNotifier.cancelNotification();
                 mPostUploadNotifier.updateNotificationSuccess(mPost, mLatestIcon, mIsFirstPublishing);
             } else {
@@ -219,7 +324,7 @@ public class PostUploadService extends Service {
             );
             mPostUploadNotifier = new PostUploadNotifier(mPost, uploadingPostTitle, uploadingPostMessage);
 
-            mBlog = WordPress.wpDB.instantiateBlogByLocalId(mPost.getLocalTableBlogId());
+            mBlog = WordPress.getWpDB().instantiateBlogByLocalId(mPost.getLocalTableBlogId());
             if (mBlog == null) {
                 mErrorMessage = mContext.getString(R.string.blog_not_found);
                 return false;
@@ -395,7 +500,7 @@ public class PostUploadService extends Service {
 
                 mPost.setLocalDraft(false);
                 mPost.setLocalChange(false);
-                WordPress.wpDB.updatePost(mPost);
+                WordPress.getWpDB().updatePost(mPost);
 
                 // Track analytics only if the post is newly published
                 if (mIsFirstPublishing) {
@@ -448,65 +553,120 @@ public class PostUploadService extends Service {
         }
 
         /**
-         * Finds media in post content, uploads them, and returns the HTML to insert in the post
+         * Finds media in post content, uploads them, and returns the HTML to insert in the post.
+         *
+         * Media are uploaded in a pipeline: notification thumbnails and resized pictures are prepared on a shared
+         * CPU pool, while up to sMaxConcurrentMediaUploads files are sent to the blog at the same time. A job only
+         * starts being prepared once an upload slot is free, so decoded pictures don't pile up ahead of the
+         * uploads. Results are gathered back in document order, once every upload has finished, before the content
+         * is rewritten.
          */
         private String processPostMedia(String postContent) {
             String imageTagsPattern = "<img[^>]+android-uri\\s*=\\s*['\"]([^'\"]+)['\"][^>]*>";
             Pattern pattern = Pattern.compile(imageTagsPattern);
             Matcher matcher = pattern.matcher(postContent);
 
-            int totalMediaItems = 0;
             List<String> imageTags = new ArrayList<String>();
             while (matcher.find()) {
                 imageTags.add(matcher.group());
-                totalMediaItems++;
             }
 
-            mPostUploadNotifier.setTotalMediaItems(totalMediaItems);
-
-            int mediaItemCount = 0;
+            List<MediaUploadJob> jobs = new ArrayList<MediaUploadJob>();
+            Pattern p = Pattern.compile("android-uri=\"([^\"]+)\"");
             for (String tag : imageTags) {
-                Pattern p = Pattern.compile("android-uri=\"([^\"]+)\"");
                 Matcher m = p.matcher(tag);
                 if (m.find()) {
                     String imageUri = m.group(1);
                     if (!imageUri.equals("")) {
-                        MediaFile mediaFile = WordPress.wpDB.getMediaFile(imageUri, mPost);
+                        MediaFile mediaFile = WordPress.getWpDB().getMediaFile(imageUri, mPost);
                         if (mediaFile != null) {
-                            // Get image thumbnail for notification icon
-                            Bitmap imageIcon = ImageUtils.getWPImageSpanThumbnailFromFilePath(
-                                    mContext,
-                                    imageUri,
-                                    DisplayUtils.dpToPx(mContext, 128)
-                            );
-
-                            // Crop the thumbnail to be squared in the center
-                            if (imageIcon != null) {
-                                int squaredSize = DisplayUtils.dpToPx(mContext, 64);
-                                imageIcon = ThumbnailUtils.extractThumbnail(imageIcon, squaredSize, squaredSize);
-                                mLatestIcon = imageIcon;
-                            }
-
-                            mediaItemCount++;
-                            mPostUploadNotifier.setCurrentMediaItem(mediaItemCount);
-                            mPostUploadNotifier.updateNotificationIcon(imageIcon);
-
-                            String mediaUploadOutput;
                             if (mediaFile.isVideo()) {
                                 mHasVideo = true;
-                                mediaUploadOutput = uploadVideo(mediaFile);
                             } else {
                                 mHasImage = true;
-                                mediaUploadOutput = uploadImage(mediaFile);
                             }
+                            jobs.add(new MediaUploadJob(jobs.size(), tag, imageUri, mediaFile));
+                        }
+                    }
+                }
+            }
 
-                            if (mediaUploadOutput != null) {
-                                postContent = postContent.replace(tag, mediaUploadOutput);
-                            } else {
-                                postContent = postContent.replace(tag, "");
-                                mIsMediaError = true;
+            if (jobs.size() == 0) {
+                return postContent;
+            }
+
+            mPostUploadNotifier.setTotalMediaItems(jobs.size());
+
+            // a slot is taken when a job starts being prepared and given back once its upload is over
+            final Semaphore uploadSlots = new Semaphore(getMaxConcurrentMediaUploads());
+            List<Future<?>> preparations = new ArrayList<Future<?>>();
+            List<Future<?>> uploads = new ArrayList<Future<?>>();
+            try {
+                for (final MediaUploadJob job : jobs) {
+                    uploadSlots.acquire();
+                    final Future<?> preparation = getMediaPrepareExecutor().submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            prepareMedia(job);
+                        }
+                    });
+                    preparations.add(preparation);
+                    uploads.add(getMediaUploadExecutor().submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                preparation.get();
+                                uploadMedia(job);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            } catch (ExecutionException e) {
+                                AppLog.e(T.POSTS, "failed to prepare media " + job.uri, e.getCause());
+                                job.errorMessage = mContext.getString(R.string.error_media_upload);
+                            } finally {
+                                uploadSlots.release();
                             }
                         }
+                    }));
+                }
+
+                // every upload must be over before the jobs are read, a failed one doesn't stop the others
+                for (Future<?> upload : uploads) {
+                    try {
+                        upload.get();
+                    } catch (ExecutionException e) {
+                        AppLog.e(T.POSTS, "media upload failed", e.getCause());
+                    }
+                }
+            } catch (InterruptedException e) {
+                // the task was canceled, the post will be reset to a local draft - jobs which haven't started
+                // are dropped, while uploads already running are left to finish rather than interrupted
+                AppLog.d(T.POSTS, "media upload interrupted");
+                for (Future<?> preparation : preparations) {
+                    preparation.cancel(false);
+                }
+                for (Future<?> upload : uploads) {
+                    upload.cancel(false);
+                }
+                Thread.currentThread().interrupt();
+                mErrorMessage = mContext.getString(R.string.error_media_upload);
+                mIsMediaError = true;
+                return postContent;
+            }
+
+            for (MediaUploadJob job : jobs) {
+                if (job.icon != null) {
+                    mLatestIcon = job.icon;
+                }
+                if (job.featuredImageId != -1) {
+                    featuredImageID = job.featuredImageId;
+                }
+                if (job.output != null) {
+                    postContent = postContent.replace(job.tag, job.output);
+                } else {
+                    postContent = postContent.replace(job.tag, "");
+                    mIsMediaError = true;
+                    if (job.errorMessage != null) {
+                        mErrorMessage = job.errorMessage;
                     }
                 }
             }
@@ -514,11 +674,58 @@ public class PostUploadService extends Service {
             return postContent;
         }
 
-        private String uploadImage(MediaFile mediaFile) {
-            AppLog.d(T.POSTS, "uploadImage: " + mediaFile.getFilePath());
+        /*
+         * runs on the CPU pool: decodes the notification thumbnail and, for pictures, creates the resized copy
+         */
+        private void prepareMedia(MediaUploadJob job) {
+            // Get image thumbnail for notification icon
+            Bitmap imageIcon = ImageUtils.getWPImageSpanThumbnailFromFilePath(
+                    mContext,
+                    job.uri,
+                    DisplayUtils.dpToPx(mContext, 128)
+            );
+
+            // Crop the thumbnail to be squared in the center
+            if (imageIcon != null) {
+                int squaredSize = DisplayUtils.dpToPx(mContext, 64);
+                imageIcon = ThumbnailUtils.extractThumbnail(imageIcon, squaredSize, squaredSize);
+                job.icon = imageIcon;
+            }
+
+            if (!job.mediaFile.isVideo()) {
+                prepareImage(job);
+            }
+        }
+
+        /*
+         * runs on an upload thread, once the job has been prepared
+         */
+        private void uploadMedia(MediaUploadJob job) {
+            mPostUploadNotifier.startMediaItem(job.icon);
+
+            // each upload thread gets its own client, so progress listeners and connections aren't shared
+            XMLRPCClientInterface client = XMLRPCFactory.instantiate(mBlog.getUri(), mBlog.getHttpuser(),
+                    mBlog.getHttppassword());
+            try {
+                if (job.mediaFile.isVideo()) {
+                    job.output = uploadVideo(job, client);
+                } else if (job.prepared) {
+                    job.output = uploadImage(job, client);
+                }
+            } finally {
+                if (job.resizedImageFile != null && job.resizedImageFile.exists()) {
+                    job.resizedImageFile.delete();
+                }
+                mPostUploadNotifier.updateMediaItemProgress(job.index, 100);
+            }
+        }
+
+        private void prepareImage(MediaUploadJob job) {
+            MediaFile mediaFile = job.mediaFile;
+            AppLog.d(T.POSTS, "prepareImage: " + mediaFile.getFilePath());
 
             if (mediaFile.getFilePath() == null) {
-                return null;
+                return;
             }
 
             Uri imageUri = Uri.parse(mediaFile.getFilePath());
@@ -548,8 +755,8 @@ public class PostUploadService extends Service {
 
             // check if the file exists
             if (imageFile == null) {
-                mErrorMessage = mContext.getString(R.string.file_not_found);
-                return null;
+                job.errorMessage = mContext.getString(R.string.file_not_found);
+                return;
             }
 
             if (TextUtils.isEmpty(mimeType)) {
@@ -557,11 +764,11 @@ public class PostUploadService extends Service {
             }
             String fileName = MediaUtils.getMediaFileName(imageFile, mimeType);
             String fileExtension = MimeTypeMap.getFileExtensionFromUrl(fileName).toLowerCase();
+            job.mimeType = mimeType;
+            job.fileName = fileName;
 
             int orientation = ImageUtils.getImageOrientation(mContext, path);
 
-            String resizedPictureURL = null;
-
             // We need to upload a resized version of the picture when the blog settings != original size, or when
             // the user has selected a smaller size for the current picture in the picture settings screen
             // We won't resize gif images to keep them awesome.
@@ -582,8 +789,6 @@ public class PostUploadService extends Service {
                 }
             }
 
-            boolean shouldAddImageWidthCSS = false;
-
             if (shouldUploadResizedVersion) {
                 MediaFile resizedMediaFile = new MediaFile(mediaFile);
                 // Create resized image
@@ -593,79 +798,76 @@ public class PostUploadService extends Service {
                 if (bytes == null) {
                     // We weren't able to resize the image, so we will upload the full size image with css to resize it
                     shouldUploadResizedVersion = false;
-                    shouldAddImageWidthCSS = true;
+                    job.shouldAddImageWidthCSS = true;
                 } else {
                     // Save temp image
-                    String tempFilePath;
                     File resizedImageFile;
                     try {
                         resizedImageFile = File.createTempFile("wp-image-", fileExtension);
                         FileOutputStream out = new FileOutputStream(resizedImageFile);
                         out.write(bytes);
                         out.close();
-                        tempFilePath = resizedImageFile.getPath();
                     } catch (IOException e) {
                         AppLog.w(T.POSTS, "failed to create image temp file");
-                        mErrorMessage = mContext.getString(R.string.error_media_upload);
-                        return null;
+                        job.errorMessage = mContext.getString(R.string.error_media_upload);
+                        return;
                     }
 
-                    // upload resized picture
-                    if (!TextUtils.isEmpty(tempFilePath)) {
-                        resizedMediaFile.setFilePath(tempFilePath);
-                        Map<String, Object> parameters = new HashMap<String, Object>();
-
-                        parameters.put("name", fileName);
-                        parameters.put("type", mimeType);
-                        parameters.put("bits", resizedMediaFile);
-                        parameters.put("overwrite", true);
-                        resizedPictureURL = uploadImageFile(parameters, resizedMediaFile, mBlog);
-                        if (resizedPictureURL == null) {
-                            AppLog.w(T.POSTS, "failed to upload resized picture");
-                            return null;
-                        } else if (resizedImageFile.exists()) {
-                            resizedImageFile.delete();
-                        }
-                    } else {
-                        AppLog.w(T.POSTS, "failed to create resized picture");
-                        mErrorMessage = mContext.getString(R.string.out_of_memory);
-                        return null;
-                    }
+                    resizedMediaFile.setFilePath(resizedImageFile.getPath());
+                    job.resizedImageFile = resizedImageFile;
+                    job.resizedMediaFile = resizedMediaFile;
+                }
+            }
+
+            job.shouldUploadResizedVersion = shouldUploadResizedVersion;
+            job.prepared = true;
+        }
+
+        private String uploadImage(MediaUploadJob job, XMLRPCClientInterface client) {
+            MediaFile mediaFile = job.mediaFile;
+            AppLog.d(T.POSTS, "uploadImage: " + mediaFile.getFilePath());
+
+            String resizedPictureURL = null;
+
+            // upload resized picture
+            if (job.shouldUploadResizedVersion) {
+                Map<String, Object> parameters = new HashMap<String, Object>();
+
+                parameters.put("name", job.fileName);
+                parameters.put("type", job.mimeType);
+                parameters.put("bits", job.resizedMediaFile);
+                parameters.put("overwrite", true);
+                resizedPictureURL = uploadImageFile(job, client, parameters, job.resizedMediaFile, mBlog);
+                if (resizedPictureURL == null) {
+                    AppLog.w(T.POSTS, "failed to upload resized picture");
+                    return null;
                 }
             }
 
             String fullSizeUrl = null;
             // Upload the full size picture if "Original Size" is selected in settings,
             // or if 'link to full size' is checked.
-            if (!shouldUploadResizedVersion || mBlog.isFullSizeImage()) {
+            if (!job.shouldUploadResizedVersion || mBlog.isFullSizeImage()) {
                 Map<String, Object> parameters = new HashMap<String, Object>();
-                parameters.put("name", fileName);
-                parameters.put("type", mimeType);
+                parameters.put("name", job.fileName);
+                parameters.put("type", job.mimeType);
                 parameters.put("bits", mediaFile);
                 parameters.put("overwrite", true);
 
-                fullSizeUrl = uploadImageFile(parameters, mediaFile, mBlog);
+                fullSizeUrl = uploadImageFile(job, client, parameters, mediaFile, mBlog);
                 if (fullSizeUrl == null) {
-                    mErrorMessage = mContext.getString(R.string.error_media_upload);
+                    job.errorMessage = mContext.getString(R.string.error_media_upload);
                     return null;
                 }
             }
 
-            return mediaFile.getImageHtmlForUrls(fullSizeUrl, resizedPictureURL, shouldAddImageWidthCSS);
+            return mediaFile.getImageHtmlForUrls(fullSizeUrl, resizedPictureURL, job.shouldAddImageWidthCSS);
         }
 
-        private String uploadVideo(MediaFile mediaFile) {
-            // create temp file for media upload
-            String tempFileName = "wp-" + System.currentTimeMillis();
-            try {
-                mContext.openFileOutput(tempFileName, Context.MODE_PRIVATE);
-            } catch (FileNotFoundException e) {
-                mErrorMessage = getResources().getString(R.string.file_error_create);
-                return null;
-            }
-
+        private String uploadVideo(MediaUploadJob job, XMLRPCClientInterface client) {
+            MediaFile mediaFile = job.mediaFile;
             if (mediaFile.getFilePath() == null) {
-                mErrorMessage = mContext.getString(R.string.error_media_upload);
+                job.errorMessage = mContext.getString(R.string.error_media_upload);
                 return null;
             }
 
@@ -716,7 +918,7 @@ public class PostUploadService extends Service {
             }
 
             if (videoFile == null) {
-                mErrorMessage = mContext.getResources().getString(R.string.error_media_upload);
+                job.errorMessage = mContext.getResources().getString(R.string.error_media_upload);
                 return null;
             }
 
@@ -734,16 +936,7 @@ public class PostUploadService extends Service {
 
             Object[] params = {1, mBlog.getUsername(), mBlog.getPassword(), m};
 
-            File tempFile;
-            try {
-                String fileExtension = MimeTypeMap.getFileExtensionFromUrl(videoName);
-                tempFile = createTempUploadFile(fileExtension);
-            } catch (IOException e) {
-                mErrorMessage = getResources().getString(R.string.file_error_create);
-                return null;
-            }
-
-            Object result = uploadFileHelper(params, tempFile);
+            Object result = uploadFileHelper(job, client, params);
             Map<?, ?> resultMap = (HashMap<?, ?>) result;
             if (resultMap != null && resultMap.containsKey("url")) {
                 String resultURL = resultMap.get("url").toString();
@@ -757,7 +950,7 @@ public class PostUploadService extends Service {
 
                 return resultURL;
             } else {
-                mErrorMessage = mContext.getResources().getString(R.string.error_media_upload);
+                job.errorMessage = mContext.getResources().getString(R.string.error_media_upload);
                 return null;
             }
         }
@@ -771,22 +964,11 @@ public class PostUploadService extends Service {
             AppLog.e(T.EDITOR, mErrorMessage, e);
         }
 
-        private String uploadImageFile(Map<String, Object> pictureParams, MediaFile mf, Blog blog) {
-            // create temporary upload file
-            File tempFile;
-            try {
-                String fileExtension = MimeTypeMap.getFileExtensionFromUrl(mf.getFileName());
-                tempFile = createTempUploadFile(fileExtension);
-            } catch (IOException e) {
-                mIsMediaError = true;
-                mErrorMessage = mContext.getString(R.string.file_not_found);
-                return null;
-            }
-
+        private String uploadImageFile(MediaUploadJob job, XMLRPCClientInterface client,
+                                       Map<String, Object> pictureParams, MediaFile mf, Blog blog) {
             Object[] params = {1, blog.getUsername(), blog.getPassword(), pictureParams};
-            Object result = uploadFileHelper(params, tempFile);
+            Object result = uploadFileHelper(job, client, params);
             if (result == null) {
-                mIsMediaError = true;
                 return null;
             }
 
@@ -796,7 +978,7 @@ public class PostUploadService extends Service {
             if (mf.isFeatured()) {
                 try {
                     if (contentHash.get("id") != null) {
-                        featuredImageID = Integer.parseInt(contentHash.get("id").toString());
+                        job.featuredImageId = Integer.parseInt(contentHash.get("id").toString());
                         if (!mf.isFeaturedInPost())
                             return "";
                     }
@@ -808,52 +990,44 @@ public class PostUploadService extends Service {
             return pictureURL;
         }
 
-        private Object uploadFileHelper(Object[] params, final File tempFile) {
+        private Object uploadFileHelper(final MediaUploadJob job, XMLRPCClientInterface client, Object[] params) {
             // Create listener for tracking upload progress in the notification
-            if (mClient instanceof XMLRPCClient) {
-                XMLRPCClient xmlrpcClient = (XMLRPCClient) mClient;
+            if (client instanceof XMLRPCClient) {
+                XMLRPCClient xmlrpcClient = (XMLRPCClient) client;
                 xmlrpcClient.setOnBytesUploadedListener(new XMLRPCClient.OnBytesUploadedListener() {
                     @Override
-                    public void onBytesUploaded(long uploadedBytes) {
-                        if (tempFile.length() == 0) {
+                    public void onBytesUploaded(long uploadedBytes, long totalBytes) {
+                        if (totalBytes <= 0) {
                             return;
                         }
-                        float percentage = (uploadedBytes * 100) / tempFile.length();
-                        mPostUploadNotifier.updateNotificationProgress(percentage);
+                        float percentage = (uploadedBytes * 100) / totalBytes;
+                        mPostUploadNotifier.updateMediaItemProgress(job.index, percentage);
                     }
                 });
             }
 
             try {
-                return mClient.call(Method.UPLOAD_FILE, params, tempFile);
+                return client.call(Method.UPLOAD_FILE, params, null);
             } catch (XMLRPCException e) {
                 // well formed XML-RPC response from the server, but it's an error. Ok to print the error message
                 AppLog.e(T.API, e);
-                mErrorMessage = mContext.getResources().getString(R.string.error_media_upload) + ": " + e.getMessage();
+                job.errorMessage = mContext.getResources().getString(R.string.error_media_upload) + ": "
+                        + e.getMessage();
                 return null;
             } catch (IOException e) {
                 // I/O-related error. Show a generic connection error message
                 AppLog.e(T.API, e);
-                mErrorMessage = mContext.getResources().getString(R.string.error_media_upload_connection);
+                job.errorMessage = mContext.getResources().getString(R.string.error_media_upload_connection);
                 return null;
             } catch (XmlPullParserException e) {
                 // XML-RPC response isn't well formed or valid. DO NOT print the real error message
                 AppLog.e(T.API, e);
-                mErrorMessage = mContext.getResources().getString(R.string.error_media_upload);
+                job.errorMessage = mContext.getResources().getString(R.string.error_media_upload);
                 return null;
-            } finally {
-                // remove the temporary upload file now that we're done with it
-                if (tempFile != null && tempFile.exists()) {
-                    tempFile.delete();
-                }
             }
         }
     }
 
-    private File createTempUploadFile(String fileExtension) throws IOException {
-        return File.createTempFile("wp-", fileExtension, mContext.getCacheDir());
-    }
-
     private class PostUploadNotifier {
         private final NotificationManagerCompat mNotificationManager;
         private final NotificationCompat.Builder mNotificationBuilder;
@@ -861,7 +1035,8 @@ public class PostUploadService extends Service {
         private int mNotificationErrorId = 0;
         private int mTotalMediaItems;
         private int mCurrentMediaItem;
-        private float mItemProgressSize;
+        private float[] mItemsProgress = new float[0];
+        private int mLastProgress = -1;
 
         public PostUploadNotifier(Post post, String title, String message) {
             // add the uploader to the notification bar
@@ -879,7 +1054,7 @@ public class PostUploadService extends Service {
             startForeground(mNotificationId, mNotificationBuilder.build());
         }
 
-        public void updateNotificationIcon(Bitmap icon) {
+        public synchronized void updateNotificationIcon(Bitmap icon) {
             if (icon != null) {
                 mNotificationBuilder.setLargeIcon(icon);
             }
@@ -988,20 +1163,28 @@ public class PostUploadService extends Service {
             doNotify(mNotificationErrorId, notificationBuilder.build());
         }
 
-        public void updateNotificationProgress(float progress) {
-            if (mTotalMediaItems == 0) {
+        /*
+         * media items are uploaded in parallel, so the progress shown is the average progress of all the items
+         */
+        public synchronized void updateMediaItemProgress(int itemIndex, float progress) {
+            if (itemIndex < 0 || itemIndex >= mItemsProgress.length) {
                 return;
             }
 
-            // Simple way to show progress of entire post upload
-            // Would be better if we could get total bytes for all media items.
-            double currentChunkProgress = (mItemProgressSize * progress) / 100;
+            mItemsProgress[itemIndex] = Math.min(100, progress);
+            float totalProgress = 0;
+            for (float itemProgress : mItemsProgress) {
+                totalProgress += itemProgress;
+            }
 
-            if (mCurrentMediaItem > 1) {
-                currentChunkProgress += mItemProgressSize * (mCurrentMediaItem - 1);
+            // don't flood the notification manager with updates from all the upload threads
+            int currentProgress = (int) Math.ceil(totalProgress / mItemsProgress.length);
+            if (currentProgress == mLastProgress) {
+                return;
             }
+            mLastProgress = currentProgress;
 
-            mNotificationBuilder.setProgress(100, (int)Math.ceil(currentChunkProgress), false);
+            mNotificationBuilder.setProgress(100, currentProgress, false);
             doNotify(mNotificationId, mNotificationBuilder.build());
         }
 
@@ -1015,20 +1198,26 @@ public class PostUploadService extends Service {
             }
         }
 
-        public void setTotalMediaItems(int totalMediaItems) {
+        public synchronized void setTotalMediaItems(int totalMediaItems) {
             if (totalMediaItems <= 0) {
                 totalMediaItems = 1;
             }
 
             mTotalMediaItems = totalMediaItems;
-            mItemProgressSize = 100.0f / mTotalMediaItems;
+            mCurrentMediaItem = 0;
+            mItemsProgress = new float[totalMediaItems];
+            mLastProgress = -1;
         }
 
-        public void setCurrentMediaItem(int currentItem) {
-            mCurrentMediaItem = currentItem;
+        /*
+         * called each time the upload of a media item starts
+         */
+        public synchronized void startMediaItem(Bitmap icon) {
+            mCurrentMediaItem = Math.min(mCurrentMediaItem + 1, mTotalMediaItems);
 
             mNotificationBuilder.setContentText(String.format(getString(R.string.uploading_total), mCurrentMediaItem,
                     mTotalMediaItems));
+            updateNotificationIcon(icon);
         }
     }
 }
@@ -20,6 +20,9 @@ import org.wordpress.android.models.Account;
 import org.wordpress.android.models.AccountHelper;
 import org.wordpress.android.models.AccountModel;
 import org.wordpress.android.models.Blog;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.BlogUtils;
 import org.wordpress.android.util.NetworkUtils;
 import org.wordpress.android.util.StringUtils;
@@ -62,7 +65,7 @@ public class AccountSettingsFragment extends PreferenceFragment implements Prefe
         mWebAddressPreference.setOnPreferenceChangeListener(this);
 
         // load site list asynchronously
-        new LoadSitesTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+        new LoadSitesTask().executeOnExecutor(AppExecutors.getExecutor(Pool.DB, Priority.USER_VISIBLE));
     }
 
     @Override
@@ -190,7 +193,7 @@ public class AccountSettingsFragment extends PreferenceFragment implements Prefe
 
     private void changePrimaryBlogPreference(String blogId) {
         mPrimarySitePreference.setValue(blogId);
-        Blog primaryBlog = WordPress.wpDB.getBlogForDotComBlogId(blogId);
+        Blog primaryBlog = WordPress.getWpDB().getBlogForDotComBlogId(blogId);
         if (primaryBlog != null) {
             mPrimarySitePreference.setSummary(StringUtils.unescapeHTML(primaryBlog.getNameOrHostUrl()));
             mPrimarySitePreference.refreshAdapter();
@@ -261,7 +264,7 @@ public class AccountSettingsFragment extends PreferenceFragment implements Prefe
 
         @Override
         protected Void doInBackground(Void... params) {
-            List<Map<String, Object>> blogList = WordPress.wpDB.getBlogsBy("dotcomFlag=1", new String[]{"homeURL"});
+            List<Map<String, Object>> blogList = WordPress.getWpDB().getBlogsBy("dotcomFlag=1", new String[]{"homeURL"});
             mPrimarySitePreference.setEntries(BlogUtils.getBlogNamesFromAccountMapList(blogList));
             mPrimarySitePreference.setEntryValues(BlogUtils.getBlogIdsFromAccountMapList(blogList));
             mPrimarySitePreference.setDetails(BlogUtils.getHomeURLOrHostNamesFromAccountMapList(blogList));
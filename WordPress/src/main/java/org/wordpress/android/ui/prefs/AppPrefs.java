@@ -12,6 +12,7 @@ import org.wordpress.android.models.PeopleListFilter;
 import org.wordpress.android.models.ReaderTag;
 import org.wordpress.android.models.ReaderTagType;
 import org.wordpress.android.ui.ActivityId;
+import org.wordpress.android.ui.media.services.MediaUploadService;
 import org.wordpress.android.ui.reader.utils.ReaderUtils;
 import org.wordpress.android.ui.stats.StatsTimeframe;
 import org.wordpress.android.util.StringUtils;
@@ -116,6 +117,9 @@ public class AppPrefs {
 
         // Same as above but for the reader
         SWIPE_TO_NAVIGATE_READER,
+
+        // Number of media files uploaded at the same time for each blog by MediaUploadService
+        MAX_MEDIA_UPLOADS_PER_BLOG,
     }
 
     private static SharedPreferences prefs() {
@@ -593,4 +597,13 @@ public class AppPrefs {
         String idsAsString = TextUtils.join(",", currentIds);
         setString(DeletablePrefKey.RECENTLY_PICKED_SITE_IDS, idsAsString);
     }
+
+    public static int getMaxMediaUploadsPerBlog() {
+        int maxUploads = getInt(UndeletablePrefKey.MAX_MEDIA_UPLOADS_PER_BLOG);
+        return maxUploads > 0 ? maxUploads : MediaUploadService.DEFAULT_MAX_UPLOADS_PER_BLOG;
+    }
+
+    public static void setMaxMediaUploadsPerBlog(int maxUploads) {
+        setInt(UndeletablePrefKey.MAX_MEDIA_UPLOADS_PER_BLOG, Math.max(1, maxUploads));
+    }
 }
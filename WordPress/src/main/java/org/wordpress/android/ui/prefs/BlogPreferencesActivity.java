@@ -169,7 +169,7 @@ public class BlogPreferencesActivity extends AppCompatActivity {
 
         blog.setMaxImageWidth(mImageWidthSpinner.getSelectedItem().toString());
 
-        WordPress.wpDB.saveBlog(blog);
+        WordPress.getWpDB().saveBlog(blog);
 
         if (WordPress.getCurrentBlog().getLocalTableBlogId() == blog.getLocalTableBlogId()) {
             WordPress.currentBlog = blog;
@@ -324,11 +324,11 @@ public class BlogPreferencesActivity extends AppCompatActivity {
     }
 
     private void removeBlog() {
-        if (WordPress.wpDB.deleteBlog(this, blog.getLocalTableBlogId())) {
+        if (WordPress.getWpDB().deleteBlog(this, blog.getLocalTableBlogId())) {
             StatsTable.deleteStatsForBlog(this,blog.getLocalTableBlogId()); // Remove stats data
             AnalyticsUtils.refreshMetadata();
             ToastUtils.showToast(this, R.string.blog_removed_successfully);
-            WordPress.wpDB.deleteLastBlogId();
+            WordPress.getWpDB().deleteLastBlogId();
             WordPress.currentBlog = null;
             mBlogDeleted = true;
             setResult(RESULT_BLOG_REMOVED);
@@ -9,6 +9,9 @@ import org.wordpress.android.datasets.SiteSettingsTable;
 import org.wordpress.android.models.Blog;
 import org.wordpress.android.models.CategoryModel;
 import org.wordpress.android.models.SiteSettingsModel;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.LanguageUtils;
 import org.wordpress.android.util.AnalyticsUtils;
 import org.wordpress.android.util.AppLog;
@@ -133,7 +136,7 @@ class SelfHostedSiteSettings extends SiteSettingsInterface {
      */
     @Override
     protected void fetchRemoteData() {
-        new Thread() {
+        AppExecutors.execute(Pool.NETWORK, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
                 Object[] params = {mBlog.getRemoteBlogId(), mBlog.getUsername(), mBlog.getPassword()};
@@ -142,7 +145,7 @@ class SelfHostedSiteSettings extends SiteSettingsInterface {
                 instantiateInterface().callAsync(mOptionsCallback, Method.GET_OPTIONS, params);
                 instantiateInterface().callAsync(mCategoriesCallback, Method.GET_CATEGORIES, params);
             }
-        }.start();
+        });
     }
 
     /**
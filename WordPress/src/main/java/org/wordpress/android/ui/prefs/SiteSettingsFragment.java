@@ -233,7 +233,7 @@ public class SiteSettingsFragment extends PreferenceFragment
     @Override
     public void onPause() {
         super.onPause();
-        WordPress.wpDB.saveBlog(mBlog);
+        WordPress.getWpDB().saveBlog(mBlog);
         mIsFragmentPaused = true;
     }
 
@@ -578,7 +578,7 @@ public class SiteSettingsFragment extends PreferenceFragment
             return;
         }
         mBlog.setBlogName(mSiteSettings.getTitle());
-        WordPress.wpDB.saveBlog(mBlog);
+        WordPress.getWpDB().saveBlog(mBlog);
 
         // update the global current Blog so WordPress.getCurrentBlog() callers will get the updated object
         WordPress.setCurrentBlog(mBlog.getLocalTableBlogId());
@@ -1170,11 +1170,11 @@ public class SiteSettingsFragment extends PreferenceFragment
     }
 
     private void removeBlog() {
-        if (WordPress.wpDB.deleteBlog(getActivity(), mBlog.getLocalTableBlogId())) {
+        if (WordPress.getWpDB().deleteBlog(getActivity(), mBlog.getLocalTableBlogId())) {
             StatsTable.deleteStatsForBlog(getActivity(), mBlog.getLocalTableBlogId()); // Remove stats data
             AnalyticsUtils.refreshMetadata();
             ToastUtils.showToast(getActivity(), R.string.blog_removed_successfully);
-            WordPress.wpDB.deleteLastBlogId();
+            WordPress.getWpDB().deleteLastBlogId();
             WordPress.currentBlog = null;
             getActivity().setResult(RESULT_BLOG_REMOVED);
 
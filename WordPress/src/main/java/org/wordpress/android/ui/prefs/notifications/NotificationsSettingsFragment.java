@@ -303,7 +303,7 @@ public class NotificationsSettingsFragment extends PreferenceFragment implements
             args += " AND (url LIKE '%" + trimmedQuery + "%' OR blogName LIKE '%" + trimmedQuery + "%')";
         }
 
-        List<Map<String, Object>> blogs = WordPress.wpDB.getBlogsBy(args, null, 0, false);
+        List<Map<String, Object>> blogs = WordPress.getWpDB().getBlogsBy(args, null, 0, false);
         mSiteCount = blogs.size();
 
         Context context = getActivity();
@@ -16,6 +16,8 @@ public class ReaderConstants {
     // min size for images in post content to be shown in a gallery (thumbnail strip) - matches
     // the Calypso web reader
     public static int MIN_GALLERY_IMAGE_WIDTH  = 144;
+    // max # images shown in a gallery (thumbnail strip)
+    public static final int GALLERY_IMAGE_COUNT = 4;
 
     public static final String HTTP_REFERER_URL = "https://wordpress.com";  // referrer url for reader posts opened in a browser
 
@@ -53,6 +53,9 @@ import org.wordpress.android.ui.reader.views.ReaderWebView.ReaderWebViewPageFini
 import org.wordpress.android.ui.reader.views.ReaderWebView.ReaderWebViewUrlClickListener;
 import org.wordpress.android.util.AnalyticsUtils;
 import org.wordpress.android.util.AniUtils;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.DateTimeUtils;
@@ -915,7 +918,7 @@ public class ReaderPostDetailFragment extends Fragment
             return;
         }
 
-        new ShowPostTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+        new ShowPostTask().executeOnExecutor(AppExecutors.getExecutor(Pool.DB, Priority.USER_VISIBLE));
     }
 
     /*
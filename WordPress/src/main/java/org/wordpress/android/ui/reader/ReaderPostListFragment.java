@@ -59,6 +59,9 @@ import org.wordpress.android.ui.reader.utils.ReaderUtils;
 import org.wordpress.android.ui.reader.views.ReaderSiteHeaderView;
 import org.wordpress.android.util.AnalyticsUtils;
 import org.wordpress.android.util.AniUtils;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.DateTimeUtils;
@@ -1123,7 +1126,7 @@ public class ReaderPostListFragment extends Fragment
      * load tags on which the main data will be filtered
      */
     private void loadTags(FilteredRecyclerView.FilterCriteriaAsyncLoaderListener listener) {
-        new LoadTagsTask(listener).executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+        new LoadTagsTask(listener).executeOnExecutor(AppExecutors.getExecutor(Pool.DB, Priority.USER_VISIBLE));
     }
 
     /*
@@ -1249,7 +1252,7 @@ public class ReaderPostListFragment extends Fragment
         if (!isAdded() || !hasCurrentTag()) {
             return;
         }
-        new Thread() {
+        AppExecutors.execute(Pool.DB, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
                 if (ReaderTagTable.shouldAutoUpdateTag(getCurrentTag()) && isAdded()) {
@@ -1261,7 +1264,7 @@ public class ReaderPostListFragment extends Fragment
                     });
                 }
             }
-        }.start();
+        });
     }
 
     private boolean isUpdating() {
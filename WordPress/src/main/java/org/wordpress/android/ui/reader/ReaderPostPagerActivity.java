@@ -37,6 +37,9 @@ import org.wordpress.android.ui.reader.models.ReaderBlogIdPostIdList;
 import org.wordpress.android.ui.reader.services.ReaderPostService;
 import org.wordpress.android.util.AnalyticsUtils;
 import org.wordpress.android.util.AniUtils;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.NetworkUtils;
 import org.wordpress.android.util.ToastUtils;
@@ -600,7 +603,7 @@ public class ReaderPostPagerActivity extends AppCompatActivity
      * one will be made active
      */
     private void loadPosts(final long blogId, final long postId) {
-        new Thread() {
+        AppExecutors.execute(Pool.DB, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
                 final ReaderBlogIdPostIdList idList;
@@ -647,7 +650,7 @@ public class ReaderPostPagerActivity extends AppCompatActivity
                     }
                 });
             }
-        }.start();
+        });
     }
 
     private ReaderTag getCurrentTag() {
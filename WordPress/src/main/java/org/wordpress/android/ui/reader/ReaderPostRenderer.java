@@ -10,19 +10,19 @@ import org.wordpress.android.models.ReaderPost;
 import org.wordpress.android.models.ReaderPostDiscoverData;
 import org.wordpress.android.ui.reader.utils.ImageSizeMap;
 import org.wordpress.android.ui.reader.utils.ImageSizeMap.ImageSize;
+import org.wordpress.android.ui.reader.utils.ReaderHtmlTagRewriter;
 import org.wordpress.android.ui.reader.utils.ReaderHtmlUtils;
-import org.wordpress.android.ui.reader.utils.ReaderIframeScanner;
-import org.wordpress.android.ui.reader.utils.ReaderImageScanner;
 import org.wordpress.android.ui.reader.utils.ReaderUtils;
 import org.wordpress.android.ui.reader.views.ReaderWebView;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.DisplayUtils;
 import org.wordpress.android.util.PhotonUtils;
 import org.wordpress.android.util.StringUtils;
 
 import java.lang.ref.WeakReference;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Random;
 import java.util.regex.Pattern;
 
@@ -37,13 +37,16 @@ import java.util.regex.Pattern;
  */
 class ReaderPostRenderer {
 
+    // tiled gallery classes which get a custom CSS class added, matched in a single pass
+    private static final Pattern GALLERY_CLASSES_PATTERN = Pattern.compile(
+            "(tiled-gallery|gallery-row|gallery-group|tiled-gallery-item)([\\s\"'])");
+
     private final ReaderResourceVars mResourceVars;
     private final ReaderPost mPost;
     private final int mMinFullSizeWidthDp;
     private final int mMinMidSizeWidthDp;
     private final WeakReference<ReaderWebView> mWeakWebView;
 
-    private StringBuilder mRenderBuilder;
     private String mRenderedHtml;
     private ImageSizeMap mAttachmentSizes;
 
@@ -70,22 +73,19 @@ class ReaderPostRenderer {
 
     void beginRender() {
         final Handler handler = new Handler();
-        mRenderBuilder = new StringBuilder(getPostContent());
+        final String postContent = getPostContent();
 
-        new Thread() {
+        AppExecutors.execute(Pool.CPU, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
-                final boolean hasTiledGallery = hasTiledGallery(mRenderBuilder.toString());
-
-                if (!(hasTiledGallery && mResourceVars.isWideDisplay)) {
-                    resizeImages();
-                }
+                final boolean hasTiledGallery = hasTiledGallery(postContent);
 
-                resizeIframes();
+                // images and iframes are resized in a single pass over the content
+                boolean resizeImages = !(hasTiledGallery && mResourceVars.isWideDisplay);
+                String resizedContent = new ReaderHtmlTagRewriter(mTagListener, resizeImages).rewrite(postContent);
 
-                final String htmlContent = formatPostContentForWebView(mRenderBuilder.toString(), hasTiledGallery,
+                final String htmlContent = formatPostContentForWebView(resizedContent, hasTiledGallery,
                         mResourceVars.isWideDisplay);
-                mRenderBuilder = null;
                 handler.post(new Runnable() {
                     @Override
                     public void run() {
@@ -93,7 +93,7 @@ class ReaderPostRenderer {
                     }
                 });
             }
-        }.start();
+        });
     }
 
     public static boolean hasTiledGallery(String text) {
@@ -102,34 +102,22 @@ class ReaderPostRenderer {
     }
 
     /*
-     * scan the content for images and make sure they're correctly sized for the device
+     * makes sure images and iframes found in the content are correctly sized for the device
      */
-    private void resizeImages() {
-        ReaderHtmlUtils.HtmlScannerListener imageListener = new ReaderHtmlUtils.HtmlScannerListener() {
-            @Override
-            public void onTagFound(String imageTag, String imageUrl) {
-                if (!imageUrl.contains("wpcom-smileys")) {
-                    replaceImageTag(imageTag, imageUrl);
-                }
+    private final ReaderHtmlTagRewriter.TagListener mTagListener = new ReaderHtmlTagRewriter.TagListener() {
+        @Override
+        public String onImageTag(String imageTag, String imageUrl) {
+            if (imageUrl.contains("wpcom-smileys")) {
+                return null;
             }
-        };
-        ReaderImageScanner scanner = new ReaderImageScanner(mRenderBuilder.toString(), mPost.isPrivate);
-        scanner.beginScan(imageListener);
-    }
+            return makeResizedImageTag(imageTag, imageUrl);
+        }
 
-    /*
-     * scan the content for iframes and make sure they're correctly sized for the device
-     */
-    private void resizeIframes() {
-        ReaderHtmlUtils.HtmlScannerListener iframeListener = new ReaderHtmlUtils.HtmlScannerListener() {
-            @Override
-            public void onTagFound(String tag, String src) {
-                replaceIframeTag(tag, src);
-            }
-        };
-        ReaderIframeScanner scanner = new ReaderIframeScanner(mRenderBuilder.toString());
-        scanner.beginScan(iframeListener);
-    }
+        @Override
+        public String onIframeTag(String tag, String src) {
+            return makeResizedIframeTag(tag, src);
+        }
+    };
 
     /*
      * called once the content is ready to be rendered in the webView
@@ -152,11 +140,11 @@ class ReaderPostRenderer {
     }
 
     /*
-     * called when image scanner finds an image, tries to replace the image tag with one that
-     * has height & width attributes set correctly for the current display, if that fails
-     * replaces it with one that has our 'size-none' class
+     * called when the rewriter finds an image, returns an image tag that has height & width
+     * attributes set correctly for the current display, if that fails returns one that has
+     * our 'size-none' class
      */
-    private void replaceImageTag(final String imageTag, final String imageUrl) {
+    private String makeResizedImageTag(final String imageTag, final String imageUrl) {
         ImageSize origSize = getImageSize(imageTag, imageUrl);
         boolean hasWidth = (origSize != null && origSize.width > 0);
         boolean isFullSize = hasWidth && (origSize.width >= mMinFullSizeWidthDp);
@@ -164,24 +152,15 @@ class ReaderPostRenderer {
                 && (origSize.width >= mMinMidSizeWidthDp)
                 && (origSize.width < mMinFullSizeWidthDp);
 
-        final String newImageTag;
         if (isFullSize) {
-            newImageTag = makeFullSizeImageTag(imageUrl, origSize.width, origSize.height);
+            return makeFullSizeImageTag(imageUrl, origSize.width, origSize.height);
         } else if (isMidSize) {
-            newImageTag = makeImageTag(imageUrl, origSize.width, origSize.height, "size-medium");
+            return makeImageTag(imageUrl, origSize.width, origSize.height, "size-medium");
         } else if (hasWidth) {
-            newImageTag = makeImageTag(imageUrl, origSize.width, origSize.height, "size-none");
+            return makeImageTag(imageUrl, origSize.width, origSize.height, "size-none");
         } else {
-            newImageTag = "<img class='size-none' src='" + imageUrl + "' />";
-        }
-
-        int start = mRenderBuilder.indexOf(imageTag);
-        if (start == -1) {
-            AppLog.w(AppLog.T.READER, "reader renderer > image not found in builder");
-            return;
+            return "<img class='size-none' src='" + imageUrl + "' />";
         }
-
-        mRenderBuilder.replace(start, start + imageTag.length(), newImageTag);
     }
 
     private String makeImageTag(final String imageUrl, int width, int height, final String imageClass) {
@@ -283,9 +262,9 @@ class ReaderPostRenderer {
     }
 
     /*
-     * replace the passed iframe tag with one that's correctly sized for the device
+     * returns an iframe tag to replace the passed one that's correctly sized for the device
      */
-    private void replaceIframeTag(final String tag, final String src) {
+    private String makeResizedIframeTag(final String tag, final String src) {
         int width = ReaderHtmlUtils.getWidthAttrValue(tag);
         int height = ReaderHtmlUtils.getHeightAttrValue(tag);
 
@@ -300,18 +279,10 @@ class ReaderPostRenderer {
             newHeight = mResourceVars.videoHeightPx;
         }
 
-        String newTag = "<iframe src='" + src + "'" +
+        return "<iframe src='" + src + "'" +
                 " frameborder='0' allowfullscreen='true' allowtransparency='true'" +
                 " width='" + pxToDp(newWidth) + "'" +
                 " height='" + pxToDp(newHeight) + "' />";
-
-        int start = mRenderBuilder.indexOf(tag);
-        if (start == -1) {
-            AppLog.w(AppLog.T.READER, "reader renderer > iframe not found in builder");
-            return;
-        }
-
-        mRenderBuilder.replace(start, start + tag.length(), newTag);
     }
 
     /*
@@ -505,14 +476,9 @@ class ReaderPostRenderer {
         .append("</style>");
 
         // add a custom CSS class to (any) tiled gallery elements to make them easier selectable for various rules
-        final List<String> classAmendRegexes = Arrays.asList(
-                "(tiled-gallery)([\\s\"\'])",
-                "(gallery-row)([\\s\"'])",
-                "(gallery-group)([\\s\"'])",
-                "(tiled-gallery-item)([\\s\"'])");
         String contentCustomised = content;
-        for (String classToAmend : classAmendRegexes) {
-            contentCustomised = contentCustomised.replaceAll(classToAmend, "$1 " + galleryOnlyClass + "$2");
+        if (content.contains("gallery")) {
+            contentCustomised = GALLERY_CLASSES_PATTERN.matcher(content).replaceAll("$1 " + galleryOnlyClass + "$2");
         }
 
         sbHtml.append("</head><body>")
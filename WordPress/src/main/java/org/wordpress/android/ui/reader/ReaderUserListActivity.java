@@ -15,6 +15,9 @@ import org.wordpress.android.models.ReaderUserList;
 import org.wordpress.android.ui.reader.adapters.ReaderUserAdapter;
 import org.wordpress.android.ui.reader.utils.ReaderUtils;
 import org.wordpress.android.ui.reader.views.ReaderRecyclerView;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.DisplayUtils;
 import org.wordpress.android.widgets.RecyclerItemDecoration;
 
@@ -95,7 +98,7 @@ public class ReaderUserListActivity extends AppCompatActivity {
     private void loadUsers(final long blogId,
                            final long postId,
                            final long commentId) {
-        new Thread() {
+        AppExecutors.execute(Pool.DB, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
                 final String title = getTitleString(blogId, postId, commentId);
@@ -125,7 +128,7 @@ public class ReaderUserListActivity extends AppCompatActivity {
                     }
                 });
             }
-        }.start();
+        });
     }
 
     private String getTitleString(final long blogId,
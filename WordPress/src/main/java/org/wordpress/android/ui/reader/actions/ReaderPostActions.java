@@ -26,6 +26,9 @@ import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResult;
 import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResultListener;
 import org.wordpress.android.ui.reader.models.ReaderSimplePost;
 import org.wordpress.android.ui.reader.models.ReaderSimplePostList;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.JSONUtils;
@@ -143,7 +146,7 @@ public class ReaderPostActions {
 
         final Handler handler = new Handler();
 
-        new Thread() {
+        AppExecutors.execute(Pool.DB, new Runnable() {
             @Override
             public void run() {
                 ReaderPost serverPost = ReaderPost.fromJson(jsonObject);
@@ -193,7 +196,7 @@ public class ReaderPostActions {
                     });
                 }
             }
-        }.start();
+        });
     }
 
     /*
@@ -310,7 +313,7 @@ public class ReaderPostActions {
 
         // don't bump stats for posts in blogs the current user is an admin of, unless
         // this is a private post since we count views for private posts from admins
-        if (!post.isPrivate && WordPress.wpDB.isCurrentUserAdminOfRemoteBlogId(post.blogId)) {
+        if (!post.isPrivate && WordPress.getWpDB().isCurrentUserAdminOfRemoteBlogId(post.blogId)) {
             AppLog.d(T.READER, "skipped bump page view - user is admin");
             return;
         }
@@ -343,7 +346,7 @@ public class ReaderPostActions {
             }
         };
 
-        WordPress.requestQueue.add(request);
+        WordPress.getRequestQueue().add(request);
     }
 
     /*
@@ -381,7 +384,7 @@ public class ReaderPostActions {
                                                    final JSONObject jsonObject) {
         if (jsonObject == null) return;
 
-        new Thread() {
+        AppExecutors.execute(Pool.CPU, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
                 JSONArray jsonPosts = jsonObject.optJSONArray("posts");
@@ -400,7 +403,7 @@ public class ReaderPostActions {
                     EventBus.getDefault().post(new ReaderEvents.RelatedPostsUpdated(sourcePost, localRelatedPosts, globalRelatedPosts));
                 }
             }
-        }.start();
+        });
 
     }
 }
@@ -38,6 +38,9 @@ import org.wordpress.android.ui.reader.views.ReaderSiteHeaderView;
 import org.wordpress.android.ui.reader.views.ReaderTagHeaderView;
 import org.wordpress.android.ui.reader.views.ReaderThumbnailStrip;
 import org.wordpress.android.util.AnalyticsUtils;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.DateTimeUtils;
 import org.wordpress.android.util.DisplayUtils;
@@ -392,9 +395,9 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
 
             final int titleMargin;
             if (post.getCardType() == ReaderCardType.GALLERY) {
-                // if this post is a gallery, scan it for images and show a thumbnail strip of
-                // them - note that the thumbnail strip will take care of making itself visible
-                holder.thumbnailStrip.loadThumbnails(post.blogId, post.postId, post.isPrivate);
+                // if this post is a gallery, show a thumbnail strip of its images - note that
+                // the thumbnail strip will take care of making itself visible
+                holder.thumbnailStrip.loadThumbnails(post);
                 holder.framePhoto.setVisibility(View.GONE);
                 titleMargin = mMarginLarge;
             } else if (post.getCardType() == ReaderCardType.VIDEO) {
@@ -683,7 +686,7 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
             AppLog.w(AppLog.T.READER, "reader posts task already running");
             return;
         }
-        new LoadPostsTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+        new LoadPostsTask().executeOnExecutor(AppExecutors.getExecutor(Pool.DB, Priority.USER_VISIBLE));
     }
 
     private ReaderPost getItem(int position) {
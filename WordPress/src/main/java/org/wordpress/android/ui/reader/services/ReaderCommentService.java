@@ -23,6 +23,8 @@ import org.wordpress.android.ui.reader.ReaderEvents;
 import org.wordpress.android.ui.reader.actions.ReaderActions;
 import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResult;
 import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResultListener;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.JSONUtils;
 
@@ -160,7 +162,7 @@ public class ReaderCommentService extends Service {
             return;
         }
 
-        new Thread() {
+        AppExecutors.execute(Pool.DB, new Runnable() {
             @Override
             public void run() {
                 final boolean hasNewComments;
@@ -201,6 +203,6 @@ public class ReaderCommentService extends Service {
                         (hasNewComments ? ReaderActions.UpdateResult.HAS_NEW : ReaderActions.UpdateResult.UNCHANGED);
                 resultListener.onUpdateResult(result);
             }
-        }.start();
+        });
     }
 }
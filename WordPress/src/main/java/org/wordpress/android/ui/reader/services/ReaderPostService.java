@@ -22,6 +22,9 @@ import org.wordpress.android.ui.reader.ReaderEvents;
 import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResult;
 import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResultListener;
 import org.wordpress.android.ui.reader.utils.ReaderUtils;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.StringUtils;
 import org.wordpress.android.util.UrlUtils;
@@ -286,11 +289,13 @@ public class ReaderPostService extends Service {
             return;
         }
 
-        new Thread() {
+        // older posts are requested when the user scrolls to the end of the list or taps a gap marker
+        Priority priority = (updateAction == UpdateAction.REQUEST_NEWER ? Priority.BACKGROUND : Priority.USER_VISIBLE);
+        AppExecutors.execute(Pool.DB, priority, new Runnable() {
             @Override
             public void run() {
                 ReaderPostList serverPosts = ReaderPostList.fromJson(jsonObject);
-                UpdateResult updateResult = ReaderPostTable.comparePosts(serverPosts);
+                UpdateResult updateResult = ReaderPostTable.comparePosts(tag, serverPosts);
                 if (updateResult.isNewOrChanged()) {
                     // gap detection - only applies to posts with a specific tag
                     ReaderPost postWithGap = null;
@@ -303,7 +308,7 @@ public class ReaderPostService extends Service {
                                 int numServerPosts = serverPosts.size();
                                 if (numServerPosts >= 2
                                         && ReaderPostTable.getNumPostsWithTag(tag) > 0
-                                        && !ReaderPostTable.hasOverlap(serverPosts)) {
+                                        && !ReaderPostTable.hasOverlap(tag, serverPosts)) {
                                     // treat the second to last server post as having a gap
                                     postWithGap = serverPosts.get(numServerPosts - 2);
                                     // remove the last server post to deal with the edge case of
@@ -336,7 +341,7 @@ public class ReaderPostService extends Service {
                 AppLog.d(AppLog.T.READER, "requested posts response = " + updateResult.toString());
                 resultListener.onUpdateResult(updateResult);
             }
-        }.start();
+        });
     }
 
     /*
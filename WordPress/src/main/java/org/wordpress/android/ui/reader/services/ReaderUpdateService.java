@@ -23,6 +23,8 @@ import org.wordpress.android.models.ReaderTagType;
 import org.wordpress.android.ui.reader.ReaderConstants;
 import org.wordpress.android.ui.reader.ReaderEvents;
 import org.wordpress.android.ui.reader.utils.ReaderUtils;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.JSONUtils;
 
@@ -136,7 +138,7 @@ public class ReaderUpdateService extends Service {
     }
 
     private void handleUpdateTagsResponse(final JSONObject jsonObject) {
-        new Thread() {
+        AppExecutors.execute(Pool.DB, new Runnable() {
             @Override
             public void run() {
                 // get server topics, both default & followed - but use "recommended" for logged-out
@@ -179,7 +181,7 @@ public class ReaderUpdateService extends Service {
 
                 taskCompleted(UpdateTask.TAGS);
             }
-        }.start();
+        });
     }
 
     /*
@@ -263,7 +265,7 @@ public class ReaderUpdateService extends Service {
     }
 
     private void handleFollowedBlogsResponse(final JSONObject jsonObject) {
-        new Thread() {
+        AppExecutors.execute(Pool.DB, new Runnable() {
             @Override
             public void run() {
                 ReaderBlogList serverBlogs = ReaderBlogList.fromJson(jsonObject);
@@ -285,7 +287,7 @@ public class ReaderUpdateService extends Service {
 
                 taskCompleted(UpdateTask.FOLLOWED_BLOGS);
             }
-        }.start();
+        });
     }
 
     /***
@@ -313,7 +315,7 @@ public class ReaderUpdateService extends Service {
         WordPress.getRestClientUtilsV1_1().get(path, listener, errorListener);
     }
     private void handleRecommendedBlogsResponse(final JSONObject jsonObject) {
-        new Thread() {
+        AppExecutors.execute(Pool.DB, new Runnable() {
             @Override
             public void run() {
                 ReaderRecommendBlogList serverBlogs = ReaderRecommendBlogList.fromJson(jsonObject);
@@ -326,6 +328,6 @@ public class ReaderUpdateService extends Service {
 
                 taskCompleted(UpdateTask.RECOMMENDED_BLOGS);
             }
-        }.start();
+        });
     }
 }
@@ -0,0 +1,138 @@
+package org.wordpress.android.ui.reader.utils;
+
+import android.text.TextUtils;
+
+/**
+ * rewrites the img and iframe tags in post content in a single pass - the content is tokenized
+ * once and copied into a single output builder as tags are found, rather than being scanned for
+ * each type of tag and then searched again (indexOf + replace) for each tag to replace
+ */
+public class ReaderHtmlTagRewriter {
+
+    public interface TagListener {
+        /*
+         * return the tag to use in place of the passed image tag, or null to leave it as is
+         */
+        String onImageTag(String tag, String src);
+
+        /*
+         * return the tag to use in place of the passed iframe tag, or null to leave it as is
+         */
+        String onIframeTag(String tag, String src);
+    }
+
+    private static final String TAG_IMG = "img";
+    private static final String TAG_IFRAME = "iframe";
+
+    private final TagListener mListener;
+    private final boolean mRewriteImages;
+
+    public ReaderHtmlTagRewriter(TagListener listener, boolean rewriteImages) {
+        if (listener == null) {
+            throw new IllegalArgumentException("TagListener is required");
+        }
+        mListener = listener;
+        mRewriteImages = rewriteImages;
+    }
+
+    /*
+     * returns the passed content with its img (if enabled) and iframe tags replaced by the ones
+     * returned by the listener - the passed string is returned as is when nothing was replaced
+     */
+    public String rewrite(final String content) {
+        if (content == null) {
+            return null;
+        }
+
+        StringBuilder output = null;
+        int copiedUpTo = 0;
+
+        int pos = content.indexOf('<');
+        while (pos != -1) {
+            boolean isImage = mRewriteImages && isTagStart(content, pos, TAG_IMG);
+            boolean isIframe = !isImage && isTagStart(content, pos, TAG_IFRAME);
+            if (!isImage && !isIframe) {
+                pos = content.indexOf('<', pos + 1);
+                continue;
+            }
+
+            int tagEnd = findTagEnd(content, pos);
+            if (tagEnd == -1) {
+                // unterminated tag, leave the rest of the content alone
+                break;
+            }
+
+            String tag = content.substring(pos, tagEnd);
+            String src = ReaderHtmlUtils.getSrcAttrValue(tag);
+            String newTag = null;
+            if (!TextUtils.isEmpty(src)) {
+                newTag = isImage ? mListener.onImageTag(tag, src) : mListener.onIframeTag(tag, src);
+            }
+
+            if (newTag != null) {
+                if (output == null) {
+                    output = new StringBuilder(content.length() + (content.length() / 8));
+                }
+                output.append(content, copiedUpTo, pos).append(newTag);
+                copiedUpTo = tagEnd;
+            }
+
+            pos = content.indexOf('<', tagEnd);
+        }
+
+        if (output == null) {
+            return content;
+        }
+
+        output.append(content, copiedUpTo, content.length());
+        return output.toString();
+    }
+
+    /*
+     * returns true if the passed position starts an opening tag with the passed name followed
+     * by whitespace, matching what ReaderImageScanner & ReaderIframeScanner look for
+     */
+    private static boolean isTagStart(final String content, int pos, final String tagName) {
+        int nameEnd = pos + 1 + tagName.length();
+        return nameEnd < content.length()
+                && content.regionMatches(true, pos + 1, tagName, 0, tagName.length())
+                && Character.isWhitespace(content.charAt(nameEnd));
+    }
+
+    /*
+     * returns the position right after the '>' which closes the tag starting at the passed
+     * position, ignoring any '>' inside quoted attribute values - returns -1 if the tag is
+     * never closed. A quote which isn't closed before the next '<' or the end of the content
+     * is unbalanced, the attribute is then scanned again as if it weren't quoted
+     */
+    private static int findTagEnd(final String content, int tagStart) {
+        char quote = 0;
+        int quoteStart = -1;
+        boolean afterEquals = false;
+        int i = tagStart + 1;
+        while (i < content.length()) {
+            char c = content.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else if (c == '<' || i == content.length() - 1) {
+                    quote = 0;
+                    i = quoteStart + 1;
+                    continue;
+                }
+            } else if (c == '>') {
+                return i + 1;
+            } else if (c == '=') {
+                afterEquals = true;
+            } else if ((c == '"' || c == '\'') && afterEquals) {
+                quote = c;
+                quoteStart = i;
+                afterEquals = false;
+            } else if (!Character.isWhitespace(c)) {
+                afterEquals = false;
+            }
+            i++;
+        }
+        return -1;
+    }
+}
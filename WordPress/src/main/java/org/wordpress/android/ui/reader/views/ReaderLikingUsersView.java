@@ -12,6 +12,9 @@ import org.wordpress.android.datasets.ReaderLikeTable;
 import org.wordpress.android.datasets.ReaderUserTable;
 import org.wordpress.android.models.ReaderPost;
 import org.wordpress.android.models.ReaderUserIdList;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.widgets.WPNetworkImageView;
 
 import java.util.ArrayList;
@@ -41,7 +44,7 @@ public class ReaderLikingUsersView extends LinearLayout {
         }
 
         final Handler handler = new Handler();
-        new Thread() {
+        AppExecutors.execute(Pool.DB, Priority.USER_VISIBLE, new Runnable() {
             @Override
             public void run() {
                 // get avatar URLs of liking users up to the max, sized to fit
@@ -56,7 +59,7 @@ public class ReaderLikingUsersView extends LinearLayout {
                     }
                 });
             }
-        }.start();
+        });
     }
 
     /*
@@ -11,11 +11,11 @@ import android.widget.LinearLayout;
 
 import org.wordpress.android.R;
 import org.wordpress.android.datasets.ReaderPostTable;
+import org.wordpress.android.models.ReaderPost;
 import org.wordpress.android.ui.reader.ReaderActivityLauncher;
 import org.wordpress.android.ui.reader.ReaderActivityLauncher.PhotoViewerOption;
 import org.wordpress.android.ui.reader.ReaderConstants;
 import org.wordpress.android.ui.reader.models.ReaderImageList;
-import org.wordpress.android.ui.reader.utils.ReaderImageScanner;
 import org.wordpress.android.util.AniUtils;
 import org.wordpress.android.util.DisplayUtils;
 import org.wordpress.android.util.PhotonUtils;
@@ -29,8 +29,6 @@ import java.util.EnumSet;
  */
 public class ReaderThumbnailStrip extends LinearLayout {
 
-    public static final int IMAGE_COUNT = 4;
-
     private ViewGroup mView;
     private int mThumbnailHeight;
     private int mThumbnailWidth;
@@ -62,18 +60,22 @@ public class ReaderThumbnailStrip extends LinearLayout {
 
         int displayWidth = DisplayUtils.getDisplayPixelWidth(context);
         int margins = context.getResources().getDimensionPixelSize(R.dimen.reader_card_content_padding) * 2;
-        mThumbnailWidth = (displayWidth - margins) / IMAGE_COUNT;
+        mThumbnailWidth = (displayWidth - margins) / ReaderConstants.GALLERY_IMAGE_COUNT;
     }
 
-    public void loadThumbnails(long blogId, long postId, boolean isPrivate) {
+    /*
+     * shows the post's gallery images, which were found when the post was saved - note that
+     * the post's text isn't needed here, so the post can be read without its text column
+     */
+    public void loadThumbnails(ReaderPost post) {
         // get rid of any views already added
         mView.removeAllViews();
 
-        // get this post's content and scan it for images suitable in a gallery
-        final String content = ReaderPostTable.getPostText(blogId, postId);
-        final ReaderImageList imageList =
-                new ReaderImageScanner(content, isPrivate).getImageList(IMAGE_COUNT, ReaderConstants.MIN_GALLERY_IMAGE_WIDTH);
-        if (imageList.size() < IMAGE_COUNT) {
+        final long blogId = post.blogId;
+        final long postId = post.postId;
+        final boolean isPrivate = post.isPrivate;
+        final ReaderImageList imageList = post.getThumbnailStripImages();
+        if (imageList.size() < ReaderConstants.GALLERY_IMAGE_COUNT) {
             mView.setVisibility(View.GONE);
             return;
         }
@@ -98,6 +100,8 @@ public class ReaderThumbnailStrip extends LinearLayout {
             imageView.setOnClickListener(new OnClickListener() {
                 @Override
                 public void onClick(View view) {
+                    // the photo viewer needs the post's content to page through its images
+                    String content = ReaderPostTable.getPostText(blogId, postId);
                     ReaderActivityLauncher.showReaderPhotoViewer(
                             view.getContext(),
                             imageUrl,
@@ -110,7 +114,7 @@ public class ReaderThumbnailStrip extends LinearLayout {
             });
 
             numAdded++;
-            if (numAdded >= IMAGE_COUNT) {
+            if (numAdded >= ReaderConstants.GALLERY_IMAGE_COUNT) {
                 break;
             }
         }
@@ -24,7 +24,6 @@ import android.widget.Spinner;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import org.apache.commons.lang.StringUtils;
 import org.wordpress.android.R;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.analytics.AnalyticsTracker;
@@ -36,6 +35,7 @@ import org.wordpress.android.ui.WPWebViewActivity;
 import org.wordpress.android.ui.accounts.SignInActivity;
 import org.wordpress.android.ui.posts.PromoDialog;
 import org.wordpress.android.ui.prefs.AppPrefs;
+import org.wordpress.android.ui.stats.datasets.StatsWidgetTable;
 import org.wordpress.android.util.AnalyticsUtils;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
@@ -107,7 +107,7 @@ public class StatsActivity extends AppCompatActivity
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
-        if (WordPress.wpDB == null) {
+        if (WordPress.getWpDB() == null) {
             Toast.makeText(this, R.string.fatal_db_error, Toast.LENGTH_LONG).show();
             finish();
             return;
@@ -785,7 +785,7 @@ public class StatsActivity extends AppCompatActivity
                     // Let's try the global wpcom credentials them first
                     String username = AccountHelper.getDefaultAccount().getUserName();
                     currentBlog.setDotcom_username(username);
-                    WordPress.wpDB.saveBlog(currentBlog);
+                    WordPress.getWpDB().saveBlog(currentBlog);
                     createFragments(true);
                 } else {
                     startWPComLoginActivity();
@@ -817,7 +817,7 @@ public class StatsActivity extends AppCompatActivity
             return;
         }
 
-        if (!StringUtils.isEmpty(AppPrefs.getStatsWidgetsKeys())) {
+        if (StatsWidgetTable.hasWidgets(this)) {
             // Stats widgets already used!!
             return;
         }
@@ -34,6 +34,9 @@ import org.wordpress.android.ui.ActivityId;
 import org.wordpress.android.ui.stats.models.PostViewsModel;
 import org.wordpress.android.ui.stats.models.VisitModel;
 import org.wordpress.android.util.AnalyticsUtils;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
+import org.wordpress.android.util.AppExecutors.Priority;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.DisplayUtils;
 import org.wordpress.android.util.FormatUtils;
@@ -44,8 +47,6 @@ import org.wordpress.android.util.widgets.CustomSwipeRefreshLayout;
 
 import java.lang.ref.WeakReference;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadPoolExecutor;
 
 
 /**
@@ -832,9 +833,8 @@ public class StatsSingleItemDetailsActivity extends AppCompatActivity
             }
             mIsUpdatingStats = false;
             mSwipeToRefreshHelper.setRefreshing(false);
-            // single background thread used to parse the response in BG.
-            ThreadPoolExecutor parseResponseExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
-            parseResponseExecutor.submit(new Thread() {
+            // parse the response in BG.
+            AppExecutors.execute(Pool.CPU, Priority.USER_VISIBLE, new Runnable() {
                 @Override
                 public void run() {
                     //AppLog.d(AppLog.T.STATS, "The REST response: " + response.toString());
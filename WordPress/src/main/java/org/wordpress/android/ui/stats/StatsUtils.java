@@ -321,7 +321,11 @@ public class StatsUtils {
         }
     }
 
-    public static synchronized BaseStatsModel parseResponse(StatsService.StatsEndpointsEnum endpointName, String blogID, JSONObject response)
+    /*
+     * models are built from the passed response only, without any shared state, so responses
+     * can be parsed on several threads at once
+     */
+    public static BaseStatsModel parseResponse(StatsService.StatsEndpointsEnum endpointName, String blogID, JSONObject response)
             throws JSONException {
         BaseStatsModel model = null;
         switch (endpointName) {
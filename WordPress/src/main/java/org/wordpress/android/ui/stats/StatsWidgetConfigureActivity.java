@@ -64,7 +64,7 @@ public class StatsWidgetConfigureActivity extends AppCompatActivity
         }
 
         // If no visible blogs
-        List<Map<String, Object>> accounts = WordPress.wpDB.getBlogsBy("isHidden = 0", null);
+        List<Map<String, Object>> accounts = WordPress.getWpDB().getBlogsBy("isHidden = 0", null);
         if (accounts.size() == 0) {
             ToastUtils.showToast(getBaseContext(), R.string.stats_widget_error_no_visible_blog, ToastUtils.Duration.LONG);
             finish();
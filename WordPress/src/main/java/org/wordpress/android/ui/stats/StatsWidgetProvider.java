@@ -14,17 +14,14 @@ import com.android.volley.VolleyError;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringEscapeUtils;
-import org.apache.commons.lang.StringUtils;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.wordpress.android.R;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.analytics.AnalyticsTracker;
 import org.wordpress.android.models.AccountHelper;
 import org.wordpress.android.models.Blog;
 import org.wordpress.android.ui.main.WPMainActivity;
-import org.wordpress.android.ui.prefs.AppPrefs;
+import org.wordpress.android.ui.stats.datasets.StatsWidgetTable;
+import org.wordpress.android.ui.stats.datasets.StatsWidgetTable.WidgetData;
 import org.wordpress.android.ui.stats.exceptions.StatsError;
 import org.wordpress.android.ui.stats.models.VisitModel;
 import org.wordpress.android.ui.stats.service.StatsService;
@@ -45,8 +42,8 @@ public class StatsWidgetProvider extends AppWidgetProvider {
 
         for (int widgetId : allWidgets) {
             RemoteViews remoteViews = new RemoteViews(context.getPackageName(), R.layout.stats_widget_layout);
-            int remoteBlogID = getRemoteBlogIDFromWidgetID(widgetId);
-            int localId = WordPress.wpDB.getLocalTableBlogIdForJetpackOrWpComRemoteSiteId(remoteBlogID);
+            int remoteBlogID = StatsWidgetTable.getRemoteBlogIdForWidget(context, widgetId);
+            int localId = WordPress.getWpDB().getLocalTableBlogIdForJetpackOrWpComRemoteSiteId(remoteBlogID);
             Blog blog = WordPress.getBlog(localId);
             String name;
             if (blog != null) {
@@ -80,7 +77,7 @@ public class StatsWidgetProvider extends AppWidgetProvider {
         }
     }
 
-    private static void showStatsData(Context context, int[] allWidgets, Blog blog, JSONObject data) {
+    private static void showStatsData(Context context, int[] allWidgets, Blog blog, WidgetData data) {
         if (allWidgets.length == 0){
             return;
         }
@@ -98,16 +95,16 @@ public class StatsWidgetProvider extends AppWidgetProvider {
             remoteViews.setViewVisibility(R.id.stats_widget_values_container, View.VISIBLE);
 
             // Update Views
-            updateTabValue(context, remoteViews, R.id.stats_widget_views, data.optString("views", " 0"));
+            updateTabValue(context, remoteViews, R.id.stats_widget_views, String.valueOf(data.views));
 
             // Update Visitors
-            updateTabValue(context, remoteViews, R.id.stats_widget_visitors, data.optString("visitors", " 0"));
+            updateTabValue(context, remoteViews, R.id.stats_widget_visitors, String.valueOf(data.visitors));
 
             // Update Comments
-            updateTabValue(context, remoteViews, R.id.stats_widget_comments, data.optString("comments", " 0"));
+            updateTabValue(context, remoteViews, R.id.stats_widget_comments, String.valueOf(data.comments));
 
             // Update Likes
-            updateTabValue(context, remoteViews, R.id.stats_widget_likes, data.optString("likes", " 0"));
+            updateTabValue(context, remoteViews, R.id.stats_widget_likes, String.valueOf(data.likes));
 
             Intent intent = new Intent(context, StatsActivity.class);
             intent.putExtra(StatsActivity.ARG_LOCAL_TABLE_BLOG_ID, blog.getLocalTableBlogId());
@@ -122,12 +119,12 @@ public class StatsWidgetProvider extends AppWidgetProvider {
     }
 
     private static void ShowCacheIfAvailableOrGenericError(Context context, int remoteBlogID) {
-        int[] widgetIDs = getWidgetIDsFromRemoteBlogID(remoteBlogID);
+        int[] widgetIDs = StatsWidgetTable.getWidgetIdsForBlog(context, remoteBlogID);
         if (widgetIDs.length == 0){
             return;
         }
 
-        int localId = WordPress.wpDB.getLocalTableBlogIdForJetpackOrWpComRemoteSiteId(remoteBlogID);
+        int localId = WordPress.getWpDB().getLocalTableBlogIdForJetpackOrWpComRemoteSiteId(remoteBlogID);
         Blog blog = WordPress.getBlog(localId);
         if (blog == null) {
             AppLog.e(AppLog.T.STATS, "No blog found in the db!");
@@ -137,7 +134,7 @@ public class StatsWidgetProvider extends AppWidgetProvider {
         String currentDate = StatsUtils.getCurrentDateTZ(localId);
 
         // Show cached data if available
-        JSONObject cache = getCacheDataForBlog(remoteBlogID, currentDate);
+        WidgetData cache = getCacheDataForBlog(context, remoteBlogID, currentDate);
         if (cache != null) {
             showStatsData(context, widgetIDs, blog, cache);
         } else {
@@ -162,13 +159,13 @@ public class StatsWidgetProvider extends AppWidgetProvider {
 
         // If it's an auth error, show it in the widget UI
         if (error instanceof com.android.volley.AuthFailureError) {
-            int[] widgetIDs = getWidgetIDsFromRemoteBlogID(remoteBlogID);
+            int[] widgetIDs = StatsWidgetTable.getWidgetIdsForBlog(context, remoteBlogID);
             if (widgetIDs.length == 0){
                 return;
             }
 
             // Check if Jetpack or .com
-            int localId = WordPress.wpDB.getLocalTableBlogIdForJetpackOrWpComRemoteSiteId(remoteBlogID);
+            int localId = WordPress.getWpDB().getLocalTableBlogIdForJetpackOrWpComRemoteSiteId(remoteBlogID);
             Blog blog = WordPress.getBlog(localId);
             if (blog == null) {
                 return;
@@ -201,53 +198,27 @@ public class StatsWidgetProvider extends AppWidgetProvider {
     public static void updateWidgets(Context context, int remoteBlogID, VisitModel data) {
         AppLog.d(AppLog.T.STATS, "updateWidgets called for the blogID " + remoteBlogID);
 
-        int[] widgetIDs = getWidgetIDsFromRemoteBlogID(remoteBlogID);
+        int[] widgetIDs = StatsWidgetTable.getWidgetIdsForBlog(context, remoteBlogID);
         if (widgetIDs.length == 0){
             return;
         }
 
-        int localId = WordPress.wpDB.getLocalTableBlogIdForJetpackOrWpComRemoteSiteId(remoteBlogID);
+        int localId = WordPress.getWpDB().getLocalTableBlogIdForJetpackOrWpComRemoteSiteId(remoteBlogID);
         Blog blog = WordPress.getBlog(localId);
         if (blog == null) {
             AppLog.e(AppLog.T.STATS, "No blog found in the db!");
             return;
         }
 
-        try {
-            String currentDate = StatsUtils.getCurrentDateTZ(blog.getLocalTableBlogId());
-            JSONObject newData = new JSONObject();
-            newData.put("blog_id", data.getBlogID());
-            newData.put("date", currentDate);
-            newData.put("views", data.getViews());
-            newData.put("visitors", data.getVisitors());
-            newData.put("comments", data.getComments());
-            newData.put("likes", data.getLikes());
-
-            // Store new data in cache
-            String prevDataAsString = AppPrefs.getStatsWidgetsData();
-            JSONObject prevData = null;
-            if (!StringUtils.isEmpty(prevDataAsString)) {
-                try {
-                    prevData = new JSONObject(prevDataAsString);
-                } catch (JSONException e) {
-                    AppLog.e(AppLog.T.STATS, e);
-                }
-            }
-            try {
-                if (prevData == null) {
-                    prevData = new JSONObject();
-                }
-                prevData.put(data.getBlogID(), newData);
-                AppPrefs.setStatsWidgetsData(prevData.toString());
-            } catch (JSONException e) {
-                AppLog.e(AppLog.T.STATS, e);
-            }
+        String currentDate = StatsUtils.getCurrentDateTZ(blog.getLocalTableBlogId());
+        WidgetData newData = new WidgetData(remoteBlogID, currentDate, data.getViews(), data.getVisitors(),
+                data.getComments(), data.getLikes());
 
-            // Show data on the screen now!
-            showStatsData(context, widgetIDs, blog, newData);
-        } catch (JSONException e) {
-            AppLog.e(AppLog.T.STATS, e);
-        }
+        // Store new data in cache
+        StatsWidgetTable.setData(context, newData);
+
+        // Show data on the screen now!
+        showStatsData(context, widgetIDs, blog, newData);
     }
 
     // This is called to update the App Widget at intervals defined by the updatePeriodMillis attribute in the AppWidgetProviderInfo.
@@ -279,8 +250,7 @@ public class StatsWidgetProvider extends AppWidgetProvider {
         AppLog.d(AppLog.T.STATS, "onDisabled called");
         AnalyticsTracker.track(AnalyticsTracker.Stat.STATS_WIDGET_REMOVED);
         AnalyticsTracker.flush();
-        AppPrefs.resetStatsWidgetsKeys();
-        AppPrefs.resetStatsWidgetsData();
+        StatsWidgetTable.deleteAll(context);
     }
 
     /**
@@ -290,7 +260,7 @@ public class StatsWidgetProvider extends AppWidgetProvider {
      */
     @Override
     public void onDeleted(Context context, int[] widgetIDs) {
-        setRemoteBlogIDForWidgetIDs(widgetIDs, null);
+        StatsWidgetTable.deleteWidgets(context, widgetIDs);
     }
 
     public static void enqueueStatsRequestForBlog(Context context, String remoteBlogID, String date) {
@@ -303,125 +273,24 @@ public class StatsWidgetProvider extends AppWidgetProvider {
         context.startService(intent);
     }
 
-    private static synchronized JSONObject getCacheDataForBlog(int remoteBlogID, String date) {
-        String prevDataAsString = AppPrefs.getStatsWidgetsData();
-        if (StringUtils.isEmpty(prevDataAsString)) {
-            AppLog.i(AppLog.T.STATS, "No cache found for the widgets");
+    private static WidgetData getCacheDataForBlog(Context context, int remoteBlogID, String date) {
+        WidgetData cache = StatsWidgetTable.getData(context, remoteBlogID);
+        if (cache == null) {
+            AppLog.i(AppLog.T.STATS, "No cache found for the blog ID " + remoteBlogID);
             return null;
         }
 
-        try {
-            JSONObject prevData = new JSONObject(prevDataAsString);
-            if (!prevData.has(String.valueOf(remoteBlogID))) {
-                AppLog.i(AppLog.T.STATS, "No cache found for the blog ID " + remoteBlogID);
-                return null;
-            }
-
-            JSONObject cache = prevData.getJSONObject(String.valueOf(remoteBlogID));
-            String dateStoredInCache = cache.optString("date");
-            if (date.equals(dateStoredInCache)) {
-                AppLog.i(AppLog.T.STATS, "Cache found for the blog ID " + remoteBlogID);
-                return cache;
-            } else {
-                AppLog.i(AppLog.T.STATS, "Cache found for the blog ID " + remoteBlogID + " but the date value doesn't match!!");
-                return null;
-            }
-        } catch (JSONException e) {
-            AppLog.e(AppLog.T.STATS, e);
+        if (date.equals(cache.date)) {
+            AppLog.i(AppLog.T.STATS, "Cache found for the blog ID " + remoteBlogID);
+            return cache;
+        } else {
+            AppLog.i(AppLog.T.STATS, "Cache found for the blog ID " + remoteBlogID + " but the date value doesn't match!!");
             return null;
         }
     }
 
-    public static synchronized boolean isBlogDisplayedInWidget(int remoteBlogID) {
-        String prevWidgetKeysString = AppPrefs.getStatsWidgetsKeys();
-        if (StringUtils.isEmpty(prevWidgetKeysString)) {
-            return false;
-        }
-        try {
-            JSONObject prevKeys = new JSONObject(prevWidgetKeysString);
-            JSONArray allKeys = prevKeys.names();
-            if (allKeys == null) {
-                return false;
-            }
-            for (int i=0; i < allKeys.length(); i ++) {
-                String currentKey = allKeys.getString(i);
-                int currentBlogID = prevKeys.getInt(currentKey);
-                if (currentBlogID == remoteBlogID) {
-                    return true;
-                }
-            }
-        } catch (JSONException e) {
-            AppLog.e(AppLog.T.STATS, e);
-        }
-        return false;
-    }
-
-    private static synchronized int[] getWidgetIDsFromRemoteBlogID(int remoteBlogID) {
-        String prevWidgetKeysString = AppPrefs.getStatsWidgetsKeys();
-        if (StringUtils.isEmpty(prevWidgetKeysString)) {
-            return new int[0];
-        }
-        ArrayList<Integer> widgetIDs = new ArrayList<>();
-
-        try {
-            JSONObject prevKeys = new JSONObject(prevWidgetKeysString);
-            JSONArray allKeys = prevKeys.names();
-            if (allKeys == null) {
-                return new int[0];
-            }
-            for (int i=0; i < allKeys.length(); i ++) {
-                String currentKey = allKeys.getString(i);
-                int currentBlogID = prevKeys.getInt(currentKey);
-                if (currentBlogID == remoteBlogID) {
-                    AppLog.d(AppLog.T.STATS, "The blog with remoteID " + remoteBlogID + " is displayed in the widget " + currentKey);
-                    widgetIDs.add(Integer.parseInt(currentKey));
-                }
-            }
-        } catch (JSONException e) {
-            AppLog.e(AppLog.T.STATS, e);
-        }
-        return ArrayUtils.toPrimitive(widgetIDs.toArray(new Integer[widgetIDs.size()]));
-    }
-
-    private static synchronized int getRemoteBlogIDFromWidgetID(int widgetID) {
-        String prevWidgetKeysString = AppPrefs.getStatsWidgetsKeys();
-        if (StringUtils.isEmpty(prevWidgetKeysString)) {
-            return 0;
-        }
-        try {
-            JSONObject prevKeys = new JSONObject(prevWidgetKeysString);
-            return prevKeys.optInt(String.valueOf(widgetID), 0);
-        } catch (JSONException e) {
-            AppLog.e(AppLog.T.STATS, e);
-        }
-        return 0;
-    }
-
-
-    // Store the association between widgetIDs and the remote blog id into prefs.
-    private static void setRemoteBlogIDForWidgetIDs(int[] widgetIDs, String remoteBlogID) {
-        String prevWidgetKeysString = AppPrefs.getStatsWidgetsKeys();
-        JSONObject prevKeys = null;
-        if (!StringUtils.isEmpty(prevWidgetKeysString)) {
-            try {
-                prevKeys = new JSONObject(prevWidgetKeysString);
-            } catch (JSONException e) {
-                AppLog.e(AppLog.T.STATS, e);
-            }
-        }
-
-        if (prevKeys == null) {
-            prevKeys = new JSONObject();
-        }
-
-        for (int widgetID : widgetIDs) {
-            try {
-                prevKeys.put(String.valueOf(widgetID), remoteBlogID);
-                AppPrefs.setStatsWidgetsKeys(prevKeys.toString());
-            } catch (JSONException e) {
-                AppLog.e(AppLog.T.STATS, e);
-            }
-        }
+    public static boolean isBlogDisplayedInWidget(int remoteBlogID) {
+        return StatsWidgetTable.isBlogDisplayedInWidget(WordPress.getContext(), remoteBlogID);
     }
 
     // This is called by the Widget config activity at the end if the process
@@ -451,12 +320,12 @@ public class StatsWidgetProvider extends AppWidgetProvider {
         AnalyticsTracker.flush();
 
         // Store the association between the widget ID and the remote blog id into prefs.
-        setRemoteBlogIDForWidgetIDs(new int[] {widgetID}, remoteBlogID);
+        StatsWidgetTable.setRemoteBlogIdForWidget(context, widgetID, Integer.parseInt(remoteBlogID));
 
         String currentDate = StatsUtils.getCurrentDateTZ(localBlogID);
 
         // Load cached data if available and show it immediately
-        JSONObject cache = getCacheDataForBlog(Integer.parseInt(remoteBlogID), currentDate);
+        WidgetData cache = getCacheDataForBlog(context, Integer.parseInt(remoteBlogID), currentDate);
         if (cache != null) {
             showStatsData(context, new int[] {widgetID}, blog, cache);
             return;
@@ -480,7 +349,7 @@ public class StatsWidgetProvider extends AppWidgetProvider {
 
         SparseArray<ArrayList<Integer>> blogsToWidgetIDs = new SparseArray<>();
         for (int widgetId : appWidgetIds) {
-            int remoteBlogID = getRemoteBlogIDFromWidgetID(widgetId);
+            int remoteBlogID = StatsWidgetTable.getRemoteBlogIdForWidget(context, widgetId);
             if (remoteBlogID == 0) {
                 // This could happen on logout when prefs are erased completely since we cannot remove
                 // widgets programmatically from the screen, or during the configuration of new widgets!!!
@@ -501,7 +370,7 @@ public class StatsWidgetProvider extends AppWidgetProvider {
             ArrayList<Integer> widgetsList = blogsToWidgetIDs.get(remoteBlogID);
             int[] currentWidgets = ArrayUtils.toPrimitive(widgetsList.toArray(new Integer[widgetsList.size()]));
 
-            int localId = WordPress.wpDB.getLocalTableBlogIdForJetpackOrWpComRemoteSiteId(remoteBlogID);
+            int localId = WordPress.getWpDB().getLocalTableBlogIdForJetpackOrWpComRemoteSiteId(remoteBlogID);
             Blog blog = WordPress.getBlog(localId);
             if (localId == 0 || blog == null) {
                 // No blog in the app
@@ -511,7 +380,7 @@ public class StatsWidgetProvider extends AppWidgetProvider {
             String currentDate = StatsUtils.getCurrentDateTZ(localId);
 
             // Load cached data if available and show it immediately
-            JSONObject cache = getCacheDataForBlog(remoteBlogID, currentDate);
+            WidgetData cache = getCacheDataForBlog(context, remoteBlogID, currentDate);
             if (cache != null) {
                 showStatsData(context, currentWidgets, blog, cache);
             }
@@ -4,6 +4,7 @@ import android.content.Context;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
 
+import org.wordpress.android.datasets.DatabaseConfig;
 import org.wordpress.android.util.AppLog;
 
 import java.io.FileInputStream;
@@ -52,6 +53,12 @@ public class StatsDatabaseHelper extends SQLiteOpenHelper {
         return getDatabase(ctx).getWritableDatabase();
     }
 
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        super.onConfigure(db);
+        DatabaseConfig.configure(db);
+    }
+
     @Override
     public void onOpen(SQLiteDatabase db) {
         super.onOpen(db);
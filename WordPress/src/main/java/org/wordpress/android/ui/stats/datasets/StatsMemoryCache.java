@@ -0,0 +1,97 @@
+package org.wordpress.android.ui.stats.datasets;
+
+import android.support.v4.util.LruCache;
+
+import org.wordpress.android.ui.stats.StatsTimeframe;
+import org.wordpress.android.ui.stats.models.BaseStatsModel;
+import org.wordpress.android.ui.stats.service.StatsService.StatsEndpointsEnum;
+
+import java.util.Map;
+
+/**
+ * In-memory LRU of parsed stats models, in front of StatsTable. Entries are keyed by
+ * (blog, endpoint, timeframe, date, page) - switching back to a section that was already
+ * loaded doesn't need a DB read nor a JSON parse.
+ */
+public class StatsMemoryCache {
+    private static final int MAX_ENTRIES = 100;
+
+    public static class Entry {
+        public final BaseStatsModel model;
+        public final long timestamp; // time of the response
+        final int maxResults;
+
+        Entry(BaseStatsModel model, long timestamp, int maxResults) {
+            this.model = model;
+            this.timestamp = timestamp;
+            this.maxResults = maxResults;
+        }
+
+        public boolean isExpired() {
+            return StatsTable.isExpired(timestamp);
+        }
+    }
+
+    private static final LruCache<String, Entry> sCache = new LruCache<>(MAX_ENTRIES);
+
+    private static String getKey(int localBlogId, StatsEndpointsEnum endpoint, StatsTimeframe timeframe,
+                                 String date, int page) {
+        return getBlogKeyPrefix(localBlogId) + endpoint.ordinal() + ":" + timeframe.ordinal() + ":" + date + ":" + page;
+    }
+
+    private static String getBlogKeyPrefix(int localBlogId) {
+        return localBlogId + ":";
+    }
+
+    private static String getEndpointKeyPrefix(int localBlogId, StatsEndpointsEnum endpoint) {
+        return getBlogKeyPrefix(localBlogId) + endpoint.ordinal() + ":";
+    }
+
+    /*
+     * returns the cached model (which may be expired), or null if there isn't one with at least
+     * the passed number of results
+     */
+    public static Entry get(int localBlogId, StatsEndpointsEnum endpoint, StatsTimeframe timeframe, String date,
+                            int maxResults, int page) {
+        Entry entry = sCache.get(getKey(localBlogId, endpoint, timeframe, date, page));
+        if (entry == null || entry.maxResults < maxResults) {
+            return null;
+        }
+        return entry;
+    }
+
+    public static Entry put(int localBlogId, StatsEndpointsEnum endpoint, StatsTimeframe timeframe, String date,
+                            int maxResults, int page, BaseStatsModel model, long timestamp) {
+        Entry entry = new Entry(model, timestamp, maxResults);
+        sCache.put(getKey(localBlogId, endpoint, timeframe, date, page), entry);
+        return entry;
+    }
+
+    static void removeBlog(int localBlogId) {
+        removeKeysStartingWith(getBlogKeyPrefix(localBlogId));
+    }
+
+    static void removeEndpoint(int localBlogId, StatsEndpointsEnum endpoint) {
+        removeKeysStartingWith(getEndpointKeyPrefix(localBlogId, endpoint));
+    }
+
+    static void removeOlderThan(long timestamp) {
+        for (Map.Entry<String, Entry> cacheEntry : sCache.snapshot().entrySet()) {
+            if (cacheEntry.getValue().timestamp <= timestamp) {
+                sCache.remove(cacheEntry.getKey());
+            }
+        }
+    }
+
+    static void clear() {
+        sCache.evictAll();
+    }
+
+    private static void removeKeysStartingWith(String prefix) {
+        for (String key : sCache.snapshot().keySet()) {
+            if (key.startsWith(prefix)) {
+                sCache.remove(key);
+            }
+        }
+    }
+}
@@ -14,6 +14,8 @@ public class StatsTable {
 
     private static final String TABLE_NAME = "tbl_stats";
     public static final int CACHE_TTL_MINUTES = 10;
+    // expired stats are kept this long so they can be shown while they're refreshed
+    public static final int STALE_CACHE_TTL_MINUTES = 60 * 24;
     private static final int MAX_RESPONSE_LEN = (int) (1024 * 1024 * 1.8); // 1.8 MB Approx
 
     static void createTables(SQLiteDatabase db) {
@@ -36,20 +38,65 @@ public class StatsTable {
     }
 
     protected static void reset(SQLiteDatabase db) {
+        StatsMemoryCache.clear();
         dropTables(db);
         createTables(db);
     }
 
 
+    /*
+     * A cached stats response - it's kept after it expires, so the stale stats can be shown while
+     * they're refreshed
+     */
+    public static class CachedStats {
+        public final String jsonData;
+        public final long timestamp;
+
+        CachedStats(String jsonData, long timestamp) {
+            this.jsonData = jsonData;
+            this.timestamp = timestamp;
+        }
+
+        public boolean isExpired() {
+            return StatsTable.isExpired(timestamp);
+        }
+    }
+
+    /*
+     * returns true if stats retrieved at the passed time need to be refreshed
+     */
+    public static boolean isExpired(long timestamp) {
+        long deltaMS = System.currentTimeMillis() - timestamp;
+        if (deltaMS < 0) {
+            // current date is in the past respect to stats date?? Uhhh!
+            return true;
+        }
+        return (deltaMS / 1000 / 60) > CACHE_TTL_MINUTES;
+    }
+
     public static String getStats(final Context ctx, final int blogId, final StatsTimeframe timeframe, final String date,
                                   final StatsEndpointsEnum sectionToUpdate, final int maxResultsRequested, final int pageRequested) {
+        CachedStats cachedStats = getCachedStats(ctx, blogId, timeframe, date, sectionToUpdate, maxResultsRequested,
+                pageRequested);
+        if (cachedStats == null || cachedStats.isExpired()) {
+            return null;
+        }
+        return cachedStats.jsonData;
+    }
+
+    /*
+     * same as getStats() but also returns expired stats
+     */
+    public static CachedStats getCachedStats(final Context ctx, final int blogId, final StatsTimeframe timeframe,
+                                             final String date, final StatsEndpointsEnum sectionToUpdate,
+                                             final int maxResultsRequested, final int pageRequested) {
         if (ctx == null) {
             AppLog.e(AppLog.T.STATS, "Cannot insert a null stats since the passed context is null. Context is required " +
                     "to access the DB.");
             return null;
         }
 
-        String sql = "SELECT *  FROM " + TABLE_NAME + " WHERE blogID = ? "
+        String sql = "SELECT jsonData, timestamp FROM " + TABLE_NAME + " WHERE blogID = ? "
                 + " AND type=?"
                 + " AND timeframe=?"
                 + " AND date=?"
@@ -71,21 +118,7 @@ public class StatsTable {
 
         try {
             if (cursor != null && cursor.moveToFirst()) {
-                long timestamp  = cursor.getLong(cursor.getColumnIndex("timestamp"));
-                long currentTime = System.currentTimeMillis();
-                long deltaMS = currentTime - timestamp;
-                if (deltaMS < 0) {
-                    // current date is in the past respect to stats date?? Uhhh!
-                    return null;
-                }
-
-                deltaMS = deltaMS / 1000; // seconds
-                // check if the cache is fresh
-                if ((deltaMS / 60) > CACHE_TTL_MINUTES) {
-                    return null; // cache is expired
-                }
-
-                return cursor.getString(cursor.getColumnIndex("jsonData"));
+                return new CachedStats(cursor.getString(0), cursor.getLong(1));
             } else {
                 return null;
             }
@@ -155,6 +188,7 @@ public class StatsTable {
             return false;
         }
 
+        StatsMemoryCache.removeOlderThan(timestamp);
         SQLiteDatabase db = StatsDatabaseHelper.getWritableDb(ctx);
         try {
             db.beginTransaction();
@@ -174,6 +208,7 @@ public class StatsTable {
             return false;
         }
 
+        StatsMemoryCache.removeBlog(blogId);
         SQLiteDatabase db = StatsDatabaseHelper.getWritableDb(ctx);
         try {
             db.beginTransaction();
@@ -193,6 +228,7 @@ public class StatsTable {
             return false;
         }
 
+        StatsMemoryCache.removeEndpoint(blogId, sectionToUpdate);
         SQLiteDatabase db = StatsDatabaseHelper.getWritableDb(ctx);
         try {
             db.beginTransaction();
@@ -214,6 +250,7 @@ public class StatsTable {
                     "to access the DB.");
             return;
         }
+        StatsMemoryCache.clear();
         SQLiteDatabase db = StatsDatabaseHelper.getWritableDb(ctx);
         db.beginTransaction();
         try {
@@ -0,0 +1,64 @@
+package org.wordpress.android.ui.stats.datasets;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import org.wordpress.android.util.AppLog;
+
+/**
+ * database for the stats widgets state - kept apart from stats.db since that one is only a cache
+ * which is dropped on upgrade, downgrade and sign out, while the widget -> blog mapping is set up
+ * by the user and can't be fetched again
+ */
+public class StatsWidgetDatabaseHelper extends SQLiteOpenHelper {
+    private static final String DB_NAME = "stats_widgets.db";
+    private static final int DB_VERSION = 1;
+
+    /*
+     *  database singleton
+     */
+    private static StatsWidgetDatabaseHelper mDatabaseHelper;
+    private final static Object mDbLock = new Object();
+
+    public static StatsWidgetDatabaseHelper getDatabase(Context ctx) {
+        if (mDatabaseHelper == null) {
+            synchronized(mDbLock) {
+                if (mDatabaseHelper == null) {
+                    mDatabaseHelper = new StatsWidgetDatabaseHelper(ctx.getApplicationContext());
+                }
+            }
+        }
+        return mDatabaseHelper;
+    }
+
+    private StatsWidgetDatabaseHelper(Context context) {
+        super(context, DB_NAME, null, DB_VERSION);
+    }
+
+    public static SQLiteDatabase getReadableDb(Context ctx) {
+        return getDatabase(ctx).getReadableDatabase();
+    }
+    public static SQLiteDatabase getWritableDb(Context ctx) {
+        return getDatabase(ctx).getWritableDatabase();
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        StatsWidgetTable.createTables(db);
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // IMPORTANT: unlike stats.db, never drop the tables here - future versions must alter them
+        // while preserving their rows, or widgets already on the home screen lose their blog
+        AppLog.i(AppLog.T.STATS, "Upgrading widgets database from version " + oldVersion + " to version " + newVersion);
+    }
+
+    @Override
+    public void onDowngrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // IMPORTANT: do NOT call super() here - doing so throws a SQLiteException. The tables are
+        // kept as they are, so upgrades should only add columns, which older versions ignore
+        AppLog.w(AppLog.T.STATS, "Downgrading widgets database from version " + oldVersion + " to version " + newVersion);
+    }
+}
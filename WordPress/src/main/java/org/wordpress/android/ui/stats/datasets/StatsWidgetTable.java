@@ -0,0 +1,295 @@
+package org.wordpress.android.ui.stats.datasets;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.text.TextUtils;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.wordpress.android.ui.prefs.AppPrefs;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.SqlUtils;
+
+/**
+ * Stats widgets state: the blog displayed by each widget, and the latest stats shown for each blog.
+ * Both tables are small, so they're loaded once into memory and each change only writes the affected
+ * rows - previously the whole state was kept in two JSON strings in AppPrefs, which were parsed and
+ * rewritten on every access.
+ */
+public class StatsWidgetTable {
+    private static final String WIDGETS_TABLE = "tbl_widget_blogs";
+    private static final String DATA_TABLE = "tbl_widget_data";
+
+    public static class WidgetData {
+        public final int remoteBlogId;
+        public final String date;
+        public final int views;
+        public final int visitors;
+        public final int comments;
+        public final int likes;
+
+        public WidgetData(int remoteBlogId, String date, int views, int visitors, int comments, int likes) {
+            this.remoteBlogId = remoteBlogId;
+            this.date = date;
+            this.views = views;
+            this.visitors = visitors;
+            this.comments = comments;
+            this.likes = likes;
+        }
+    }
+
+    private static final Object sLock = new Object();
+    // in-memory view of the tables, null until loaded
+    private static SparseIntArray sWidgetBlogs;         // widget ID -> remote blog ID
+    private static SparseArray<WidgetData> sBlogData;   // remote blog ID -> data
+
+    static void createTables(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + WIDGETS_TABLE + " ("
+                + " widget_id       INTEGER PRIMARY KEY,"
+                + " remote_blog_id  INTEGER NOT NULL"
+                + ")");
+        db.execSQL("CREATE INDEX idx_widget_blogs_blog_id ON " + WIDGETS_TABLE + "(remote_blog_id)");
+
+        db.execSQL("CREATE TABLE " + DATA_TABLE + " ("
+                + " remote_blog_id  INTEGER PRIMARY KEY,"
+                + " date            TEXT NOT NULL,"
+                + " views           INTEGER DEFAULT 0,"
+                + " visitors        INTEGER DEFAULT 0,"
+                + " comments        INTEGER DEFAULT 0,"
+                + " likes           INTEGER DEFAULT 0"
+                + ")");
+    }
+
+    public static int getRemoteBlogIdForWidget(Context ctx, int widgetId) {
+        synchronized (sLock) {
+            loadIfNeeded(ctx);
+            return sWidgetBlogs.get(widgetId, 0);
+        }
+    }
+
+    public static int[] getWidgetIdsForBlog(Context ctx, int remoteBlogId) {
+        synchronized (sLock) {
+            loadIfNeeded(ctx);
+            int count = 0;
+            for (int i = 0; i < sWidgetBlogs.size(); i++) {
+                if (sWidgetBlogs.valueAt(i) == remoteBlogId) {
+                    count++;
+                }
+            }
+            int[] widgetIds = new int[count];
+            for (int i = 0, j = 0; i < sWidgetBlogs.size(); i++) {
+                if (sWidgetBlogs.valueAt(i) == remoteBlogId) {
+                    widgetIds[j++] = sWidgetBlogs.keyAt(i);
+                }
+            }
+            return widgetIds;
+        }
+    }
+
+    public static boolean isBlogDisplayedInWidget(Context ctx, int remoteBlogId) {
+        synchronized (sLock) {
+            loadIfNeeded(ctx);
+            return sWidgetBlogs.indexOfValue(remoteBlogId) >= 0;
+        }
+    }
+
+    public static boolean hasWidgets(Context ctx) {
+        synchronized (sLock) {
+            loadIfNeeded(ctx);
+            return sWidgetBlogs.size() > 0;
+        }
+    }
+
+    public static void setRemoteBlogIdForWidget(Context ctx, int widgetId, int remoteBlogId) {
+        synchronized (sLock) {
+            loadIfNeeded(ctx);
+            ContentValues values = new ContentValues();
+            values.put("widget_id", widgetId);
+            values.put("remote_blog_id", remoteBlogId);
+            StatsWidgetDatabaseHelper.getWritableDb(ctx).insertWithOnConflict(WIDGETS_TABLE, null, values,
+                    SQLiteDatabase.CONFLICT_REPLACE);
+            sWidgetBlogs.put(widgetId, remoteBlogId);
+        }
+    }
+
+    public static void deleteWidgets(Context ctx, int[] widgetIds) {
+        if (widgetIds == null || widgetIds.length == 0) {
+            return;
+        }
+        synchronized (sLock) {
+            loadIfNeeded(ctx);
+            SQLiteDatabase db = StatsWidgetDatabaseHelper.getWritableDb(ctx);
+            db.beginTransaction();
+            try {
+                for (int widgetId : widgetIds) {
+                    db.delete(WIDGETS_TABLE, "widget_id=?", new String[]{Integer.toString(widgetId)});
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            for (int widgetId : widgetIds) {
+                sWidgetBlogs.delete(widgetId);
+            }
+        }
+    }
+
+    /*
+     * returns the data stored for the passed blog, or null if there isn't any
+     */
+    public static WidgetData getData(Context ctx, int remoteBlogId) {
+        synchronized (sLock) {
+            loadIfNeeded(ctx);
+            return sBlogData.get(remoteBlogId);
+        }
+    }
+
+    public static void setData(Context ctx, WidgetData data) {
+        synchronized (sLock) {
+            loadIfNeeded(ctx);
+            StatsWidgetDatabaseHelper.getWritableDb(ctx).insertWithOnConflict(DATA_TABLE, null, getContentValues(data),
+                    SQLiteDatabase.CONFLICT_REPLACE);
+            sBlogData.put(data.remoteBlogId, data);
+        }
+    }
+
+    /*
+     * removes every widget and its data, called when the last widget is removed
+     */
+    public static void deleteAll(Context ctx) {
+        synchronized (sLock) {
+            SQLiteDatabase db = StatsWidgetDatabaseHelper.getWritableDb(ctx);
+            db.beginTransaction();
+            try {
+                db.delete(WIDGETS_TABLE, null, null);
+                db.delete(DATA_TABLE, null, null);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            AppPrefs.resetStatsWidgetsKeys();
+            AppPrefs.resetStatsWidgetsData();
+            sWidgetBlogs = new SparseIntArray();
+            sBlogData = new SparseArray<>();
+        }
+    }
+
+    /*
+     * removes the stats shown by the widgets but keeps the blog of each widget, called on sign out
+     */
+    public static void deleteAllData(Context ctx) {
+        synchronized (sLock) {
+            StatsWidgetDatabaseHelper.getWritableDb(ctx).delete(DATA_TABLE, null, null);
+            if (sBlogData != null) {
+                sBlogData.clear();
+            }
+        }
+    }
+
+    private static ContentValues getContentValues(WidgetData data) {
+        ContentValues values = new ContentValues();
+        values.put("remote_blog_id", data.remoteBlogId);
+        values.put("date", data.date);
+        values.put("views", data.views);
+        values.put("visitors", data.visitors);
+        values.put("comments", data.comments);
+        values.put("likes", data.likes);
+        return values;
+    }
+
+    // must be called with the lock held
+    private static void loadIfNeeded(Context ctx) {
+        if (sWidgetBlogs != null) {
+            return;
+        }
+
+        importLegacyPrefs(ctx);
+
+        SQLiteDatabase db = StatsWidgetDatabaseHelper.getReadableDb(ctx);
+        SparseIntArray widgetBlogs = new SparseIntArray();
+        Cursor cursor = db.rawQuery("SELECT widget_id, remote_blog_id FROM " + WIDGETS_TABLE, null);
+        try {
+            while (cursor.moveToNext()) {
+                widgetBlogs.put(cursor.getInt(0), cursor.getInt(1));
+            }
+        } finally {
+            SqlUtils.closeCursor(cursor);
+        }
+
+        SparseArray<WidgetData> blogData = new SparseArray<>();
+        cursor = db.rawQuery("SELECT remote_blog_id, date, views, visitors, comments, likes FROM " + DATA_TABLE, null);
+        try {
+            while (cursor.moveToNext()) {
+                WidgetData data = new WidgetData(cursor.getInt(0), cursor.getString(1), cursor.getInt(2),
+                        cursor.getInt(3), cursor.getInt(4), cursor.getInt(5));
+                blogData.put(data.remoteBlogId, data);
+            }
+        } finally {
+            SqlUtils.closeCursor(cursor);
+        }
+
+        sWidgetBlogs = widgetBlogs;
+        sBlogData = blogData;
+    }
+
+    /*
+     * moves the widgets state stored in AppPrefs by previous versions into the tables
+     */
+    private static void importLegacyPrefs(Context ctx) {
+        String keys = AppPrefs.getStatsWidgetsKeys();
+        String data = AppPrefs.getStatsWidgetsData();
+        if (TextUtils.isEmpty(keys) && TextUtils.isEmpty(data)) {
+            return;
+        }
+
+        boolean imported = false;
+        SQLiteDatabase db = StatsWidgetDatabaseHelper.getWritableDb(ctx);
+        db.beginTransaction();
+        try {
+            if (!TextUtils.isEmpty(keys)) {
+                JSONObject jsonKeys = new JSONObject(keys);
+                JSONArray widgetIds = jsonKeys.names();
+                for (int i = 0; widgetIds != null && i < widgetIds.length(); i++) {
+                    String widgetId = widgetIds.getString(i);
+                    int remoteBlogId = jsonKeys.optInt(widgetId, 0);
+                    if (remoteBlogId != 0) {
+                        ContentValues values = new ContentValues();
+                        values.put("widget_id", Integer.parseInt(widgetId));
+                        values.put("remote_blog_id", remoteBlogId);
+                        db.insertWithOnConflict(WIDGETS_TABLE, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+                    }
+                }
+            }
+            if (!TextUtils.isEmpty(data)) {
+                JSONObject jsonData = new JSONObject(data);
+                JSONArray blogIds = jsonData.names();
+                for (int i = 0; blogIds != null && i < blogIds.length(); i++) {
+                    JSONObject blogData = jsonData.getJSONObject(blogIds.getString(i));
+                    WidgetData widgetData = new WidgetData(Integer.parseInt(blogIds.getString(i)),
+                            blogData.optString("date"), blogData.optInt("views"), blogData.optInt("visitors"),
+                            blogData.optInt("comments"), blogData.optInt("likes"));
+                    db.insertWithOnConflict(DATA_TABLE, null, getContentValues(widgetData),
+                            SQLiteDatabase.CONFLICT_REPLACE);
+                }
+            }
+            db.setTransactionSuccessful();
+            imported = true;
+        } catch (JSONException | NumberFormatException e) {
+            AppLog.e(AppLog.T.STATS, "Failed to import the stats widgets data", e);
+        } finally {
+            db.endTransaction();
+        }
+
+        // the prefs are only removed once their rows are committed, so a failed import is tried
+        // again the next time the tables are loaded
+        if (imported) {
+            AppPrefs.resetStatsWidgetsKeys();
+            AppPrefs.resetStatsWidgetsData();
+        }
+    }
+}
@@ -18,6 +18,7 @@ import org.wordpress.android.ui.stats.StatsEvents;
 import org.wordpress.android.ui.stats.StatsTimeframe;
 import org.wordpress.android.ui.stats.StatsUtils;
 import org.wordpress.android.ui.stats.StatsWidgetProvider;
+import org.wordpress.android.ui.stats.datasets.StatsMemoryCache;
 import org.wordpress.android.ui.stats.datasets.StatsTable;
 import org.wordpress.android.ui.stats.exceptions.StatsError;
 import org.wordpress.android.ui.stats.models.AuthorsModel;
@@ -43,18 +44,28 @@ import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 
 import java.io.Serializable;
-import java.util.Iterator;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import de.greenrobot.event.EventBus;
 
 /**
  * Background service to retrieve Stats.
- * Parsing of response(s) and submission of new network calls are done by using a ThreadPoolExecutor with a single thread.
+ * Parsing of response(s) and submission of new network calls are done on a small pool of threads. Tasks of the same
+ * section run one at a time in the order they were submitted, so the events of a section are delivered in order,
+ * while different sections are parsed in parallel.
  */
 
 public class StatsService extends Service {
@@ -206,7 +217,19 @@ public class StatsService extends Service {
 
     private int mServiceStartId;
     private final LinkedList<Request<JSONObject>> mStatsNetworkRequests = new LinkedList<>();
-    private final ThreadPoolExecutor singleThreadNetworkHandler = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
+    // paths of the requests waiting for a response, so the same request isn't enqueued twice
+    private final Set<String> mPendingRequestPaths = new HashSet<>();
+    private static final int PARSE_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    private static final int PARSE_THREADS_KEEP_ALIVE_SECONDS = 30;
+    private final ThreadPoolExecutor mParseExecutor = newParseExecutor();
+
+    // tasks waiting for the running task of the same section to finish
+    private final Map<StatsEndpointsEnum, ArrayDeque<Runnable>> mSectionQueues =
+            new EnumMap<>(StatsEndpointsEnum.class);
+    private int mQueuedSectionTasks;
+
+    // total time spent and number of models built, per endpoint
+    private static final Map<StatsEndpointsEnum, long[]> sParseTimings = new EnumMap<>(StatsEndpointsEnum.class);
 
     @Override
     public void onCreate() {
@@ -244,6 +267,10 @@ public class StatsService extends Service {
             AppLog.e(T.STATS, "StatsService was started with a blank blog_id");
             return START_NOT_STICKY;
         }
+        if (!TextUtils.isDigitsOnly(blogId)) {
+            AppLog.e(T.STATS, "StatsService was started with an invalid blog_id: " + blogId);
+            return START_NOT_STICKY;
+        }
 
         int[] sectionFromIntent = intent.getIntArrayExtra(ARG_SECTION);
         if (sectionFromIntent == null || sectionFromIntent.length == 0) {
@@ -259,13 +286,14 @@ public class StatsService extends Service {
             period = StatsTimeframe.DAY;
         }
 
+        // the sections share the same blog and date, their requests are sent together in a single batch
+        final SectionRequests sectionRequests = new SectionRequests(blogId, sectionFromIntent.length);
+
         final String requestedDate;
         if (intent.getStringExtra(ARG_DATE) == null) {
             AppLog.w(T.STATS, "StatsService is started with a NULL date on this blogID - "
                     + blogId + ". Using current date!!!");
-            int parsedBlogID = Integer.parseInt(blogId);
-            int localTableBlogId = WordPress.wpDB.getLocalTableBlogIdForRemoteBlogId(parsedBlogID);
-            requestedDate = StatsUtils.getCurrentDateTZ(localTableBlogId);
+            requestedDate = StatsUtils.getCurrentDateTZ(sectionRequests.getLocalTableBlogId());
         } else {
             requestedDate = intent.getStringExtra(ARG_DATE);
         }
@@ -276,10 +304,11 @@ public class StatsService extends Service {
         this.mServiceStartId = startId;
         for (int i=0; i < sectionFromIntent.length; i++){
             final StatsEndpointsEnum currentSectionsToUpdate = StatsEndpointsEnum.values()[sectionFromIntent[i]];
-            singleThreadNetworkHandler.submit(new Thread() {
+            submitSectionTask(currentSectionsToUpdate, new Runnable() {
                 @Override
                 public void run() {
-                    startTasks(blogId, period, requestedDate, currentSectionsToUpdate, maxResultsRequested, pageRequested);
+                    startTasks(blogId, period, requestedDate, currentSectionsToUpdate, maxResultsRequested,
+                            pageRequested, sectionRequests);
                 }
             });
         }
@@ -287,6 +316,98 @@ public class StatsService extends Service {
         return START_NOT_STICKY;
     }
 
+    private static ThreadPoolExecutor newParseExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(PARSE_THREADS, PARSE_THREADS,
+                PARSE_THREADS_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    private final AtomicInteger mCount = new AtomicInteger(1);
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        return new Thread(runnable, "StatsService-" + mCount.getAndIncrement());
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /*
+     * runs the passed task on the parse pool once the previous tasks of the same section are done
+     */
+    private void submitSectionTask(final StatsEndpointsEnum section, final Runnable task) {
+        synchronized (mSectionQueues) {
+            mQueuedSectionTasks++;
+            ArrayDeque<Runnable> queue = mSectionQueues.get(section);
+            if (queue != null) {
+                // a task of this section is running, it will start this one when it's done
+                queue.add(task);
+                return;
+            }
+            mSectionQueues.put(section, new ArrayDeque<Runnable>());
+        }
+        executeSectionTask(section, task);
+    }
+
+    private void executeSectionTask(final StatsEndpointsEnum section, final Runnable task) {
+        mParseExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mSectionQueues) {
+                    mQueuedSectionTasks--;
+                }
+                try {
+                    task.run();
+                } finally {
+                    Runnable nextTask;
+                    synchronized (mSectionQueues) {
+                        nextTask = mSectionQueues.get(section).poll();
+                        if (nextTask == null) {
+                            mSectionQueues.remove(section);
+                        }
+                    }
+                    if (nextTask != null) {
+                        executeSectionTask(section, nextTask);
+                    }
+                }
+            }
+        });
+    }
+
+    private int getQueuedSectionTaskCount() {
+        synchronized (mSectionQueues) {
+            return mQueuedSectionTasks;
+        }
+    }
+
+    /*
+     * builds the model for the passed response, and logs how long it took along with the average
+     * time for the endpoint
+     */
+    private static BaseStatsModel parseResponse(StatsEndpointsEnum endpointName, String blogId, JSONObject response)
+            throws JSONException {
+        long startTime = System.nanoTime();
+        try {
+            return StatsUtils.parseResponse(endpointName, blogId, response);
+        } finally {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            long totalMs;
+            long count;
+            synchronized (sParseTimings) {
+                long[] timings = sParseTimings.get(endpointName);
+                if (timings == null) {
+                    timings = new long[2];
+                    sParseTimings.put(endpointName, timings);
+                }
+                timings[0] += elapsedMs;
+                timings[1]++;
+                totalMs = timings[0];
+                count = timings[1];
+            }
+            AppLog.d(T.STATS, "Parsed " + endpointName.name() + " in " + elapsedMs + "ms (average "
+                    + (totalMs / count) + "ms over " + count + " responses)");
+        }
+    }
+
     private void stopRefresh() {
         synchronized (mStatsNetworkRequests) {
             this.mServiceStartId = 0;
@@ -296,6 +417,7 @@ public class StatsService extends Service {
                 }
             }
             mStatsNetworkRequests.clear();
+            mPendingRequestPaths.clear();
         }
     }
 
@@ -305,165 +427,235 @@ public class StatsService extends Service {
         return true;
     }
 
-    // Check if we already have Stats
-    private String getCachedStats(final String blogId, final StatsTimeframe timeframe, final String date, final StatsEndpointsEnum sectionToUpdate,
-                                  final int maxResultsRequested, final int pageRequested) {
+    /*
+     * Check if we already have Stats - looks up the parsed model in memory first, then in the DB.
+     * Expired stats are returned too, the caller decides whether to refresh them.
+     */
+    private StatsMemoryCache.Entry getCachedStats(final String blogId, final int localTableBlogId,
+                                                  final StatsTimeframe timeframe, final String date,
+                                                  final StatsEndpointsEnum sectionToUpdate,
+                                                  final int maxResultsRequested, final int pageRequested) {
         if (!isCacheEnabled()) {
             return null;
         }
 
-        int parsedBlogID = Integer.parseInt(blogId);
-        int localTableBlogId = WordPress.wpDB.getLocalTableBlogIdForRemoteBlogId(parsedBlogID);
-        return StatsTable.getStats(this, localTableBlogId, timeframe, date, sectionToUpdate, maxResultsRequested, pageRequested);
+        StatsMemoryCache.Entry entry = StatsMemoryCache.get(localTableBlogId, sectionToUpdate, timeframe, date,
+                maxResultsRequested, pageRequested);
+        if (entry != null) {
+            return entry;
+        }
+
+        StatsTable.CachedStats cachedStats = StatsTable.getCachedStats(this, localTableBlogId, timeframe, date,
+                sectionToUpdate, maxResultsRequested, pageRequested);
+        if (cachedStats == null) {
+            return null;
+        }
+
+        try {
+            JSONObject response = new JSONObject(cachedStats.jsonData);
+            BaseStatsModel model = parseResponse(sectionToUpdate, blogId, response);
+            if (model == null) {
+                return null;
+            }
+            return StatsMemoryCache.put(localTableBlogId, sectionToUpdate, timeframe, date, maxResultsRequested,
+                    pageRequested, model, cachedStats.timestamp);
+        } catch (JSONException e) {
+            AppLog.e(AppLog.T.STATS, e);
+            return null;
+        }
     }
 
     private void startTasks(final String blogId, final StatsTimeframe timeframe, final String date, final StatsEndpointsEnum sectionToUpdate,
-                            final int maxResultsRequested, final int pageRequested) {
+                            final int maxResultsRequested, final int pageRequested,
+                            final SectionRequests sectionRequests) {
 
         EventBus.getDefault().post(new StatsEvents.UpdateStatusChanged(true));
 
-        String cachedStats = getCachedStats(blogId, timeframe, date, sectionToUpdate, maxResultsRequested, pageRequested);
-        if (cachedStats != null) {
-            BaseStatsModel mResponseObjectModel;
-                try {
-                    JSONObject response = new JSONObject(cachedStats);
-                    mResponseObjectModel = StatsUtils.parseResponse(sectionToUpdate, blogId, response);
-
-                    EventBus.getDefault().post(
-                            sectionToUpdate.getEndpointUpdateEvent(blogId, timeframe, date,
-                                    maxResultsRequested, pageRequested, mResponseObjectModel)
-                    );
-
-                    updateWidgetsUI(blogId, sectionToUpdate, timeframe, date, pageRequested, mResponseObjectModel);
-                    checkAllRequestsFinished(null);
+        RestClientUtils.BatchRequest request = null;
+        try {
+            final int localTableBlogId = sectionRequests.getLocalTableBlogId();
+            StatsMemoryCache.Entry cachedStats = getCachedStats(blogId, localTableBlogId, timeframe, date,
+                    sectionToUpdate, maxResultsRequested, pageRequested);
+            if (cachedStats != null) {
+                // stale-while-revalidate: expired stats are shown right away, and the fresh ones are
+                // posted through the same event once the request below completes
+                EventBus.getDefault().post(
+                        sectionToUpdate.getEndpointUpdateEvent(blogId, timeframe, date,
+                                maxResultsRequested, pageRequested, cachedStats.model)
+                );
+
+                updateWidgetsUI(blogId, localTableBlogId, sectionToUpdate, timeframe, date, pageRequested,
+                        cachedStats.model);
+                if (!cachedStats.isExpired()) {
                     return;
-                } catch (JSONException e) {
-                    AppLog.e(AppLog.T.STATS, e);
                 }
-        }
+            }
 
-        final RestClientUtils restClientUtils = WordPress.getRestClientUtilsV1_1();
+            String path = getRequestPath(blogId, timeframe, date, sectionToUpdate, maxResultsRequested, pageRequested);
+            if (path != null) {
+                synchronized (mStatsNetworkRequests) {
+                    // We need to check if we already have the same request in the queue
+                    if (mPendingRequestPaths.add(path)) {
+                        RestListener vListener = new RestListener(sectionToUpdate, blogId, localTableBlogId,
+                                timeframe, date, maxResultsRequested, pageRequested, path, cachedStats != null);
+                        request = new RestClientUtils.BatchRequest(path, vListener, vListener);
+                    } else {
+                        AppLog.d(AppLog.T.STATS, "Stats request is already in the queue:" + path);
+                    }
+                }
+            }
+        } finally {
+            // the section is reported even if it failed, otherwise the other sections would never be requested
+            sectionRequests.onSectionReady(request);
+            if (request == null) {
+                checkAllRequestsFinished(null);
+            }
+        }
+    }
 
+    /*
+     * returns the REST path to request the passed section, null if the section is unknown
+     */
+    private static String getRequestPath(final String blogId, final StatsTimeframe timeframe, final String date,
+                                         final StatsEndpointsEnum sectionToUpdate,
+                                         final int maxResultsRequested, final int pageRequested) {
         String period = timeframe.getLabelForRestCall();
-        /*AppLog.i(T.STATS, "A new Stats network request is required for blogID: " + blogId + " - period: " + period
-                + " - date: " + date + " - StatsType: " + sectionToUpdate.name());
-*/
-
-
-        RestListener vListener = new RestListener(sectionToUpdate, blogId, timeframe, date, maxResultsRequested, pageRequested);
 
         final String periodDateMaxPlaceholder =  "?period=%s&date=%s&max=%s";
 
         String path = String.format(Locale.US, "/sites/%s/stats/" + sectionToUpdate.getRestEndpointPath(), blogId);
-        synchronized (mStatsNetworkRequests) {
-            switch (sectionToUpdate) {
-                case VISITS:
-                    path = String.format(Locale.US, path + "?unit=%s&quantity=15&date=%s", period, date);
-                    break;
-                case TOP_POSTS:
-                case REFERRERS:
-                case CLICKS:
-                case GEO_VIEWS:
-                case AUTHORS:
-                case VIDEO_PLAYS:
-                case SEARCH_TERMS:
-                    path = String.format(Locale.US, path + periodDateMaxPlaceholder, period, date, maxResultsRequested);
-                    break;
-                case TAGS_AND_CATEGORIES:
-                case PUBLICIZE:
+        switch (sectionToUpdate) {
+            case VISITS:
+                path = String.format(Locale.US, path + "?unit=%s&quantity=15&date=%s", period, date);
+                break;
+            case TOP_POSTS:
+            case REFERRERS:
+            case CLICKS:
+            case GEO_VIEWS:
+            case AUTHORS:
+            case VIDEO_PLAYS:
+            case SEARCH_TERMS:
+                path = String.format(Locale.US, path + periodDateMaxPlaceholder, period, date, maxResultsRequested);
+                break;
+            case TAGS_AND_CATEGORIES:
+            case PUBLICIZE:
+                path = String.format(Locale.US, path + "?max=%s", maxResultsRequested);
+                break;
+            case COMMENTS:
+                // No parameters
+                break;
+            case FOLLOWERS_WPCOM:
+                if (pageRequested < 1) {
+                    path = String.format(Locale.US, path + "&max=%s", maxResultsRequested);
+                } else {
+                    path = String.format(Locale.US, path + "&period=%s&date=%s&max=%s&page=%s",
+                            period, date, maxResultsRequested, pageRequested);
+                }
+                break;
+            case FOLLOWERS_EMAIL:
+                if (pageRequested < 1) {
+                    path = String.format(Locale.US, path + "&max=%s", maxResultsRequested);
+                } else {
+                    path = String.format(Locale.US, path + "&period=%s&date=%s&max=%s&page=%s",
+                            period, date, maxResultsRequested, pageRequested);
+                }
+                break;
+            case COMMENT_FOLLOWERS:
+                if (pageRequested < 1) {
                     path = String.format(Locale.US, path + "?max=%s", maxResultsRequested);
-                    break;
-                case COMMENTS:
-                    // No parameters
-                    break;
-                case FOLLOWERS_WPCOM:
-                    if (pageRequested < 1) {
-                        path = String.format(Locale.US, path + "&max=%s", maxResultsRequested);
-                    } else {
-                        path = String.format(Locale.US, path + "&period=%s&date=%s&max=%s&page=%s",
-                                period, date, maxResultsRequested, pageRequested);
-                    }
-                    break;
-                case FOLLOWERS_EMAIL:
-                    if (pageRequested < 1) {
-                        path = String.format(Locale.US, path + "&max=%s", maxResultsRequested);
-                    } else {
-                        path = String.format(Locale.US, path + "&period=%s&date=%s&max=%s&page=%s",
-                                period, date, maxResultsRequested, pageRequested);
-                    }
-                    break;
-                case COMMENT_FOLLOWERS:
-                    if (pageRequested < 1) {
-                        path = String.format(Locale.US, path + "?max=%s", maxResultsRequested);
-                    } else {
-                        path = String.format(Locale.US, path + "?period=%s&date=%s&max=%s&page=%s", period,
-                                date, maxResultsRequested, pageRequested);
-                    }
-                    break;
-                case INSIGHTS_ALL_TIME:
-                case INSIGHTS_POPULAR:
-                    break;
-                case INSIGHTS_TODAY:
-                    path = String.format(Locale.US, path + "?period=day&date=%s", date);
-                    break;
-                case INSIGHTS_LATEST_POST_SUMMARY:
-                    // This is an edge cases since  we're not loading stats but posts
-                    path = String.format(Locale.US, "/sites/%s/%s", blogId, sectionToUpdate.getRestEndpointPath()
-                            + "?order_by=date&number=1&type=post&fields=ID,title,URL,discussion,like_count,date");
-                    break;
-                case INSIGHTS_LATEST_POST_VIEWS:
-                    // This is a kind of edge case, since we used the pageRequested parameter to request a single postID
-                    path = String.format(Locale.US, path + "/%s?fields=views", pageRequested);
-                    break;
-                default:
-                    AppLog.i(T.STATS, "Called an update of Stats of unknown section!?? " + sectionToUpdate.name());
-                    return;
+                } else {
+                    path = String.format(Locale.US, path + "?period=%s&date=%s&max=%s&page=%s", period,
+                            date, maxResultsRequested, pageRequested);
+                }
+                break;
+            case INSIGHTS_ALL_TIME:
+            case INSIGHTS_POPULAR:
+                break;
+            case INSIGHTS_TODAY:
+                path = String.format(Locale.US, path + "?period=day&date=%s", date);
+                break;
+            case INSIGHTS_LATEST_POST_SUMMARY:
+                // This is an edge cases since  we're not loading stats but posts
+                path = String.format(Locale.US, "/sites/%s/%s", blogId, sectionToUpdate.getRestEndpointPath()
+                        + "?order_by=date&number=1&type=post&fields=ID,title,URL,discussion,like_count,date");
+                break;
+            case INSIGHTS_LATEST_POST_VIEWS:
+                // This is a kind of edge case, since we used the pageRequested parameter to request a single postID
+                path = String.format(Locale.US, path + "/%s?fields=views", pageRequested);
+                break;
+            default:
+                AppLog.i(T.STATS, "Called an update of Stats of unknown section!?? " + sectionToUpdate.name());
+                return null;
+        }
+        return path;
+    }
+
+    /*
+     * Collects the network requests of sections started together. Once every section has checked
+     * its cache, the requests are sent in a single /batch request rather than one request each.
+     */
+    private class SectionRequests {
+        private final String mBlogId;
+        private int mRemainingSections;
+        private final List<RestClientUtils.BatchRequest> mRequests = new ArrayList<>();
+        private boolean mIsLocalTableBlogIdResolved;
+        private int mLocalTableBlogId;
+
+        SectionRequests(String blogId, int numSections) {
+            mBlogId = blogId;
+            mRemainingSections = numSections;
+        }
+
+        // the sections share the same blog, so its local id is only looked up once
+        synchronized int getLocalTableBlogId() {
+            if (!mIsLocalTableBlogIdResolved) {
+                mLocalTableBlogId = WordPress.getWpDB().getLocalTableBlogIdForRemoteBlogId(Integer.parseInt(mBlogId));
+                mIsLocalTableBlogIdResolved = true;
             }
+            return mLocalTableBlogId;
+        }
 
-            // We need to check if we already have the same request in the queue
-            if (checkIfRequestShouldBeEnqueued(restClientUtils, path)) {
-                AppLog.d(AppLog.T.STATS, "Enqueuing the following Stats request " + path);
-                Request<JSONObject> currentRequest = restClientUtils.get(path, vListener, vListener);
-                vListener.currentRequest = currentRequest;
-                currentRequest.setTag("StatsCall");
-                mStatsNetworkRequests.add(currentRequest);
-            } else {
-                AppLog.d(AppLog.T.STATS, "Stats request is already in the queue:" + path);
+        // request is null when the section doesn't need to be requested
+        void onSectionReady(RestClientUtils.BatchRequest request) {
+            synchronized (this) {
+                if (request != null) {
+                    mRequests.add(request);
+                }
+                if (--mRemainingSections > 0) {
+                    return;
+                }
             }
+            enqueueRequests(mRequests);
         }
     }
 
-    /**
-     *  This method checks if we already have the same request in the Queue. No need to re-enqueue a new request
-     *  if one with the same parameters is there.
-     *
-     *  This method is a kind of tricky, since it does the comparison by checking the origin URL of requests.
-     *  To do that we had to get the fullURL of the new request by calling a method of the REST client `getAbsoluteURL`.
-     *  That's good for now, but could lead to errors if the RestClient changes the way the URL is constructed internally,
-     *  by calling `getAbsoluteURL`.
-     *
-     *  - Another approach would involve the get of the requests ErrorListener and the check Listener's parameters.
-     *  - Cleanest approach is for sure to create a new class that extends Request<JSONObject> and stores parameters for later comparison,
-     *  unfortunately we have to change the REST Client and RestClientUtils a lot if we want follow this way...
-     *
-     */
-    private boolean checkIfRequestShouldBeEnqueued(final RestClientUtils restClientUtils, String path) {
-        String absoluteRequestPath = restClientUtils.getRestClient().getAbsoluteURL(path);
-        Iterator<Request<JSONObject>> it = mStatsNetworkRequests.iterator();
-        while (it.hasNext()) {
-            Request<JSONObject> req = it.next();
-            if (!req.hasHadResponseDelivered() && !req.isCanceled() &&
-                    absoluteRequestPath.equals(req.getOriginUrl())) {
-                return false;
+    private void enqueueRequests(List<RestClientUtils.BatchRequest> requests) {
+        final RestClientUtils restClientUtils = WordPress.getRestClientUtilsV1_1();
+        synchronized (mStatsNetworkRequests) {
+            for (int start = 0; start < requests.size(); start += RestClientUtils.MAX_BATCH_REQUESTS) {
+                List<RestClientUtils.BatchRequest> batch =
+                        requests.subList(start, Math.min(requests.size(), start + RestClientUtils.MAX_BATCH_REQUESTS));
+                Request<JSONObject> currentRequest;
+                if (batch.size() == 1) {
+                    RestListener vListener = (RestListener) batch.get(0).getListener();
+                    AppLog.d(AppLog.T.STATS, "Enqueuing the following Stats request " + vListener.mPath);
+                    currentRequest = restClientUtils.get(vListener.mPath, vListener, vListener);
+                } else {
+                    AppLog.d(AppLog.T.STATS, "Enqueuing a batch of " + batch.size() + " Stats requests");
+                    currentRequest = restClientUtils.getBatch(new ArrayList<>(batch), null);
+                }
+                for (RestClientUtils.BatchRequest request : batch) {
+                    ((RestListener) request.getListener()).currentRequest = currentRequest;
+                }
+                currentRequest.setTag("StatsCall");
+                mStatsNetworkRequests.add(currentRequest);
             }
         }
-
-        return true;
     }
 
     // Call an updates on the installed widgets if the blog is the primary, the endpoint is Visits
     // the timeframe is DAY or INSIGHTS, and the date = TODAY
-    private void updateWidgetsUI(String blogId, final StatsEndpointsEnum endpointName,
+    private void updateWidgetsUI(String blogId, int localTableBlogId, final StatsEndpointsEnum endpointName,
                                  StatsTimeframe timeframe, String date, int pageRequested,
                                  Serializable responseObjectModel) {
         if (pageRequested != -1) {
@@ -477,7 +669,6 @@ public class StatsService extends Service {
         }
 
         int parsedBlogID = Integer.parseInt(blogId);
-        int localTableBlogId = WordPress.wpDB.getLocalTableBlogIdForRemoteBlogId(parsedBlogID);
         // make sure the data is for the current date
         if (!date.equals(StatsUtils.getCurrentDateTZ(localTableBlogId))) {
             return;
@@ -512,15 +703,23 @@ public class StatsService extends Service {
 
     private class RestListener implements RestRequest.Listener, RestRequest.ErrorListener {
         final String mRequestBlogId;
+        private final int mLocalTableBlogId;
         private final StatsTimeframe mTimeframe;
         final StatsEndpointsEnum mEndpointName;
         private final String mDate;
+        private final String mPath;
         private Request<JSONObject> currentRequest;
         private final int mMaxResultsRequested, mPageRequested;
+        // true when cached stats were already shown for this request, an error then keeps them on screen
+        private final boolean mHasCachedStats;
 
-        public RestListener(StatsEndpointsEnum endpointName, String blogId, StatsTimeframe timeframe, String date,
-                            final int maxResultsRequested, final int pageRequested) {
+        public RestListener(StatsEndpointsEnum endpointName, String blogId, int localTableBlogId,
+                            StatsTimeframe timeframe, String date, final int maxResultsRequested,
+                            final int pageRequested, final String path, boolean hasCachedStats) {
+            mPath = path;
             mRequestBlogId = blogId;
+            mLocalTableBlogId = localTableBlogId;
+            mHasCachedStats = hasCachedStats;
             mTimeframe = timeframe;
             mEndpointName = endpointName;
             mDate = date;
@@ -530,7 +729,7 @@ public class StatsService extends Service {
 
         @Override
         public void onResponse(final JSONObject response) {
-            singleThreadNetworkHandler.submit(new Thread() {
+            submitSectionTask(mEndpointName, new Runnable() {
                 @Override
                 public void run() {
                     // do other stuff here
@@ -538,13 +737,14 @@ public class StatsService extends Service {
                     if (response != null) {
                         try {
                             //AppLog.d(T.STATS, response.toString());
-                            mResponseObjectModel = StatsUtils.parseResponse(mEndpointName, mRequestBlogId, response);
-                            if (isCacheEnabled()) {
-                                int parsedBlogID = Integer.parseInt(mRequestBlogId);
-                                int localTableBlogId = WordPress.wpDB.getLocalTableBlogIdForRemoteBlogId(parsedBlogID);
-                                StatsTable.insertStats(StatsService.this, localTableBlogId, mTimeframe, mDate, mEndpointName,
-                                        mMaxResultsRequested, mPageRequested,
-                                        response.toString(), System.currentTimeMillis());
+                            mResponseObjectModel = parseResponse(mEndpointName, mRequestBlogId, response);
+                            if (isCacheEnabled() && mResponseObjectModel != null) {
+                                long timestamp = System.currentTimeMillis();
+                                StatsTable.insertStats(StatsService.this, mLocalTableBlogId, mTimeframe, mDate,
+                                        mEndpointName, mMaxResultsRequested, mPageRequested,
+                                        response.toString(), timestamp);
+                                StatsMemoryCache.put(mLocalTableBlogId, mEndpointName, mTimeframe, mDate,
+                                        mMaxResultsRequested, mPageRequested, mResponseObjectModel, timestamp);
                             }
                         } catch (JSONException e) {
                             AppLog.e(AppLog.T.STATS, e);
@@ -556,27 +756,27 @@ public class StatsService extends Service {
                             mMaxResultsRequested, mPageRequested, mResponseObjectModel)
                     );
 
-                    updateWidgetsUI(mRequestBlogId, mEndpointName, mTimeframe, mDate, mPageRequested, mResponseObjectModel);
-                    checkAllRequestsFinished(currentRequest);
+                    updateWidgetsUI(mRequestBlogId, mLocalTableBlogId, mEndpointName, mTimeframe, mDate, mPageRequested,
+                            mResponseObjectModel);
+                    checkAllRequestsFinished(RestListener.this);
                 }
             });
         }
 
         @Override
         public void onErrorResponse(final VolleyError volleyError) {
-            singleThreadNetworkHandler.submit(new Thread() {
+            submitSectionTask(mEndpointName, new Runnable() {
                 @Override
                 public void run() {
                     AppLog.e(T.STATS, "Error while loading Stats!");
                     StatsUtils.logVolleyErrorDetails(volleyError);
-                    BaseStatsModel mResponseObjectModel = null;
                     // Check here if this is an authentication error
                     // .com authentication errors are handled automatically by the app
                     if (volleyError instanceof com.android.volley.AuthFailureError) {
-                        int localId = WordPress.wpDB.getLocalTableBlogIdForJetpackOrWpComRemoteSiteId(
+                        int localId = WordPress.getWpDB().getLocalTableBlogIdForJetpackOrWpComRemoteSiteId(
                                 Integer.parseInt(mRequestBlogId)
                         );
-                        Blog blog = WordPress.wpDB.instantiateBlogByLocalId(localId);
+                        Blog blog = WordPress.getWpDB().instantiateBlogByLocalId(localId);
                         if (blog != null && blog.isJetpackPowered()) {
                             // It's a kind of edge case, but the Jetpack site could have REST Disabled
                             // In that case (only used in insights for now) shows the error in the module that use the REST API
@@ -586,12 +786,12 @@ public class StatsService extends Service {
                         }
                     }
 
-
-                    EventBus.getDefault().post(new StatsEvents.SectionUpdateError(mEndpointName, mRequestBlogId, mTimeframe, mDate,
-                            mMaxResultsRequested, mPageRequested, volleyError));
-
-                    updateWidgetsUI(mRequestBlogId, mEndpointName, mTimeframe, mDate, mPageRequested, mResponseObjectModel);
-                    checkAllRequestsFinished(currentRequest);
+                    // the cached stats already shown stay on screen, even if they're expired
+                    if (!mHasCachedStats) {
+                        EventBus.getDefault().post(new StatsEvents.SectionUpdateError(mEndpointName, mRequestBlogId,
+                                mTimeframe, mDate, mMaxResultsRequested, mPageRequested, volleyError));
+                    }
+                    checkAllRequestsFinished(RestListener.this);
                 }
             });
         }
@@ -608,12 +808,15 @@ public class StatsService extends Service {
     }
 
 
-    private void checkAllRequestsFinished(Request<JSONObject> req) {
+    private void checkAllRequestsFinished(RestListener listener) {
         synchronized (mStatsNetworkRequests) {
-            if (req != null) {
-                mStatsNetworkRequests.remove(req);
+            if (listener != null) {
+                mStatsNetworkRequests.remove(listener.currentRequest);
+                mPendingRequestPaths.remove(listener.mPath);
             }
-            boolean isStillWorking = mStatsNetworkRequests.size() > 0 || singleThreadNetworkHandler.getQueue().size() > 0;
+            // a batch request is shared by several listeners, so also check the paths still waiting for a response
+            boolean isStillWorking = mStatsNetworkRequests.size() > 0 || mPendingRequestPaths.size() > 0
+                    || getQueuedSectionTaskCount() > 0;
             EventBus.getDefault().post(new StatsEvents.UpdateStatusChanged(isStillWorking));
         }
     }
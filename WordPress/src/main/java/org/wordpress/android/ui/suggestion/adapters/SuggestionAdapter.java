@@ -11,17 +11,18 @@ import android.widget.TextView;
 
 import org.wordpress.android.R;
 import org.wordpress.android.models.Suggestion;
+import org.wordpress.android.ui.suggestion.util.SuggestionIndex;
 import org.wordpress.android.util.GravatarUtils;
+import org.wordpress.android.widgets.SuggestionAutoCompleteText.OnSuggestionSelectedListener;
 import org.wordpress.android.widgets.WPNetworkImageView;
 
-import java.util.ArrayList;
 import java.util.List;
 
-public class SuggestionAdapter extends BaseAdapter implements Filterable {
+public class SuggestionAdapter extends BaseAdapter implements Filterable, OnSuggestionSelectedListener {
     private final LayoutInflater mInflater;
     private Filter mSuggestionFilter;
     private List<Suggestion> mSuggestionList;
-    private List<Suggestion> mOrigSuggestionList;
+    private SuggestionIndex<Suggestion> mSuggestionIndex;
     private int mAvatarSz;
 
     public SuggestionAdapter(Context context) {
@@ -29,8 +30,8 @@ public class SuggestionAdapter extends BaseAdapter implements Filterable {
         mInflater = LayoutInflater.from(context);
     }
 
-    public void setSuggestionList(List<Suggestion> suggestionList) {
-        mOrigSuggestionList = suggestionList;
+    public void setSuggestionIndex(SuggestionIndex<Suggestion> suggestionIndex) {
+        mSuggestionIndex = suggestionIndex;
     }
 
     @Override
@@ -54,6 +55,17 @@ public class SuggestionAdapter extends BaseAdapter implements Filterable {
         return position;
     }
 
+    /*
+     * ranks the picked suggestion higher the next time suggestions are shown
+     */
+    @Override
+    public void onSuggestionSelected(int position) {
+        Suggestion suggestion = getItem(position);
+        if (mSuggestionIndex != null && suggestion != null) {
+            mSuggestionIndex.markUsed(suggestion);
+        }
+    }
+
     @Override
     public View getView(int position, View convertView, ViewGroup parent) {
         final SuggestionViewHolder holder;
@@ -103,26 +115,14 @@ public class SuggestionAdapter extends BaseAdapter implements Filterable {
         @Override
         protected FilterResults performFiltering(CharSequence constraint) {
             FilterResults results = new FilterResults();
+            SuggestionIndex<Suggestion> suggestionIndex = mSuggestionIndex;
 
-            if (mOrigSuggestionList == null) {
+            if (suggestionIndex == null) {
                 results.values = null;
                 results.count = 0;
             }
-            else if (constraint == null || constraint.length() == 0) {
-                results.values = mOrigSuggestionList;
-                results.count = mOrigSuggestionList.size();
-            }
             else {
-                List<Suggestion> nSuggestionList = new ArrayList<Suggestion>();
-
-                for (Suggestion suggestion : mOrigSuggestionList) {
-                    String lowerCaseConstraint = constraint.toString().toLowerCase();
-                    if (suggestion.getUserLogin().toLowerCase().startsWith(lowerCaseConstraint)
-                            || suggestion.getDisplayName().toLowerCase().startsWith(lowerCaseConstraint)
-                            || suggestion.getDisplayName().toLowerCase().contains(" " + lowerCaseConstraint))
-                        nSuggestionList.add(suggestion);
-                }
-
+                List<Suggestion> nSuggestionList = suggestionIndex.find(constraint);
                 results.values = nSuggestionList;
                 results.count = nSuggestionList.size();
             }
@@ -11,22 +11,23 @@ import android.widget.TextView;
 
 import org.wordpress.android.R;
 import org.wordpress.android.models.Tag;
+import org.wordpress.android.ui.suggestion.util.SuggestionIndex;
+import org.wordpress.android.widgets.SuggestionAutoCompleteText.OnSuggestionSelectedListener;
 
-import java.util.ArrayList;
 import java.util.List;
 
-public class TagSuggestionAdapter extends BaseAdapter implements Filterable {
+public class TagSuggestionAdapter extends BaseAdapter implements Filterable, OnSuggestionSelectedListener {
     private final LayoutInflater mInflater;
     private Filter mTagFilter;
     private List<Tag> mTagList;
-    private List<Tag> mOrigTagList;
+    private SuggestionIndex<Tag> mTagIndex;
 
     public TagSuggestionAdapter(Context context) {
         mInflater = LayoutInflater.from(context);
     }
 
-    public void setTagList(List<Tag> tagList) {
-        mOrigTagList = tagList;
+    public void setTagIndex(SuggestionIndex<Tag> tagIndex) {
+        mTagIndex = tagIndex;
     }
 
     @Override
@@ -50,6 +51,17 @@ public class TagSuggestionAdapter extends BaseAdapter implements Filterable {
         return position;
     }
 
+    /*
+     * ranks the picked tag higher the next time suggestions are shown
+     */
+    @Override
+    public void onSuggestionSelected(int position) {
+        Tag tag = getItem(position);
+        if (mTagIndex != null && tag != null) {
+            mTagIndex.markUsed(tag);
+        }
+    }
+
     @Override
     public View getView(int position, View convertView, ViewGroup parent) {
         final TagViewHolder holder;
@@ -92,25 +104,14 @@ public class TagSuggestionAdapter extends BaseAdapter implements Filterable {
         @Override
         protected FilterResults performFiltering(CharSequence constraint) {
             FilterResults results = new FilterResults();
+            SuggestionIndex<Tag> tagIndex = mTagIndex;
 
-            if (mOrigTagList == null) {
+            if (tagIndex == null) {
                 results.values = null;
                 results.count = 0;
             }
-            else if (constraint == null || constraint.length() == 0) {
-                results.values = mOrigTagList;
-                results.count = mOrigTagList.size();
-            }
             else {
-                List<Tag> nTagList = new ArrayList<Tag>();
-
-                for (Tag tag : mOrigTagList) {
-                    String lowerCaseConstraint = constraint.toString().toLowerCase();
-                    if (tag.getTag().toLowerCase().startsWith(lowerCaseConstraint)
-                            || tag.getTag().toLowerCase().contains(" " + lowerCaseConstraint))
-                        nTagList.add(tag);
-                }
-
+                List<Tag> nTagList = tagIndex.find(constraint);
                 results.values = nTagList;
                 results.count = nTagList.size();
             }
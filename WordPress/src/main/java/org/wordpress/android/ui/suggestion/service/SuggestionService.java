@@ -11,9 +11,11 @@ import com.wordpress.rest.RestRequest;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.wordpress.android.WordPress;
-import org.wordpress.android.datasets.SuggestionTable;
 import org.wordpress.android.models.Suggestion;
 import org.wordpress.android.models.Tag;
+import org.wordpress.android.ui.suggestion.util.SuggestionUtils;
+import org.wordpress.android.util.AppExecutors;
+import org.wordpress.android.util.AppExecutors.Pool;
 import org.wordpress.android.util.AppLog;
 
 import java.util.ArrayList;
@@ -74,7 +76,7 @@ public class SuggestionService extends Service {
     }
 
     private void handleSuggestionsUpdatedResponse(final int remoteBlogId, final JSONObject jsonObject) {
-        new Thread() {
+        AppExecutors.execute(Pool.DB, new Runnable() {
             @Override
             public void run() {
                 if (jsonObject == null) {
@@ -84,11 +86,11 @@ public class SuggestionService extends Service {
                 JSONArray jsonSuggestions = jsonObject.optJSONArray("suggestions");
                 List<Suggestion> suggestions = Suggestion.suggestionListFromJSON(jsonSuggestions, remoteBlogId);
                 if (suggestions != null) {
-                    SuggestionTable.insertSuggestionsForSite(remoteBlogId, suggestions);
+                    SuggestionUtils.setSuggestionsForSite(remoteBlogId, suggestions);
                     EventBus.getDefault().post(new SuggestionEvents.SuggestionNameListUpdated(remoteBlogId));
                 }
             }
-        }.start();
+        });
     }
 
     private void removeSiteIdFromSuggestionRequestsAndStopServiceIfNecessary(Integer remoteBlogId) {
@@ -127,7 +129,7 @@ public class SuggestionService extends Service {
     }
 
     private void handleTagsUpdatedResponse(final int remoteBlogId, final JSONObject jsonObject) {
-        new Thread() {
+        AppExecutors.execute(Pool.DB, new Runnable() {
             @Override
             public void run() {
                 if (jsonObject == null) {
@@ -137,11 +139,11 @@ public class SuggestionService extends Service {
                 JSONArray jsonTags = jsonObject.optJSONArray("tags");
                 List<Tag> tags = Tag.tagListFromJSON(jsonTags, remoteBlogId);
                 if (tags != null) {
-                    SuggestionTable.insertTagsForSite(remoteBlogId, tags);
+                    SuggestionUtils.setTagsForSite(remoteBlogId, tags);
                     EventBus.getDefault().post(new SuggestionEvents.SuggestionTagListUpdated(remoteBlogId));
                 }
             }
-        }.start();
+        });
     }
 
     private void removeSiteIdFromTagRequestsAndStopServiceIfNecessary(Integer remoteBlogId) {
@@ -0,0 +1,211 @@
+package org.wordpress.android.ui.suggestion.util;
+
+import android.text.TextUtils;
+
+import org.wordpress.android.models.Suggestion;
+import org.wordpress.android.models.Tag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable prefix index over the suggestions of a site. Each name an item can be matched on is
+ * lowercased once, along with every part of it which follows a space, and kept in a sorted array,
+ * so a lookup is a binary search followed by a scan over the matching tokens instead of lowercasing
+ * and comparing every item on each keystroke. Matches which were picked recently are listed first.
+ */
+public class SuggestionIndex<T> {
+    public interface Indexer<T> {
+        // identifies the item when tracking its use, must be unique across sites
+        String getKey(T item);
+        String[] getNames(T item);
+    }
+
+    public static final Indexer<Suggestion> SUGGESTION_INDEXER = new Indexer<Suggestion>() {
+        @Override
+        public String getKey(Suggestion suggestion) {
+            return "mention:" + suggestion.siteID + ":" + suggestion.getUserLogin();
+        }
+
+        @Override
+        public String[] getNames(Suggestion suggestion) {
+            return new String[]{suggestion.getUserLogin(), suggestion.getDisplayName()};
+        }
+    };
+
+    public static final Indexer<Tag> TAG_INDEXER = new Indexer<Tag>() {
+        @Override
+        public String getKey(Tag tag) {
+            return "tag:" + tag.siteID + ":" + tag.getTag();
+        }
+
+        @Override
+        public String[] getNames(Tag tag) {
+            return new String[]{tag.getTag()};
+        }
+    };
+
+    // item key -> time it was last picked, shared by all indexes so it survives a refresh of the site
+    private static final Map<String, Long> sLastUsed = new HashMap<>();
+
+    private final List<T> mItems;
+    private final Indexer<T> mIndexer;
+    private final String[] mTokens;
+    private final int[] mTokenItems; // index in mItems of the item each token belongs to
+
+    public SuggestionIndex(List<T> items, Indexer<T> indexer) {
+        mItems = (items != null ? new ArrayList<>(items) : new ArrayList<T>());
+        mIndexer = indexer;
+
+        final List<String> tokens = new ArrayList<>();
+        List<Integer> tokenItems = new ArrayList<>();
+        for (int i = 0; i < mItems.size(); i++) {
+            for (String name : indexer.getNames(mItems.get(i))) {
+                addTokens(normalize(name), i, tokens, tokenItems);
+            }
+        }
+
+        Integer[] order = new Integer[tokens.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer lhs, Integer rhs) {
+                return tokens.get(lhs).compareTo(tokens.get(rhs));
+            }
+        });
+
+        mTokens = new String[order.length];
+        mTokenItems = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            mTokens[i] = tokens.get(order[i]);
+            mTokenItems[i] = tokenItems.get(order[i]);
+        }
+    }
+
+    /*
+     * adds the name and each part of it following a space, so a query matches the start of the
+     * name or the start of any word in it
+     */
+    private static void addTokens(String name, int item, List<String> tokens, List<Integer> tokenItems) {
+        if (TextUtils.isEmpty(name)) {
+            return;
+        }
+        tokens.add(name);
+        tokenItems.add(item);
+        for (int i = name.indexOf(' '); i != -1; i = name.indexOf(' ', i + 1)) {
+            if (i + 1 < name.length()) {
+                tokens.add(name.substring(i + 1));
+                tokenItems.add(item);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase();
+    }
+
+    public boolean isEmpty() {
+        return mItems.isEmpty();
+    }
+
+    /*
+     * returns the items with a name or a word in a name starting with the passed prefix, recently
+     * used ones first and the others in their original order
+     */
+    public List<T> find(CharSequence prefix) {
+        if (TextUtils.isEmpty(prefix)) {
+            return rank(allItemIndexes());
+        }
+
+        String query = normalize(prefix.toString());
+        Set<Integer> matches = new HashSet<>();
+        for (int i = lowerBound(query); i < mTokens.length && mTokens[i].startsWith(query); i++) {
+            matches.add(mTokenItems[i]);
+        }
+        List<Integer> itemIndexes = new ArrayList<>(matches);
+        Collections.sort(itemIndexes);
+        return rank(itemIndexes);
+    }
+
+    /*
+     * records that the passed item was picked, so it ranks first in the following lookups
+     */
+    public void markUsed(T item) {
+        synchronized (sLastUsed) {
+            sLastUsed.put(mIndexer.getKey(item), System.currentTimeMillis());
+        }
+    }
+
+    /*
+     * forgets which items were picked, called on sign out
+     */
+    public static void clearUsage() {
+        synchronized (sLastUsed) {
+            sLastUsed.clear();
+        }
+    }
+
+    private int lowerBound(String query) {
+        int low = 0;
+        int high = mTokens.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mTokens[mid].compareTo(query) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<Integer> allItemIndexes() {
+        List<Integer> itemIndexes = new ArrayList<>(mItems.size());
+        for (int i = 0; i < mItems.size(); i++) {
+            itemIndexes.add(i);
+        }
+        return itemIndexes;
+    }
+
+    private List<T> rank(List<Integer> itemIndexes) {
+        List<T> results = new ArrayList<>(itemIndexes.size());
+        final Map<T, Long> usedItems = new HashMap<>();
+        synchronized (sLastUsed) {
+            if (!sLastUsed.isEmpty()) {
+                for (int i : itemIndexes) {
+                    T item = mItems.get(i);
+                    Long lastUsed = sLastUsed.get(mIndexer.getKey(item));
+                    if (lastUsed != null) {
+                        usedItems.put(item, lastUsed);
+                    }
+                }
+            }
+        }
+
+        if (!usedItems.isEmpty()) {
+            results.addAll(usedItems.keySet());
+            Collections.sort(results, new Comparator<T>() {
+                @Override
+                public int compare(T lhs, T rhs) {
+                    return usedItems.get(rhs).compareTo(usedItems.get(lhs));
+                }
+            });
+        }
+        for (int i : itemIndexes) {
+            T item = mItems.get(i);
+            if (!usedItems.containsKey(item)) {
+                results.add(item);
+            }
+        }
+        return results;
+    }
+}
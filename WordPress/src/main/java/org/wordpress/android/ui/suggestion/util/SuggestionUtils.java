@@ -1,6 +1,7 @@
 package org.wordpress.android.ui.suggestion.util;
 
 import android.content.Context;
+import android.util.SparseArray;
 
 import org.wordpress.android.WordPress;
 import org.wordpress.android.datasets.SuggestionTable;
@@ -13,9 +14,72 @@ import org.wordpress.android.ui.suggestion.adapters.TagSuggestionAdapter;
 import java.util.List;
 
 public class SuggestionUtils {
+    // per-site indexes of the stored suggestions and tags, built when they're first needed and
+    // rebuilt whenever the suggestion service stores fresh ones
+    private static final SparseArray<SuggestionIndex<Suggestion>> sSuggestionIndexes = new SparseArray<>();
+    private static final SparseArray<SuggestionIndex<Tag>> sTagIndexes = new SparseArray<>();
+
+    public static SuggestionIndex<Suggestion> getSuggestionIndex(int remoteBlogId) {
+        synchronized (sSuggestionIndexes) {
+            SuggestionIndex<Suggestion> index = sSuggestionIndexes.get(remoteBlogId);
+            if (index == null) {
+                index = new SuggestionIndex<>(SuggestionTable.getSuggestionsForSite(remoteBlogId),
+                        SuggestionIndex.SUGGESTION_INDEXER);
+                sSuggestionIndexes.put(remoteBlogId, index);
+            }
+            return index;
+        }
+    }
+
+    public static SuggestionIndex<Tag> getTagIndex(int remoteBlogId) {
+        synchronized (sTagIndexes) {
+            SuggestionIndex<Tag> index = sTagIndexes.get(remoteBlogId);
+            if (index == null) {
+                index = new SuggestionIndex<>(SuggestionTable.getTagsForSite(remoteBlogId),
+                        SuggestionIndex.TAG_INDEXER);
+                sTagIndexes.put(remoteBlogId, index);
+            }
+            return index;
+        }
+    }
+
+    /*
+     * stores the suggestions fetched for a site and rebuilds its index
+     */
+    public static void setSuggestionsForSite(int remoteBlogId, List<Suggestion> suggestions) {
+        SuggestionTable.insertSuggestionsForSite(remoteBlogId, suggestions);
+        SuggestionIndex<Suggestion> index = new SuggestionIndex<>(suggestions, SuggestionIndex.SUGGESTION_INDEXER);
+        synchronized (sSuggestionIndexes) {
+            sSuggestionIndexes.put(remoteBlogId, index);
+        }
+    }
+
+    /*
+     * stores the tags fetched for a site and rebuilds its index
+     */
+    public static void setTagsForSite(int remoteBlogId, List<Tag> tags) {
+        SuggestionTable.insertTagsForSite(remoteBlogId, tags);
+        SuggestionIndex<Tag> index = new SuggestionIndex<>(tags, SuggestionIndex.TAG_INDEXER);
+        synchronized (sTagIndexes) {
+            sTagIndexes.put(remoteBlogId, index);
+        }
+    }
+
+    /*
+     * drops the in-memory indexes and the recently used suggestions, called on sign out
+     */
+    public static void reset() {
+        synchronized (sSuggestionIndexes) {
+            sSuggestionIndexes.clear();
+        }
+        synchronized (sTagIndexes) {
+            sTagIndexes.clear();
+        }
+        SuggestionIndex.clearUsage();
+    }
 
     public static SuggestionAdapter setupSuggestions(final int remoteBlogId, Context context, SuggestionServiceConnectionManager serviceConnectionManager) {
-        Blog blog = WordPress.wpDB.getBlogForDotComBlogId(Integer.toString(remoteBlogId));
+        Blog blog = WordPress.getWpDB().getBlogForDotComBlogId(Integer.toString(remoteBlogId));
         boolean isDotComFlag = (blog != null && blog.isDotcomFlag());
 
         return SuggestionUtils.setupSuggestions(remoteBlogId, context, serviceConnectionManager, isDotComFlag);
@@ -28,17 +92,17 @@ public class SuggestionUtils {
 
         SuggestionAdapter suggestionAdapter = new SuggestionAdapter(context);
 
-        List<Suggestion> suggestions = SuggestionTable.getSuggestionsForSite(remoteBlogId);
+        SuggestionIndex<Suggestion> suggestionIndex = getSuggestionIndex(remoteBlogId);
         // if the suggestions are not stored yet, we want to trigger an update for it
-        if (suggestions.isEmpty()) {
+        if (suggestionIndex.isEmpty()) {
             serviceConnectionManager.bindToService();
         }
-        suggestionAdapter.setSuggestionList(suggestions);
+        suggestionAdapter.setSuggestionIndex(suggestionIndex);
         return suggestionAdapter;
     }
 
     public static TagSuggestionAdapter setupTagSuggestions(final int remoteBlogId, Context context, SuggestionServiceConnectionManager serviceConnectionManager) {
-        Blog blog = WordPress.wpDB.getBlogForDotComBlogId(Integer.toString(remoteBlogId));
+        Blog blog = WordPress.getWpDB().getBlogForDotComBlogId(Integer.toString(remoteBlogId));
         boolean isDotComFlag = (blog != null && blog.isDotcomFlag());
 
         return SuggestionUtils.setupTagSuggestions(remoteBlogId, context, serviceConnectionManager, isDotComFlag);
@@ -51,12 +115,12 @@ public class SuggestionUtils {
 
         TagSuggestionAdapter tagSuggestionAdapter = new TagSuggestionAdapter(context);
 
-        List<Tag> tags = SuggestionTable.getTagsForSite(remoteBlogId);
+        SuggestionIndex<Tag> tagIndex = getTagIndex(remoteBlogId);
         // if the tags are not stored yet, we want to trigger an update for it
-        if (tags.isEmpty()) {
+        if (tagIndex.isEmpty()) {
             serviceConnectionManager.bindToService();
         }
-        tagSuggestionAdapter.setTagList(tags);
+        tagSuggestionAdapter.setTagIndex(tagIndex);
         return tagSuggestionAdapter;
     }
 }
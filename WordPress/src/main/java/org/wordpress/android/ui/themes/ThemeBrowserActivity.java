@@ -67,7 +67,7 @@ public class ThemeBrowserActivity extends AppCompatActivity implements ThemeBrow
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
-        if (WordPress.wpDB == null) {
+        if (WordPress.getWpDB() == null) {
             Toast.makeText(this, R.string.fatal_db_error, Toast.LENGTH_LONG).show();
             finish();
             return;
@@ -86,7 +86,7 @@ public class ThemeBrowserActivity extends AppCompatActivity implements ThemeBrow
     }
 
     private void setCurrentThemeFromDB() {
-        mCurrentTheme = WordPress.wpDB.getCurrentTheme(getBlogId());
+        mCurrentTheme = WordPress.getWpDB().getCurrentTheme(getBlogId());
     }
 
     @Override
@@ -240,7 +240,7 @@ public class ThemeBrowserActivity extends AppCompatActivity implements ThemeBrow
                             if (mCurrentTheme != null) {
                                 mCurrentTheme.setIsCurrent(true);
                                 mCurrentTheme.save();
-                                WordPress.wpDB.setCurrentTheme(siteId, mCurrentTheme.getId());
+                                WordPress.getWpDB().setCurrentTheme(siteId, mCurrentTheme.getId());
                                 if (mThemeBrowserFragment != null) {
                                     mThemeBrowserFragment.setRefreshing(false);
                                     if (mThemeBrowserFragment.getCurrentThemeTextView() != null) {
@@ -259,8 +259,8 @@ public class ThemeBrowserActivity extends AppCompatActivity implements ThemeBrow
                 }, new ErrorListener() {
                     @Override
                     public void onErrorResponse(VolleyError response) {
-                        String themeId = WordPress.wpDB.getCurrentThemeId(siteId);
-                        mCurrentTheme = WordPress.wpDB.getTheme(siteId, themeId);
+                        String themeId = WordPress.getWpDB().getCurrentThemeId(siteId);
+                        mCurrentTheme = WordPress.getWpDB().getTheme(siteId, themeId);
                         if (mCurrentTheme != null && mThemeBrowserFragment != null) {
                             if (mThemeBrowserFragment.getCurrentThemeTextView() != null) {
                                 mThemeBrowserFragment.getCurrentThemeTextView().setText(mCurrentTheme.getName());
@@ -292,7 +292,7 @@ public class ThemeBrowserActivity extends AppCompatActivity implements ThemeBrow
 
     private void fetchThemesIfNoneAvailable() {
         if (NetworkUtils.isNetworkAvailable(this) && WordPress.getCurrentBlog() != null
-                && WordPress.wpDB.getThemeCount(getBlogId()) == 0) {
+                && WordPress.getWpDB().getThemeCount(getBlogId()) == 0) {
             fetchThemes();
 
             //do not interact with theme browser fragment if we are in search mode
@@ -384,8 +384,8 @@ public class ThemeBrowserActivity extends AppCompatActivity implements ThemeBrow
         WordPress.getRestClientUtils().setTheme(siteId, themeId, new Listener() {
             @Override
             public void onResponse(JSONObject response) {
-                WordPress.wpDB.setCurrentTheme(siteId, newThemeId);
-                Theme newTheme = WordPress.wpDB.getTheme(siteId, newThemeId);
+                WordPress.getWpDB().setCurrentTheme(siteId, newThemeId);
+                Theme newTheme = WordPress.getWpDB().getTheme(siteId, newThemeId);
 
                 Map<String, Object> themeProperties = new HashMap<>();
                 themeProperties.put(THEME_ID, themeId);
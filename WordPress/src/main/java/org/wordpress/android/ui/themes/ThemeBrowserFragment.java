@@ -288,12 +288,12 @@ public class ThemeBrowserFragment extends Fragment implements RecyclerListener,
         String blogId = String.valueOf(WordPress.getCurrentBlog().getRemoteBlogId());
         switch (position) {
             case THEME_FILTER_PREMIUM_INDEX:
-                return WordPress.wpDB.getThemesPremium(blogId);
+                return WordPress.getWpDB().getThemesPremium(blogId);
             case THEME_FILTER_ALL_INDEX:
-                return WordPress.wpDB.getThemesAll(blogId);
+                return WordPress.getWpDB().getThemesAll(blogId);
             case THEME_FILTER_FREE_INDEX:
             default:
-                return WordPress.wpDB.getThemesFree(blogId);
+                return WordPress.getWpDB().getThemesFree(blogId);
         }
     }
 
@@ -340,7 +340,7 @@ public class ThemeBrowserFragment extends Fragment implements RecyclerListener,
             String requestUrl = (String) niv.getTag();
             if (requestUrl != null) {
                 // need a listener to cancel request, even if the listener does nothing
-                ImageContainer container = WordPress.imageLoader.get(requestUrl, new ImageListener() {
+                ImageContainer container = WordPress.getImageLoader().get(requestUrl, new ImageListener() {
                     @Override
                     public void onErrorResponse(VolleyError error) {
                     }
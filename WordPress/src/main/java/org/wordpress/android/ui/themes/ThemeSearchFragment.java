@@ -144,7 +144,7 @@ public class ThemeSearchFragment extends ThemeBrowserFragment implements SearchV
 
         String blogId = String.valueOf(WordPress.getCurrentBlog().getRemoteBlogId());
 
-        return WordPress.wpDB.getThemes(blogId, mLastSearch);
+        return WordPress.getWpDB().getThemes(blogId, mLastSearch);
     }
 
     public void search(String searchTerm) {
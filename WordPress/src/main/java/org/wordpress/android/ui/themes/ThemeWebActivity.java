@@ -41,7 +41,7 @@ public class ThemeWebActivity extends WPWebViewActivity {
 
     public static void openTheme(Activity activity, String themeId, ThemeWebActivityType type, boolean isCurrentTheme) {
         String blogId = WordPress.getCurrentBlog().getDotComBlogId();
-        Theme currentTheme = WordPress.wpDB.getTheme(blogId, themeId);
+        Theme currentTheme = WordPress.getWpDB().getTheme(blogId, themeId);
         if (currentTheme == null) {
             ToastUtils.showToast(activity, R.string.could_not_load_theme);
             return;
@@ -56,7 +56,7 @@ public class ThemeWebActivity extends WPWebViewActivity {
      */
     public static void openCurrentTheme(Activity activity, ThemeWebActivityType type) {
         String blogId = WordPress.getCurrentBlog().getDotComBlogId();
-        String themeId = WordPress.wpDB.getCurrentThemeId(blogId);
+        String themeId = WordPress.getWpDB().getCurrentThemeId(blogId);
         if (themeId.isEmpty()) {
             requestAndOpenCurrentTheme(activity, blogId);
         } else {
@@ -73,7 +73,7 @@ public class ThemeWebActivity extends WPWebViewActivity {
                     if (currentTheme != null) {
                         currentTheme.setIsCurrent(true);
                         currentTheme.save();
-                        WordPress.wpDB.setCurrentTheme(blogId, currentTheme.getId());
+                        WordPress.getWpDB().setCurrentTheme(blogId, currentTheme.getId());
                         openTheme(activity, currentTheme.getId(), ThemeWebActivityType.PREVIEW, true);
                     }
                 } catch (JSONException e) {
@@ -59,7 +59,7 @@ public class AnalyticsUtils {
         metadata.setUserConnected(AccountHelper.isSignedIn());
         metadata.setWordPressComUser(AccountHelper.isSignedInWordPressDotCom());
         metadata.setJetpackUser(AccountHelper.isJetPackUser());
-        metadata.setNumBlogs(WordPress.wpDB.getNumBlogs());
+        metadata.setNumBlogs(WordPress.getWpDB().getNumBlogs());
         metadata.setUsername(username);
         metadata.setEmail(email);
 
@@ -78,7 +78,7 @@ public class AnalyticsUtils {
         metadata.setUserConnected(AccountHelper.isSignedIn());
         metadata.setWordPressComUser(AccountHelper.isSignedInWordPressDotCom());
         metadata.setJetpackUser(AccountHelper.isJetPackUser());
-        metadata.setNumBlogs(WordPress.wpDB.getNumBlogs());
+        metadata.setNumBlogs(WordPress.getWpDB().getNumBlogs());
         metadata.setUsername(AccountHelper.getDefaultAccount().getUserName());
         metadata.setEmail(AccountHelper.getDefaultAccount().getEmail());
 
@@ -0,0 +1,206 @@
+package org.wordpress.android.util;
+
+import android.os.Process;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+
+import org.wordpress.android.util.AppLog.T;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * App-wide thread pools for background work, used instead of starting a new thread for each task.
+ * Work is split by what it's bound by, so a burst of network calls can't hold up database writes:
+ * - DB: saving to or loading from the local databases, including parsing the response being saved
+ * - CPU: parsing or rendering which doesn't touch the databases
+ * - NETWORK: blocking network calls
+ * Queued tasks run in priority order, so work the user is waiting for starts before background
+ * syncs queued ahead of it. Each pool keeps track of how long tasks wait in the queue and run.
+ */
+public class AppExecutors {
+    public enum Pool {
+        // SQLite has a single writer, the second thread serves reads while a write runs
+        DB(2),
+        CPU(Math.max(2, Math.min(Runtime.getRuntime().availableProcessors() - 1, 4))),
+        NETWORK(6);
+
+        private final int mNumThreads;
+
+        Pool(int numThreads) {
+            mNumThreads = numThreads;
+        }
+    }
+
+    public enum Priority {
+        // the user is waiting for the result, such as a list being loaded
+        USER_VISIBLE,
+        // syncs and cleanups
+        BACKGROUND
+    }
+
+    // a user-visible task waiting longer than this in the queue is logged
+    private static final long SLOW_WAIT_MS = 500;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static final PoolExecutor[] EXECUTORS = new PoolExecutor[Pool.values().length];
+
+    private AppExecutors() {
+        throw new AssertionError();
+    }
+
+    public static void execute(Pool pool, Runnable task) {
+        execute(pool, Priority.BACKGROUND, task);
+    }
+
+    public static void execute(Pool pool, Priority priority, Runnable task) {
+        getPoolExecutor(pool).execute(new PrioritizedTask(pool, priority, task));
+    }
+
+    /*
+     * returns an Executor which runs tasks on the passed pool with the passed priority, for use
+     * with AsyncTask.executeOnExecutor()
+     */
+    public static Executor getExecutor(final Pool pool, final Priority priority) {
+        return new Executor() {
+            @Override
+            public void execute(@NonNull Runnable task) {
+                AppExecutors.execute(pool, priority, task);
+            }
+        };
+    }
+
+    private static synchronized PoolExecutor getPoolExecutor(Pool pool) {
+        PoolExecutor executor = EXECUTORS[pool.ordinal()];
+        if (executor == null) {
+            executor = new PoolExecutor(pool);
+            EXECUTORS[pool.ordinal()] = executor;
+        }
+        return executor;
+    }
+
+    /*
+     * returns the task counts and timings of each pool which has been used
+     */
+    public static String getStats() {
+        StringBuilder stats = new StringBuilder();
+        for (Pool pool : Pool.values()) {
+            PoolExecutor executor;
+            synchronized (AppExecutors.class) {
+                executor = EXECUTORS[pool.ordinal()];
+            }
+            if (executor != null) {
+                if (stats.length() > 0) {
+                    stats.append(", ");
+                }
+                stats.append(executor.getStats());
+            }
+        }
+        return stats.toString();
+    }
+
+    public static void logStats() {
+        String stats = getStats();
+        if (stats.length() > 0) {
+            AppLog.d(T.UTILS, "app executors > " + stats);
+        }
+    }
+
+    private static class PoolExecutor extends ThreadPoolExecutor {
+        private final Pool mPool;
+        private final AtomicLong mTaskCount = new AtomicLong();
+        private final AtomicLong mTotalWaitMs = new AtomicLong();
+        private final AtomicLong mMaxWaitMs = new AtomicLong();
+        private final AtomicLong mTotalRunMs = new AtomicLong();
+        private final AtomicLong mMaxRunMs = new AtomicLong();
+
+        PoolExecutor(final Pool pool) {
+            // the queue is unbounded, so the pool never grows past its core size
+            super(pool.mNumThreads, pool.mNumThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+                        private final AtomicInteger mCount = new AtomicInteger(1);
+
+                        @Override
+                        public Thread newThread(@NonNull Runnable runnable) {
+                            return new Thread(runnable, "WP-" + pool.name() + "-" + mCount.getAndIncrement());
+                        }
+                    });
+            mPool = pool;
+            allowCoreThreadTimeOut(true);
+        }
+
+        void onTaskFinished(long waitMs, long runMs) {
+            mTaskCount.incrementAndGet();
+            mTotalWaitMs.addAndGet(waitMs);
+            mTotalRunMs.addAndGet(runMs);
+            setIfGreater(mMaxWaitMs, waitMs);
+            setIfGreater(mMaxRunMs, runMs);
+        }
+
+        private static void setIfGreater(AtomicLong value, long newValue) {
+            long current = value.get();
+            while (newValue > current && !value.compareAndSet(current, newValue)) {
+                current = value.get();
+            }
+        }
+
+        String getStats() {
+            long taskCount = mTaskCount.get();
+            long avgWaitMs = (taskCount > 0 ? mTotalWaitMs.get() / taskCount : 0);
+            long avgRunMs = (taskCount > 0 ? mTotalRunMs.get() / taskCount : 0);
+            return mPool.name() + ": " + taskCount + " tasks, " + getActiveCount() + " active, "
+                    + getQueue().size() + " queued, " + getLargestPoolSize() + " max threads, wait avg "
+                    + avgWaitMs + "ms max " + mMaxWaitMs.get() + "ms, run avg " + avgRunMs + "ms max "
+                    + mMaxRunMs.get() + "ms";
+        }
+    }
+
+    private static class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+        private static final AtomicLong sSequence = new AtomicLong();
+
+        private final Pool mPool;
+        private final Priority mPriority;
+        private final Runnable mTask;
+        private final long mSequence; // keeps tasks of the same priority in the order they were added
+        private final long mQueuedTime;
+
+        PrioritizedTask(Pool pool, Priority priority, Runnable task) {
+            mPool = pool;
+            mPriority = priority;
+            mTask = task;
+            mSequence = sSequence.getAndIncrement();
+            mQueuedTime = SystemClock.elapsedRealtime();
+        }
+
+        @Override
+        public int compareTo(@NonNull PrioritizedTask another) {
+            if (mPriority != another.mPriority) {
+                return mPriority.compareTo(another.mPriority);
+            }
+            return mSequence < another.mSequence ? -1 : (mSequence == another.mSequence ? 0 : 1);
+        }
+
+        @Override
+        public void run() {
+            long startTime = SystemClock.elapsedRealtime();
+            long waitMs = startTime - mQueuedTime;
+            if (mPriority == Priority.USER_VISIBLE && waitMs > SLOW_WAIT_MS) {
+                AppLog.w(T.UTILS, "app executors > user-visible task waited " + waitMs + "ms in the "
+                        + mPool.name() + " pool");
+            }
+
+            Process.setThreadPriority(mPriority == Priority.USER_VISIBLE
+                    ? Process.THREAD_PRIORITY_DEFAULT : Process.THREAD_PRIORITY_BACKGROUND);
+            try {
+                mTask.run();
+            } finally {
+                getPoolExecutor(mPool).onTaskFinished(waitMs, SystemClock.elapsedRealtime() - startTime);
+            }
+        }
+    }
+}
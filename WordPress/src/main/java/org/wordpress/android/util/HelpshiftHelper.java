@@ -249,7 +249,7 @@ public class HelpshiftHelper {
         // List blogs name and url
         int counter = 1;
         String[] extraFields = {"plan_product_id"};
-        for (Map<String, Object> account : WordPress.wpDB.getBlogsBy(null, extraFields)) {
+        for (Map<String, Object> account : WordPress.getWpDB().getBlogsBy(null, extraFields)) {
             mMetadata.put("blog-name-" + counter, MapUtils.getMapStr(account, "blogName"));
             mMetadata.put("blog-url-" + counter, MapUtils.getMapStr(account, "url"));
             mMetadata.put("blog-plan-" + counter, MapUtils.getMapInt(account, "plan_product_id"));
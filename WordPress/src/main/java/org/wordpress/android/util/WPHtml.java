@@ -448,7 +448,7 @@ public class WPHtml {
 
             String inlineCSS = " ";
             String localBlogID = imageSpan.getMediaFile().getBlogId();
-            Blog currentBlog = WordPress.wpDB.instantiateBlogByLocalId(Integer.parseInt(localBlogID));
+            Blog currentBlog = WordPress.getWpDB().instantiateBlogByLocalId(Integer.parseInt(localBlogID));
             // If it's not a gif and blog don't keep original size, there is a chance we need to resize
             if (currentBlog != null && !mediaFile.getMimeType().equals("image/gif")
                     && MediaUtils.getImageWidthSettingFromString(currentBlog.getMaxImageWidth()) != Integer.MAX_VALUE) {
@@ -827,7 +827,7 @@ class HtmlToSpannedConverter implements ContentHandler {
             WPImageSpan is = new WPImageSpan(mContext, resizedBitmap, curStream);
 
             // get the MediaFile data from db
-            MediaFile mf = WordPress.wpDB.getMediaFile(src, mPost);
+            MediaFile mf = WordPress.getWpDB().getMediaFile(src, mPost);
             if (mf != null) {
                 is.setMediaFile(mf);
                 is.setImageSource(curStream);
@@ -114,7 +114,7 @@ public class WPMeShortlinks {
     }
 
     public static String getPostShortlink(Post post) {
-        Blog blog = WordPress.wpDB.instantiateBlogByLocalId(post.getLocalTableBlogId());
+        Blog blog = WordPress.getWpDB().instantiateBlogByLocalId(post.getLocalTableBlogId());
         return getPostShortlink(blog, post);
     }
 
@@ -10,6 +10,8 @@ import android.view.KeyEvent;
 import android.view.View;
 import android.view.inputmethod.EditorInfo;
 import android.view.inputmethod.InputMethodManager;
+import android.widget.AdapterView;
+import android.widget.ListAdapter;
 import android.widget.MultiAutoCompleteTextView;
 
 import org.wordpress.android.ui.suggestion.util.SuggestionTokenizer;
@@ -23,6 +25,13 @@ public class SuggestionAutoCompleteText extends MultiAutoCompleteTextView {
         void onEditTextBack();
     }
 
+    /*
+     * implemented by adapters which need to know the suggestion the user picked from the dropdown
+     */
+    public interface OnSuggestionSelectedListener {
+        void onSuggestionSelected(int position);
+    }
+
     public SuggestionAutoCompleteText(Context context) {
         super(context, null);
         init(context, null);
@@ -45,6 +54,16 @@ public class SuggestionAutoCompleteText extends MultiAutoCompleteTextView {
         mPersistentEditTextHelper = new PersistentEditTextHelper(context);
         // When TYPE_TEXT_FLAG_AUTO_COMPLETE is set, autocorrection is disabled.
         setRawInputType(getInputType() & ~EditorInfo.TYPE_TEXT_FLAG_AUTO_COMPLETE);
+        // called when a suggestion is picked by tapping it or with the keyboard
+        setOnItemClickListener(new AdapterView.OnItemClickListener() {
+            @Override
+            public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
+                ListAdapter adapter = getAdapter();
+                if (adapter instanceof OnSuggestionSelectedListener) {
+                    ((OnSuggestionSelectedListener) adapter).onSuggestionSelected(position);
+                }
+            }
+        });
     }
 
     public PersistentEditTextHelper getAutoSaveTextHelper() {
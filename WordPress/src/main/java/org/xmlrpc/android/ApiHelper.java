@@ -38,8 +38,6 @@ import org.wordpress.android.util.MapUtils;
 import org.wordpress.android.util.helpers.MediaFile;
 import org.xmlpull.v1.XmlPullParserException;
 
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -69,6 +67,7 @@ public class ApiHelper {
         public static final String GET_PAGES          = "wp.getPages";
         public static final String GET_TERM           = "wp.getTerm";
         public static final String GET_PAGE           = "wp.getPage";
+        public static final String GET_POSTS          = "wp.getPosts";
 
         public static final String DELETE_COMMENT     = "wp.deleteComment";
         public static final String DELETE_PAGE        = "wp.deletePage";
@@ -87,6 +86,7 @@ public class ApiHelper {
         public static final String WPCOM_GET_FEATURES = "wpcom.getFeatures";
 
         public static final String LIST_METHODS       = "system.listMethods";
+        public static final String MULTICALL          = "system.multicall";
     }
 
     public static final class Param {
@@ -169,15 +169,19 @@ public class ApiHelper {
         }
 
         protected void onPostExecute(Object result) {
-            if (result != null && result instanceof HashMap) {
-                Map<?, ?> postFormats = (HashMap<?, ?>) result;
-                if (postFormats.size() > 0) {
-                    Gson gson = new Gson();
-                    String postFormatsJson = gson.toJson(postFormats);
-                    if (postFormatsJson != null) {
-                        if (mBlog.bsetPostFormats(postFormatsJson)) {
-                            WordPress.wpDB.saveBlog(mBlog);
-                        }
+            updatePostFormats(mBlog, result);
+        }
+    }
+
+    public static void updatePostFormats(Blog blog, Object result) {
+        if (result != null && result instanceof HashMap) {
+            Map<?, ?> postFormats = (HashMap<?, ?>) result;
+            if (postFormats.size() > 0) {
+                Gson gson = new Gson();
+                String postFormatsJson = gson.toJson(postFormats);
+                if (postFormatsJson != null) {
+                    if (blog.bsetPostFormats(postFormatsJson)) {
+                        WordPress.getWpDB().saveBlog(blog);
                     }
                 }
             }
@@ -221,7 +225,7 @@ public class ApiHelper {
         }
 
         if (isModified) {
-            WordPress.wpDB.saveBlog(currentBlog);
+            WordPress.getWpDB().saveBlog(currentBlog);
         }
     }
 
@@ -230,6 +234,7 @@ public class ApiHelper {
      * related to the active theme (available post types, recent comments, etc).
      */
     public static class RefreshBlogContentTask extends HelperAsyncTask<Boolean, Void, Boolean> {
+        private static final int NUM_COMMENTS_TO_REFRESH = 30;
         private static HashSet<BlogIdentifier> refreshedBlogs = new HashSet<BlogIdentifier>();
         private Blog mBlog;
         private BlogIdentifier mBlogIdentifier;
@@ -263,7 +268,7 @@ public class ApiHelper {
                     }
                 }
                 if (mBlog.bsetAdmin(isAdmin)) {
-                    WordPress.wpDB.saveBlog(mBlog);
+                    WordPress.getWpDB().saveBlog(mBlog);
                     EventBus.getDefault().post(new CoreEvents.BlogListChanged());
                 }
             }
@@ -277,28 +282,60 @@ public class ApiHelper {
 
             boolean alreadyTrackedAsJetpackBlog = mBlog.isJetpackPowered();
 
+            // Batch the calls below in a single system.multicall request when the site supports it
+            List<MethodCall> calls = new ArrayList<>();
+            Object[] blogParams = {mBlog.getRemoteBlogId(), mBlog.getUsername(), mBlog.getPassword()};
             if (!commentsOnly) {
                 // check the WP number if self-hosted
                 Map<String, String> hPost = ApiHelper.blogOptionsXMLRPCParameters;
-
                 Object[] vParams = {mBlog.getRemoteBlogId(),
                                     mBlog.getUsername(),
                                     mBlog.getPassword(),
                                     hPost};
-                Object versionResult = null;
-                try {
-                    versionResult = client.call(Method.GET_OPTIONS, vParams);
-                } catch (ClassCastException cce) {
-                    setError(ErrorType.INVALID_RESULT, cce.getMessage(), cce);
-                    return false;
-                } catch (Exception e) {
+                calls.add(new MethodCall(Method.GET_OPTIONS, vParams));
+
+                // get theme post formats
+                Object[] postFormatsParams = {mBlog.getRemoteBlogId(), mBlog.getUsername(),
+                        mBlog.getPassword(), Param.SHOW_SUPPORTED_POST_FORMATS};
+                calls.add(new MethodCall(Method.GET_POST_FORMATS, postFormatsParams));
+            }
+
+            // Check if user is an admin
+            calls.add(new MethodCall(Method.GET_PROFILE, blogParams));
+
+            // refresh the comments
+            Map<String, Object> commentsFilter = new HashMap<String, Object>();
+            commentsFilter.put("number", NUM_COMMENTS_TO_REFRESH);
+            Object[] commentParams = {mBlog.getRemoteBlogId(), mBlog.getUsername(),
+                    mBlog.getPassword(), commentsFilter};
+            calls.add(new MethodCall(Method.GET_COMMENTS, commentParams));
+
+            Object[] results;
+            try {
+                results = XMLRPCUtils.callBatch(client, mBlog.getUrl(), calls);
+            } catch (Exception e) {
+                setError(ErrorType.NETWORK_XMLRPC, e.getMessage(), e);
+                return false;
+            }
+
+            int resultIndex = 0;
+            if (!commentsOnly) {
+                Object versionResult = results[resultIndex++];
+                Object postFormatsResult = results[resultIndex++];
+                if (versionResult instanceof Exception) {
+                    Exception e = (Exception) versionResult;
                     setError(ErrorType.NETWORK_XMLRPC, e.getMessage(), e);
                     return false;
                 }
 
-                if (versionResult != null) {
-                    Map<?, ?> blogOptions = (HashMap<?, ?>) versionResult;
-                    ApiHelper.updateBlogOptions(mBlog, blogOptions);
+                try {
+                    if (versionResult != null) {
+                        Map<?, ?> blogOptions = (HashMap<?, ?>) versionResult;
+                        ApiHelper.updateBlogOptions(mBlog, blogOptions);
+                    }
+                } catch (ClassCastException cce) {
+                    setError(ErrorType.INVALID_RESULT, cce.getMessage(), cce);
+                    return false;
                 }
 
                 if (mBlog.isJetpackPowered() && !alreadyTrackedAsJetpackBlog) {
@@ -306,8 +343,11 @@ public class ApiHelper {
                     AnalyticsUtils.trackWithBlogDetails(AnalyticsTracker.Stat.SIGNED_INTO_JETPACK, mBlog);
                 }
 
-                // get theme post formats
-                new GetPostFormatsTask().execute(mBlog);
+                if (postFormatsResult instanceof Exception) {
+                    AppLog.e(T.API, "Failed to fetch post formats", (Exception) postFormatsResult);
+                } else {
+                    updatePostFormats(mBlog, postFormatsResult);
+                }
 
                 //Update Stats widgets if necessary
                 String currentBlogID = String.valueOf(mBlog.getRemoteBlogId());
@@ -318,36 +358,28 @@ public class ApiHelper {
                 }
             }
 
-            // Check if user is an admin
-            Object[] userParams = {mBlog.getRemoteBlogId(), mBlog.getUsername(), mBlog.getPassword()};
-            try {
-                Map<String, Object> userInfos = (HashMap<String, Object>) client.call(Method.GET_PROFILE, userParams);
-                updateBlogAdmin(userInfos);
-            } catch (ClassCastException cce) {
-                setError(ErrorType.INVALID_RESULT, cce.getMessage(), cce);
-                return false;
-            } catch (XMLRPCException e) {
-                setError(ErrorType.NETWORK_XMLRPC, e.getMessage(), e);
-            } catch (IOException e) {
-                setError(ErrorType.NETWORK_XMLRPC, e.getMessage(), e);
-            } catch (XmlPullParserException e) {
+            Object profileResult = results[resultIndex++];
+            if (profileResult instanceof Exception) {
+                Exception e = (Exception) profileResult;
                 setError(ErrorType.NETWORK_XMLRPC, e.getMessage(), e);
+            } else {
+                try {
+                    updateBlogAdmin((HashMap<String, Object>) profileResult);
+                } catch (ClassCastException cce) {
+                    setError(ErrorType.INVALID_RESULT, cce.getMessage(), cce);
+                    return false;
+                }
             }
 
-            // refresh the comments
-            Map<String, Object> hPost = new HashMap<String, Object>();
-            hPost.put("number", 30);
-            Object[] commentParams = {mBlog.getRemoteBlogId(), mBlog.getUsername(),
-                    mBlog.getPassword(), hPost};
+            Object commentsResult = results[resultIndex];
             try {
-                ApiHelper.refreshComments(mBlog, commentParams, new DatabasePersistCallback() {
-                    @Override
-                    public void onDataReadyToSave(List list) {
-                        int localBlogId = mBlog.getLocalTableBlogId();
-                        CommentTable.deleteCommentsForBlog(localBlogId);
-                        CommentTable.saveComments(localBlogId, (CommentList)list);
-                    }
-                });
+                if (commentsResult instanceof Exception) {
+                    throw (Exception) commentsResult;
+                }
+                CommentList comments = parseComments((Object[]) commentsResult);
+                // merge the newest comments rather than replacing them all, so older ones stay cached
+                CommentTable.syncComments(mBlog.getLocalTableBlogId(), CommentStatus.UNKNOWN, comments, true,
+                        comments.size() < NUM_COMMENTS_TO_REFRESH);
             } catch (Exception e) {
                 setError(ErrorType.NETWORK_XMLRPC, e.getMessage(), e);
                 return false;
@@ -398,13 +430,7 @@ public class ApiHelper {
             if (result == null || result.length == 0) {
                 return 0;
             }
-            Map<?, ?> contentHash;
-            for (Object aComment : result) {
-                contentHash = (Map<?, ?>) aComment;
-                long commentId = Long.parseLong(contentHash.get("comment_id").toString());
-                if (CommentTable.deleteComment(blog.getLocalTableBlogId(), commentId))
-                    numDeleted++;
-            }
+            numDeleted = CommentTable.deleteComments(blog.getLocalTableBlogId(), parseComments(result));
             if (numDeleted > 0) {
                 AppLog.d(T.COMMENTS, String.format("removed %d deleted comments", numDeleted));
             }
@@ -429,10 +455,23 @@ public class ApiHelper {
         Object[] result;
         result = (Object[]) client.call(Method.GET_COMMENTS, commentParams);
 
-        if (result.length == 0) {
+        CommentList comments = parseComments(result);
+
+        // an empty page is passed on too, so the comments which no longer exist are removed
+        if (dbCallback != null){
+            dbCallback.onDataReadyToSave(comments);
+        }
+
+        if (comments.size() == 0) {
             return null;
         }
+        return comments;
+    }
 
+    /**
+     * Builds the comment list from a wp.getComments result
+     */
+    private static CommentList parseComments(Object[] result) {
         Map<?, ?> contentHash;
         long commentID, postID;
         String authorName, content, status, authorEmail, authorURL, postTitle, pubDate;
@@ -467,10 +506,6 @@ public class ApiHelper {
             comments.add(comment);
         }
 
-        if (dbCallback != null){
-            dbCallback.onDataReadyToSave(comments);
-        }
-
         return comments;
     }
 
@@ -573,15 +608,16 @@ public class ApiHelper {
             // results returned, so mark everything existing to deleted
             // since offset is 0, we are doing a full refresh
             if (mOffset == 0) {
-                WordPress.wpDB.setMediaFilesMarkedForDeleted(blogId);
+                WordPress.getWpDB().setMediaFilesMarkedForDeleted(blogId);
             }
+            boolean isDotCom = (WordPress.getCurrentBlog() != null && WordPress.getCurrentBlog().isDotcomFlag());
+            List<MediaFile> mediaFiles = new ArrayList<>(results.length);
             for (Object result : results) {
                 resultMap = (Map<?, ?>) result;
-                boolean isDotCom = (WordPress.getCurrentBlog() != null && WordPress.getCurrentBlog().isDotcomFlag());
-                MediaFile mediaFile = new MediaFile(blogId, resultMap, isDotCom);
-                WordPress.wpDB.saveMediaFile(mediaFile);
+                mediaFiles.add(new MediaFile(blogId, resultMap, isDotCom));
             }
-            WordPress.wpDB.deleteFilesMarkedForDeleted(blogId);
+            WordPress.getWpDB().saveMediaFiles(mediaFiles);
+            WordPress.getWpDB().deleteFilesMarkedForDeleted(blogId);
             return results.length;
         }
 
@@ -689,8 +725,8 @@ public class ApiHelper {
         @Override
         protected MediaFile doInBackground(List<?>... params) {
             List<?> arguments = params[0];
-            WordPress.currentBlog = (Blog) arguments.get(0);
-            Blog blog = WordPress.currentBlog;
+            // media uploads can target any blog, so don't change the current blog here
+            Blog blog = (Blog) arguments.get(0);
             if (blog == null) {
                 setError(ErrorType.INVALID_CURRENT_BLOG, "ApiHelper - current blog is null");
                 return null;
@@ -722,7 +758,7 @@ public class ApiHelper {
             if (results != null && blogId != null) {
                 boolean isDotCom = (WordPress.getCurrentBlog() != null && WordPress.getCurrentBlog().isDotcomFlag());
                 MediaFile mediaFile = new MediaFile(blogId, results, isDotCom);
-                WordPress.wpDB.saveMediaFile(mediaFile);
+                WordPress.getWpDB().saveMediaFile(mediaFile);
                 return mediaFile;
             } else {
                 return null;
@@ -760,8 +796,8 @@ public class ApiHelper {
         @Override
         protected Map<?, ?> doInBackground(List<?>... params) {
             List<?> arguments = params[0];
-            WordPress.currentBlog = (Blog) arguments.get(0);
-            Blog blog = WordPress.currentBlog;
+            // media uploads can target any blog, so don't change the current blog here
+            Blog blog = (Blog) arguments.get(0);
 
             if (blog == null) {
                 setError(ErrorType.INVALID_CURRENT_BLOG, "current blog is null");
@@ -784,22 +820,20 @@ public class ApiHelper {
                     data
             };
 
-            final File tempFile = getTempFile(mContext);
-
             if (client instanceof XMLRPCClient) {
                 ((XMLRPCClient) client).setOnBytesUploadedListener(new XMLRPCClient.OnBytesUploadedListener() {
                     @Override
-                    public void onBytesUploaded(long uploadedBytes) {
+                    public void onBytesUploaded(long uploadedBytes, long totalBytes) {
                         if (isCancelled()) {
                             // Stop the upload if the task has been cancelled
                             ((XMLRPCClient) client).cancel();
                         }
 
-                        if (tempFile == null || tempFile.length() == 0) {
+                        if (totalBytes <= 0) {
                             return;
                         }
 
-                        float fractionUploaded = uploadedBytes / (float) tempFile.length();
+                        float fractionUploaded = uploadedBytes / (float) totalBytes;
                         mCallback.onProgressUpdate(fractionUploaded);
                     }
                 });
@@ -811,7 +845,7 @@ public class ApiHelper {
 
             Map<?, ?> resultMap;
             try {
-                resultMap = (HashMap<?, ?>) client.call(Method.UPLOAD_FILE, apiParams, tempFile);
+                resultMap = (HashMap<?, ?>) client.call(Method.UPLOAD_FILE, apiParams, null);
             } catch (ClassCastException cce) {
                 setError(ErrorType.INVALID_RESULT, null, cce);
                 return null;
@@ -844,17 +878,6 @@ public class ApiHelper {
             return null;
         }
 
-        // Create a temp file for media upload
-        private File getTempFile(Context context) {
-            String tempFileName = "wp-" + System.currentTimeMillis();
-            try {
-                context.openFileOutput(tempFileName, Context.MODE_PRIVATE);
-            } catch (FileNotFoundException e) {
-                return null;
-            }
-            return context.getFileStreamPath(tempFileName);
-        }
-
         @Override
         protected void onPostExecute(Map<?, ?> result) {
             if (mCallback != null) {
@@ -1019,7 +1042,7 @@ public class ApiHelper {
         RequestFuture<String> future = RequestFuture.newFuture();
         StringRequest request = new StringRequest(stringUrl, future, future);
         request.setRetryPolicy(new DefaultRetryPolicy(XMLRPCClient.DEFAULT_SOCKET_TIMEOUT_MS, 0, 1));
-        WordPress.requestQueue.add(request);
+        WordPress.getRequestQueue().add(request);
         try {
             return future.get(XMLRPCClient.DEFAULT_SOCKET_TIMEOUT_MS, TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
@@ -1096,7 +1119,7 @@ public class ApiHelper {
                 List<Map<?, ?>> postsList = new ArrayList<>();
                 postsList.add(postMap);
 
-                WordPress.wpDB.savePosts(postsList, localBlogId, isPage, true);
+                WordPress.getWpDB().savePosts(postsList, localBlogId, isPage, true);
                 return true;
             } else {
                 return false;
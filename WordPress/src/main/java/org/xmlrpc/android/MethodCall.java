@@ -0,0 +1,22 @@
+package org.xmlrpc.android;
+
+/**
+ * A single XML-RPC method call, used to batch several calls in one system.multicall request
+ */
+public class MethodCall {
+    private final String mMethodName;
+    private final Object[] mParams;
+
+    public MethodCall(String methodName, Object[] params) {
+        mMethodName = methodName;
+        mParams = params;
+    }
+
+    public String getMethodName() {
+        return mMethodName;
+    }
+
+    public Object[] getParams() {
+        return mParams;
+    }
+}
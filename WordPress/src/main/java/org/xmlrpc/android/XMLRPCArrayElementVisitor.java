@@ -0,0 +1,121 @@
+package org.xmlrpc.android;
+
+/**
+ * Visitor for responses whose result is an array of items (posts, comments, media...). Each top-level element is
+ * materialized on its own and handed to {@link #onElement(int, Object)}, so only one item lives in memory at a time.
+ * Elements rejected by {@link #shouldMaterializeElement(int)} are skipped without being built at all.
+ *
+ * If the response isn't an array, the whole result is delivered as element 0.
+ */
+public abstract class XMLRPCArrayElementVisitor implements XMLRPCValueVisitor {
+    // 0 = outside the result, 1 = directly inside the top-level array, >1 = inside an element
+    private int mDepth;
+    private int mIndex = -1;
+    private boolean mRootIsArray;
+    private XMLRPCTreeBuilder mElementBuilder;
+
+    /**
+     * Called once per top-level element, in document order
+     */
+    public abstract void onElement(int index, Object element);
+
+    /**
+     * Override to skip building elements the caller doesn't need
+     */
+    public boolean shouldMaterializeElement(int index) {
+        return true;
+    }
+
+    /**
+     * Number of top-level elements seen so far, including skipped ones
+     */
+    public int getElementCount() {
+        return mIndex + 1;
+    }
+
+    @Override
+    public void onStructStart() {
+        enterContainer();
+        if (mElementBuilder != null) {
+            mElementBuilder.onStructStart();
+        }
+    }
+
+    @Override
+    public void onMember(String name) {
+        if (mElementBuilder != null) {
+            mElementBuilder.onMember(name);
+        }
+    }
+
+    @Override
+    public void onStructEnd() {
+        if (mElementBuilder != null) {
+            mElementBuilder.onStructEnd();
+        }
+        leaveContainer();
+    }
+
+    @Override
+    public void onArrayStart() {
+        if (mDepth == 0) {
+            mRootIsArray = true;
+            mDepth = 1;
+            return;
+        }
+        enterContainer();
+        if (mElementBuilder != null) {
+            mElementBuilder.onArrayStart();
+        }
+    }
+
+    @Override
+    public void onArrayEnd() {
+        if (mDepth == 1 && mRootIsArray) {
+            mDepth = 0;
+            return;
+        }
+        if (mElementBuilder != null) {
+            mElementBuilder.onArrayEnd();
+        }
+        leaveContainer();
+    }
+
+    @Override
+    public void onScalar(Object value) {
+        if (mDepth <= 1) {
+            // scalar element of the top-level array (or a scalar result)
+            mIndex++;
+            if (shouldMaterializeElement(mIndex)) {
+                onElement(mIndex, value);
+            }
+        } else if (mElementBuilder != null) {
+            mElementBuilder.onScalar(value);
+        }
+    }
+
+    private void enterContainer() {
+        if (mDepth == 0) {
+            // result is a single struct, treat it as the only element
+            mDepth = 1;
+        }
+        if (mDepth == 1) {
+            mIndex++;
+            mElementBuilder = shouldMaterializeElement(mIndex) ? new XMLRPCTreeBuilder() : null;
+        }
+        mDepth++;
+    }
+
+    private void leaveContainer() {
+        mDepth--;
+        if (mDepth == 1) {
+            if (mElementBuilder != null) {
+                onElement(mIndex, mElementBuilder.getResult());
+                mElementBuilder = null;
+            }
+            if (!mRootIsArray) {
+                mDepth = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package org.xmlrpc.android;
+
+import android.text.TextUtils;
+
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared executor for asynchronous XML-RPC calls. Calls run on a small pool of named threads, and at most
+ * getMaxCallsPerHost() calls run at the same time against a single host - the others wait in a per-host queue,
+ * so a burst of calls (media sync, comment moderation...) doesn't hammer fragile self-hosted endpoints.
+ */
+public class XMLRPCCallExecutor {
+    public static final int DEFAULT_MAX_THREADS = 4;
+    public static final int DEFAULT_MAX_CALLS_PER_HOST = 2;
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    /**
+     * A queued call. cancel() is called if the call is canceled while it's running.
+     */
+    public interface Task extends Runnable {
+        void cancel();
+    }
+
+    /**
+     * Notified each time a call is queued, started or finished
+     */
+    public interface MetricsListener {
+        void onCallMetrics(int queuedCalls, int inFlightCalls);
+    }
+
+    private static class PendingCall {
+        final long id;
+        final String host;
+        final Task task;
+        boolean started;
+
+        PendingCall(long id, String host, Task task) {
+            this.id = id;
+            this.host = host;
+            this.task = task;
+        }
+    }
+
+    private static class HostQueue {
+        final Deque<PendingCall> pending = new ArrayDeque<>();
+        int inFlight;
+    }
+
+    private static XMLRPCCallExecutor sInstance;
+
+    private final ThreadPoolExecutor mExecutor;
+    private final Map<String, HostQueue> mHostQueues = new HashMap<>();
+    private final Map<Long, PendingCall> mCalls = new HashMap<>();
+    private long mLastCallId;
+    private int mQueuedCalls;
+    private int mInFlightCalls;
+    private int mMaxCallsPerHost = DEFAULT_MAX_CALLS_PER_HOST;
+    private MetricsListener mMetricsListener;
+
+    public static synchronized XMLRPCCallExecutor getInstance() {
+        if (sInstance == null) {
+            sInstance = new XMLRPCCallExecutor(DEFAULT_MAX_THREADS);
+        }
+        return sInstance;
+    }
+
+    private XMLRPCCallExecutor(int maxThreads) {
+        mExecutor = new ThreadPoolExecutor(maxThreads, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    private final AtomicInteger mCount = new AtomicInteger(1);
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        return new Thread(runnable, "XMLRPC-Call-" + mCount.getAndIncrement());
+                    }
+                });
+        mExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    public synchronized int getMaxCallsPerHost() {
+        return mMaxCallsPerHost;
+    }
+
+    public void setMaxCallsPerHost(int maxCallsPerHost) {
+        synchronized (this) {
+            mMaxCallsPerHost = Math.max(1, maxCallsPerHost);
+            for (HostQueue hostQueue : mHostQueues.values()) {
+                startPendingCalls(hostQueue);
+            }
+        }
+        notifyMetrics();
+    }
+
+    public synchronized void setMetricsListener(MetricsListener listener) {
+        mMetricsListener = listener;
+    }
+
+    /**
+     * Returns a new unique call id, to be passed to submit()
+     */
+    public synchronized long newCallId() {
+        long id = System.currentTimeMillis();
+        if (id <= mLastCallId) {
+            id = mLastCallId + 1;
+        }
+        mLastCallId = id;
+        return id;
+    }
+
+    public void submit(long callId, String host, Task task) {
+        String hostKey = TextUtils.isEmpty(host) ? "" : host;
+        synchronized (this) {
+            PendingCall call = new PendingCall(callId, hostKey, task);
+            mCalls.put(callId, call);
+            HostQueue hostQueue = mHostQueues.get(hostKey);
+            if (hostQueue == null) {
+                hostQueue = new HostQueue();
+                mHostQueues.put(hostKey, hostQueue);
+            }
+            hostQueue.pending.add(call);
+            mQueuedCalls++;
+            startPendingCalls(hostQueue);
+        }
+        notifyMetrics();
+    }
+
+    /**
+     * Cancels the call with the passed id: a queued call is dropped, a running call is asked to abort.
+     * The listener of a canceled call isn't notified.
+     *
+     * @return false if there is no queued or running call with this id
+     */
+    public boolean cancel(long callId) {
+        PendingCall call;
+        synchronized (this) {
+            call = mCalls.get(callId);
+            if (call == null) {
+                return false;
+            }
+            if (!call.started) {
+                HostQueue hostQueue = mHostQueues.get(call.host);
+                if (hostQueue != null) {
+                    hostQueue.pending.remove(call);
+                    removeIfIdle(call.host, hostQueue);
+                }
+                mCalls.remove(callId);
+                mQueuedCalls--;
+                call = null;
+            }
+        }
+        if (call != null) {
+            call.task.cancel();
+        }
+        notifyMetrics();
+        return true;
+    }
+
+    public synchronized int getQueuedCallCount() {
+        return mQueuedCalls;
+    }
+
+    public synchronized int getInFlightCallCount() {
+        return mInFlightCalls;
+    }
+
+    // must be called with the lock held
+    private void startPendingCalls(HostQueue hostQueue) {
+        while (hostQueue.inFlight < mMaxCallsPerHost && !hostQueue.pending.isEmpty()) {
+            final PendingCall call = hostQueue.pending.poll();
+            call.started = true;
+            hostQueue.inFlight++;
+            mQueuedCalls--;
+            mInFlightCalls++;
+            mExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        call.task.run();
+                    } catch (RuntimeException e) {
+                        AppLog.e(T.API, "Unexpected error in XML-RPC call " + call.id, e);
+                    } finally {
+                        onCallFinished(call);
+                    }
+                }
+            });
+        }
+    }
+
+    private void onCallFinished(PendingCall call) {
+        synchronized (this) {
+            mCalls.remove(call.id);
+            mInFlightCalls--;
+            HostQueue hostQueue = mHostQueues.get(call.host);
+            if (hostQueue != null) {
+                hostQueue.inFlight--;
+                startPendingCalls(hostQueue);
+                removeIfIdle(call.host, hostQueue);
+            }
+        }
+        notifyMetrics();
+    }
+
+    // must be called with the lock held
+    private void removeIfIdle(String host, HostQueue hostQueue) {
+        if (hostQueue.inFlight == 0 && hostQueue.pending.isEmpty()) {
+            mHostQueues.remove(host);
+        }
+    }
+
+    private void notifyMetrics() {
+        MetricsListener listener;
+        int queued;
+        int inFlight;
+        synchronized (this) {
+            listener = mMetricsListener;
+            queued = mQueuedCalls;
+            inFlight = mInFlightCalls;
+        }
+        if (listener != null) {
+            listener.onCallMetrics(queued, inFlight);
+        }
+    }
+}
@@ -11,7 +11,7 @@ import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.conn.scheme.Scheme;
-import org.apache.http.entity.FileEntity;
+import org.apache.http.entity.HttpEntityWrapper;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.DefaultHttpClient;
@@ -32,20 +32,17 @@ import org.xmlpull.v1.XmlPullParserFactory;
 import org.xmlpull.v1.XmlSerializer;
 import org.xmlrpc.android.ApiHelper.Method;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.SequenceInputStream;
 import java.io.StringWriter;
 import java.net.URI;
 import java.net.URL;
 import java.security.GeneralSecurityException;
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -66,7 +63,7 @@ public class XMLRPCClient implements XMLRPCClientInterface {
     public static final int DEFAULT_SOCKET_TIMEOUT_MS = 60000;
 
     public interface OnBytesUploadedListener {
-        public void onBytesUploaded(long uploadedBytes);
+        public void onBytesUploaded(long uploadedBytes, long totalBytes);
     }
 
     private static final String TAG_METHOD_CALL = "methodCall";
@@ -77,8 +74,12 @@ public class XMLRPCClient implements XMLRPCClientInterface {
     private static final String TAG_FAULT = "fault";
     private static final String TAG_FAULT_CODE = "faultCode";
     private static final String TAG_FAULT_STRING = "faultString";
+    private static final String TAG_MULTICALL_METHOD_NAME = "methodName";
+    private static final String TAG_MULTICALL_PARAMS = "params";
 
-    private Map<Long,Caller> backgroundCalls = new HashMap<Long, Caller>();
+    private static final byte[] XML_PROLOGUE = {'<', '?', 'x', 'm', 'l'};
+    private static final int MAX_JUNK_BYTES = 5000;
+    private static final int RESPONSE_BUFFER_SIZE = 8192;
 
     private DefaultHttpClient mClient;
     private OnBytesUploadedListener mOnBytesUploadedListener;
@@ -231,6 +232,59 @@ public class XMLRPCClient implements XMLRPCClientInterface {
         return new Caller().callXMLRPC(method, params, tempFile);
     }
 
+    /**
+     * Packs the passed calls in a single system.multicall request. The returned array has one entry per call,
+     * in the same order: either the call result or the exception for that call (usually the XMLRPCFault
+     * returned by the server).
+     * Callers must check the server supports system.multicall first, see XMLRPCUtils.supportsMulticall().
+     *
+     * @throws XMLRPCException if the multicall request itself failed
+     */
+    public Object[] callMulticall(List<MethodCall> calls) throws XMLRPCException, IOException, XmlPullParserException {
+        List<Object> multicallParams = new ArrayList<>(calls.size());
+        for (MethodCall methodCall : calls) {
+            Map<String, Object> callStruct = new HashMap<>();
+            callStruct.put(TAG_MULTICALL_METHOD_NAME, methodCall.getMethodName());
+            callStruct.put(TAG_MULTICALL_PARAMS, methodCall.getParams() != null ? methodCall.getParams() : new Object[0]);
+            multicallParams.add(callStruct);
+        }
+
+        Object result = call(Method.MULTICALL, new Object[]{multicallParams});
+        if (!(result instanceof Object[]) || ((Object[]) result).length != calls.size()) {
+            throw new XMLRPCException("Bad system.multicall response received - expected " + calls.size() + " results");
+        }
+
+        Object[] multicallResults = (Object[]) result;
+        Object[] results = new Object[calls.size()];
+        for (int i = 0; i < multicallResults.length; i++) {
+            Object callResult = multicallResults[i];
+            if (callResult instanceof Object[] && ((Object[]) callResult).length == 1) {
+                // successful calls are wrapped in a single element array
+                results[i] = ((Object[]) callResult)[0];
+            } else if (callResult instanceof Map) {
+                Map<?, ?> faultMap = (Map<?, ?>) callResult;
+                Object faultCode = faultMap.get(TAG_FAULT_CODE);
+                XMLRPCFault fault = new XMLRPCFault(String.valueOf(faultMap.get(TAG_FAULT_STRING)),
+                        faultCode instanceof Integer ? (Integer) faultCode : 0);
+                handleFault(calls.get(i).getMethodName(), fault);
+                results[i] = fault;
+            } else {
+                results[i] = new XMLRPCException("Bad system.multicall response received for "
+                        + calls.get(i).getMethodName());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Call method and stream the result to the passed visitor instead of returning the whole object tree.
+     * Use this for large responses (posts, comments, media library) that can be consumed one item at a time.
+     */
+    public void callStreaming(String method, Object[] params, XMLRPCValueVisitor visitor)
+            throws XMLRPCException, IOException, XmlPullParserException {
+        new Caller().callXMLRPC(method, params, null, visitor);
+    }
+
     /**
      * Convenience call for callAsync with two paramaters
      *
@@ -243,15 +297,16 @@ public class XMLRPCClient implements XMLRPCClientInterface {
     }
 
     /**
-     * Asynchronous XMLRPC call
+     * Asynchronous XMLRPC call, queued on the shared XMLRPCCallExecutor
      *
      * @param listener, XMLRPC methodName, XMLRPC parameters, File for large uploads
      * @return unique id of this async call
      * @throws XMLRPCException
      */
     public long callAsync(XMLRPCCallback listener, String methodName, Object[] params, File tempFile) {
-        long id = System.currentTimeMillis();
-        new Caller(listener, id, methodName, params, tempFile).start();
+        XMLRPCCallExecutor executor = XMLRPCCallExecutor.getInstance();
+        long id = executor.newCallId();
+        executor.submit(id, mPostMethod.getURI().getHost(), new Caller(listener, id, methodName, params, tempFile));
         return id;
     }
 
@@ -262,38 +317,35 @@ public class XMLRPCClient implements XMLRPCClientInterface {
         mPostMethod.abort();
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Cancel an asynchronous call, whether it's still queued or already running
+     *
+     * @param callId id returned by callAsync()
+     * @return false if the call already finished
+     */
+    public boolean cancel(long callId) {
+        return XMLRPCCallExecutor.getInstance().cancel(callId);
+    }
+
     public static Object parseXMLRPCResponse(InputStream is, HttpEntity entity)
             throws XMLRPCException, IOException, XmlPullParserException, NumberFormatException {
+        XMLRPCTreeBuilder builder = new XMLRPCTreeBuilder();
+        parseXMLRPCResponse(is, entity, builder);
+        return builder.getResult();
+    }
+
+    /**
+     * Parses the response document and streams the result value to the passed visitor. Fault responses are
+     * still thrown as XMLRPCFault.
+     */
+    @SuppressWarnings("unchecked")
+    public static void parseXMLRPCResponse(InputStream is, HttpEntity entity, XMLRPCValueVisitor visitor)
+            throws XMLRPCException, IOException, XmlPullParserException, NumberFormatException {
         // setup pull parser
         XmlPullParser pullParser = XmlPullParserFactory.newInstance().newPullParser();
 
         // Many WordPress configs can output junk before the xml response (php warnings for example), this cleans it.
-        int bomCheck = -1;
-        int stopper = 0;
-        while ((bomCheck = is.read()) != -1 && stopper <= 5000) {
-            stopper++;
-            String snippet = "";
-            // 60 == '<' character
-            if (bomCheck == 60) {
-                for (int i = 0; i < 4; i++) {
-                    byte[] chunk = new byte[1];
-                    is.read(chunk);
-                    snippet += new String(chunk, "UTF-8");
-                }
-                if (snippet.equals("?xml")) {
-                    // it's all good, add xml tag back and start parsing
-                    String start = "<" + snippet;
-                    List<InputStream> streams = Arrays.asList(new ByteArrayInputStream(start.getBytes()), is);
-                    is = new SequenceInputStream(Collections.enumeration(streams));
-                    break;
-                } else {
-                    // keep searching...
-                    List<InputStream> streams = Arrays.asList(new ByteArrayInputStream(snippet.getBytes()), is);
-                    is = new SequenceInputStream(Collections.enumeration(streams));
-                }
-            }
-        }
+        is = skipToXmlPrologue(is);
 
         pullParser.setInput(is, "UTF-8");
 
@@ -309,10 +361,9 @@ public class XMLRPCClient implements XMLRPCClientInterface {
             pullParser.require(XmlPullParser.START_TAG, null, TAG_PARAM);
             pullParser.nextTag(); // TAG_VALUE (<value>)
             // no parser.require() here since its called in XMLRPCSerializer.deserialize() below
-            // deserialize result
-            Object obj = XMLRPCSerializer.deserialize(pullParser);
+            // stream the result to the visitor
+            XMLRPCSerializer.deserialize(pullParser, visitor);
             consumeHttpEntity(entity);
-            return obj;
         } else if (tag.equals(TAG_FAULT)) {
             // fault response
             pullParser.nextTag(); // TAG_VALUE (<value>)
@@ -338,6 +389,42 @@ public class XMLRPCClient implements XMLRPCClientInterface {
         }
     }
 
+    /**
+     * Looks ahead up to MAX_JUNK_BYTES for the "<?xml" prologue and returns a stream positioned on it. If the
+     * prologue isn't found the returned stream starts at the beginning of the document, so responses without
+     * a prologue still parse.
+     */
+    private static InputStream skipToXmlPrologue(InputStream is) throws IOException {
+        BufferedInputStream bis = new BufferedInputStream(is, RESPONSE_BUFFER_SIZE);
+        byte[] lookAhead = new byte[MAX_JUNK_BYTES + XML_PROLOGUE.length];
+        bis.mark(lookAhead.length);
+        int length = 0;
+        int read;
+        while (length < lookAhead.length && (read = bis.read(lookAhead, length, lookAhead.length - length)) != -1) {
+            length += read;
+        }
+        bis.reset();
+
+        int last = length - XML_PROLOGUE.length;
+        for (int start = 0; start <= last; start++) {
+            if (lookAhead[start] != XML_PROLOGUE[0]) {
+                continue;
+            }
+            int i = 1;
+            while (i < XML_PROLOGUE.length && lookAhead[start + i] == XML_PROLOGUE[i]) {
+                i++;
+            }
+            if (i == XML_PROLOGUE.length) {
+                long skipped = 0;
+                while (skipped < start) {
+                    skipped += bis.skip(start - skipped);
+                }
+                break;
+            }
+        }
+        return bis;
+    }
+
     /**
      * Deallocate Http Entity and close streams
      */
@@ -356,83 +443,56 @@ public class XMLRPCClient implements XMLRPCClientInterface {
     public void preparePostMethod(String method, Object[] params, File tempFile) throws IOException, XMLRPCException, IllegalArgumentException, IllegalStateException {
         // prepare POST body
         if (method.equals(Method.UPLOAD_FILE)) {
-            if (!tempFile.exists() && !tempFile.mkdirs()) {
-                throw new XMLRPCException("Path to file could not be created.");
-            }
-
-            FileWriter fileWriter = new FileWriter(tempFile);
-            mSerializer.setOutput(fileWriter);
-
-            mSerializer.startDocument(null, null);
-            mSerializer.startTag(null, TAG_METHOD_CALL);
-            // set method name
-            mSerializer.startTag(null, TAG_METHOD_NAME).text(method).endTag(null, TAG_METHOD_NAME);
-            if (params != null && params.length != 0) {
-                // set method params
-                mSerializer.startTag(null, TAG_PARAMS);
-                for (int i = 0; i < params.length; i++) {
-                    mSerializer.startTag(null, TAG_PARAM).startTag(null, XMLRPCSerializer.TAG_VALUE);
-                    XMLRPCSerializer.serialize(mSerializer, params[i]);
-                    mSerializer.endTag(null, XMLRPCSerializer.TAG_VALUE).endTag(null, TAG_PARAM);
-                }
-                mSerializer.endTag(null, TAG_PARAMS);
-            }
-            mSerializer.endTag(null, TAG_METHOD_CALL);
-            mSerializer.endDocument();
-
-            fileWriter.flush();
-            fileWriter.close();
-
-            FileEntity fEntity = new FileEntity(tempFile, "text/xml; charset=\"UTF-8\"") {
+            // media files are base64-encoded straight into the connection, tempFile isn't needed anymore
+            final XMLRPCUploadEntity uploadEntity = new XMLRPCUploadEntity(mSerializer, method, params);
+            HttpEntity entity = new HttpEntityWrapper(uploadEntity) {
                 // Hook in a CountingOutputStream to keep track of bytes uploaded
                 @Override
                 public void writeTo(final OutputStream outstream) throws IOException {
-                    super.writeTo(new CountingOutputStream(outstream));
+                    super.writeTo(new CountingOutputStream(outstream, uploadEntity.getContentLength()));
                 }
             };
-
-            fEntity.setContentType("text/xml");
-            mPostMethod.setEntity(fEntity);
+            mPostMethod.setEntity(entity);
         } else {
             StringWriter bodyWriter = new StringWriter();
             mSerializer.setOutput(bodyWriter);
-
-            mSerializer.startDocument(null, null);
-            mSerializer.startTag(null, TAG_METHOD_CALL);
-            // set method name
-            mSerializer.startTag(null, TAG_METHOD_NAME).text(method).endTag(null, TAG_METHOD_NAME);
-            if (params != null && params.length != 0) {
-                // set method params
-                mSerializer.startTag(null, TAG_PARAMS);
-                for (int i = 0; i < params.length; i++) {
-                    mSerializer.startTag(null, TAG_PARAM).startTag(null, XMLRPCSerializer.TAG_VALUE);
-                    if (method.equals("metaWeblog.editPost") || method.equals("metaWeblog.newPost")) {
-                        XMLRPCSerializer.serialize(mSerializer, params[i]);
-                    } else {
-                        XMLRPCSerializer.serialize(mSerializer, params[i]);
-                    }
-                    mSerializer.endTag(null, XMLRPCSerializer.TAG_VALUE).endTag(null, TAG_PARAM);
-                }
-                mSerializer.endTag(null, TAG_PARAMS);
-            }
-            mSerializer.endTag(null, TAG_METHOD_CALL);
-            mSerializer.endDocument();
+            serializeMethodCall(mSerializer, method, params);
 
             HttpEntity entity = new StringEntity(bodyWriter.toString());
             mPostMethod.setEntity(entity);
         }
     }
 
+    static void serializeMethodCall(XmlSerializer serializer, String method, Object[] params) throws IOException {
+        serializer.startDocument(null, null);
+        serializer.startTag(null, TAG_METHOD_CALL);
+        // set method name
+        serializer.startTag(null, TAG_METHOD_NAME).text(method).endTag(null, TAG_METHOD_NAME);
+        if (params != null && params.length != 0) {
+            // set method params
+            serializer.startTag(null, TAG_PARAMS);
+            for (int i = 0; i < params.length; i++) {
+                serializer.startTag(null, TAG_PARAM).startTag(null, XMLRPCSerializer.TAG_VALUE);
+                XMLRPCSerializer.serialize(serializer, params[i]);
+                serializer.endTag(null, XMLRPCSerializer.TAG_VALUE).endTag(null, TAG_PARAM);
+            }
+            serializer.endTag(null, TAG_PARAMS);
+        }
+        serializer.endTag(null, TAG_METHOD_CALL);
+        serializer.endDocument();
+    }
+
     /**
-     * The Caller class is used to make asynchronous calls to the server.
-     * For synchronous calls the Thread function of this class isn't used.
+     * The Caller class is used to make asynchronous calls to the server, as a task of the XMLRPCCallExecutor.
+     * For synchronous calls the run function of this class isn't used.
      */
-    private class Caller extends Thread {
+    private class Caller implements XMLRPCCallExecutor.Task {
         private XMLRPCCallback listener;
         private long threadId;
         private String methodName;
         private Object[] params;
         private File tempFile;
+        private volatile boolean canceled;
 
         /**
          * Create a new Caller for asynchronous use.
@@ -452,14 +512,13 @@ public class XMLRPCClient implements XMLRPCClientInterface {
 
         /**
          * Create a new Caller for synchronous use.
-         * If the caller has been created with this constructor you cannot use the
-         * start method to start it as a thread. But you can call the call method
-         * on it for synchronous use.
+         * If the caller has been created with this constructor you cannot submit it
+         * to the executor. But you can call the call method on it for synchronous use.
          */
         public Caller() { }
 
         /**
-         * The run method is invoked when the thread gets started.
+         * The run method is invoked when the executor starts the call.
          * This will only work, if the Caller has been created with parameters.
          * It execute the call method and notify the listener about the result.
          */
@@ -469,17 +528,27 @@ public class XMLRPCClient implements XMLRPCClientInterface {
                 return;
 
             try {
-                backgroundCalls.put(threadId, this);
                 Object o = this.callXMLRPC(methodName, params, tempFile);
+                if (canceled) {
+                    throw new CancelException();
+                }
                 listener.onSuccess(threadId, o);
             } catch(CancelException ex) {
                 // Don't notify the listener, if the call has been canceled.
             } catch (Exception ex) {
-                listener.onFailure(threadId, ex);
-            } finally {
-                backgroundCalls.remove(threadId);
+                if (!canceled) {
+                    listener.onFailure(threadId, ex);
+                }
             }
+        }
 
+        /**
+         * Called by the executor when the call is canceled while running
+         */
+        @Override
+        public void cancel() {
+            canceled = true;
+            mPostMethod.abort();
         }
 
         /**
@@ -492,6 +561,16 @@ public class XMLRPCClient implements XMLRPCClientInterface {
          */
         private Object callXMLRPC(String method, Object[] params, File tempFile)
                 throws XMLRPCException, IOException, XmlPullParserException {
+            XMLRPCTreeBuilder builder = new XMLRPCTreeBuilder();
+            callXMLRPC(method, params, tempFile, builder);
+            return builder.getResult();
+        }
+
+        /**
+         * Call method with optional parameters, streaming the response value to the visitor
+         */
+        private void callXMLRPC(String method, Object[] params, File tempFile, XMLRPCValueVisitor visitor)
+                throws XMLRPCException, IOException, XmlPullParserException {
             mLoggedInputStream = null;
             try {
                 preparePostMethod(method, params, tempFile);
@@ -512,7 +591,8 @@ public class XMLRPCClient implements XMLRPCClientInterface {
 
                 if (statusCode == HttpStatus.SC_OK) {
                     mLoggedInputStream = new LoggedInputStream(entity.getContent());
-                    return XMLRPCClient.parseXMLRPCResponse(mLoggedInputStream, entity);
+                    XMLRPCClient.parseXMLRPCResponse(mLoggedInputStream, entity, visitor);
+                    return;
                 }
 
                 String statusLineReasonPhrase = StringUtils.notNullStr(response.getStatusLine().getReasonPhrase());
@@ -549,24 +629,7 @@ public class XMLRPCClient implements XMLRPCClientInterface {
                 if (mLoggedInputStream!=null) {
                     AppLog.w(T.API, "Response document received from the server: " + mLoggedInputStream.getResponseDocument());
                 }
-                // Detect login issues and broadcast a message if the error is known
-                switch (e.getFaultCode()) {
-                    case 403:
-                        // Ignore 403 error from certain methods known for replying with incorrect error code on
-                        // lacking permissions
-                        if ("wp.getPostFormats".equals(method) || "wp.getCommentStatusList".equals(method)
-                            || "wp.getPostStatusList".equals(method) || "wp.getPageStatusList".equals(method)) {
-                            break;
-                        }
-                        EventBus.getDefault().post(new CoreEvents.InvalidCredentialsDetected());
-                        break;
-                    case 425:
-                        EventBus.getDefault().post(new CoreEvents.TwoFactorAuthenticationDetected());
-                        break;
-                    //TODO: Check the login limit here
-                    default:
-                        break;
-                }
+                handleFault(method, e);
                 throw e;
             } catch (XmlPullParserException e) {
                 AppLog.e(T.API, "Error while parsing the XML-RPC response document received from the server.", e);
@@ -619,6 +682,29 @@ public class XMLRPCClient implements XMLRPCClientInterface {
         }
     }
 
+    /**
+     * Detect login issues from a fault response and broadcast a message if the error is known
+     */
+    private void handleFault(String method, XMLRPCFault fault) {
+        switch (fault.getFaultCode()) {
+            case 403:
+                // Ignore 403 error from certain methods known for replying with incorrect error code on
+                // lacking permissions
+                if ("wp.getPostFormats".equals(method) || "wp.getCommentStatusList".equals(method)
+                    || "wp.getPostStatusList".equals(method) || "wp.getPageStatusList".equals(method)) {
+                    break;
+                }
+                EventBus.getDefault().post(new CoreEvents.InvalidCredentialsDetected());
+                break;
+            case 425:
+                EventBus.getDefault().post(new CoreEvents.TwoFactorAuthenticationDetected());
+                break;
+            //TODO: Check the login limit here
+            default:
+                break;
+        }
+    }
+
     /**
      * Detect login issues and broadcast a message if the error is known, App Activities should listen to these
      * broadcasted events and present user action to take
@@ -676,9 +762,11 @@ public class XMLRPCClient implements XMLRPCClientInterface {
     private class CountingOutputStream extends FilterOutputStream {
 
         private long mTotalBytes;
+        private final long mContentLength;
 
-        CountingOutputStream(final OutputStream out) {
+        CountingOutputStream(final OutputStream out, long contentLength) {
             super(out);
+            mContentLength = contentLength;
         }
 
         @Override
@@ -692,7 +780,7 @@ public class XMLRPCClient implements XMLRPCClientInterface {
             mTotalBytes += b.length;
 
             if (mOnBytesUploadedListener != null) {
-                mOnBytesUploadedListener.onBytesUploaded(mTotalBytes);
+                mOnBytesUploadedListener.onBytesUploaded(mTotalBytes, mContentLength);
             }
         }
 
@@ -702,7 +790,7 @@ public class XMLRPCClient implements XMLRPCClientInterface {
             mTotalBytes += len;
 
             if (mOnBytesUploadedListener != null) {
-                mOnBytesUploadedListener.onBytesUploaded(mTotalBytes);
+                mOnBytesUploadedListener.onBytesUploaded(mTotalBytes, mContentLength);
             }
         }
     }
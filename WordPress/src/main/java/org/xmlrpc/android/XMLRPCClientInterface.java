@@ -4,6 +4,7 @@ import org.xmlpull.v1.XmlPullParserException;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
 public interface XMLRPCClientInterface {
     public void addQuickPostHeader(String type);
@@ -11,7 +12,10 @@ public interface XMLRPCClientInterface {
     public Object call(String method, Object[] params) throws XMLRPCException, IOException, XmlPullParserException;
     public Object call(String method) throws XMLRPCException, IOException, XmlPullParserException;
     public Object call(String method, Object[] params, File tempFile) throws XMLRPCException, IOException, XmlPullParserException;
+    public Object[] callMulticall(List<MethodCall> calls) throws XMLRPCException, IOException, XmlPullParserException;
+    public void callStreaming(String method, Object[] params, XMLRPCValueVisitor visitor) throws XMLRPCException, IOException, XmlPullParserException;
     public long callAsync(XMLRPCCallback listener, String methodName, Object[] params);
     public long callAsync(XMLRPCCallback listener, String methodName, Object[] params, File tempFile);
+    public boolean cancel(long callId);
     public String getResponse();
 }
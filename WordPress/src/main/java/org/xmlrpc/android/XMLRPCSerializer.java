@@ -20,10 +20,8 @@ import java.io.InputStream;
 import java.io.StringReader;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -198,11 +196,67 @@ class XMLRPCSerializer {
     }
 
     static Object deserialize(XmlPullParser parser) throws XmlPullParserException, IOException, NumberFormatException {
+        XMLRPCTreeBuilder builder = new XMLRPCTreeBuilder();
+        deserialize(parser, builder);
+        return builder.getResult();
+    }
+
+    /**
+     * Streams the value the parser is positioned on (a <value> start tag) to the passed visitor, without
+     * building intermediate maps or arrays
+     */
+    static void deserialize(XmlPullParser parser, XMLRPCValueVisitor visitor)
+            throws XmlPullParserException, IOException, NumberFormatException {
         parser.require(XmlPullParser.START_TAG, null, TAG_VALUE);
 
         parser.nextTag();
         String typeNodeName = parser.getName();
 
+        if (typeNodeName.equals(TYPE_ARRAY)) {
+            parser.nextTag(); // TAG_DATA (<data>)
+            parser.require(XmlPullParser.START_TAG, null, TAG_DATA);
+
+            visitor.onArrayStart();
+            parser.nextTag();
+            while (parser.getName().equals(TAG_VALUE)) {
+                deserialize(parser, visitor);
+                parser.nextTag();
+            }
+            parser.require(XmlPullParser.END_TAG, null, TAG_DATA);
+            parser.nextTag(); // TAG_ARRAY (</array>)
+            parser.require(XmlPullParser.END_TAG, null, TYPE_ARRAY);
+            visitor.onArrayEnd();
+        } else
+        if (typeNodeName.equals(TYPE_STRUCT)) {
+            visitor.onStructStart();
+            parser.nextTag();
+            while (parser.getName().equals(TAG_MEMBER)) {
+                while (true) {
+                    parser.nextTag();
+                    String name = parser.getName();
+                    if (name.equals(TAG_NAME)) {
+                        visitor.onMember(parser.nextText());
+                    } else
+                    if (name.equals(TAG_VALUE)) {
+                        deserialize(parser, visitor);
+                    } else {
+                        break;
+                    }
+                }
+                parser.require(XmlPullParser.END_TAG, null, TAG_MEMBER);
+                parser.nextTag();
+            }
+            parser.require(XmlPullParser.END_TAG, null, TYPE_STRUCT);
+            visitor.onStructEnd();
+        } else {
+            visitor.onScalar(deserializeScalar(parser, typeNodeName));
+        }
+        parser.nextTag(); // TAG_VALUE (</value>)
+        parser.require(XmlPullParser.END_TAG, null, TAG_VALUE);
+    }
+
+    private static Object deserializeScalar(XmlPullParser parser, String typeNodeName)
+            throws XmlPullParserException, IOException, NumberFormatException {
         Object obj;
         if (typeNodeName.equals(TYPE_INT) || typeNodeName.equals(TYPE_I4)) {
             String value = parser.nextText();
@@ -247,53 +301,9 @@ class XMLRPCSerializer {
                 sb.append(line);
             }
             obj = Base64.decode(sb.toString(), Base64.DEFAULT);
-        } else
-        if (typeNodeName.equals(TYPE_ARRAY)) {
-            parser.nextTag(); // TAG_DATA (<data>)
-            parser.require(XmlPullParser.START_TAG, null, TAG_DATA);
-
-            parser.nextTag();
-            List<Object> list = new ArrayList<Object>();
-            while (parser.getName().equals(TAG_VALUE)) {
-                list.add(deserialize(parser));
-                parser.nextTag();
-            }
-            parser.require(XmlPullParser.END_TAG, null, TAG_DATA);
-            parser.nextTag(); // TAG_ARRAY (</array>)
-            parser.require(XmlPullParser.END_TAG, null, TYPE_ARRAY);
-            obj = list.toArray();
-        } else
-        if (typeNodeName.equals(TYPE_STRUCT)) {
-            parser.nextTag();
-            Map<String, Object> map = new HashMap<String, Object>();
-            while (parser.getName().equals(TAG_MEMBER)) {
-                String memberName = null;
-                Object memberValue = null;
-                while (true) {
-                    parser.nextTag();
-                    String name = parser.getName();
-                    if (name.equals(TAG_NAME)) {
-                        memberName = parser.nextText();
-                    } else
-                    if (name.equals(TAG_VALUE)) {
-                        memberValue = deserialize(parser);
-                    } else {
-                        break;
-                    }
-                }
-                if (memberName != null && memberValue != null) {
-                    map.put(memberName, memberValue);
-                }
-                parser.require(XmlPullParser.END_TAG, null, TAG_MEMBER);
-                parser.nextTag();
-            }
-            parser.require(XmlPullParser.END_TAG, null, TYPE_STRUCT);
-            obj = map;
         } else {
             throw new IOException("Cannot deserialize " + parser.getName());
         }
-        parser.nextTag(); // TAG_VALUE (</value>)
-        parser.require(XmlPullParser.END_TAG, null, TAG_VALUE);
         return obj;
     }
 }
@@ -0,0 +1,108 @@
+package org.xmlrpc.android;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Visitor which rebuilds the classic XML-RPC object tree: structs become HashMap<String, Object> and arrays
+ * become Object[]. Used by the synchronous call() API on top of the streaming parser.
+ */
+public class XMLRPCTreeBuilder implements XMLRPCValueVisitor {
+    private static class Frame {
+        Map<String, Object> map;
+        List<Object> list;
+        String memberName;
+    }
+
+    private final Deque<Frame> mStack = new ArrayDeque<>();
+    private Object mResult;
+
+    public Object getResult() {
+        return mResult;
+    }
+
+    @Override
+    public void onStructStart() {
+        Frame frame = new Frame();
+        frame.map = new HashMap<>();
+        mStack.push(frame);
+    }
+
+    @Override
+    public void onMember(String name) {
+        Frame frame = mStack.peek();
+        if (frame != null && frame.map != null) {
+            frame.memberName = name;
+        }
+    }
+
+    @Override
+    public void onStructEnd() {
+        addValue(mStack.pop().map);
+    }
+
+    @Override
+    public void onArrayStart() {
+        Frame frame = new Frame();
+        frame.list = new ArrayList<>();
+        mStack.push(frame);
+    }
+
+    @Override
+    public void onArrayEnd() {
+        addValue(mStack.pop().list.toArray());
+    }
+
+    @Override
+    public void onScalar(Object value) {
+        addValue(value);
+    }
+
+    private void addValue(Object value) {
+        Frame frame = mStack.peek();
+        if (frame == null) {
+            mResult = value;
+        } else if (frame.list != null) {
+            frame.list.add(value);
+        } else {
+            // members without a name are dropped, as the tree-based deserializer always did
+            if (frame.memberName != null && value != null) {
+                frame.map.put(frame.memberName, value);
+            }
+            frame.memberName = null;
+        }
+    }
+
+    /**
+     * Replays an already deserialized value (as returned by call()) through a visitor
+     */
+    @SuppressWarnings("unchecked")
+    public static void replay(Object value, XMLRPCValueVisitor visitor) {
+        if (value instanceof Map) {
+            visitor.onStructStart();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                visitor.onMember(entry.getKey());
+                replay(entry.getValue(), visitor);
+            }
+            visitor.onStructEnd();
+        } else if (value instanceof Object[]) {
+            visitor.onArrayStart();
+            for (Object item : (Object[]) value) {
+                replay(item, visitor);
+            }
+            visitor.onArrayEnd();
+        } else if (value instanceof List) {
+            visitor.onArrayStart();
+            for (Object item : (List<Object>) value) {
+                replay(item, visitor);
+            }
+            visitor.onArrayEnd();
+        } else {
+            visitor.onScalar(value);
+        }
+    }
+}
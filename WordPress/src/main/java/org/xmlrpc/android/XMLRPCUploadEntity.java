@@ -0,0 +1,279 @@
+package org.xmlrpc.android;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.wordpress.android.util.helpers.MediaFile;
+import org.xmlpull.v1.XmlSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request body for wp.uploadFile which base64-encodes the media files straight into the connection output
+ * stream, instead of serializing the whole request to a temp file first.
+ *
+ * The XML envelope is serialized up front with a placeholder in place of each MediaFile, then split around the
+ * placeholders. Since the encoded size of a file is known in advance, the request is still sent with a
+ * Content-Length header rather than chunked.
+ *
+ * getContent() isn't used to send the request. It streams the body through a pipe, which writeTo() fills from
+ * another thread, so it doesn't need a temp file either.
+ */
+class XMLRPCUploadEntity extends AbstractHttpEntity {
+    private static final String CONTENT_TYPE = "text/xml";
+    private static final String PLACEHOLDER_PREFIX = "@@WP_MEDIA_FILE_";
+    private static final String PLACEHOLDER_SUFFIX = "@@";
+    private static final String PLACEHOLDER_START_TAG = "<" + XMLRPCSerializer.TYPE_STRING + ">";
+    private static final String PLACEHOLDER_END_TAG = "</" + XMLRPCSerializer.TYPE_STRING + ">";
+    private static final byte[] BASE64_START_TAG = ("<" + XMLRPCSerializer.TYPE_BASE64 + ">").getBytes();
+    private static final byte[] BASE64_END_TAG = ("</" + XMLRPCSerializer.TYPE_BASE64 + ">").getBytes();
+
+    // must be a multiple of 3 so chunks encode without padding
+    private static final int READ_BUFFER_SIZE = 3 * 4096;
+
+    private static final byte[] BASE64_ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes();
+
+    // envelope segments, the i-th media file goes between segment i and segment i+1
+    private final List<byte[]> mSegments = new ArrayList<>();
+    private final List<File> mFiles = new ArrayList<>();
+    private final long mContentLength;
+
+    XMLRPCUploadEntity(XmlSerializer serializer, String method, Object[] params) throws IOException {
+        List<MediaFile> mediaFiles = new ArrayList<>();
+        Object[] envelopeParams = (Object[]) replaceMediaFiles(params, mediaFiles);
+
+        ByteArrayOutputStream envelope = new ByteArrayOutputStream();
+        serializer.setOutput(envelope, "UTF-8");
+        XMLRPCClient.serializeMethodCall(serializer, method, envelopeParams);
+        byte[] envelopeBytes = envelope.toByteArray();
+
+        long contentLength = 0;
+        int segmentStart = 0;
+        for (int i = 0; i < mediaFiles.size(); i++) {
+            byte[] placeholder = (PLACEHOLDER_START_TAG + placeholderFor(i) + PLACEHOLDER_END_TAG).getBytes("UTF-8");
+            int placeholderStart = indexOf(envelopeBytes, placeholder, segmentStart);
+            if (placeholderStart == -1) {
+                throw new IOException("Can't find the media file in the serialized request");
+            }
+            mSegments.add(Arrays.copyOfRange(envelopeBytes, segmentStart, placeholderStart));
+            segmentStart = placeholderStart + placeholder.length;
+
+            File file = new File(mediaFiles.get(i).getFilePath());
+            if (!file.exists()) {
+                throw new IOException("Media file not found: " + file.getPath());
+            }
+            mFiles.add(file);
+            contentLength += BASE64_START_TAG.length + base64Length(file.length()) + BASE64_END_TAG.length;
+        }
+        mSegments.add(Arrays.copyOfRange(envelopeBytes, segmentStart, envelopeBytes.length));
+        for (byte[] segment : mSegments) {
+            contentLength += segment.length;
+        }
+        mContentLength = contentLength;
+
+        setContentType(CONTENT_TYPE);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return mContentLength;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        final ContentInputStream inStream = new ContentInputStream();
+        final PipedOutputStream outStream = new PipedOutputStream(inStream);
+        // a dedicated thread rather than a shared executor: it blocks until the caller has read the whole body,
+        // which could starve the pool the caller itself runs on
+        new Thread("XMLRPCUploadEntity") {
+            @Override
+            public void run() {
+                try {
+                    writeTo(outStream);
+                } catch (IOException e) {
+                    // also thrown when the caller closes the stream before reading the whole body
+                    inStream.mWriteError = e;
+                } finally {
+                    try {
+                        outStream.close();
+                    } catch (IOException e) {
+                        // nothing left to write
+                    }
+                }
+            }
+        }.start();
+        return inStream;
+    }
+
+    /*
+     * reports an error writing the body instead of ending the stream early
+     */
+    private static class ContentInputStream extends PipedInputStream {
+        private volatile IOException mWriteError;
+
+        ContentInputStream() {
+            super(READ_BUFFER_SIZE);
+        }
+
+        @Override
+        public synchronized int read() throws IOException {
+            int value = super.read();
+            if (value == -1 && mWriteError != null) {
+                throw mWriteError;
+            }
+            return value;
+        }
+
+        @Override
+        public synchronized int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count == -1 && mWriteError != null) {
+                throw mWriteError;
+            }
+            return count;
+        }
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    @Override
+    public void writeTo(OutputStream outstream) throws IOException {
+        byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+        byte[] encodeBuffer = new byte[READ_BUFFER_SIZE / 3 * 4];
+        for (int i = 0; i < mFiles.size(); i++) {
+            outstream.write(mSegments.get(i));
+            outstream.write(BASE64_START_TAG);
+            writeBase64(mFiles.get(i), outstream, readBuffer, encodeBuffer);
+            outstream.write(BASE64_END_TAG);
+        }
+        outstream.write(mSegments.get(mSegments.size() - 1));
+        outstream.flush();
+    }
+
+    private static void writeBase64(File file, OutputStream outstream, byte[] readBuffer, byte[] encodeBuffer)
+            throws IOException {
+        long expectedLength = file.length();
+        long totalRead = 0;
+        InputStream inStream = new FileInputStream(file);
+        try {
+            int length;
+            while ((length = readFully(inStream, readBuffer)) > 0) {
+                totalRead += length;
+                int encodedLength = encodeBase64(readBuffer, length, encodeBuffer);
+                outstream.write(encodeBuffer, 0, encodedLength);
+            }
+        } finally {
+            inStream.close();
+        }
+        if (totalRead != expectedLength) {
+            // Content-Length has already been sent, the request can't be completed
+            throw new IOException("Media file changed during upload: " + file.getPath());
+        }
+    }
+
+    // fills the buffer unless the end of the stream is reached, so that only the last chunk needs padding
+    private static int readFully(InputStream inStream, byte[] buffer) throws IOException {
+        int total = 0;
+        int read;
+        while (total < buffer.length && (read = inStream.read(buffer, total, buffer.length - total)) != -1) {
+            total += read;
+        }
+        return total;
+    }
+
+    private static int encodeBase64(byte[] input, int length, byte[] output) {
+        int op = 0;
+        int ip = 0;
+        while (ip + 3 <= length) {
+            int bits = ((input[ip] & 0xff) << 16) | ((input[ip + 1] & 0xff) << 8) | (input[ip + 2] & 0xff);
+            output[op++] = BASE64_ALPHABET[(bits >> 18) & 0x3f];
+            output[op++] = BASE64_ALPHABET[(bits >> 12) & 0x3f];
+            output[op++] = BASE64_ALPHABET[(bits >> 6) & 0x3f];
+            output[op++] = BASE64_ALPHABET[bits & 0x3f];
+            ip += 3;
+        }
+        int remaining = length - ip;
+        if (remaining > 0) {
+            int bits = (input[ip] & 0xff) << 16;
+            if (remaining == 2) {
+                bits |= (input[ip + 1] & 0xff) << 8;
+            }
+            output[op++] = BASE64_ALPHABET[(bits >> 18) & 0x3f];
+            output[op++] = BASE64_ALPHABET[(bits >> 12) & 0x3f];
+            output[op++] = remaining == 2 ? BASE64_ALPHABET[(bits >> 6) & 0x3f] : (byte) '=';
+            output[op++] = '=';
+        }
+        return op;
+    }
+
+    static long base64Length(long length) {
+        return (length + 2) / 3 * 4;
+    }
+
+    private static String placeholderFor(int index) {
+        return PLACEHOLDER_PREFIX + index + PLACEHOLDER_SUFFIX;
+    }
+
+    /*
+     * returns a copy of the passed value where each MediaFile is replaced by a placeholder string
+     */
+    @SuppressWarnings("unchecked")
+    private static Object replaceMediaFiles(Object value, List<MediaFile> mediaFiles) {
+        if (value instanceof MediaFile) {
+            mediaFiles.add((MediaFile) value);
+            return placeholderFor(mediaFiles.size() - 1);
+        } else if (value instanceof Map) {
+            Map<String, Object> copy = new HashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                copy.put(entry.getKey(), replaceMediaFiles(entry.getValue(), mediaFiles));
+            }
+            return copy;
+        } else if (value instanceof Object[]) {
+            Object[] array = (Object[]) value;
+            Object[] copy = new Object[array.length];
+            for (int i = 0; i < array.length; i++) {
+                copy[i] = replaceMediaFiles(array[i], mediaFiles);
+            }
+            return copy;
+        } else if (value instanceof List) {
+            List<Object> copy = new ArrayList<>();
+            for (Object item : (List<Object>) value) {
+                copy.add(replaceMediaFiles(item, mediaFiles));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int fromIndex) {
+        for (int i = fromIndex; i <= data.length - pattern.length; i++) {
+            int j = 0;
+            while (j < pattern.length && data[i + j] == pattern[j]) {
+                j++;
+            }
+            if (j == pattern.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -23,6 +23,7 @@ import java.io.StringReader;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -96,6 +97,107 @@ public class XMLRPCUtils {
         return client.call(ApiHelper.Method.LIST_METHODS);
     }
 
+    // system.multicall support per XML-RPC endpoint, filled by system.listMethods responses
+    private static final Map<String, Boolean> sMulticallSupport = new HashMap<>();
+    // time of the last failed system.listMethods call per XML-RPC endpoint, multicall isn't used until it's retried
+    private static final Map<String, Long> sMulticallCheckFailures = new HashMap<>();
+    private static final long MULTICALL_CHECK_RETRY_DELAY_MS = 10 * 60 * 1000;
+
+    private static void rememberMulticallSupport(String url, Object[] availableMethods) {
+        boolean supported = Arrays.asList(availableMethods).contains(ApiHelper.Method.MULTICALL);
+        synchronized (sMulticallSupport) {
+            sMulticallSupport.put(url, supported);
+            sMulticallCheckFailures.remove(url);
+        }
+    }
+
+    /**
+     * Returns true if the endpoint advertises system.multicall. Calls system.listMethods the first time an
+     * endpoint is checked, the answer is then kept for the lifetime of the process. If system.listMethods fails,
+     * the endpoint is considered not to support multicall, and isn't checked again for
+     * MULTICALL_CHECK_RETRY_DELAY_MS.
+     */
+    public static boolean supportsMulticall(XMLRPCClientInterface client, String url) {
+        synchronized (sMulticallSupport) {
+            Boolean supported = sMulticallSupport.get(url);
+            if (supported != null) {
+                return supported;
+            }
+            Long failureTime = sMulticallCheckFailures.get(url);
+            if (failureTime != null
+                    && System.currentTimeMillis() - failureTime < MULTICALL_CHECK_RETRY_DELAY_MS) {
+                return false;
+            }
+        }
+
+        try {
+            Object methods = client.call(ApiHelper.Method.LIST_METHODS);
+            if (methods instanceof Object[]) {
+                rememberMulticallSupport(url, (Object[]) methods);
+                return supportsMulticall(client, url);
+            }
+            AppLog.w(AppLog.T.API, "system.listMethods returned an unexpected response on: " + url);
+        } catch (XMLRPCException | IOException | XmlPullParserException e) {
+            AppLog.w(AppLog.T.API, "system.listMethods failed on: " + url + " - " + e.getMessage());
+        }
+        synchronized (sMulticallSupport) {
+            sMulticallCheckFailures.put(url, System.currentTimeMillis());
+        }
+        return false;
+    }
+
+    /**
+     * Makes the passed calls one after another, with the same result format as
+     * XMLRPCClientInterface.callMulticall(): one entry per call holding either its result or its fault.
+     * Used as a fallback on servers that don't support system.multicall. Any other error stops the sequence
+     * and is thrown, as a failed multicall request would be.
+     */
+    public static Object[] callSerially(XMLRPCClientInterface client, List<MethodCall> calls)
+            throws XMLRPCException, IOException, XmlPullParserException {
+        Object[] results = new Object[calls.size()];
+        for (int i = 0; i < calls.size(); i++) {
+            MethodCall methodCall = calls.get(i);
+            try {
+                results[i] = client.call(methodCall.getMethodName(), methodCall.getParams());
+            } catch (XMLRPCFault fault) {
+                results[i] = fault;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Uses system.multicall when the endpoint supports it, falls back to serial calls otherwise. The serial
+     * calls are also made when the multicall request itself is rejected or its response can't be read (some
+     * security plugins block system.multicall even though it's listed), and multicall isn't used again on
+     * that endpoint. Network errors and bad credentials are thrown, since the serial calls would fail the same way.
+     */
+    public static Object[] callBatch(XMLRPCClientInterface client, String url, List<MethodCall> calls)
+            throws XMLRPCException, IOException, XmlPullParserException {
+        if (calls.size() > 1 && supportsMulticall(client, url)) {
+            try {
+                return client.callMulticall(calls);
+            } catch (XMLRPCFault fault) {
+                if (fault.getFaultCode() == 401 || fault.getFaultCode() == 403) {
+                    // bad credentials, the serial calls would be rejected too
+                    throw fault;
+                }
+                rememberMulticallFailure(url, fault);
+            } catch (XMLRPCException | XmlPullParserException e) {
+                rememberMulticallFailure(url, e);
+            }
+        }
+        return callSerially(client, calls);
+    }
+
+    private static void rememberMulticallFailure(String url, Exception e) {
+        AppLog.w(AppLog.T.API, "system.multicall failed on: " + url + " - " + e.getMessage()
+                + ", making the calls one by one");
+        synchronized (sMulticallSupport) {
+            sMulticallSupport.put(url, false);
+        }
+    }
+
     private static boolean validateListMethodsResponse(Object[] availableMethods) {
         if (availableMethods == null) {
             AppLog.e(AppLog.T.NUX, "The response of system.listMethods was empty!");
@@ -207,6 +309,7 @@ public class XMLRPCUtils {
             }
             // Exit the loop on the first URL that replies with a XML-RPC doc.
             AppLog.i(AppLog.T.NUX, "system.listMethods replied with XML-RPC objects on the URL: " + url);
+            rememberMulticallSupport(url, methods);
             AppLog.i(AppLog.T.NUX, "Validating the XML-RPC response...");
             if (validateListMethodsResponse(methods)) {
                 // Endpoint address found and works fine.
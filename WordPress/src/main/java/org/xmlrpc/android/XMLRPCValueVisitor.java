@@ -0,0 +1,23 @@
+package org.xmlrpc.android;
+
+/**
+ * Receives the values of an XML-RPC response document as they are pulled from the stream, so callers can
+ * consume large responses (wp.getPosts, wp.getComments, wp.getMediaLibrary...) without building the whole
+ * HashMap/Object[] tree first.
+ *
+ * Events are delivered in document order. A struct is reported as {@link #onStructStart()}, then for each member
+ * {@link #onMember(String)} followed by the member value, then {@link #onStructEnd()}. An array is reported as
+ * {@link #onArrayStart()}, its values, then {@link #onArrayEnd()}.
+ */
+public interface XMLRPCValueVisitor {
+    public void onStructStart();
+    public void onMember(String name);
+    public void onStructEnd();
+    public void onArrayStart();
+    public void onArrayEnd();
+
+    /**
+     * Called for every scalar value (Integer, Long, Double, Boolean, String, Date or byte[])
+     */
+    public void onScalar(Object value);
+}
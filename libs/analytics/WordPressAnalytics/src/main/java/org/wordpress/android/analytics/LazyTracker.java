@@ -0,0 +1,167 @@
+package org.wordpress.android.analytics;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import org.wordpress.android.analytics.AnalyticsTracker.Stat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracker which creates the tracker it wraps the first time it's used, so registering trackers
+ * when the app starts doesn't load the Mixpanel or Tracks clients until an event is sent.
+ *
+ * The wrapped trackers aren't thread safe, so they're only used on the main thread: calls made on
+ * another thread are posted to the main looper, in the order they were made. Events tracked before
+ * the metadata is first refreshed are held until then, so they're sent with the user's metadata
+ * even though it's read off the main thread when the app starts.
+ */
+public class LazyTracker extends Tracker {
+    public interface Factory {
+        Tracker create(Context context);
+    }
+
+    private final Factory mFactory;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    // calls posted to the main looper which haven't run yet
+    private final AtomicInteger mPendingCount = new AtomicInteger();
+
+    // only used on the main thread
+    private final List<Runnable> mHeldCalls = new ArrayList<>();
+    private Tracker mTracker;
+    private boolean mHasMetadata;
+
+    public LazyTracker(Context context, Factory factory) throws IllegalArgumentException {
+        super(context);
+        mFactory = factory;
+    }
+
+    private Tracker getTracker() {
+        if (mTracker == null) {
+            mTracker = mFactory.create(mContext);
+        }
+        return mTracker;
+    }
+
+    /*
+     * runs the call right away when on the main thread and no earlier call is still waiting to
+     * run there, posts it otherwise
+     */
+    private void runOnMainThread(final Runnable call) {
+        if (Looper.myLooper() == Looper.getMainLooper() && mPendingCount.get() == 0) {
+            call.run();
+            return;
+        }
+        mPendingCount.incrementAndGet();
+        mMainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                mPendingCount.decrementAndGet();
+                call.run();
+            }
+        });
+    }
+
+    /*
+     * runs the call once the metadata has been refreshed
+     */
+    private void runWithMetadata(final Runnable call) {
+        runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                if (mHasMetadata) {
+                    call.run();
+                } else {
+                    mHeldCalls.add(call);
+                }
+            }
+        });
+    }
+
+    @Override
+    void track(final Stat stat) {
+        runWithMetadata(new Runnable() {
+            @Override
+            public void run() {
+                getTracker().track(stat);
+            }
+        });
+    }
+
+    @Override
+    void track(final Stat stat, final Map<String, ?> properties) {
+        runWithMetadata(new Runnable() {
+            @Override
+            public void run() {
+                getTracker().track(stat, properties);
+            }
+        });
+    }
+
+    @Override
+    void endSession() {
+        runWithMetadata(new Runnable() {
+            @Override
+            public void run() {
+                getTracker().endSession();
+            }
+        });
+    }
+
+    @Override
+    void flush() {
+        runWithMetadata(new Runnable() {
+            @Override
+            public void run() {
+                getTracker().flush();
+            }
+        });
+    }
+
+    @Override
+    void refreshMetadata(final AnalyticsMetadata metadata) {
+        runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                getTracker().refreshMetadata(metadata);
+                if (!mHasMetadata) {
+                    mHasMetadata = true;
+                    for (Runnable call : mHeldCalls) {
+                        call.run();
+                    }
+                    mHeldCalls.clear();
+                }
+            }
+        });
+    }
+
+    @Override
+    void registerPushNotificationToken(final String regId) {
+        runWithMetadata(new Runnable() {
+            @Override
+            public void run() {
+                getTracker().registerPushNotificationToken(regId);
+            }
+        });
+    }
+
+    @Override
+    String getAnonIdPrefKey() {
+        // only used by the anon ID methods of Tracker, which are called by the wrapped tracker itself
+        throw new UnsupportedOperationException("LazyTracker doesn't have an anon ID");
+    }
+
+    @Override
+    void clearAllData() {
+        runWithMetadata(new Runnable() {
+            @Override
+            public void run() {
+                getTracker().clearAllData();
+            }
+        });
+    }
+}
@@ -0,0 +1,177 @@
+package org.wordpress.android.editor;
+
+import android.graphics.Typeface;
+import android.os.SystemClock;
+import android.test.AndroidTestCase;
+import android.test.suitebuilder.annotation.LargeTest;
+import android.text.Editable;
+import android.text.Spannable;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.style.CharacterStyle;
+import android.text.style.ForegroundColorSpan;
+import android.text.style.RelativeSizeSpan;
+import android.text.style.StyleSpan;
+
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the incremental styling of the HTML source editor with the previous clear-and-regex styling, on a
+ * device. Only run with the large tests (-e size large).
+ */
+public class HtmlStyleBenchmarkTest extends AndroidTestCase {
+    private static final int[] BENCHMARK_POST_LENGTHS = {10 * 1024, 50 * 1024, 200 * 1024};
+    private static final String TYPED_TEXT = "Some <b>typed</b> text &copy; with a <a href=\"https://example.com\">link"
+            + "</a> <!-- and a comment -->\n<blockquote>and a quote</blockquote>\n";
+
+    /*
+     * restyles large posts while typing and pasting, with the previous and the incremental styling - results are
+     * logged
+     */
+    @LargeTest
+    public void testBenchmarkStyling() {
+        for (int postLength : BENCHMARK_POST_LENGTHS) {
+            String post = buildPost(postLength);
+
+            Editable legacyContent = new SpannableStringBuilder(post);
+            long start = SystemClock.elapsedRealtime();
+            legacyStyle(legacyContent, 0, legacyContent.length());
+            long legacyLoadMs = SystemClock.elapsedRealtime() - start;
+            legacyContent.setSpan(new LegacyHtmlStyleTextWatcher(), 0, legacyContent.length(),
+                    Spanned.SPAN_INCLUSIVE_INCLUSIVE);
+            start = SystemClock.elapsedRealtime();
+            int editCount = replayEdits(legacyContent);
+            long legacyEditMs = SystemClock.elapsedRealtime() - start;
+
+            Editable content = new SpannableStringBuilder(post);
+            start = SystemClock.elapsedRealtime();
+            HtmlStyleUtils.styleHtmlForDisplay(content);
+            long loadMs = SystemClock.elapsedRealtime() - start;
+            content.setSpan(new HtmlStyleTextWatcher(), 0, content.length(), Spanned.SPAN_INCLUSIVE_INCLUSIVE);
+            start = SystemClock.elapsedRealtime();
+            replayEdits(content);
+            long editMs = SystemClock.elapsedRealtime() - start;
+
+            assertEquals(legacyContent.toString(), content.toString());
+            AppLog.i(T.EDITOR, "html styling benchmark > " + post.length() + " chars, " + editCount
+                    + " keystrokes and pastes: before " + legacyLoadMs + "ms to style, " + legacyEditMs
+                    + "ms to edit, after " + loadMs + "ms to style, " + editMs + "ms to edit");
+        }
+    }
+
+    /*
+     * types TYPED_TEXT in the middle of the post one character at a time, deletes part of it, then pastes it, cuts
+     * it and pastes it over a selection - returns the number of edits
+     */
+    private static int replayEdits(Editable content) {
+        int editCount = 0;
+        int offset = content.toString().indexOf("\n", content.length() / 2) + 1;
+        for (int i = 0; i < TYPED_TEXT.length(); i++) {
+            content.insert(offset + i, TYPED_TEXT.subSequence(i, i + 1));
+            editCount++;
+        }
+        for (int i = 0; i < TYPED_TEXT.length() / 2; i++) {
+            int end = offset + TYPED_TEXT.length() - i;
+            content.delete(end - 1, end);
+            editCount++;
+        }
+
+        int pasteOffset = content.length() / 4;
+        for (int i = 0; i < 10; i++) {
+            content.insert(pasteOffset + i * 7, TYPED_TEXT);
+            editCount++;
+        }
+        content.delete(pasteOffset, pasteOffset + TYPED_TEXT.length() * 3 + 13);
+        editCount++;
+        for (int i = 0; i < 10; i++) {
+            int selectionStart = offset + i * 31;
+            content.replace(selectionStart, selectionStart + 11, TYPED_TEXT);
+            editCount++;
+        }
+        return editCount;
+    }
+
+    private static String buildPost(int minLength) {
+        StringBuilder post = new StringBuilder();
+        for (int i = 0; post.length() < minLength; i++) {
+            post.append("<p>Paragraph ").append(i).append(" with <strong>bold</strong>, <em>emphasis</em> &amp; ")
+                    .append("a <a href=\"https://example.com/").append(i).append("\" title='link'>link</a>.</p>\n");
+            if (i % 5 == 0) {
+                post.append("<!--more-->\n<ul>\n\t<li>item &mdash; one</li>\n\t<li>item two</li>\n</ul>\n");
+            }
+            if (i % 7 == 0) {
+                post.append("<img class=\"aligncenter\"\n\tsrc=\"https://example.com/image.jpg\" />\n");
+            }
+        }
+        return post.toString();
+    }
+
+    /*
+     * the previous styling, which cleared the range and matched each pattern against it
+     */
+    private static void legacyStyle(Spannable content, int start, int end) {
+        HtmlStyleUtils.clearSpans(content, start, end);
+        String[] regexes = {HtmlStyleUtils.REGEX_HTML_TAGS, HtmlStyleUtils.REGEX_HTML_ATTRIBUTES,
+                HtmlStyleUtils.REGEX_HTML_COMMENTS, HtmlStyleUtils.REGEX_HTML_ENTITIES};
+        for (String regex : regexes) {
+            Matcher matcher = Pattern.compile(regex).matcher(content.subSequence(start, end));
+            while (matcher.find()) {
+                int matchStart = matcher.start() + start;
+                int matchEnd = matcher.end() + start;
+                switch (regex) {
+                    case HtmlStyleUtils.REGEX_HTML_TAGS:
+                        setSpans(content, matchStart, matchEnd, new ForegroundColorSpan(HtmlStyleUtils.TAG_COLOR));
+                        break;
+                    case HtmlStyleUtils.REGEX_HTML_ATTRIBUTES:
+                        setSpans(content, matchStart, matchEnd,
+                                new ForegroundColorSpan(HtmlStyleUtils.ATTRIBUTE_COLOR));
+                        break;
+                    case HtmlStyleUtils.REGEX_HTML_COMMENTS:
+                        setSpans(content, matchStart, matchEnd, new ForegroundColorSpan(HtmlStyleUtils.ATTRIBUTE_COLOR),
+                                new StyleSpan(Typeface.ITALIC), new RelativeSizeSpan(0.75f));
+                        break;
+                    case HtmlStyleUtils.REGEX_HTML_ENTITIES:
+                        setSpans(content, matchStart, matchEnd, new ForegroundColorSpan(HtmlStyleUtils.TAG_COLOR),
+                                new StyleSpan(Typeface.BOLD), new RelativeSizeSpan(0.75f));
+                        break;
+                }
+            }
+        }
+    }
+
+    private static void setSpans(Spannable content, int start, int end, CharacterStyle... spans) {
+        for (CharacterStyle span : spans) {
+            content.setSpan(span, start, end, HtmlStyleUtils.SPANNABLE_FLAGS);
+        }
+    }
+
+    /*
+     * the previous watcher, which restyled the whole document when text containing a tag or entity symbol was pasted
+     * over a selection
+     */
+    private static class LegacyHtmlStyleTextWatcher extends HtmlStyleTextWatcher {
+        private boolean mIsReplacingSymbols;
+
+        @Override
+        public void onTextChanged(CharSequence s, int start, int before, int count) {
+            super.onTextChanged(s, start, before, count);
+            String insertedText = s.subSequence(start, start + count).toString();
+            mIsReplacingSymbols = before > 0 && count > 0 && (insertedText.contains("<") || insertedText.contains(">")
+                    || insertedText.contains("&") || insertedText.contains(";"));
+        }
+
+        @Override
+        protected void updateSpans(Spannable content, SpanRange spanRange) {
+            if (mIsReplacingSymbols) {
+                legacyStyle(content, 0, content.length());
+            } else if (spanRange.getOpeningTagLoc() < spanRange.getClosingTagLoc()
+                    && spanRange.getClosingTagLoc() <= content.length()) {
+                legacyStyle(content, spanRange.getOpeningTagLoc(), spanRange.getClosingTagLoc());
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package org.wordpress.android.editor;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the tags, attribute values, comments and entities styled by {@link HtmlStyleUtils}, following the same rules
+ * as its REGEX_HTML_* patterns. Comments, attribute values and entities can't span lines, and a tag can't contain
+ * '<', so any line can be lexed on its own: after an edit, only the lines around it need to be lexed again.
+ */
+class HtmlStyleLexer {
+    enum TokenType {
+        TAG, ATTRIBUTE, COMMENT, ENTITY
+    }
+
+    static class Token {
+        final TokenType type;
+        final int start;
+        final int end;
+
+        Token(TokenType type, int start, int end) {
+            this.type = type;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Token)) {
+                return false;
+            }
+            Token token = (Token) other;
+            return type == token.type && start == token.start && end == token.end;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * type.hashCode() + start) + end;
+        }
+    }
+
+    private static final Set<String> ENTITIES = new HashSet<>(Arrays.asList(HtmlStyleUtils.REGEX_HTML_ENTITIES
+            .substring(1, HtmlStyleUtils.REGEX_HTML_ENTITIES.length() - 1).split("\\|")));
+    private static final int MAX_ENTITY_LENGTH = getMaxLength(ENTITIES);
+
+    private HtmlStyleLexer() {
+        throw new AssertionError();
+    }
+
+    private static int getMaxLength(Set<String> strings) {
+        int maxLength = 0;
+        for (String string : strings) {
+            maxLength = Math.max(maxLength, string.length());
+        }
+        return maxLength;
+    }
+
+    /**
+     * Same line terminators as the '.' of a regex, which the comment and attribute patterns don't match.
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * Returns the index of the first character of the line containing {@code index}.
+     */
+    static int getLineStart(CharSequence text, int index) {
+        int i = Math.min(index, text.length());
+        while (i > 0 && !isLineTerminator(text.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the index of the line terminator ending the line which starts at {@code lineStart}, or the length of
+     * {@code text} for the last line.
+     */
+    static int getLineEnd(CharSequence text, int lineStart) {
+        int i = lineStart;
+        while (i < text.length() && !isLineTerminator(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the index of the last '<' before {@code index}, if no '>' comes between them, or -1 otherwise. This is
+     * where a tag reaching {@code index} from a previous line would start.
+     */
+    static int findOpenTagStart(CharSequence text, int index) {
+        for (int i = index - 1; i >= 0; i--) {
+            char c = text.charAt(i);
+            if (c == '<') {
+                return i;
+            } else if (c == '>') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the tokens starting on the line which starts at {@code lineStart} to {@code tokens}, ordered by type. Tags
+     * may end on a later line.
+     * @return the end of the line, as returned by {@link #getLineEnd(CharSequence, int)}
+     */
+    static int lexLine(CharSequence text, int lineStart, List<Token> tokens) {
+        int lineEnd = getLineEnd(text, lineStart);
+        lexTags(text, lineStart, lineEnd, tokens);
+        lexAttributes(text, lineStart, lineEnd, tokens);
+        lexComments(text, lineStart, lineEnd, tokens);
+        lexEntities(text, lineStart, lineEnd, tokens);
+        return lineEnd;
+    }
+
+    private static void lexTags(CharSequence text, int lineStart, int lineEnd, List<Token> tokens) {
+        int length = text.length();
+        for (int i = lineStart; i < lineEnd; i++) {
+            if (text.charAt(i) != '<') {
+                continue;
+            }
+            int nameStart = i + 1;
+            if (nameStart < length && text.charAt(nameStart) == '/') {
+                nameStart++;
+            }
+            if (nameStart >= length || text.charAt(nameStart) < 'a' || text.charAt(nameStart) > 'z') {
+                continue;
+            }
+            int j = nameStart + 1;
+            while (j < length && text.charAt(j) != '<' && text.charAt(j) != '>') {
+                j++;
+            }
+            if (j < length && text.charAt(j) == '>') {
+                tokens.add(new Token(TokenType.TAG, i, j + 1));
+            }
+            // No tag can start before the next '<'
+            i = j - 1;
+        }
+    }
+
+    private static void lexAttributes(CharSequence text, int lineStart, int lineEnd, List<Token> tokens) {
+        // A quoted value is only an attribute if a '>' follows it on the same line
+        int lastClosingBracket = lineEnd - 1;
+        while (lastClosingBracket >= lineStart && text.charAt(lastClosingBracket) != '>') {
+            lastClosingBracket--;
+        }
+        for (int i = Math.max(lineStart, 1); i < lastClosingBracket; i++) {
+            char quote = text.charAt(i);
+            if ((quote != '"' && quote != '\'') || text.charAt(i - 1) != '=') {
+                continue;
+            }
+            int closingQuote = indexOf(text, quote, i + 1, lastClosingBracket);
+            if (closingQuote != -1) {
+                tokens.add(new Token(TokenType.ATTRIBUTE, i, closingQuote + 1));
+                i = closingQuote;
+            }
+        }
+    }
+
+    private static void lexComments(CharSequence text, int lineStart, int lineEnd, List<Token> tokens) {
+        for (int i = lineStart; i + 4 <= lineEnd; i++) {
+            if (!regionMatches(text, i, "<!--")) {
+                continue;
+            }
+            int closing = -1;
+            for (int j = i + 4; j + 3 <= lineEnd; j++) {
+                if (regionMatches(text, j, "-->")) {
+                    closing = j;
+                    break;
+                }
+            }
+            if (closing == -1) {
+                // There's no comment end left on this line
+                return;
+            }
+            tokens.add(new Token(TokenType.COMMENT, i, closing + 3));
+            i = closing + 2;
+        }
+    }
+
+    private static void lexEntities(CharSequence text, int lineStart, int lineEnd, List<Token> tokens) {
+        for (int i = lineStart; i < lineEnd; i++) {
+            if (text.charAt(i) != '&') {
+                continue;
+            }
+            // Every entity ends with the first ';' after its '&'
+            int semicolon = indexOf(text, ';', i + 1, Math.min(lineEnd, i + MAX_ENTITY_LENGTH));
+            if (semicolon != -1 && ENTITIES.contains(text.subSequence(i, semicolon + 1).toString())) {
+                tokens.add(new Token(TokenType.ENTITY, i, semicolon + 1));
+                i = semicolon;
+            }
+        }
+    }
+
+    private static int indexOf(CharSequence text, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatches(CharSequence text, int start, String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (text.charAt(start + i) != string.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
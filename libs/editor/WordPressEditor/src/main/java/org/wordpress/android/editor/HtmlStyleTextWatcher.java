@@ -2,6 +2,7 @@ package org.wordpress.android.editor;
 
 import android.text.Editable;
 import android.text.Spannable;
+import android.text.TextUtils;
 import android.text.TextWatcher;
 
 import org.wordpress.android.util.AppLog;
@@ -51,6 +52,7 @@ public class HtmlStyleTextWatcher implements TextWatcher {
                 if (before > 0) {
                     // Text was added, replacing some existing text
                     mLastOperation = Operation.REPLACE;
+                    mOffset = start;
                     mModifiedText = s.subSequence(start, start + count);
                 } else {
                     // Text was added only
@@ -70,21 +72,25 @@ public class HtmlStyleTextWatcher implements TextWatcher {
 
         SpanRange spanRange;
 
-        // If the modified text included a tag or entity symbol ("<", ">", "&" or ";"), find its match and restyle
-        if (mModifiedText.toString().contains("<")) {
-            spanRange = getRespanRangeForChangedOpeningSymbol(s, "<");
-        } else if (mModifiedText.toString().contains(">")) {
-            spanRange = getRespanRangeForChangedClosingSymbol(s, ">");
-        } else if (mModifiedText.toString().contains("&")) {
-            spanRange = getRespanRangeForChangedOpeningSymbol(s, "&");
-        } else if (mModifiedText.toString().contains(";")) {
-            spanRange = getRespanRangeForChangedClosingSymbol(s, ";");
+        if (mLastOperation == Operation.REPLACE) {
+            // The replaced text is gone, but its tokens still have spans: restyle the new text, and HtmlStyleUtils will
+            // extend the range to the tokens it touches
+            spanRange = new SpanRange(mOffset, mOffset + mModifiedText.length());
+        } else if (TextUtils.indexOf(mModifiedText, '<') >= 0) {
+            // If the modified text included a tag or entity symbol ("<", ">", "&" or ";"), find its match and restyle
+            spanRange = getRespanRangeForChangedOpeningSymbol(s, '<');
+        } else if (TextUtils.indexOf(mModifiedText, '>') >= 0) {
+            spanRange = getRespanRangeForChangedClosingSymbol(s, '>');
+        } else if (TextUtils.indexOf(mModifiedText, '&') >= 0) {
+            spanRange = getRespanRangeForChangedOpeningSymbol(s, '&');
+        } else if (TextUtils.indexOf(mModifiedText, ';') >= 0) {
+            spanRange = getRespanRangeForChangedClosingSymbol(s, ';');
         } else {
             // If the modified text didn't include any tag or entity symbols, restyle if the modified text is inside
             // a tag or entity
-            spanRange = getRespanRangeForNormalText(s, "<");
+            spanRange = getRespanRangeForNormalText(s, '<');
             if (spanRange == null) {
-                spanRange = getRespanRangeForNormalText(s, "&");
+                spanRange = getRespanRangeForNormalText(s, '&');
             }
         }
 
@@ -103,25 +109,20 @@ public class HtmlStyleTextWatcher implements TextWatcher {
      * @param openingSymbol the opening symbol recognized (e.g. '<' or '&')
      * @return the range of characters to re-apply spans to
      */
-    protected SpanRange getRespanRangeForChangedOpeningSymbol(Editable content, String openingSymbol) {
-        // For simplicity, re-parse the document if text was replaced
-        if (mLastOperation == Operation.REPLACE) {
-            return new SpanRange(0, content.length());
-        }
+    protected SpanRange getRespanRangeForChangedOpeningSymbol(Editable content, char openingSymbol) {
+        char closingSymbol = getMatchingSymbol(openingSymbol);
 
-        String closingSymbol = getMatchingSymbol(openingSymbol);
-
-        int firstOpeningTagLoc = mOffset + mModifiedText.toString().indexOf(openingSymbol);
+        int firstOpeningTagLoc = mOffset + TextUtils.indexOf(mModifiedText, openingSymbol);
         int closingTagLoc;
         if (mLastOperation == Operation.INSERT) {
             // Apply span from the first added opening symbol until the closing symbol in the content matching the
             // last added opening symbol
             // e.g. pasting "<b><" before "/b>" - we want the span to be applied to all of "<b></b>"
-            int lastOpeningTagLoc = mOffset + mModifiedText.toString().lastIndexOf(openingSymbol);
-            closingTagLoc = content.toString().indexOf(closingSymbol, lastOpeningTagLoc);
+            int lastOpeningTagLoc = mOffset + TextUtils.lastIndexOf(mModifiedText, openingSymbol);
+            closingTagLoc = TextUtils.indexOf(content, closingSymbol, lastOpeningTagLoc);
         } else {
             // Apply span until the first closing tag that appears after the deleted text
-            closingTagLoc = content.toString().indexOf(closingSymbol, mOffset);
+            closingTagLoc = TextUtils.indexOf(content, closingSymbol, mOffset);
         }
 
         if (closingTagLoc > 0) {
@@ -137,18 +138,13 @@ public class HtmlStyleTextWatcher implements TextWatcher {
      * @param closingSymbol the closing symbol recognized (e.g. '>' or ';')
      * @return the range of characters to re-apply spans to
      */
-    protected SpanRange getRespanRangeForChangedClosingSymbol(Editable content, String closingSymbol) {
-        // For simplicity, re-parse the document if text was replaced
-        if (mLastOperation == Operation.REPLACE) {
-            return new SpanRange(0, content.length());
-        }
-
-        String openingSymbol = getMatchingSymbol(closingSymbol);
+    protected SpanRange getRespanRangeForChangedClosingSymbol(Editable content, char closingSymbol) {
+        char openingSymbol = getMatchingSymbol(closingSymbol);
 
-        int firstClosingTagInModLoc = mOffset + mModifiedText.toString().indexOf(closingSymbol);
-        int firstClosingTagAfterModLoc = content.toString().indexOf(closingSymbol, mOffset + mModifiedText.length());
+        int firstClosingTagInModLoc = mOffset + TextUtils.indexOf(mModifiedText, closingSymbol);
+        int firstClosingTagAfterModLoc = TextUtils.indexOf(content, closingSymbol, mOffset + mModifiedText.length());
 
-        int openingTagLoc = content.toString().lastIndexOf(openingSymbol, firstClosingTagInModLoc - 1);
+        int openingTagLoc = TextUtils.lastIndexOf(content, openingSymbol, firstClosingTagInModLoc - 1);
         if (openingTagLoc >= 0) {
             if (firstClosingTagAfterModLoc >= 0) {
                 return new SpanRange(openingTagLoc, firstClosingTagAfterModLoc + 1);
@@ -166,12 +162,12 @@ public class HtmlStyleTextWatcher implements TextWatcher {
      * @param openingSymbol the opening symbol of the tag to check for (e.g. '<' or '&')
      * @return the range of characters to re-apply spans to
      */
-    protected SpanRange getRespanRangeForNormalText(Editable content, String openingSymbol) {
-        String closingSymbol = getMatchingSymbol(openingSymbol);
+    protected SpanRange getRespanRangeForNormalText(Editable content, char openingSymbol) {
+        char closingSymbol = getMatchingSymbol(openingSymbol);
 
-        int openingTagLoc = content.toString().lastIndexOf(openingSymbol, mOffset);
+        int openingTagLoc = TextUtils.lastIndexOf(content, openingSymbol, mOffset);
         if (openingTagLoc >= 0) {
-            int closingTagLoc = content.toString().indexOf(closingSymbol, openingTagLoc);
+            int closingTagLoc = TextUtils.indexOf(content, closingSymbol, openingTagLoc);
             if (closingTagLoc >= mOffset) {
                 return new SpanRange(openingTagLoc, closingTagLoc + 1);
             }
@@ -180,7 +176,7 @@ public class HtmlStyleTextWatcher implements TextWatcher {
     }
 
     /**
-     * Clears and re-applies spans to {@code content} within range {@code spanRange} according to rules in
+     * Brings the spans of {@code content} within range {@code spanRange} up to date according to rules in
      * {@link HtmlStyleUtils}.
      * @param content the content to re-style
      * @param spanRange the range within {@code content} to be re-styled
@@ -195,30 +191,29 @@ public class HtmlStyleTextWatcher implements TextWatcher {
         } else if (spanStart >= spanEnd) {
             // If the span start is after the end position (probably due to a multi-line deletion), selective
             // re-styling won't work
-            // Instead, do a clean re-styling of the whole document
+            // Instead, re-lex the whole document, which only restyles the tokens that changed
             spanStart = 0;
             spanEnd = content.length();
         }
 
-        HtmlStyleUtils.clearSpans(content, spanStart, spanEnd);
         HtmlStyleUtils.styleHtmlForDisplay(content, spanStart, spanEnd);
     }
 
     /**
      * Returns the closing/opening symbol corresponding to the given opening/closing symbol.
      */
-    private String getMatchingSymbol(String symbol) {
+    private char getMatchingSymbol(char symbol) {
         switch(symbol) {
-            case "<":
-                return ">";
-            case ">":
-                return "<";
-            case "&":
-                return ";";
-            case ";":
-                return "&";
+            case '<':
+                return '>';
+            case '>':
+                return '<';
+            case '&':
+                return ';';
+            case ';':
+                return '&';
             default:
-                return "";
+                return 0;
         }
     }
 
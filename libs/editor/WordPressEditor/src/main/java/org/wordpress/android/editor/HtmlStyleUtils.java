@@ -5,15 +5,22 @@ import android.graphics.Typeface;
 import android.os.Build;
 import android.support.annotation.NonNull;
 import android.text.Spannable;
+import android.text.Spanned;
 import android.text.style.CharacterStyle;
 import android.text.style.ForegroundColorSpan;
 import android.text.style.RelativeSizeSpan;
 import android.text.style.StyleSpan;
 
+import org.wordpress.android.editor.HtmlStyleLexer.Token;
+import org.wordpress.android.editor.HtmlStyleLexer.TokenType;
 import org.wordpress.android.util.AppLog;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class HtmlStyleUtils {
     public static final int TAG_COLOR = Color.rgb(0, 80, 130);
@@ -73,6 +80,10 @@ public class HtmlStyleUtils {
     /**
      * Apply styling rules to {@code content} inside the range from {@code start} to {@code end}.
      *
+     * Styled tokens keep a {@link TokenSpan}, which {@code content} moves along with the text, so the styling can be
+     * brought up to date after an edit: the range is extended to whole lines and to the tokens it touches, only those
+     * lines are lexed again, and only the tokens which changed are restyled, reusing the spans of the old ones.
+     *
      * @param content the Spannable to apply style rules to
      * @param start the index in {@code content} to start styling from
      * @param end the index in {@code content} to style until
@@ -84,56 +95,87 @@ public class HtmlStyleUtils {
             return;
         }
 
-        applySpansByRegex(content, start, end, REGEX_HTML_TAGS);
-        applySpansByRegex(content, start, end, REGEX_HTML_ATTRIBUTES);
-        applySpansByRegex(content, start, end, REGEX_HTML_COMMENTS);
-        applySpansByRegex(content, start, end, REGEX_HTML_ENTITIES);
-    }
-
-    /**
-     * Applies styles to {@code content} from {@code start} to {@code end}, based on rule {@code regex}.
-     * @param content the Spannable to apply style rules to
-     * @param start the index in {@code content} to start styling from
-     * @param end the index in {@code content} to style until
-     * @param regex the pattern to match for styling
-     */
-    private static void applySpansByRegex(Spannable content, int start, int end, String regex) {
-        if (content == null || start < 0 || end < 0 || start > content.length() || end > content.length() ||
-                start >= end) {
-            AppLog.d(AppLog.T.EDITOR, "applySpansByRegex() received invalid input");
+        if (start < 0 || end > content.length() || start > end) {
+            AppLog.d(AppLog.T.EDITOR, "styleHtmlForDisplay() received invalid input");
             return;
         }
 
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(content.subSequence(start, end));
+        // Start from the line of the first token touching the range, or of a tag which could run into it
+        int regionStart = start;
+        for (TokenSpan span : content.getSpans(start, end, TokenSpan.class)) {
+            regionStart = Math.min(regionStart, content.getSpanStart(span));
+        }
+        regionStart = HtmlStyleLexer.getLineStart(content, regionStart);
+        int tagStart;
+        while ((tagStart = HtmlStyleLexer.findOpenTagStart(content, regionStart)) != -1) {
+            regionStart = HtmlStyleLexer.getLineStart(content, tagStart);
+        }
 
-        while (matcher.find()) {
-            int matchStart = matcher.start() + start;
-            int matchEnd = matcher.end() + start;
-            switch(regex) {
-                case REGEX_HTML_TAGS:
-                    content.setSpan(new ForegroundColorSpan(TAG_COLOR), matchStart, matchEnd, SPANNABLE_FLAGS);
-                    break;
-                case REGEX_HTML_ATTRIBUTES:
-                    content.setSpan(new ForegroundColorSpan(ATTRIBUTE_COLOR), matchStart, matchEnd, SPANNABLE_FLAGS);
-                    break;
-                case REGEX_HTML_COMMENTS:
-                    content.setSpan(new ForegroundColorSpan(ATTRIBUTE_COLOR), matchStart, matchEnd, SPANNABLE_FLAGS);
-                    content.setSpan(new StyleSpan(Typeface.ITALIC), matchStart, matchEnd, SPANNABLE_FLAGS);
-                    content.setSpan(new RelativeSizeSpan(0.75f), matchStart, matchEnd, SPANNABLE_FLAGS);
-                    break;
-                case REGEX_HTML_ENTITIES:
-                    content.setSpan(new ForegroundColorSpan(TAG_COLOR), matchStart, matchEnd, SPANNABLE_FLAGS);
-                    content.setSpan(new StyleSpan(Typeface.BOLD), matchStart, matchEnd, SPANNABLE_FLAGS);
-                    content.setSpan(new RelativeSizeSpan(0.75f), matchStart, matchEnd, SPANNABLE_FLAGS);
-                    break;
+        // Lex until the end of the range, and further if a tag starting in the lexed lines (before or after the edit)
+        // ends on a later line
+        List<Token> tokens = new ArrayList<>();
+        List<TokenSpan> oldSpans;
+        int regionEnd = end;
+        int nextLineStart = regionStart;
+        do {
+            while (nextLineStart <= regionEnd && nextLineStart <= content.length()) {
+                nextLineStart = HtmlStyleLexer.lexLine(content, nextLineStart, tokens) + 1;
+            }
+            for (Token token : tokens) {
+                regionEnd = Math.max(regionEnd, token.end - 1);
+            }
+            oldSpans = getTokenSpans(content, regionStart, nextLineStart);
+            for (TokenSpan span : oldSpans) {
+                regionEnd = Math.max(regionEnd, content.getSpanEnd(span) - 1);
+            }
+        } while (nextLineStart <= regionEnd && nextLineStart <= content.length());
+
+        // Leave the tokens which didn't change alone, and keep the spans of the others for reuse
+        Set<Token> newTokens = new HashSet<>(tokens);
+        Map<TokenType, List<TokenSpan>> unusedSpans = new EnumMap<>(TokenType.class);
+        for (TokenType type : TokenType.values()) {
+            unusedSpans.put(type, new ArrayList<TokenSpan>());
+        }
+        for (TokenSpan span : oldSpans) {
+            Token oldToken = new Token(span.mType, content.getSpanStart(span), content.getSpanEnd(span));
+            if (!newTokens.remove(oldToken)) {
+                unusedSpans.get(span.mType).add(span);
+            }
+        }
+
+        for (Token token : tokens) {
+            if (!newTokens.contains(token)) {
+                continue;
+            }
+            List<TokenSpan> spans = unusedSpans.get(token.type);
+            TokenSpan span = spans.isEmpty() ? new TokenSpan(token.type) : spans.remove(spans.size() - 1);
+            span.setRange(content, token.start, token.end);
+        }
+
+        for (List<TokenSpan> spans : unusedSpans.values()) {
+            for (TokenSpan span : spans) {
+                span.remove(content);
+            }
+        }
+    }
+
+    /**
+     * Returns the spans of the tokens starting from {@code start} and before {@code end}.
+     */
+    private static List<TokenSpan> getTokenSpans(Spannable content, int start, int end) {
+        List<TokenSpan> spans = new ArrayList<>();
+        for (TokenSpan span : content.getSpans(start, Math.min(end, content.length()), TokenSpan.class)) {
+            int spanStart = content.getSpanStart(span);
+            if (spanStart >= start && spanStart < end) {
+                spans.add(span);
             }
         }
+        return spans;
     }
 
     /**
      * Clears all relevant spans in {@code content} from {@code start} to {@code end}. Relevant spans are the subclasses
-     * of {@link CharacterStyle} applied by {@link HtmlStyleUtils#applySpansByRegex(Spannable, int, int, String)}.
+     * of {@link CharacterStyle} applied by {@link HtmlStyleUtils#styleHtmlForDisplay(Spannable, int, int)}.
      * @param content the Spannable to clear styles from
      * @param spanStart the index in {@code content} to start clearing styles from
      * @param spanEnd the index in {@code content} to clear styles until
@@ -147,4 +189,47 @@ public class HtmlStyleUtils {
             }
         }
     }
+
+    /**
+     * Colors a token and marks it as styled. Comments and entities get extra spans, which are moved and removed along
+     * with it.
+     */
+    private static class TokenSpan extends ForegroundColorSpan {
+        private final TokenType mType;
+        private final CharacterStyle[] mExtraSpans;
+
+        TokenSpan(TokenType type) {
+            super(type == TokenType.TAG || type == TokenType.ENTITY ? TAG_COLOR : ATTRIBUTE_COLOR);
+            mType = type;
+            switch (type) {
+                case COMMENT:
+                    mExtraSpans = new CharacterStyle[] {new StyleSpan(Typeface.ITALIC), new RelativeSizeSpan(0.75f)};
+                    break;
+                case ENTITY:
+                    mExtraSpans = new CharacterStyle[] {new StyleSpan(Typeface.BOLD), new RelativeSizeSpan(0.75f)};
+                    break;
+                default:
+                    mExtraSpans = new CharacterStyle[0];
+                    break;
+            }
+        }
+
+        void setRange(Spannable content, int start, int end) {
+            // A reused span keeps its place among the others, so the order overlapping tokens are colored in (tags,
+            // attributes, comments, then entities on top) is set by priority: spans of higher priority come first
+            int priority = TokenType.values().length - mType.ordinal();
+            int flags = SPANNABLE_FLAGS | (priority << Spanned.SPAN_PRIORITY_SHIFT);
+            content.setSpan(this, start, end, flags);
+            for (CharacterStyle span : mExtraSpans) {
+                content.setSpan(span, start, end, flags);
+            }
+        }
+
+        void remove(Spannable content) {
+            content.removeSpan(this);
+            for (CharacterStyle span : mExtraSpans) {
+                content.removeSpan(span);
+            }
+        }
+    }
 }
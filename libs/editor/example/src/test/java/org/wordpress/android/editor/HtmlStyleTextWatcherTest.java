@@ -3,6 +3,8 @@ package org.wordpress.android.editor;
 import android.text.Editable;
 import android.text.Spannable;
 import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.style.CharacterStyle;
 import android.text.style.ForegroundColorSpan;
 import android.text.style.RelativeSizeSpan;
 import android.text.style.StyleSpan;
@@ -13,11 +15,17 @@ import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 
 @Config(sdk = 18)
 @RunWith(RobolectricTestRunner.class)
 public class HtmlStyleTextWatcherTest {
+    private static final String TYPED_TEXT = "Some <b>typed</b> text &copy; with a <a href=\"https://example.com\">link"
+            + "</a> <!-- and a comment -->\n<blockquote>and a quote</blockquote>\n";
 
     private HtmlStyleTextWatcherForTests mWatcher;
     private Editable mContent;
@@ -424,9 +432,9 @@ public class HtmlStyleTextWatcherTest {
         mWatcher.onTextChanged(mContent, 2, 3, 4);
         mWatcher.afterTextChanged(mContent);
 
-        // Should re-style whole document
-        assertEquals(0, mSpanRange.getOpeningTagLoc());
-        assertEquals(mContent.length(), mSpanRange.getClosingTagLoc());
+        // Should re-style the pasted text, HtmlStyleUtils extends it to the tokens it touches
+        assertEquals(2, mSpanRange.getOpeningTagLoc());
+        assertEquals(6, mSpanRange.getClosingTagLoc());
 
 
         // -- Test pasting cut text while text is selected, case 2
@@ -437,9 +445,9 @@ public class HtmlStyleTextWatcherTest {
         mWatcher.onTextChanged(mContent, 1, 5, 2);
         mWatcher.afterTextChanged(mContent);
 
-        // Should re-style whole document
-        assertEquals(0, mSpanRange.getOpeningTagLoc());
-        assertEquals(mContent.length(), mSpanRange.getClosingTagLoc());
+        // Should re-style the pasted text
+        assertEquals(1, mSpanRange.getOpeningTagLoc());
+        assertEquals(3, mSpanRange.getClosingTagLoc());
     }
 
     @Test
@@ -486,6 +494,77 @@ public class HtmlStyleTextWatcherTest {
 
     }
 
+    @Test
+    public void testIncrementalStylingMatchesFullStyling() {
+        Editable content = new SpannableStringBuilder(buildPost(4 * 1024));
+        HtmlStyleUtils.styleHtmlForDisplay(content);
+        content.setSpan(new HtmlStyleTextWatcher(), 0, content.length(), Spanned.SPAN_INCLUSIVE_INCLUSIVE);
+
+        replayEdits(content);
+
+        // The spans kept up to date while editing should be the same as styling the final text from scratch
+        Spannable expected = new SpannableStringBuilder(content.toString());
+        HtmlStyleUtils.styleHtmlForDisplay(expected);
+        assertEquals(describeSpans(expected), describeSpans(content));
+    }
+
+    /*
+     * types TYPED_TEXT in the middle of the post one character at a time, deletes part of it, then pastes it, cuts
+     * it and pastes it over a selection
+     */
+    private static void replayEdits(Editable content) {
+        int offset = content.toString().indexOf("\n", content.length() / 2) + 1;
+        for (int i = 0; i < TYPED_TEXT.length(); i++) {
+            content.insert(offset + i, TYPED_TEXT.subSequence(i, i + 1));
+        }
+        for (int i = 0; i < TYPED_TEXT.length() / 2; i++) {
+            int end = offset + TYPED_TEXT.length() - i;
+            content.delete(end - 1, end);
+        }
+
+        int pasteOffset = content.length() / 4;
+        for (int i = 0; i < 10; i++) {
+            content.insert(pasteOffset + i * 7, TYPED_TEXT);
+        }
+        content.delete(pasteOffset, pasteOffset + TYPED_TEXT.length() * 3 + 13);
+        for (int i = 0; i < 10; i++) {
+            int selectionStart = offset + i * 31;
+            content.replace(selectionStart, selectionStart + 11, TYPED_TEXT);
+        }
+    }
+
+    private static String buildPost(int minLength) {
+        StringBuilder post = new StringBuilder();
+        for (int i = 0; post.length() < minLength; i++) {
+            post.append("<p>Paragraph ").append(i).append(" with <strong>bold</strong>, <em>emphasis</em> &amp; ")
+                    .append("a <a href=\"https://example.com/").append(i).append("\" title='link'>link</a>.</p>\n");
+            if (i % 5 == 0) {
+                post.append("<!--more-->\n<ul>\n\t<li>item &mdash; one</li>\n\t<li>item two</li>\n</ul>\n");
+            }
+            if (i % 7 == 0) {
+                post.append("<img class=\"aligncenter\"\n\tsrc=\"https://example.com/image.jpg\" />\n");
+            }
+        }
+        return post.toString();
+    }
+
+    private static List<String> describeSpans(Spannable content) {
+        List<String> spans = new ArrayList<>();
+        for (CharacterStyle span : content.getSpans(0, content.length(), CharacterStyle.class)) {
+            String style;
+            if (span instanceof ForegroundColorSpan) {
+                style = "color " + ((ForegroundColorSpan) span).getForegroundColor();
+            } else if (span instanceof StyleSpan) {
+                style = "style " + ((StyleSpan) span).getStyle();
+            } else {
+                style = span.getClass().getSimpleName();
+            }
+            spans.add(content.getSpanStart(span) + "-" + content.getSpanEnd(span) + " " + style);
+        }
+        Collections.sort(spans);
+        return spans;
+    }
+
     private class HtmlStyleTextWatcherForTests extends HtmlStyleTextWatcher {
         @Override
         protected void updateSpans(Spannable s, SpanRange spanRange) {
@@ -14,6 +14,12 @@ import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import static org.junit.Assert.assertEquals;
 
 @Config(sdk = 18)
@@ -51,6 +57,34 @@ public class HtmlStyleUtilsTest {
         assertEquals(1, content.getSpans(62, 66, ForegroundColorSpan.class).length); // '</a>'
     }
 
+    @Test
+    public void testStylingFollowsRegexRules() {
+        // Tags can span lines, comments and attribute values can't, and an attribute value needs a '>' after it
+        String html = "<a\nhref=\"x\">a</a> <!-- one\ntwo --> <!-- a <b> &amp; --> x=\"y\" >\n='z' &foo; &amp &lt;"
+                + "</ <b <i> <p class='a'\n>";
+        Spannable content = new SpannableStringBuilder(html);
+        HtmlStyleUtils.styleHtmlForDisplay(content);
+
+        List<String> expected = new ArrayList<>();
+        String[] regexes = {HtmlStyleUtils.REGEX_HTML_TAGS, HtmlStyleUtils.REGEX_HTML_ATTRIBUTES,
+                HtmlStyleUtils.REGEX_HTML_COMMENTS, HtmlStyleUtils.REGEX_HTML_ENTITIES};
+        for (String regex : regexes) {
+            Matcher matcher = Pattern.compile(regex).matcher(html);
+            while (matcher.find()) {
+                expected.add(matcher.start() + "-" + matcher.end());
+            }
+        }
+        Collections.sort(expected);
+
+        List<String> styled = new ArrayList<>();
+        for (ForegroundColorSpan span : content.getSpans(0, content.length(), ForegroundColorSpan.class)) {
+            styled.add(content.getSpanStart(span) + "-" + content.getSpanEnd(span));
+        }
+        Collections.sort(styled);
+
+        assertEquals(expected, styled);
+    }
+
     @Test
     public void testClearSpans() {
         Spannable content = new SpannableStringBuilder("<b>text &amp;");
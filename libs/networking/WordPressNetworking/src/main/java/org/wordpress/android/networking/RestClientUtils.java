@@ -8,10 +8,12 @@ import android.net.Uri;
 import android.text.TextUtils;
 
 import com.android.volley.DefaultRetryPolicy;
+import com.android.volley.NetworkResponse;
 import com.android.volley.Request;
 import com.android.volley.Request.Method;
 import com.android.volley.RequestQueue;
 import com.android.volley.RetryPolicy;
+import com.android.volley.VolleyError;
 import com.android.volley.toolbox.RequestFuture;
 import com.wordpress.rest.JsonRestRequest;
 import com.wordpress.rest.RestClient;
@@ -22,15 +24,18 @@ import com.wordpress.rest.RestRequest.Listener;
 import org.json.JSONObject;
 import org.wordpress.android.util.LanguageUtils;
 
+import java.net.HttpURLConnection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
 public class RestClientUtils {
-    public static final String NOTIFICATION_FIELDS = "id,type,unread,body,subject,timestamp,meta";
+    public static final String NOTIFICATION_FIELDS = "id,type,unread,body,subject,timestamp,meta,note_hash";
     private static final String COMMENT_REPLY_CONTENT_FIELD = "content";
     private static String sUserAgent = "WordPress Networking Android";
 
@@ -373,6 +378,113 @@ public class RestClientUtils {
         return request;
     }
 
+    /**
+     * A single GET request sent as part of a /batch request
+     */
+    public static class BatchRequest {
+        private final String mPath;
+        private final Listener mListener;
+        private final ErrorListener mErrorListener;
+
+        /**
+         * @param path path of the request, with its query string, relative to the API version (ie: /sites/123/stats)
+         */
+        public BatchRequest(String path, Listener listener, ErrorListener errorListener) {
+            mPath = path;
+            mListener = listener;
+            mErrorListener = errorListener;
+        }
+
+        public String getPath() {
+            return mPath;
+        }
+
+        public Listener getListener() {
+            return mListener;
+        }
+    }
+
+    /**
+     * Maximum number of urls sent in a single /batch request
+     */
+    public static final int MAX_BATCH_REQUESTS = 20;
+
+    /**
+     * Make a single GET request to the /batch endpoint for all the passed requests, and hand the response (or error)
+     * of each one to its own listeners. A failure of the whole batch is passed to every error listener.
+     * <p/>
+     * https://developer.wordpress.com/docs/api/1/get/batch/
+     */
+    public Request<JSONObject> getBatch(final List<BatchRequest> batchRequests, RetryPolicy retryPolicy) {
+        if (batchRequests.size() > MAX_BATCH_REQUESTS) {
+            throw new IllegalArgumentException("A batch can't contain more than " + MAX_BATCH_REQUESTS + " requests");
+        }
+
+        // urls[] is repeated, so it can't go through the params map like other query string parameters
+        StringBuilder url = new StringBuilder(mRestClient.getAbsoluteURL("batch", getRestLocaleParams(mContext)));
+        boolean hasQuery = url.indexOf("?") != -1;
+        for (BatchRequest batchRequest : batchRequests) {
+            url.append(hasQuery ? '&' : '?').append("urls%5B%5D=").append(Uri.encode(batchRequest.mPath));
+            hasQuery = true;
+        }
+
+        Listener listener = new Listener() {
+            @Override
+            public void onResponse(JSONObject response) {
+                for (BatchRequest batchRequest : batchRequests) {
+                    deliverBatchResponse(batchRequest, response);
+                }
+            }
+        };
+        ErrorListener errorListener = new ErrorListener() {
+            @Override
+            public void onErrorResponse(VolleyError error) {
+                for (BatchRequest batchRequest : batchRequests) {
+                    if (batchRequest.mErrorListener != null) {
+                        batchRequest.mErrorListener.onErrorResponse(error);
+                    }
+                }
+            }
+        };
+
+        RestRequest request = mRestClient.makeRequest(Method.GET, url.toString(), null, listener, errorListener);
+        if (retryPolicy == null) {
+            retryPolicy = new DefaultRetryPolicy(REST_TIMEOUT_MS, REST_MAX_RETRIES_GET, REST_BACKOFF_MULT);
+        }
+        request.setRetryPolicy(retryPolicy);
+        AuthenticatorRequest authCheck = new AuthenticatorRequest(request, errorListener, mRestClient, mAuthenticator);
+        authCheck.send();
+        return request;
+    }
+
+    /*
+     * the batch response is an object keyed by the requested urls - a url which failed has an error object,
+     * which is passed to the error listener like the response of a failed single request would be
+     */
+    private static void deliverBatchResponse(BatchRequest batchRequest, JSONObject batchResponse) {
+        JSONObject response = batchResponse != null ? batchResponse.optJSONObject(batchRequest.mPath) : null;
+        if (response != null && !response.has("error") && !response.has("errors")) {
+            if (batchRequest.mListener != null) {
+                batchRequest.mListener.onResponse(response);
+            }
+            return;
+        }
+
+        if (batchRequest.mErrorListener == null) {
+            return;
+        }
+        VolleyError error;
+        if (response == null) {
+            error = new VolleyError("No response for " + batchRequest.mPath + " in the batch response");
+        } else {
+            int statusCode = response.optInt("status_code", HttpURLConnection.HTTP_BAD_REQUEST);
+            byte[] data = response.toString().getBytes();
+            error = new VolleyError(
+                    new NetworkResponse(statusCode, data, Collections.<String, String>emptyMap(), false));
+        }
+        batchRequest.mErrorListener.onErrorResponse(error);
+    }
+
     /**
      * Make Synchronous GET request
      *